@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.event.EventImpl;
+import org.eclipse.jdi.internal.request.EventRequestImpl;
+import org.eclipse.jdi.internal.request.EventRequestManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.jdi.request.EventRequest;
+import com.sun.jdi.request.EventRequestManager;
+
+/**
+ * Measures {@link EventRequestManagerImpl#findRequest(EventImpl)}, done for
+ * every event received from the target, with a number of enabled thread start
+ * and thread death requests. Requests are created on a Virtual Machine mirror
+ * talking to a {@link LoopbackConnection}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventRequestManagerBenchmark {
+
+	/**
+	 * Number of enabled requests of each kind
+	 */
+	@Param({ "10", "1000" })
+	public int requests;
+
+	private VirtualMachineImpl vm;
+	private EventRequestManagerImpl manager;
+	private EventImpl[] events;
+	private int index;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		vm = LoopbackConnection.newVirtualMachine();
+		manager = vm.eventRequestManagerImpl();
+		EventRequestManager requestManager = vm.eventRequestManager();
+		List<EventImpl> all = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			EventRequest start = requestManager.createThreadStartRequest();
+			start.enable();
+			all.add(readEvent(EventImpl.EVENT_THREAD_START, start, i));
+			EventRequest death = requestManager.createThreadDeathRequest();
+			death.enable();
+			all.add(readEvent(EventImpl.EVENT_THREAD_DEATH, death, i));
+		}
+		events = all.toArray(new EventImpl[all.size()]);
+	}
+
+	/**
+	 * Reads an event of the given kind for the given request, as it would
+	 * come from the target.
+	 */
+	private EventImpl readEvent(byte kind, EventRequest request, int thread) throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		outData.writeByte(kind);
+		((EventRequestImpl) request).requestID().write(vm, outData);
+		outData.writeLong(1000 + thread);
+		return EventImpl.read(vm, new DataInputStream(new ByteArrayInputStream(outBytes.toByteArray())));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		vm.dispose();
+	}
+
+	@Benchmark
+	public EventRequest findRequest() {
+		index = (index + 7919) % events.length;
+		return manager.findRequest(events[index]);
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.jmh;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding of command packets with
+ * {@link JdwpPacket#getPacketAsBytes()} and decoding of received packets with
+ * {@link JdwpPacket#build(byte[])}, as done for every JDWP request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JdwpPacketBenchmark {
+
+	/**
+	 * Number of data bytes in the packets
+	 */
+	@Param({ "8", "256", "65536" })
+	public int dataSize;
+
+	private byte[] data;
+	private byte[] replyBytes;
+	private byte[] commandBytes;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		data = new byte[dataSize];
+		new Random(42).nextBytes(data);
+		replyBytes = LoopbackConnection.replyBytes(1, JdwpReplyPacket.NONE, data);
+		JdwpCommandPacket command = new JdwpCommandPacket(JdwpCommandPacket.OR_GET_VALUES);
+		command.setData(data);
+		commandBytes = command.getPacketAsBytes();
+	}
+
+	@Benchmark
+	public byte[] encodeCommand() throws IOException {
+		JdwpCommandPacket command = new JdwpCommandPacket(JdwpCommandPacket.OR_GET_VALUES);
+		command.setData(data);
+		return command.getPacketAsBytes();
+	}
+
+	@Benchmark
+	public JdwpPacket decodeReply() throws IOException {
+		return JdwpPacket.build(replyBytes);
+	}
+
+	@Benchmark
+	public JdwpPacket decodeCommand() throws IOException {
+		return JdwpPacket.build(commandBytes);
+	}
+
+	@Benchmark
+	public int decodeReplyAndReadData() throws IOException {
+		JdwpPacket packet = JdwpPacket.build(replyBytes);
+		return packet.dataInStream().available();
+	}
+}
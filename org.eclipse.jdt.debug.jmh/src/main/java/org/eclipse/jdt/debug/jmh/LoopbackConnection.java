@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+import com.sun.jdi.connect.spi.Connection;
+
+/**
+ * In-memory stand-in for a target VM speaking JDWP.
+ * <p>
+ * Every command packet written to the connection is answered right away with
+ * a reply that can be read back from it. The commands needed to bring up a
+ * {@link VirtualMachineImpl} (version, id sizes, capabilities) and to create
+ * event requests get plausible answers, the source debug extension of every
+ * type is the one given to {@link #setSourceDebugExtension(String)}, and all
+ * other commands get an empty reply. Replies can also be queued directly with
+ * {@link #queue(byte[])}, to measure the receiving side alone.
+ * </p>
+ */
+public class LoopbackConnection extends Connection {
+
+	/**
+	 * Size of all JDWP ids, as on a 64 bit HotSpot VM
+	 */
+	public static final int ID_SIZE = 8;
+
+	private static final byte[] CLOSED = new byte[0];
+
+	private final BlockingQueue<byte[]> fIncoming = new LinkedBlockingQueue<>();
+	private final AtomicInteger fNextRequestId = new AtomicInteger(1);
+	private volatile boolean fOpen = true;
+	private volatile boolean fAnswer = true;
+	private volatile String fSourceDebugExtension = ""; //$NON-NLS-1$
+
+	/**
+	 * @return Returns a new Virtual Machine mirror talking to a new loopback
+	 *         connection.
+	 */
+	public static VirtualMachineImpl newVirtualMachine() {
+		VirtualMachineImpl vm = new VirtualMachineImpl(new LoopbackConnection());
+		// the first request also retrieves the id sizes
+		vm.getVersionInfo();
+		return vm;
+	}
+
+	/**
+	 * Sets whether written commands are answered. When not, replies are only
+	 * those queued with {@link #queue(byte[])}.
+	 */
+	public void setAnswer(boolean answer) {
+		fAnswer = answer;
+	}
+
+	/**
+	 * Sets the SMAP returned as source debug extension of every type.
+	 */
+	public void setSourceDebugExtension(String smap) {
+		fSourceDebugExtension = smap;
+	}
+
+	/**
+	 * Queues the bytes of a packet, to be read from the connection.
+	 */
+	public void queue(byte[] packet) {
+		fIncoming.add(packet);
+	}
+
+	@Override
+	public byte[] readPacket() throws IOException {
+		byte[] packet;
+		try {
+			packet = fIncoming.take();
+		} catch (InterruptedException e) {
+			throw new ClosedConnectionException();
+		}
+		if (packet == CLOSED) {
+			throw new ClosedConnectionException();
+		}
+		return packet;
+	}
+
+	@Override
+	public void writePacket(byte[] bytes) throws IOException {
+		if (!fOpen) {
+			throw new ClosedConnectionException();
+		}
+		if (!fAnswer) {
+			return;
+		}
+		JdwpPacket packet = JdwpPacket.build(bytes);
+		if (packet instanceof JdwpCommandPacket) {
+			JdwpCommandPacket command = (JdwpCommandPacket) packet;
+			queue(replyBytes(command.getId(), JdwpReplyPacket.NONE, answer(command.getCommand())));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		fOpen = false;
+		fIncoming.offer(CLOSED);
+	}
+
+	@Override
+	public boolean isOpen() {
+		return fOpen;
+	}
+
+	/**
+	 * Returns the data of the reply to the given command.
+	 */
+	private byte[] answer(int command) throws IOException {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		switch (command) {
+		case JdwpCommandPacket.VM_VERSION:
+			writeString("Loopback JDWP", outData); //$NON-NLS-1$
+			outData.writeInt(17);
+			outData.writeInt(0);
+			writeString("17", outData); //$NON-NLS-1$
+			writeString("Loopback VM", outData); //$NON-NLS-1$
+			break;
+		case JdwpCommandPacket.VM_ID_SIZES:
+			for (int i = 0; i < 5; i++) {
+				outData.writeInt(ID_SIZE);
+			}
+			break;
+		case JdwpCommandPacket.VM_CAPABILITIES_NEW:
+			for (int i = 0; i < 32; i++) {
+				outData.writeBoolean(true);
+			}
+			break;
+		case JdwpCommandPacket.ER_SET:
+			outData.writeInt(fNextRequestId.getAndIncrement());
+			break;
+		case JdwpCommandPacket.RT_SOURCE_DEBUG_EXTENSION:
+			writeString(fSourceDebugExtension, outData);
+			break;
+		default:
+			break;
+		}
+		return outBytes.toByteArray();
+	}
+
+	private static void writeString(String value, DataOutputStream outData) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		outData.writeInt(bytes.length);
+		outData.write(bytes);
+	}
+
+	/**
+	 * Builds the bytes of a reply packet.
+	 *
+	 * @param id
+	 *            id of the command the packet replies to
+	 * @param errorCode
+	 *            JDWP error code
+	 * @param data
+	 *            data of the reply
+	 * @return the bytes of the packet
+	 */
+	public static byte[] replyBytes(int id, short errorCode, byte[] data) {
+		int length = 11 + data.length;
+		byte[] bytes = new byte[length];
+		bytes[0] = (byte) (length >>> 24);
+		bytes[1] = (byte) (length >>> 16);
+		bytes[2] = (byte) (length >>> 8);
+		bytes[3] = (byte) length;
+		bytes[4] = (byte) (id >>> 24);
+		bytes[5] = (byte) (id >>> 16);
+		bytes[6] = (byte) (id >>> 8);
+		bytes[7] = (byte) id;
+		bytes[8] = JdwpPacket.FLAG_REPLY_PACKET;
+		bytes[9] = (byte) (errorCode >>> 8);
+		bytes[10] = (byte) errorCode;
+		System.arraycopy(data, 0, bytes, 11, data.length);
+		return bytes;
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.MirrorCache;
+import org.eclipse.jdi.internal.MirrorCache.ReferenceStrength;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares mirror lookups by JDWP id in {@link MirrorCache} and
+ * {@link ValueCache}, the cache it replaced, as done for every object and type
+ * id read from a reply.
+ * <p>
+ * {@link ValueCache} is keyed by <code>Long</code>s here, which is what a
+ * <code>JdwpID</code> key amounts to.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MirrorCacheBenchmark {
+
+	/**
+	 * Number of cached mirrors
+	 */
+	@Param({ "1000", "100000" })
+	public int size;
+
+	private ValueCache valueCache;
+	private MirrorCache<Object> mirrorCache;
+	private long[] ids;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		valueCache = new ValueCache();
+		mirrorCache = new MirrorCache<>(ReferenceStrength.SOFT, 0);
+		ids = new long[size];
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < size; i++) {
+			// object ids of HotSpot are small increasing numbers
+			ids[i] = 1000 + i * 3L + random.nextInt(3);
+			Object mirror = new Object();
+			valueCache.put(Long.valueOf(ids[i]), mirror);
+			mirrorCache.put(ids[i], mirror);
+		}
+	}
+
+	/**
+	 * Position in the ids, per thread
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int index;
+
+		long next(long[] ids) {
+			index = (index + 7919) % ids.length;
+			return ids[index];
+		}
+	}
+
+	@Benchmark
+	public Object valueCacheGet(Cursor cursor) {
+		return valueCache.get(Long.valueOf(cursor.next(ids)));
+	}
+
+	@Benchmark
+	public Object mirrorCacheGet(Cursor cursor) {
+		return mirrorCache.get(cursor.next(ids));
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object valueCacheGetContended(Cursor cursor) {
+		return valueCache.get(Long.valueOf(cursor.next(ids)));
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object mirrorCacheGetContended(Cursor cursor) {
+		return mirrorCache.get(cursor.next(ids));
+	}
+
+	@Benchmark
+	public void valueCachePut(Cursor cursor) {
+		long id = cursor.next(ids);
+		valueCache.put(Long.valueOf(id), ids);
+	}
+
+	@Benchmark
+	public void mirrorCachePut(Cursor cursor) {
+		long id = cursor.next(ids);
+		mirrorCache.put(id, ids);
+	}
+}
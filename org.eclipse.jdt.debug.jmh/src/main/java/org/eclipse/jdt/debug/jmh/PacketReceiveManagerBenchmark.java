@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.connect.PacketReceiveManager;
+import org.eclipse.jdi.internal.connect.PacketSendManager;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching of replies to their requests in
+ * {@link PacketReceiveManager}, over a {@link LoopbackConnection}.
+ * <p>
+ * The <code>roundTrip</code> benchmarks go through {@link PacketSendManager}
+ * and the loopback answers, like a synchronous JDI request. The
+ * <code>matchQueued</code> benchmark queues the replies of a batch in reverse
+ * order and only measures how they are handed to their requests.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PacketReceiveManagerBenchmark {
+
+	private static final long TIMEOUT = 10000;
+	private static final byte[] NO_DATA = new byte[0];
+
+	/**
+	 * Number of requests in flight at the same time
+	 */
+	@Param({ "1", "64" })
+	public int batch;
+
+	private LoopbackConnection connection;
+	private PacketSendManager sendManager;
+	private PacketReceiveManager receiveManager;
+	private JdwpCommandPacket[] commands;
+	private int nextId = 1;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		connection = new LoopbackConnection();
+		sendManager = new PacketSendManager(connection);
+		receiveManager = new PacketReceiveManager(connection, null);
+		start(sendManager, "Loopback send"); //$NON-NLS-1$
+		start(receiveManager, "Loopback receive"); //$NON-NLS-1$
+		commands = new JdwpCommandPacket[batch];
+	}
+
+	private static void start(Runnable manager, String name) {
+		Thread thread = new Thread(manager, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sendManager.disconnectVM();
+		receiveManager.disconnectVM();
+	}
+
+	@Benchmark
+	public JdwpReplyPacket roundTrip() {
+		JdwpReplyPacket reply = null;
+		for (int i = 0; i < batch; i++) {
+			commands[i] = new JdwpCommandPacket(JdwpCommandPacket.VM_CAPABILITIES_NEW);
+			receiveManager.expectReply(commands[i].getId());
+			sendManager.sendPacket(commands[i]);
+		}
+		for (int i = 0; i < batch; i++) {
+			reply = receiveManager.getReply(commands[i].getId(), TIMEOUT);
+		}
+		return reply;
+	}
+
+	@Benchmark
+	public JdwpReplyPacket matchQueued() {
+		int first = nextId;
+		nextId += batch;
+		for (int id = first; id < nextId; id++) {
+			receiveManager.expectReply(id);
+		}
+		for (int id = nextId - 1; id >= first; id--) {
+			connection.queue(LoopbackConnection.replyBytes(id, JdwpReplyPacket.NONE, NO_DATA));
+		}
+		JdwpReplyPacket reply = null;
+		for (int id = first; id < nextId; id++) {
+			reply = receiveManager.getReply(id, TIMEOUT);
+		}
+		return reply;
+	}
+}
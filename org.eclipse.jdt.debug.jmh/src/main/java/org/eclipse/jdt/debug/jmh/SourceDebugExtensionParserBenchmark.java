@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.ClassTypeImpl;
+import org.eclipse.jdi.internal.SourceDebugExtensionParser;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpClassID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.jdi.AbsentInformationException;
+
+/**
+ * Measures parsing of JSR-045 source maps by
+ * {@link SourceDebugExtensionParser}, done the first time stratum information
+ * of a type with a source debug extension (e.g. a compiled JSP) is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SourceDebugExtensionParserBenchmark {
+
+	/**
+	 * Number of input files in the source map
+	 */
+	@Param({ "1", "20" })
+	public int files;
+
+	/**
+	 * Number of line mappings per input file
+	 */
+	@Param({ "50", "2000" })
+	public int lines;
+
+	private VirtualMachineImpl vm;
+	private ClassTypeImpl type;
+	private String smap;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		smap = createSmap(files, lines);
+		LoopbackConnection connection = new LoopbackConnection();
+		connection.setSourceDebugExtension(smap);
+		vm = new VirtualMachineImpl(connection);
+		type = new ClassTypeImpl(vm, new JdwpClassID(vm));
+		// reads the source map from the loopback and sets up the strata
+		if (!"JSP".equals(type.defaultStratum())) { //$NON-NLS-1$
+			throw new IllegalStateException("Invalid source map"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Creates a source map with a JSP stratum, as generated for a page
+	 * including other pages.
+	 */
+	static String createSmap(int files, int lines) {
+		StringBuilder smap = new StringBuilder();
+		smap.append("SMAP\npage_jsp.java\nJSP\n*S JSP\n*F\n"); //$NON-NLS-1$
+		for (int file = 0; file < files; file++) {
+			smap.append("+ ").append(file).append(" page").append(file).append(".jsp\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			smap.append("WEB-INF/page").append(file).append(".jsp\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		smap.append("*L\n"); //$NON-NLS-1$
+		int outputLine = 60;
+		for (int file = 0; file < files; file++) {
+			for (int line = 1; line <= lines; line++) {
+				smap.append(line);
+				if (line == 1) {
+					smap.append('#').append(file);
+				}
+				smap.append(':').append(outputLine).append(",2\n"); //$NON-NLS-1$
+				outputLine += 2;
+			}
+		}
+		smap.append("*E\n"); //$NON-NLS-1$
+		return smap.toString();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		vm.dispose();
+	}
+
+	@Benchmark
+	public ClassTypeImpl parse() throws AbsentInformationException {
+		SourceDebugExtensionParser.parse(smap, type);
+		return type;
+	}
+}
@@ -11,7 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *******************************************************************************/
-package org.eclipse.jdi.internal;
+package org.eclipse.jdt.debug.jmh;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
@@ -32,6 +32,9 @@ import java.util.Map;
  * soft references are only used for the keys, and values may not have 'strong'
  * references to keys otherwise they will never be garbage collected.
  *
+ * This is the cache the JDI implementation used for its mirrors before
+ * <code>MirrorCache</code>, kept as the baseline of
+ * {@link MirrorCacheBenchmark}.
  */
 public class ValueCache {
 	/**
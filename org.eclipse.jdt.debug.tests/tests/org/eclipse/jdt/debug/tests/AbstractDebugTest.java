@@ -86,6 +86,7 @@ import org.eclipse.debug.ui.IDebugView;
 import org.eclipse.debug.ui.ILaunchConfigurationDialog;
 import org.eclipse.debug.ui.ILaunchConfigurationTabGroup;
 import org.eclipse.debug.ui.actions.ToggleBreakpointAction;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdt.core.IAccessRule;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IClassFile;
@@ -105,6 +106,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.debug.core.IJavaClassPrepareBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaCommandStatistics;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaExceptionBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
@@ -2507,6 +2509,25 @@ public abstract class AbstractDebugTest extends TestCase implements  IEvaluation
         return variable;
     }
 
+	/**
+	 * Returns the number of replies received by the given target for the given
+	 * JDWP command since its statistics were last reset.
+	 *
+	 * @param target
+	 *            the debug target
+	 * @param command
+	 *            the JDWP command, as defined by {@link JdwpCommandPacket}
+	 * @return the number of replies received for the command
+	 */
+	protected long getReplyCount(IJavaDebugTarget target, int command) {
+		for (IJavaCommandStatistics statistics : target.getCommandStatistics()) {
+			if (statistics.getCommandSet() == command >>> 8 && statistics.getCommand() == (command & 0xff)) {
+				return statistics.getCount();
+			}
+		}
+		return 0;
+	}
+
 	/**
 	 * Returns if the local filesystem is case-sensitive or not
 	 * @return true if the local filesystem is case-sensitive, false otherwise
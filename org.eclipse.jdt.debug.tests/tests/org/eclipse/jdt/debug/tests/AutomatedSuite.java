@@ -27,6 +27,7 @@ import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsInJava8Test
 import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsTests;
 import org.eclipse.jdt.debug.tests.breakpoints.ConditionalBreakpointsWithGenerics;
 import org.eclipse.jdt.debug.tests.breakpoints.DeferredBreakpointTests;
+import org.eclipse.jdt.debug.tests.breakpoints.ExceptionBreakpointFilterTests;
 import org.eclipse.jdt.debug.tests.breakpoints.ExceptionBreakpointTests;
 import org.eclipse.jdt.debug.tests.breakpoints.HitCountBreakpointsTests;
 import org.eclipse.jdt.debug.tests.breakpoints.ImportBreakpointsTest;
@@ -56,9 +57,12 @@ import org.eclipse.jdt.debug.tests.core.AlternateStratumTests;
 import org.eclipse.jdt.debug.tests.core.ArgumentTests;
 import org.eclipse.jdt.debug.tests.core.ArrayTests;
 import org.eclipse.jdt.debug.tests.core.BootpathTests;
+import org.eclipse.jdt.debug.tests.core.ClassIndexTests;
 import org.eclipse.jdt.debug.tests.core.ClasspathContainerTests;
 import org.eclipse.jdt.debug.tests.core.ClasspathProviderTests;
 import org.eclipse.jdt.debug.tests.core.ClasspathVariableTests;
+import org.eclipse.jdt.debug.tests.core.CompiledExpressionCacheTests;
+import org.eclipse.jdt.debug.tests.core.ConditionGuardsTests;
 import org.eclipse.jdt.debug.tests.core.ConsoleInputTests;
 import org.eclipse.jdt.debug.tests.core.ConsoleTests;
 import org.eclipse.jdt.debug.tests.core.DebugEventTests;
@@ -72,19 +76,30 @@ import org.eclipse.jdt.debug.tests.core.InstanceFilterTests;
 import org.eclipse.jdt.debug.tests.core.InstanceVariableTests;
 import org.eclipse.jdt.debug.tests.core.InstructionPointerTests;
 import org.eclipse.jdt.debug.tests.core.JDWPTests;
+import org.eclipse.jdt.debug.tests.core.JdwpCommandMetricsTests;
+import org.eclipse.jdt.debug.tests.core.JdwpPacketTests;
+import org.eclipse.jdt.debug.tests.core.JdwpReplayTests;
+import org.eclipse.jdt.debug.tests.core.JdwpResponseCacheTests;
 import org.eclipse.jdt.debug.tests.core.JavaDebugTargetTests;
 import org.eclipse.jdt.debug.tests.core.JavaLibraryPathTests;
 import org.eclipse.jdt.debug.tests.core.LineTrackerTests;
 import org.eclipse.jdt.debug.tests.core.LiteralTests17;
 import org.eclipse.jdt.debug.tests.core.LocalVariableTests;
+import org.eclipse.jdt.debug.tests.core.MirrorCacheTests;
 import org.eclipse.jdt.debug.tests.core.ModuleOptionsTests;
+import org.eclipse.jdt.debug.tests.core.PacketReceiveManagerTests;
+import org.eclipse.jdt.debug.tests.core.PacketSendManagerTests;
 import org.eclipse.jdt.debug.tests.core.ProcessTests;
+import org.eclipse.jdt.debug.tests.core.RequestTimeoutsTests;
 import org.eclipse.jdt.debug.tests.core.RuntimeClasspathEntryTests;
+import org.eclipse.jdt.debug.tests.core.SimpleConditionTests;
 import org.eclipse.jdt.debug.tests.core.StaticVariableTests;
 import org.eclipse.jdt.debug.tests.core.StratumTests;
 import org.eclipse.jdt.debug.tests.core.StringSubstitutionTests;
+import org.eclipse.jdt.debug.tests.core.ThreadCreationTests;
 import org.eclipse.jdt.debug.tests.core.TypeTests;
 import org.eclipse.jdt.debug.tests.core.VMInstallTests;
+import org.eclipse.jdt.debug.tests.core.WaitForGraphTests;
 import org.eclipse.jdt.debug.tests.core.WatchExpressionTests;
 import org.eclipse.jdt.debug.tests.core.WorkingDirectoryTests;
 import org.eclipse.jdt.debug.tests.core.WorkspaceSourceContainerTests;
@@ -261,6 +276,7 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(WatchExpressionTests.class));
 		addTest(new TestSuite(StratumTests.class));
 		addTest(new TestSuite(JavaDebugTargetTests.class));
+		addTest(new TestSuite(ThreadCreationTests.class));
 		addTest(new TestSuite(WorkingDirectoryTests.class));
 		addTest(new TestSuite(EventDispatcherTest.class));
 
@@ -294,7 +310,20 @@ public class AutomatedSuite extends DebugSuite {
 
 	// JDWP tests
 		addTest(new TestSuite(JDWPTests.class));
+		addTest(new TestSuite(JdwpPacketTests.class));
+		addTest(new TestSuite(PacketReceiveManagerTests.class));
+		addTest(new TestSuite(PacketSendManagerTests.class));
+		addTest(new TestSuite(MirrorCacheTests.class));
 		addTest(new TestSuite(MultipleConnectionsTest.class));
+		addTest(new TestSuite(WaitForGraphTests.class));
+		addTest(new TestSuite(JdwpReplayTests.class));
+		addTest(new TestSuite(JdwpCommandMetricsTests.class));
+		addTest(new TestSuite(JdwpResponseCacheTests.class));
+		addTest(new TestSuite(ClassIndexTests.class));
+		addTest(new TestSuite(RequestTimeoutsTests.class));
+		addTest(new TestSuite(SimpleConditionTests.class));
+		addTest(new TestSuite(ConditionGuardsTests.class));
+		addTest(new TestSuite(CompiledExpressionCacheTests.class));
 	// Refresh state tests
 		addTest(new TestSuite(RefreshStateTests.class));
 
@@ -343,6 +372,7 @@ public class AutomatedSuite extends DebugSuite {
 		addTest(new TestSuite(BreakpointWorkingSetTests.class));
 		addTest(new TestSuite(MethodBreakpointTests.class));
 		addTest(new TestSuite(ExceptionBreakpointTests.class));
+		addTest(new TestSuite(ExceptionBreakpointFilterTests.class));
 		addTest(new TestSuite(WatchpointTests.class));
 		addTest(new TestSuite(PatternBreakpointTests.class));
 		addTest(new TestSuite(TargetPatternBreakpointTests.class));
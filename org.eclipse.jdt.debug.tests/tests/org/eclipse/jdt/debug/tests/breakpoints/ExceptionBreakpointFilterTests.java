@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.breakpoints;
+
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaExceptionBreakpoint;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests matching the class filters of exception breakpoints, and handing them
+ * to the VM, without a target VM.
+ */
+public class ExceptionBreakpointFilterTests extends TestCase {
+
+	/**
+	 * Gives access to the filter matching of exception breakpoints.
+	 */
+	static class FilterBreakpoint extends JavaExceptionBreakpoint {
+
+		FilterBreakpoint(String[] inclusionFilters, String[] exclusionFilters) {
+			setInclusionClassFilters(inclusionFilters);
+			setExclusionClassFilters(exclusionFilters);
+		}
+
+		boolean included(String typeName) {
+			return matchesFilters(getInclusionClassFilters(), typeName, typeName.indexOf('.') == -1);
+		}
+
+		boolean excluded(String typeName) {
+			return matchesFilters(getExclusionClassFilters(), typeName, typeName.indexOf('.') == -1);
+		}
+
+		static String vmFilter(String filter) {
+			return getVMClassFilter(filter);
+		}
+	}
+
+	/**
+	 * Filters are prefixes of the type names they match.
+	 */
+	public void testPrefixMatch() throws Exception {
+		FilterBreakpoint bp = new FilterBreakpoint(new String[] { "org.eclipse.Foo", "java.util.*Map" }, new String[0]); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Exact name should match", bp.included("org.eclipse.Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Longer name should match", bp.included("org.eclipse.FooBar")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Nested type should match", bp.included("org.eclipse.Foo$Inner")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Wildcard should match", bp.included("java.util.HashMap")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Filter in the middle of the name should not match", bp.included("com.org.eclipse.Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Other name should not match", bp.included("org.eclipse.Bar")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Characters of type names that are special in regular expressions are
+	 * matched literally.
+	 */
+	public void testLiteralCharacters() throws Exception {
+		FilterBreakpoint bp = new FilterBreakpoint(new String[0], new String[] { "a.B$C" }); //$NON-NLS-1$
+		assertTrue("Nested type should be excluded", bp.excluded("a.B$C")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Dot should not match any character", bp.excluded("aXB$C")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * The empty filter stands for the default package only.
+	 */
+	public void testDefaultPackage() throws Exception {
+		FilterBreakpoint bp = new FilterBreakpoint(new String[] { "" }, new String[0]); //$NON-NLS-1$
+		assertTrue("Type in the default package should match", bp.included("Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Type in a package should not match", bp.included("a.Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Filters handed to the VM match the same types there as locally.
+	 */
+	public void testVMClassFilters() throws Exception {
+		assertEquals("Name should be handed as a prefix", "org.eclipse.Foo*", FilterBreakpoint.vmFilter("org.eclipse.Foo")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("Trailing wildcard should be kept", "org.eclipse.*", FilterBreakpoint.vmFilter("org.eclipse.*")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("Nested type should be handed", "a.B$C*", FilterBreakpoint.vmFilter("a.B$C")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNull("Leading wildcard matches anywhere locally", FilterBreakpoint.vmFilter("*Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("Inner wildcard cannot be expressed", FilterBreakpoint.vmFilter("java.util.*Map")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("Default package cannot be expressed", FilterBreakpoint.vmFilter("")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("Lone wildcard should not be handed", FilterBreakpoint.vmFilter("*")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Matchers are built for the filters of the breakpoint they are asked of.
+	 */
+	public void testFiltersOfOtherBreakpoint() throws Exception {
+		FilterBreakpoint first = new FilterBreakpoint(new String[] { "a.*" }, new String[0]); //$NON-NLS-1$
+		FilterBreakpoint second = new FilterBreakpoint(new String[] { "b.*" }, new String[0]); //$NON-NLS-1$
+		assertTrue("Wrong filters matched", first.included("a.Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Wrong filters matched", second.included("b.Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Wrong filters matched", second.included("a.Foo")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
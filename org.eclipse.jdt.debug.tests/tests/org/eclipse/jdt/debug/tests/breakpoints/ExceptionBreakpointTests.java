@@ -145,6 +145,30 @@ public class ExceptionBreakpointTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * tests that an inclusion filter matches the types whose name it is a prefix of
+	 * @throws Exception
+	 */
+	public void testInclusivePrefixScopedException() throws Exception {
+		String typeName = "ThrowsException";
+		IJavaExceptionBreakpoint ex = createExceptionBreakpoint("TestException", true, false);
+		ex.setInclusionFilters(new String[] {"ThrowsExc"});
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+
+			IBreakpoint hit = getBreakpoint(thread);
+			assertNotNull("suspended, but not by breakpoint", hit);
+			assertEquals("suspended, but not by exception breakpoint", ex ,hit);
+			ex.delete();
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * test that the breakpoint will not suspend as the class that throws the exception has been added to the exclusion filters
 	 * @throws Exception
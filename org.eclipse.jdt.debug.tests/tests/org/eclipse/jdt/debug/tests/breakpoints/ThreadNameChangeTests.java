@@ -27,8 +27,10 @@ import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
@@ -152,6 +154,47 @@ public class ThreadNameChangeTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that the names of running threads are polled once they have been
+	 * displayed, and not while the VM is suspended
+	 *
+	 * @throws Exception
+	 */
+	public void testThreadNamesNotPolledWhileSuspended() throws Exception {
+		String typeName = "ThreadNameChange";
+		final int bpLine1 = 39;
+		final int bpLine2 = 43;
+
+		IJavaLineBreakpoint bp1 = createLineBreakpoint(bpLine1, "", typeName + ".java", typeName);
+		IJavaLineBreakpoint bp2 = createLineBreakpoint(bpLine2, "", typeName + ".java", typeName);
+		bp1.setSuspendPolicy(IJavaBreakpoint.SUSPEND_VM);
+		bp2.setSuspendPolicy(IJavaBreakpoint.SUSPEND_THREAD);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, bp1);
+			IJavaDebugTarget target = (IJavaDebugTarget) thread.getDebugTarget();
+			// displays the second thread
+			IThread second = findThread(thread, "1");
+			assertNotNull(second);
+			TestUtil.waitForJobs(getName(), 100, 3000);
+
+			target.resetCommandStatistics();
+			Thread.sleep(1500);
+			assertEquals("Names should not be polled while the VM is suspended", 0, getReplyCount(target, JdwpCommandPacket.TR_NAME));
+
+			// the second thread keeps running while the first is suspended
+			resumeToLineBreakpoint(thread, bp2);
+			assertEquals("2", second.getName());
+			target.resetCommandStatistics();
+			Thread.sleep(1500);
+			assertTrue("Names of displayed running threads should be polled", getReplyCount(target, JdwpCommandPacket.TR_NAME) > 0);
+		}
+		finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	private List<DebugEvent> getStateChangeEvents(AtomicReference<List<DebugEvent>> events, IThread second) {
 		List<DebugEvent> list = events.get();
 		Stream<DebugEvent> filtered = list.stream().filter(x -> x.getKind() == DebugEvent.CHANGE && x.getDetail() == DebugEvent.STATE
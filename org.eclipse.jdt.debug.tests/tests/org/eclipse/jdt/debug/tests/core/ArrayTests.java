@@ -15,6 +15,7 @@ package org.eclipse.jdt.debug.tests.core;
 
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdt.debug.core.IJavaArray;
 import org.eclipse.jdt.debug.core.IJavaArrayType;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
@@ -101,6 +102,47 @@ public class ArrayTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Entries of a page are retrieved with one request and not retrieved again
+	 * while the target stays suspended, until an entry is modified.
+	 */
+	public void testGetVariableRangePaged() throws Exception {
+		String typeName = "ArrayTests";
+		ILineBreakpoint bp = createLineBreakpoint(22, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame) thread.getTopStackFrame();
+			assertNotNull(frame);
+			IJavaVariable v = findVariable(frame, "array");
+			assertNotNull(v);
+			IJavaArray array = (IJavaArray) v.getValue();
+			assertNotNull(array);
+			IJavaDebugTarget target = (IJavaDebugTarget) frame.getDebugTarget();
+
+			target.resetCommandStatistics();
+			IVariable[] variables = array.getVariables(0, 100);
+			for (int i = 0; i < variables.length; i++) {
+				assertEquals("Wrong value", target.newValue(i), variables[i].getValue());
+			}
+			assertEquals("Page should be retrieved with one request", 1, getReplyCount(target, JdwpCommandPacket.AR_GET_VALUES));
+
+			target.resetCommandStatistics();
+			variables = array.getVariables(50, 15);
+			for (int i = 0; i < variables.length; i++) {
+				assertEquals("Wrong value", target.newValue(50 + i), variables[i].getValue());
+			}
+			assertEquals("Page should not be retrieved again", 0, getReplyCount(target, JdwpCommandPacket.AR_GET_VALUES));
+
+			array.setValue(55, target.newValue(-1));
+			assertEquals("Modified entry should be retrieved again", target.newValue(-1), array.getVariable(55).getValue());
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	public void testSetValueRange() throws Exception {
 		String typeName = "ByteArrayTests";
 		ILineBreakpoint bp = createLineBreakpoint(30, typeName);
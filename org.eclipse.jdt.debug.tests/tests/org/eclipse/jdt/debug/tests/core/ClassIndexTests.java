@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.command;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.ints;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.reply;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.writeString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.ClassIndex;
+import org.eclipse.jdi.internal.JdwpCommandMetrics;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.spy.JdwpCapture;
+import org.eclipse.jdi.internal.spy.JdwpCaptureWriter;
+import org.eclipse.jdi.internal.spy.JdwpCommandPacket;
+import org.eclipse.jdi.internal.spy.JdwpReplayConnection;
+import org.eclipse.jdi.internal.spy.JdwpReplyPacket;
+
+import com.sun.jdi.ReferenceType;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests keeping the {@link ClassIndex} of a {@link VirtualMachineImpl} up to
+ * date, against replayed sessions.
+ */
+public class ClassIndexTests extends TestCase {
+
+	private static final byte SUSPEND_NONE = 0;
+	private static final byte TYPE_TAG_CLASS = 1;
+	private static final int CLASS_STATUS_PREPARED = 7;
+	private static final byte EVENT_CLASS_PREPARE = 8;
+	private static final byte EVENT_CLASS_UNLOAD = 9;
+	private static final byte MODIFIER_CLASS_MATCH = 5;
+	private static final int UNLOAD_REQUEST_ID = 1;
+	private static final int PREPARE_REQUEST_ID = 2;
+	/**
+	 * Id of the first class prepare request filtered to a name
+	 */
+	private static final int WATCH_REQUEST_ID = 100;
+
+	private VirtualMachineImpl fVM;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fVM != null) {
+			fVM.dispose();
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Writes the start of a session in which the types <code>A</code> and
+	 * <code>B</code> are loaded, up to the internal class prepare request.
+	 */
+	static void recordConnection(JdwpCaptureWriter writer) throws IOException {
+		writer.record(command(1, JdwpCommandPacket.VM_ID_SIZES, new byte[0]), false, 0);
+		writer.record(reply(1, JdwpReplyPacket.NONE, ints(8, 8, 8, 8, 8)), true, 0);
+		writer.record(command(2, JdwpCommandPacket.ER_SET, new byte[] { EVENT_CLASS_UNLOAD, SUSPEND_NONE, 0, 0, 0, 0 }), false, 0);
+		writer.record(reply(2, JdwpReplyPacket.NONE, ints(UNLOAD_REQUEST_ID)), true, 0);
+		writer.record(command(3, JdwpCommandPacket.VM_VERSION, new byte[0]), false, 0);
+		writer.record(reply(3, JdwpReplyPacket.NONE, version()), true, 0);
+		writer.record(command(4, JdwpCommandPacket.ER_SET, new byte[] { EVENT_CLASS_PREPARE, SUSPEND_NONE, 0, 0, 0, 0 }), false, 0);
+		writer.record(reply(4, JdwpReplyPacket.NONE, ints(PREPARE_REQUEST_ID)), true, 0);
+	}
+
+	/**
+	 * Writes the request for all loaded types, <code>A</code> and
+	 * <code>B</code>, answered after the given delay in microseconds.
+	 */
+	static void recordAllClasses(JdwpCaptureWriter writer, long time, long delay) throws IOException {
+		writer.record(command(5, JdwpCommandPacket.VM_ALL_CLASSES_WITH_GENERIC, new byte[0]), false, time);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(2);
+		writeType(out, 10, "LA;"); //$NON-NLS-1$
+		writeType(out, 11, "LB;"); //$NON-NLS-1$
+		writer.record(reply(5, JdwpReplyPacket.NONE, bytes.toByteArray()), true, time + delay);
+	}
+
+	private static void writeType(DataOutputStream out, long id, String signature) throws IOException {
+		out.writeByte(TYPE_TAG_CLASS);
+		out.writeLong(id);
+		writeString(signature, out);
+		writeString("", out); //$NON-NLS-1$
+		out.writeInt(CLASS_STATUS_PREPARED);
+	}
+
+	private static byte[] version() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		writeString("Replayed VM", out); //$NON-NLS-1$
+		out.writeInt(17);
+		out.writeInt(0);
+		writeString("17.0.1", out); //$NON-NLS-1$
+		writeString("Replay", out); //$NON-NLS-1$
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @return a composite event for the given event kind, request and data
+	 */
+	static byte[] event(byte kind, int requestId, byte[] data) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(SUSPEND_NONE);
+		out.writeInt(1);
+		out.writeByte(kind);
+		out.writeInt(requestId);
+		out.write(data);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] classPrepare(long id, String signature) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeLong(1); // thread
+		writeType(out, id, signature);
+		return event(EVENT_CLASS_PREPARE, PREPARE_REQUEST_ID, bytes.toByteArray());
+	}
+
+	private static byte[] classUnload(String signature) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writeString(signature, new DataOutputStream(bytes));
+		return event(EVENT_CLASS_UNLOAD, UNLOAD_REQUEST_ID, bytes.toByteArray());
+	}
+
+	private static List<String> names(List<ReferenceType> types) {
+		List<String> names = new ArrayList<>();
+		for (ReferenceType type : types) {
+			names.add(type.name());
+		}
+		return names;
+	}
+
+	/**
+	 * @return the number of requests sent with the given command
+	 */
+	static long getCount(VirtualMachineImpl vm, int command) {
+		for (JdwpCommandMetrics.Snapshot snapshot : vm.commandMetrics().getSnapshots()) {
+			if (snapshot.getCommand() == command) {
+				return snapshot.getCount();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Types unloaded after the index has been built are removed from it, and
+	 * the internal class unload request is only made once.
+	 */
+	public void testUnloadedTypeRemoved() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			recordConnection(writer);
+			recordAllClasses(writer, 0, 0);
+			writer.record(command(1, JdwpCommandPacket.E_COMPOSITE, classUnload("LB;")), true, 0); //$NON-NLS-1$
+			// known types are looked up again when a type is unloaded
+			ByteArrayOutputStream signature = new ByteArrayOutputStream();
+			writeString("LB;", new DataOutputStream(signature)); //$NON-NLS-1$
+			writer.record(command(6, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, signature.toByteArray()), false, 0);
+			writer.record(reply(6, JdwpReplyPacket.NONE, ints(0)), true, 0);
+		}
+		JdwpReplayConnection connection = new JdwpReplayConnection(JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray())), 0, 0);
+		fVM = new VirtualMachineImpl(connection);
+		ClassIndex index = fVM.classIndex();
+		assertEquals("Wrong loaded types", Arrays.asList("A", "B"), names(index.allClasses())); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// internal events are recorded while the queue is read
+		assertNull("Internal events should not be handed out", fVM.eventQueue().remove(1000)); //$NON-NLS-1$
+		assertEquals("Unloaded type should be removed", Arrays.asList("A"), names(index.allClasses())); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Unloaded type should not be found", index.classesByName("B").isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong number of event requests", 2, getCount(fVM, JdwpCommandPacket.ER_SET)); //$NON-NLS-1$
+		assertEquals("Wrong unmatched count", 0, connection.getUnmatchedCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Prepare events arriving while the loaded types are retrieved must be
+	 * recorded without waiting for the reply, and end up in the index.
+	 */
+	public void testPrepareDuringRetrieval() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			recordConnection(writer);
+			// follows the class prepare request
+			writer.record(command(1, JdwpCommandPacket.E_COMPOSITE, classPrepare(12, "LC;")), true, 100000); //$NON-NLS-1$
+			recordAllClasses(writer, 0, 2000000);
+		}
+		fVM = new VirtualMachineImpl(new JdwpReplayConnection(JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray())), 1, 0));
+		ClassIndex index = fVM.classIndex();
+		FutureTask<List<ReferenceType>> retrieval = new FutureTask<>(index::allClasses);
+		Thread thread = new Thread(retrieval, "ClassIndexTests"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		long start = System.nanoTime();
+		thread.start();
+		assertNull("Internal events should not be handed out", fVM.eventQueue().remove(500)); //$NON-NLS-1$
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue("Prepare event should not wait for the loaded types, took " + elapsed + "ms", elapsed < 1500); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Loaded types should still be retrieved", retrieval.isDone()); //$NON-NLS-1$
+		assertEquals("Wrong loaded types", Arrays.asList("A", "B", "C"), names(retrieval.get(10, TimeUnit.SECONDS))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * Writes the class prepare request filtered to the given name and the
+	 * lookup of the types with the name, none being loaded.
+	 */
+	private static void recordLookup(JdwpCaptureWriter writer, int id, String name, int requestId) throws IOException {
+		ByteArrayOutputStream request = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(request);
+		out.writeByte(EVENT_CLASS_PREPARE);
+		out.writeByte(SUSPEND_NONE);
+		out.writeInt(1);
+		out.writeByte(MODIFIER_CLASS_MATCH);
+		writeString(name, out);
+		writer.record(command(id, JdwpCommandPacket.ER_SET, request.toByteArray()), false, 0);
+		writer.record(reply(id, JdwpReplyPacket.NONE, ints(requestId)), true, 0);
+		ByteArrayOutputStream signature = new ByteArrayOutputStream();
+		writeString("L" + name + ";", new DataOutputStream(signature)); //$NON-NLS-1$ //$NON-NLS-2$
+		writer.record(command(id + 1, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, signature.toByteArray()), false, 0);
+		writer.record(reply(id + 1, JdwpReplyPacket.NONE, ints(0)), true, 0);
+	}
+
+	/**
+	 * Writes the deletion of the class prepare request with the given id.
+	 */
+	private static void recordClear(JdwpCaptureWriter writer, int id, int requestId) throws IOException {
+		ByteArrayOutputStream request = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(request);
+		out.writeByte(EVENT_CLASS_PREPARE);
+		out.writeInt(requestId);
+		writer.record(command(id, JdwpCommandPacket.ER_CLEAR, request.toByteArray()), false, 0);
+		writer.record(reply(id, JdwpReplyPacket.NONE, new byte[0]), true, 0);
+	}
+
+	/**
+	 * The class prepare requests of the names looked up are deleted once the
+	 * index is built, as it records every prepared type.
+	 */
+	public void testWatchRequestsDeletedWhenIndexed() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			recordConnection(writer);
+			recordLookup(writer, 10, "A", WATCH_REQUEST_ID); //$NON-NLS-1$
+			recordLookup(writer, 12, "C", WATCH_REQUEST_ID + 1); //$NON-NLS-1$
+			recordAllClasses(writer, 0, 0);
+			recordClear(writer, 14, WATCH_REQUEST_ID);
+			recordClear(writer, 15, WATCH_REQUEST_ID + 1);
+		}
+		JdwpReplayConnection connection = new JdwpReplayConnection(JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray())), 0, 0);
+		fVM = new VirtualMachineImpl(connection);
+		ClassIndex index = fVM.classIndex();
+		assertTrue("No type should be loaded", index.lookup("A").isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("No type should be loaded", index.lookup("C").isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("No type should be loaded", index.lookup("A").isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Lookups should be cached", 2, getCount(fVM, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE)); //$NON-NLS-1$
+		assertEquals("Wrong number of watched names", 2, index.watchedNamesCount()); //$NON-NLS-1$
+
+		assertEquals("Wrong loaded types", Arrays.asList("A", "B"), names(index.allClasses())); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("No name should be watched once indexed", 0, index.watchedNamesCount()); //$NON-NLS-1$
+		assertEquals("Watch requests should be deleted", 2, getCount(fVM, JdwpCommandPacket.ER_CLEAR)); //$NON-NLS-1$
+		assertEquals("Indexed types should be looked up", Arrays.asList("A"), names(index.lookup("A"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("Wrong unmatched count", 0, connection.getUnmatchedCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * The request of the least recently looked up name is deleted when too
+	 * many names are watched, and its types are no longer cached.
+	 */
+	public void testWatchedNamesBounded() throws Exception {
+		int count = ClassIndex.MAX_WATCHED_NAMES + 1;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			recordConnection(writer);
+			for (int i = 0; i < count; i++) {
+				recordLookup(writer, 10 + 2 * i, "T" + i, WATCH_REQUEST_ID + i); //$NON-NLS-1$
+			}
+			recordClear(writer, 10 + 2 * count, WATCH_REQUEST_ID + 1);
+			recordClear(writer, 11 + 2 * count, WATCH_REQUEST_ID + 2);
+		}
+		JdwpReplayConnection connection = new JdwpReplayConnection(JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray())), 0, 0);
+		fVM = new VirtualMachineImpl(connection);
+		ClassIndex index = fVM.classIndex();
+		for (int i = 0; i < count - 1; i++) {
+			index.lookup("T" + i); //$NON-NLS-1$
+		}
+		// T0 is looked up again, T1 is the least recently looked up name
+		index.lookup("T0"); //$NON-NLS-1$
+		index.lookup("T" + (count - 1)); //$NON-NLS-1$
+		assertEquals("Watched names should be bounded", ClassIndex.MAX_WATCHED_NAMES, index.watchedNamesCount()); //$NON-NLS-1$
+		assertEquals("Least recently looked up name should not be watched", 1, getCount(fVM, JdwpCommandPacket.ER_CLEAR)); //$NON-NLS-1$
+		long lookups = getCount(fVM, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE);
+		assertEquals("Wrong number of lookups", count, lookups); //$NON-NLS-1$
+		index.lookup("T0"); //$NON-NLS-1$
+		assertEquals("Watched name should stay cached", lookups, getCount(fVM, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE)); //$NON-NLS-1$
+		index.lookup("T1"); //$NON-NLS-1$
+		assertEquals("Name no longer watched should be looked up again", lookups + 1, getCount(fVM, JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE)); //$NON-NLS-1$
+		assertEquals("Watched names should stay bounded", ClassIndex.MAX_WATCHED_NAMES, index.watchedNamesCount()); //$NON-NLS-1$
+		assertEquals("Wrong unmatched count", 0, connection.getUnmatchedCount()); //$NON-NLS-1$
+	}
+}
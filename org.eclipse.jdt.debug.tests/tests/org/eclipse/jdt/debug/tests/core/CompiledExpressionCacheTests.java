@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.lang.reflect.Proxy;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache.Key;
+import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the keys, the eviction and the invalidation of the
+ * {@link CompiledExpressionCache}.
+ */
+public class CompiledExpressionCacheTests extends TestCase {
+
+	private final CompiledExpressionCache fCache = CompiledExpressionCache.getDefault();
+
+	private IJavaProject fProject;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCache.clear();
+		// only the compiler levels of the project are used by keys
+		fProject = (IJavaProject) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IJavaProject.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getOption": //$NON-NLS-1$
+					return "11"; //$NON-NLS-1$
+				case "hashCode": //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				case "equals": //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				default:
+					return null;
+			}
+		});
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fCache.clear();
+		super.tearDown();
+	}
+
+	private Key frameKey(String snippet, String signature, int line, String... locals) {
+		return new Key(fProject, snippet, signature, Integer.valueOf(line), Boolean.FALSE, locals);
+	}
+
+	public void testKeys() {
+		InstructionSequence expression = new InstructionSequence("i > 0"); //$NON-NLS-1$
+		fCache.put(frameKey("i > 0", "LFoo;", 10, "i", "j"), expression); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertSame("Equal contexts should share the expression", expression, fCache.get(frameKey("i > 0", "LFoo;", 10, "i", "j"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		assertNull("Other locals should not match", fCache.get(frameKey("i > 0", "LFoo;", 10, "i"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertNull("Other receiver should not match", fCache.get(frameKey("i > 0", "LBar;", 10, "i", "j"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertNull("Other line should not match", fCache.get(frameKey("i > 0", "LFoo;", 11, "i", "j"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertNull("Other snippet should not match", fCache.get(frameKey("i > 1", "LFoo;", 10, "i", "j"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	public void testLeastRecentlyUsedEviction() {
+		for (int i = 0; i < CompiledExpressionCache.MAX_SIZE; i++) {
+			fCache.put(frameKey("i > " + i, "LFoo;", 10), new InstructionSequence("i > " + i)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		assertNotNull("First expression should be cached", fCache.get(frameKey("i > 0", "LFoo;", 10))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		fCache.put(frameKey("i < 0", "LFoo;", 10), new InstructionSequence("i < 0")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("Cache should be bounded", CompiledExpressionCache.MAX_SIZE, fCache.size()); //$NON-NLS-1$
+		assertNotNull("Recently used expression should be kept", fCache.get(frameKey("i > 0", "LFoo;", 10))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNull("Least recently used expression should be evicted", fCache.get(frameKey("i > 1", "LFoo;", 10))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		fCache.hotCodeReplaceSucceeded(null);
+		assertEquals("Hot code replace should clear the cache", 0, fCache.size()); //$NON-NLS-1$
+	}
+
+	public void testErrorsNotCached() {
+		InstructionSequence expression = new InstructionSequence("i >"); //$NON-NLS-1$
+		expression.addError("Syntax error"); //$NON-NLS-1$
+		assertSame("Expression should be returned", expression, fCache.put(frameKey("i >", "LFoo;", 10), expression)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNull("Expression with errors should not be cached", fCache.get(frameKey("i >", "LFoo;", 10))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * @return a delta of the given kind and flags for an element of the given type
+	 */
+	private static IJavaElementDelta delta(Class<? extends IJavaElement> type, int kind, int flags, IJavaElementDelta... children) {
+		IJavaElement element = (IJavaElement) Proxy.newProxyInstance(CompiledExpressionCacheTests.class.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> null);
+		return (IJavaElementDelta) Proxy.newProxyInstance(CompiledExpressionCacheTests.class.getClassLoader(), new Class<?>[] { IJavaElementDelta.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getElement": //$NON-NLS-1$
+					return element;
+				case "getKind": //$NON-NLS-1$
+					return Integer.valueOf(kind);
+				case "getFlags": //$NON-NLS-1$
+					return Integer.valueOf(flags);
+				case "getAffectedChildren": //$NON-NLS-1$
+					return children;
+				default:
+					return null;
+			}
+		});
+	}
+
+	/**
+	 * @return whether the cache is cleared by a change of an element of the
+	 *         given type, in a package of a project
+	 */
+	private boolean clears(Class<? extends IJavaElement> type, int kind, int flags) {
+		fCache.put(frameKey("i > 0", "LFoo;", 10), new InstructionSequence("i > 0")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		IJavaElementDelta delta = delta(IJavaProject.class, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN,
+				delta(IPackageFragment.class, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CHILDREN, delta(type, kind, flags)));
+		fCache.elementChanged(new ElementChangedEvent(delta, ElementChangedEvent.POST_CHANGE));
+		return fCache.size() == 0;
+	}
+
+	public void testSourceChanges() {
+		assertTrue("Saved compilation unit should clear the cache", clears(ICompilationUnit.class, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE)); //$NON-NLS-1$
+		assertTrue("Changed primary resource should clear the cache", clears(ICompilationUnit.class, IJavaElementDelta.CHANGED, IJavaElementDelta.F_PRIMARY_RESOURCE)); //$NON-NLS-1$
+		assertTrue("Added compilation unit should clear the cache", clears(ICompilationUnit.class, IJavaElementDelta.ADDED, 0)); //$NON-NLS-1$
+		assertTrue("Removed compilation unit should clear the cache", clears(ICompilationUnit.class, IJavaElementDelta.REMOVED, 0)); //$NON-NLS-1$
+		assertTrue("Changed class file should clear the cache", clears(IClassFile.class, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CONTENT)); //$NON-NLS-1$
+		assertFalse("Working copy should not clear the cache", clears(ICompilationUnit.class, IJavaElementDelta.CHANGED, IJavaElementDelta.F_PRIMARY_WORKING_COPY)); //$NON-NLS-1$
+	}
+}
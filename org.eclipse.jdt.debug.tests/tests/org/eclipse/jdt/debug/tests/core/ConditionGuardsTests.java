@@ -0,0 +1,392 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.internal.launching.sourcelookup.advanced.AdvancedSourceLookupSupport;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests weaving the guards of conditional breakpoints with the shipped java
+ * agent. Woven classes are defined in a class loader of their own, so that
+ * they are verified, and must behave as the original classes do.
+ */
+public class ConditionGuardsTests extends TestCase {
+
+	private static final String CLASS_NAME = GuardedLines.class.getName().replace('.', '/');
+	private static final String NESTED_CLASS_NAME = CLASS_NAME + "$Nested"; //$NON-NLS-1$
+	private static final String GUARD_FIELD_PREFIX = "jdt$guard$"; //$NON-NLS-1$
+	private static final String GUARD_OFF_FIELD_PREFIX = "jdt$guardOff$"; //$NON-NLS-1$
+
+	private URLClassLoader fAgentLoader;
+	private Object fGuards;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		File agent = new File(AdvancedSourceLookupSupport.getJavaagentLocation());
+		assertTrue("Java agent should be shipped", agent.isFile()); //$NON-NLS-1$
+		fAgentLoader = new URLClassLoader(new URL[] { agent.toURI().toURL() }, null);
+		fGuards = fAgentLoader.loadClass("org.eclipse.jdt.launching.internal.weaving.ConditionGuards").getConstructor().newInstance(); //$NON-NLS-1$
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fAgentLoader.close();
+		super.tearDown();
+	}
+
+	/**
+	 * Loads the given classes from the given class files, and the other
+	 * classes from the loader of the tests.
+	 */
+	static class WovenLoader extends ClassLoader {
+
+		private final Map<String, byte[]> fClasses;
+
+		WovenLoader(Map<String, byte[]> classes) {
+			super(ConditionGuardsTests.class.getClassLoader());
+			fClasses = classes;
+		}
+
+		@Override
+		protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			byte[] bytes = fClasses.get(name.replace('.', '/'));
+			if (bytes == null) {
+				return super.loadClass(name, resolve);
+			}
+			Class<?> loaded = findLoadedClass(name);
+			if (loaded == null) {
+				loaded = defineClass(name, bytes, 0, bytes.length);
+			}
+			if (resolve) {
+				resolveClass(loaded);
+			}
+			return loaded;
+		}
+	}
+
+	/**
+	 * Counts how many times the entry of a probed line is reached.
+	 */
+	public static class Probe {
+
+		static final AtomicInteger fgHits = new AtomicInteger();
+
+		public static void hit() {
+			fgHits.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Calls {@link Probe#hit()} at the entry of the given line in the line
+	 * number table, where a breakpoint on the line is installed. The call is
+	 * inserted before the first instruction of the entry, after its frame.
+	 */
+	private static class LineProbe extends MethodVisitor {
+
+		private final int fLine;
+		private boolean fPending;
+
+		LineProbe(MethodVisitor mv, int line) {
+			super(Opcodes.ASM7, mv);
+			fLine = line;
+		}
+
+		@Override
+		public void visitLineNumber(int line, Label start) {
+			super.visitLineNumber(line, start);
+			fPending |= line == fLine;
+		}
+
+		private void probe() {
+			if (fPending) {
+				fPending = false;
+				super.visitMethodInsn(Opcodes.INVOKESTATIC, Probe.class.getName().replace('.', '/'), "hit", "()V", false); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		@Override
+		public void visitInsn(int opcode) {
+			probe();
+			super.visitInsn(opcode);
+		}
+
+		@Override
+		public void visitIntInsn(int opcode, int operand) {
+			probe();
+			super.visitIntInsn(opcode, operand);
+		}
+
+		@Override
+		public void visitVarInsn(int opcode, int var) {
+			probe();
+			super.visitVarInsn(opcode, var);
+		}
+
+		@Override
+		public void visitTypeInsn(int opcode, String type) {
+			probe();
+			super.visitTypeInsn(opcode, type);
+		}
+
+		@Override
+		public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+			probe();
+			super.visitFieldInsn(opcode, owner, name, descriptor);
+		}
+
+		@Override
+		public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+			probe();
+			super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+		}
+
+		@Override
+		public void visitJumpInsn(int opcode, Label label) {
+			probe();
+			super.visitJumpInsn(opcode, label);
+		}
+
+		@Override
+		public void visitLdcInsn(Object value) {
+			probe();
+			super.visitLdcInsn(value);
+		}
+
+		@Override
+		public void visitIincInsn(int var, int increment) {
+			probe();
+			super.visitIincInsn(var, increment);
+		}
+	}
+
+	/**
+	 * Returns the given class file with a {@link Probe} at the entry of the
+	 * given line.
+	 */
+	private static byte[] probe(byte[] bytes, int line) {
+		ClassReader reader = new ClassReader(bytes);
+		ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+		reader.accept(new ClassVisitor(Opcodes.ASM7, writer) {
+			@Override
+			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+				return new LineProbe(super.visitMethod(access, name, descriptor, signature, exceptions), line);
+			}
+		}, 0);
+		return writer.toByteArray();
+	}
+
+	private static byte[] read(String className) throws IOException {
+		try (InputStream in = ConditionGuardsTests.class.getClassLoader().getResourceAsStream(className + ".class")) { //$NON-NLS-1$
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	private void add(String className, int line, String postfix) throws Exception {
+		fGuards.getClass().getMethod("add", String.class, int.class, String.class).invoke(fGuards, className, Integer.valueOf(line), postfix); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the woven class file, or <code>null</code> if no guard was woven
+	 */
+	private byte[] transform(byte[] bytes, String className) throws Exception {
+		return (byte[]) fGuards.getClass().getMethod("transform", byte[].class, String.class).invoke(fGuards, bytes, className); //$NON-NLS-1$
+	}
+
+	/**
+	 * Weaves the guards into {@link GuardedLines} and its nested class, and
+	 * returns the classes with guards.
+	 */
+	private Map<String, byte[]> weave() throws Exception {
+		Map<String, byte[]> woven = new HashMap<>();
+		for (String className : new String[] { CLASS_NAME, NESTED_CLASS_NAME }) {
+			byte[] bytes = transform(read(className), className);
+			if (bytes != null) {
+				woven.put(className, bytes);
+			}
+		}
+		return woven;
+	}
+
+	/**
+	 * Runs the woven classes, which must be verified and compute the same as
+	 * the original classes, and returns the woven {@link GuardedLines}.
+	 */
+	private Class<?> run(Map<String, byte[]> woven) throws Exception {
+		Map<String, byte[]> classes = new HashMap<>();
+		classes.put(CLASS_NAME, read(CLASS_NAME));
+		classes.put(NESTED_CLASS_NAME, read(NESTED_CLASS_NAME));
+		classes.putAll(woven);
+		Class<?> type = new WovenLoader(classes).loadClass(GuardedLines.class.getName());
+		Method run = type.getMethod("run", int.class); //$NON-NLS-1$
+		assertEquals("Woven class should compute the same", Integer.valueOf(GuardedLines.run(100)), run.invoke(null, Integer.valueOf(100))); //$NON-NLS-1$
+		return type;
+	}
+
+	private void assertGuarded(Class<?> type, int line, String postfix) throws Exception {
+		Field guard = type.getDeclaredField(GUARD_FIELD_PREFIX + line);
+		guard.setAccessible(true);
+		assertEquals("Wrong condition of line " + line, postfix, guard.get(null)); //$NON-NLS-1$
+		Field off = type.getDeclaredField(GUARD_OFF_FIELD_PREFIX + line);
+		off.setAccessible(true);
+		assertEquals("Guard of line " + line + " should be on", Boolean.FALSE, off.get(null)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static boolean hasGuard(Class<?> type, int line) {
+		for (Field field : type.getDeclaredFields()) {
+			if (field.getName().equals(GUARD_FIELD_PREFIX + line)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Conditions on local variables of every supported type are woven.
+	 */
+	public void testLocalTypes() throws Exception {
+		String[] postfixes = {
+				"v:i i:50 ==", //$NON-NLS-1$
+				"v:l j:30 > v:i i:90 < &&", //$NON-NLS-1$
+				"v:d v:d !=", //$NON-NLS-1$
+				"v:s n ==", //$NON-NLS-1$
+				"v:c i:" + (int) 'e' + " == v:f f:" + Float.floatToIntBits(7f) + " >= ||", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"v:b ! v:d d:" + Double.doubleToLongBits(10.5) + " <= &&" //$NON-NLS-1$ //$NON-NLS-2$
+		};
+		for (int i = 0; i < postfixes.length; i++) {
+			add(CLASS_NAME, 32 + i, postfixes[i]);
+		}
+		Map<String, byte[]> woven = weave();
+		assertTrue("Class should be woven", woven.containsKey(CLASS_NAME)); //$NON-NLS-1$
+		assertFalse("Nested class has no guards", woven.containsKey(NESTED_CLASS_NAME)); //$NON-NLS-1$
+		Class<?> type = run(woven);
+		for (int i = 0; i < postfixes.length; i++) {
+			assertGuarded(type, 32 + i, postfixes[i]);
+		}
+	}
+
+	/**
+	 * Guards of a type apply to the lines of its nested types.
+	 */
+	public void testNestedType() throws Exception {
+		add(CLASS_NAME, 46, "v:j i:3 =="); //$NON-NLS-1$
+		add(CLASS_NAME, 47, "v:k i:2 > v:j i:0 > &&"); //$NON-NLS-1$
+		Map<String, byte[]> woven = weave();
+		assertFalse("Enclosing class has no guarded lines", woven.containsKey(CLASS_NAME)); //$NON-NLS-1$
+		assertTrue("Nested class should be woven", woven.containsKey(NESTED_CLASS_NAME)); //$NON-NLS-1$
+		Class<?> type = run(woven);
+		Class<?> nested = type.getClassLoader().loadClass(NESTED_CLASS_NAME.replace('/', '.'));
+		assertGuarded(nested, 46, "v:j i:3 =="); //$NON-NLS-1$
+		assertGuarded(nested, 47, "v:k i:2 > v:j i:0 > &&"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Lines that cannot be guarded are left unchanged, without keeping the
+	 * other lines from being guarded.
+	 */
+	public void testSkippedLines() throws Exception {
+		// first line of a method
+		add(CLASS_NAME, 45, "v:k i:3 =="); //$NON-NLS-1$
+		// unknown variable
+		add(CLASS_NAME, 32, "v:unknown i:3 =="); //$NON-NLS-1$
+		// variable out of scope
+		add(CLASS_NAME, 40, "v:l j:3 =="); //$NON-NLS-1$
+		// boxed type
+		add(CLASS_NAME, 37, "v:boxed i:3 =="); //$NON-NLS-1$
+		// mismatched types
+		add(CLASS_NAME, 36, "v:s i:3 =="); //$NON-NLS-1$
+		add(CLASS_NAME, 33, "v:i i:3 =="); //$NON-NLS-1$
+		Map<String, byte[]> woven = weave();
+		assertFalse("Nested class should not be woven", woven.containsKey(NESTED_CLASS_NAME)); //$NON-NLS-1$
+		Class<?> type = run(woven);
+		assertGuarded(type, 33, "v:i i:3 =="); //$NON-NLS-1$
+		for (int line : new int[] { 32, 36, 37, 40 }) {
+			assertFalse("Line " + line + " should not be guarded", hasGuard(type, line)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Invalid conditions are ignored.
+	 */
+	public void testInvalidCondition() throws Exception {
+		add(CLASS_NAME, 32, "v:i =="); //$NON-NLS-1$
+		add(CLASS_NAME, 33, "v:i x:3 =="); //$NON-NLS-1$
+		add(CLASS_NAME, 34, "v:i i:3"); //$NON-NLS-1$
+		assertTrue("Invalid conditions should not be woven", weave().isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Classes are not woven twice, as when they are redefined.
+	 */
+	public void testNotWovenTwice() throws Exception {
+		add(CLASS_NAME, 32, "v:i i:50 =="); //$NON-NLS-1$
+		byte[] woven = transform(read(CLASS_NAME), CLASS_NAME);
+		assertNotNull("Class should be woven", woven); //$NON-NLS-1$
+		assertNull("Woven class should not be woven again", transform(woven, CLASS_NAME)); //$NON-NLS-1$
+	}
+
+	/**
+	 * The entry of a guarded line, where its breakpoint is installed, is only
+	 * reached when the condition is true, while the code of the line always
+	 * runs. Turning the guard off reaches the entry again every time.
+	 */
+	public void testGuardedLineEntry() throws Exception {
+		Map<String, byte[]> probed = new HashMap<>();
+		probed.put(CLASS_NAME, probe(read(CLASS_NAME), 32));
+		Probe.fgHits.set(0);
+		run(probed);
+		assertEquals("Entry of the line should be reached at each iteration without a guard", 100, Probe.fgHits.get()); //$NON-NLS-1$
+
+		add(CLASS_NAME, 32, "v:i i:50 =="); //$NON-NLS-1$
+		Map<String, byte[]> woven = weave();
+		woven.put(CLASS_NAME, probe(woven.get(CLASS_NAME), 32));
+		Probe.fgHits.set(0);
+		// the woven class computes the same, so the line runs when the condition is false
+		Class<?> type = run(woven);
+		assertEquals("Entry of the line should only be reached when the condition is true", 1, Probe.fgHits.get()); //$NON-NLS-1$
+
+		Field off = type.getDeclaredField(GUARD_OFF_FIELD_PREFIX + 32);
+		off.setAccessible(true);
+		off.set(null, Boolean.TRUE);
+		Probe.fgHits.set(0);
+		Method run = type.getMethod("run", int.class); //$NON-NLS-1$
+		assertEquals("Woven class should compute the same with its guard off", Integer.valueOf(GuardedLines.run(100)), run.invoke(null, Integer.valueOf(100))); //$NON-NLS-1$
+		assertEquals("Entry of the line should be reached at each iteration with the guard off", 100, Probe.fgHits.get()); //$NON-NLS-1$
+	}
+}
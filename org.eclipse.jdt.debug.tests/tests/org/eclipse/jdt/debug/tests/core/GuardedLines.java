@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+/**
+ * Code guarded by {@link ConditionGuardsTests}, which refers to its line
+ * numbers: lines must not be moved.
+ */
+public class GuardedLines {
+
+	public static int run(int count) {
+		int total = 0;
+		for (int i = 0; i < count; i++) {
+			long l = i * 3L;
+			double d = i == 50 ? Double.NaN : i / 2.0;
+			float f = i;
+			char c = (char) ('a' + i % 26);
+			String s = i % 10 == 0 ? null : "x"; //$NON-NLS-1$
+			boolean b = i % 2 == 0;
+			Integer boxed = Integer.valueOf(i);
+			total += i; // line 32
+			total += (int) l; // line 33
+			total += (int) d; // line 34
+			total += s == null ? 1 : 0; // line 35
+			total += c + (int) f; // line 36
+			total += b ? 1 : boxed.intValue(); // line 37
+			total += new Nested().step(i); // line 38
+		}
+		return total; // line 40
+	}
+
+	static class Nested {
+		int step(int k) {
+			int j = k + 1; // line 45, first line of the method
+			if (j > 0) { // line 46
+				j++; // line 47
+			}
+			return j; // line 49
+		}
+	}
+}
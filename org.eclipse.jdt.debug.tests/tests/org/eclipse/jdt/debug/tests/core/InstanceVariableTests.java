@@ -18,6 +18,7 @@ import java.util.List;
 
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaReferenceType;
@@ -226,4 +227,40 @@ public class InstanceVariableTests extends AbstractDebugTest {
 			removeAllBreakpoints();
 		}
 	}
+
+	/**
+	 * The values of the fields of an object are retrieved with one request.
+	 */
+	public void testFieldValuesRetrievedTogether() throws Exception {
+		String typeName = "InstanceVariablesTests";
+
+		ILineBreakpoint bp = createLineBreakpoint(33, typeName);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			IJavaDebugTarget target = (IJavaDebugTarget) frame.getDebugTarget();
+			IVariable ivt = findVariable(frame, "ivt");
+			assertNotNull("Could not find variable 'ivt'", ivt);
+			IJavaObject object = (IJavaObject)ivt.getValue();
+			IVariable[] fields = object.getVariables();
+			assertEquals("Should be 10 fields", 10, fields.length);
+
+			target.resetCommandStatistics();
+			List<String> values = new ArrayList<>();
+			for (IVariable field : fields) {
+				values.add(field.getName() + "=" + field.getValue().getValueString());
+			}
+			assertEquals("Field values should be retrieved with one request", 1, getReplyCount(target, JdwpCommandPacket.OR_GET_VALUES));
+			assertTrue("Wrong value of 'pubStr': " + values, values.contains("pubStr=redefined public"));
+			assertTrue("Wrong value of hidden 'pubStr': " + values, values.contains("pubStr=public"));
+			assertTrue("Wrong value of 'privStr': " + values, values.contains("privStr=private"));
+			assertTrue("Wrong value of 'nullStr': " + values, values.contains("nullStr=null"));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
 }
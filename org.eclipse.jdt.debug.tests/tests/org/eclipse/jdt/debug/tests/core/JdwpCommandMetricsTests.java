@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.eclipse.jdi.internal.JdwpCommandMetrics;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the per command metrics of JDWP requests in
+ * {@link JdwpCommandMetrics}.
+ */
+public class JdwpCommandMetricsTests extends TestCase {
+
+	public void testCounters() {
+		JdwpCommandMetrics metrics = new JdwpCommandMetrics();
+		metrics.recordReply(JdwpCommandPacket.TR_FRAMES, 27, 100, 2000000);
+		metrics.recordReply(JdwpCommandPacket.TR_FRAMES, 27, 300, 4000000);
+		metrics.recordTimeout(JdwpCommandPacket.TR_FRAMES, 27);
+		List<JdwpCommandMetrics.Snapshot> snapshots = metrics.getSnapshots();
+		assertEquals("Wrong number of commands", 1, snapshots.size()); //$NON-NLS-1$
+		JdwpCommandMetrics.Snapshot snapshot = snapshots.get(0);
+		assertEquals("Wrong command", JdwpCommandPacket.TR_FRAMES, snapshot.getCommand()); //$NON-NLS-1$
+		assertEquals("Wrong name", "THREAD_REFERENCE - FRAMES", snapshot.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong count", 2, snapshot.getCount()); //$NON-NLS-1$
+		assertEquals("Wrong bytes sent", 81, snapshot.getBytesSent()); //$NON-NLS-1$
+		assertEquals("Wrong bytes received", 400, snapshot.getBytesReceived()); //$NON-NLS-1$
+		assertEquals("Wrong timeouts", 1, snapshot.getTimeoutCount()); //$NON-NLS-1$
+		assertEquals("Wrong total time", 6000, snapshot.getTotalTime()); //$NON-NLS-1$
+	}
+
+	public void testPercentiles() {
+		JdwpCommandMetrics metrics = new JdwpCommandMetrics();
+		// latencies of 1 to 1000 microseconds
+		for (int i = 1; i <= 1000; i++) {
+			metrics.recordReply(JdwpCommandPacket.OR_GET_VALUES, 30, 30, i * 1000L);
+		}
+		JdwpCommandMetrics.Snapshot snapshot = metrics.getSnapshots().get(0);
+		assertWithin("p50", 500, snapshot.getLatency(0.5)); //$NON-NLS-1$
+		assertWithin("p99", 990, snapshot.getLatency(0.99)); //$NON-NLS-1$
+		assertWithin("max", 1000, snapshot.getLatency(1)); //$NON-NLS-1$
+		assertEquals("Wrong min", 1, snapshot.getLatency(0)); //$NON-NLS-1$
+	}
+
+	private static void assertWithin(String name, long expected, long actual) {
+		assertTrue("Wrong " + name + ": " + actual, Math.abs(actual - expected) <= expected * 0.07); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testOrderAndReset() {
+		JdwpCommandMetrics metrics = new JdwpCommandMetrics();
+		metrics.recordReply(JdwpCommandPacket.VM_VERSION, 11, 100, 1000000);
+		metrics.recordReply(JdwpCommandPacket.TR_NAME, 19, 30, 5000000);
+		List<JdwpCommandMetrics.Snapshot> snapshots = metrics.getSnapshots();
+		assertEquals("Slowest command should be first", JdwpCommandPacket.TR_NAME, snapshots.get(0).getCommand()); //$NON-NLS-1$
+		StringWriter dump = new StringWriter();
+		metrics.dump(new PrintWriter(dump));
+		assertTrue("Dump should list the commands", dump.toString().contains("VIRTUAL_MACHINE - VERSION")); //$NON-NLS-1$ //$NON-NLS-2$
+		metrics.reset();
+		assertTrue("Metrics should be reset", metrics.getSnapshots().isEmpty()); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.DataInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests encoding and decoding of {@link JdwpPacket}s.
+ */
+public class JdwpPacketTests extends TestCase {
+
+	private static final byte[] DATA = new byte[] { 0, 0, 0, 42, 1, 2, 3 };
+
+	private JdwpCommandPacket newPacket() {
+		JdwpCommandPacket packet = new JdwpCommandPacket(JdwpCommandPacket.OR_GET_VALUES);
+		packet.setData(DATA.clone());
+		return packet;
+	}
+
+	/**
+	 * A packet built from the bytes of another one must have the same header
+	 * and data.
+	 */
+	public void testRoundTrip() throws Exception {
+		JdwpCommandPacket packet = newPacket();
+		byte[] bytes = packet.getPacketAsBytes();
+		assertEquals("Wrong packet length", 11 + DATA.length, bytes.length); //$NON-NLS-1$
+
+		JdwpCommandPacket built = (JdwpCommandPacket) JdwpPacket.build(bytes);
+		assertEquals("Wrong id", packet.getId(), built.getId()); //$NON-NLS-1$
+		assertEquals("Wrong command", JdwpCommandPacket.OR_GET_VALUES, built.getCommand()); //$NON-NLS-1$
+		assertEquals("Wrong data length", DATA.length, built.getDataLength()); //$NON-NLS-1$
+		assertTrue("Wrong data", Arrays.equals(DATA, built.data())); //$NON-NLS-1$
+		assertTrue("Wrong bytes", Arrays.equals(bytes, built.getPacketAsBytes())); //$NON-NLS-1$
+	}
+
+	/**
+	 * The data of a built packet must be readable as a stream and as a buffer.
+	 */
+	public void testDataViews() throws Exception {
+		JdwpPacket built = JdwpPacket.build(newPacket().getPacketAsBytes());
+
+		DataInputStream in = built.dataInStream();
+		assertEquals("Wrong int", 42, in.readInt()); //$NON-NLS-1$
+		assertEquals("Wrong available", 3, in.available()); //$NON-NLS-1$
+
+		ByteBuffer buffer = built.dataBuffer();
+		assertTrue("Buffer should be read-only", buffer.isReadOnly()); //$NON-NLS-1$
+		assertEquals("Wrong remaining", DATA.length, buffer.remaining()); //$NON-NLS-1$
+		assertEquals("Wrong int", 42, buffer.getInt()); //$NON-NLS-1$
+		assertEquals("Wrong byte", 1, buffer.get()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Packets written one after the other into a buffer must each be
+	 * complete.
+	 */
+	public void testWriteTo() throws Exception {
+		JdwpCommandPacket first = newPacket();
+		JdwpCommandPacket second = newPacket();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(first.getLength() + second.getLength());
+		first.writeTo(buffer);
+		second.writeTo(buffer);
+		assertFalse("Buffer should be full", buffer.hasRemaining()); //$NON-NLS-1$
+
+		buffer.flip();
+		byte[] bytes = new byte[first.getLength()];
+		buffer.get(bytes);
+		assertTrue("Wrong first packet", Arrays.equals(first.getPacketAsBytes(), bytes)); //$NON-NLS-1$
+		buffer.get(bytes);
+		assertTrue("Wrong second packet", Arrays.equals(second.getPacketAsBytes(), bytes)); //$NON-NLS-1$
+	}
+}
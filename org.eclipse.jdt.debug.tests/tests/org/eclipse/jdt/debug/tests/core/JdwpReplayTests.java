@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.eclipse.jdi.internal.JdwpCommandMetrics;
+import org.eclipse.jdi.internal.PendingReply;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.spy.JdwpCapture;
+import org.eclipse.jdi.internal.spy.JdwpCaptureWriter;
+import org.eclipse.jdi.internal.spy.JdwpCommandPacket;
+import org.eclipse.jdi.internal.spy.JdwpPacket;
+import org.eclipse.jdi.internal.spy.JdwpReplayConnection;
+import org.eclipse.jdi.internal.spy.JdwpReplyPacket;
+
+import com.sun.jdi.InternalException;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.VMDeathEvent;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests recording a JDWP session with {@link JdwpCaptureWriter} and replaying
+ * it to a {@link VirtualMachineImpl} with {@link JdwpReplayConnection}.
+ */
+public class JdwpReplayTests extends TestCase {
+
+	private static final byte SUSPEND_NONE = 0;
+	private static final byte EVENT_CLASS_UNLOAD = 9;
+	private static final byte EVENT_VM_DEATH = 99;
+
+	private VirtualMachineImpl fVM;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fVM != null) {
+			fVM.dispose();
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Creates a capture of a session in which the debugger asks for the
+	 * version of the VM, resumes it, and the VM dies.
+	 */
+	private JdwpCapture createCapture() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			writer.record(command(1, JdwpCommandPacket.VM_ID_SIZES, new byte[0]), false, 0);
+			writer.record(reply(1, JdwpReplyPacket.NONE, ints(8, 8, 8, 8, 8)), true, 100);
+			// class unload request made by the client after the ID sizes
+			writer.record(command(2, JdwpCommandPacket.ER_SET, new byte[] { EVENT_CLASS_UNLOAD, SUSPEND_NONE, 0, 0, 0, 0 }), false, 150);
+			writer.record(reply(2, JdwpReplyPacket.NONE, ints(1)), true, 180);
+			writer.record(command(3, JdwpCommandPacket.VM_VERSION, new byte[0]), false, 200);
+			writer.record(reply(3, JdwpReplyPacket.NONE, version("17.0.1")), true, 500); //$NON-NLS-1$
+			writer.record(command(4, JdwpCommandPacket.VM_ALL_THREADS, new byte[0]), false, 800);
+			writer.record(reply(4, JdwpReplyPacket.NONE, ints(0)), true, 900);
+			writer.record(command(5, JdwpCommandPacket.VM_RESUME, new byte[0]), false, 1000);
+			writer.record(reply(5, JdwpReplyPacket.NONE, new byte[0]), true, 1100);
+			writer.record(command(1, JdwpCommandPacket.E_COMPOSITE, vmDeath()), true, 50000);
+		}
+		return JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	static byte[] ints(int... values) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] version(String vmVersion) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		writeString("Replayed VM", out); //$NON-NLS-1$
+		out.writeInt(17);
+		out.writeInt(0);
+		writeString(vmVersion, out);
+		writeString("Replay", out); //$NON-NLS-1$
+		return bytes.toByteArray();
+	}
+
+	private static byte[] vmDeath() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(SUSPEND_NONE);
+		out.writeInt(1);
+		out.writeByte(EVENT_VM_DEATH);
+		out.writeInt(0);
+		return bytes.toByteArray();
+	}
+
+	static void writeString(String value, DataOutputStream out) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static JdwpPacket command(int id, int command, byte[] data) throws IOException {
+		return packet(id, (byte) 0, (short) command, data);
+	}
+
+	static JdwpPacket reply(int id, short errorCode, byte[] data) throws IOException {
+		return packet(id, JdwpPacket.FLAG_REPLY_PACKET, errorCode, data);
+	}
+
+	private static JdwpPacket packet(int id, byte flags, short commandOrError, byte[] data) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(11 + data.length);
+		out.writeInt(id);
+		out.writeByte(flags);
+		out.writeShort(commandOrError);
+		out.write(data);
+		return JdwpPacket.read(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	public void testCaptureFormat() throws IOException {
+		JdwpCapture capture = createCapture();
+		assertEquals("Wrong number of packets", 11, capture.getEntries().size()); //$NON-NLS-1$
+		JdwpCapture.Entry reply = capture.getEntries().get(5);
+		assertTrue("Should be from the VM", reply.isFromVM()); //$NON-NLS-1$
+		assertTrue("Should be a reply", reply.isReply()); //$NON-NLS-1$
+		assertEquals("Wrong time", 500, reply.getTime()); //$NON-NLS-1$
+		JdwpCapture.Entry resume = capture.getEntries().get(8);
+		assertFalse("Should be from the debugger", resume.isFromVM()); //$NON-NLS-1$
+		assertEquals("Wrong command", JdwpCommandPacket.VM_RESUME, resume.getCommand()); //$NON-NLS-1$
+		assertEquals("Wrong id", 5, resume.getId()); //$NON-NLS-1$
+	}
+
+	public void testReplayReplies() throws IOException {
+		JdwpReplayConnection connection = new JdwpReplayConnection(createCapture(), 0, 0);
+		fVM = new VirtualMachineImpl(connection);
+		assertEquals("Wrong VM name", "Replay", fVM.name()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong VM version", "17.0.1", fVM.version()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong matched count", 3, connection.getMatchedCount()); //$NON-NLS-1$
+		assertEquals("Wrong unmatched count", 0, connection.getUnmatchedCount()); //$NON-NLS-1$
+	}
+
+	public void testMetricsOfReplayedRequests() throws IOException {
+		fVM = new VirtualMachineImpl(new JdwpReplayConnection(createCapture(), 0, 0));
+		fVM.version();
+		for (JdwpCommandMetrics.Snapshot snapshot : fVM.commandMetrics().getSnapshots()) {
+			if (snapshot.getCommand() == org.eclipse.jdi.internal.jdwp.JdwpCommandPacket.VM_VERSION) {
+				assertEquals("Wrong count", 1, snapshot.getCount()); //$NON-NLS-1$
+				assertEquals("Wrong bytes sent", 11, snapshot.getBytesSent()); //$NON-NLS-1$
+				assertTrue("Reply should be counted", snapshot.getBytesReceived() > 11); //$NON-NLS-1$
+				return;
+			}
+		}
+		fail("Version request should be recorded"); //$NON-NLS-1$
+	}
+
+	public void testUnmatchedCommand() throws IOException {
+		JdwpReplayConnection connection = new JdwpReplayConnection(createCapture(), 0, 0);
+		fVM = new VirtualMachineImpl(connection);
+		try {
+			fVM.topLevelThreadGroups();
+			fail("Command not in the capture should fail"); //$NON-NLS-1$
+		} catch (InternalException e) {
+			assertEquals("Wrong error code", JdwpReplyPacket.INTERNAL, e.errorCode()); //$NON-NLS-1$
+		}
+		assertEquals("Wrong unmatched count", 1, connection.getUnmatchedCount()); //$NON-NLS-1$
+	}
+
+	public void testCancelledRequest() throws Exception {
+		fVM = new VirtualMachineImpl(new JdwpReplayConnection(createCapture(), 0, 0));
+		PendingReply<List<ReferenceType>> pending = fVM.classesBySignatureAsync("Ljava/lang/Object;"); //$NON-NLS-1$
+		pending.cancel();
+		try {
+			pending.get();
+			fail("Cancelled request should not return a result"); //$NON-NLS-1$
+		} catch (CancellationException e) {
+			// expected
+		}
+		// the reply to the cancelled request arrives before this one
+		assertEquals("Wrong VM version", "17.0.1", fVM.version()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Reply to a cancelled request should be discarded", fVM.packetReceiveManager().isReplyAvailable(pending.getId())); //$NON-NLS-1$
+	}
+
+		public void testEventsFollowCommand() throws Exception {
+		JdwpReplayConnection connection = new JdwpReplayConnection(createCapture(), 0, 0);
+		fVM = new VirtualMachineImpl(connection);
+		assertNull("Event should wait for the resume", fVM.eventQueue().remove(200)); //$NON-NLS-1$
+		fVM.resume();
+		EventSet events = fVM.eventQueue().remove(5000);
+		assertNotNull("Event should be replayed after the resume", events); //$NON-NLS-1$
+		assertTrue("Should be a VM death event", events.eventIterator().nextEvent() instanceof VMDeathEvent); //$NON-NLS-1$
+	}
+
+	public void testInjectedLatency() throws IOException {
+		JdwpReplayConnection connection = new JdwpReplayConnection(createCapture(), 0, 200);
+		fVM = new VirtualMachineImpl(connection);
+		long start = System.nanoTime();
+		fVM.version();
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		assertTrue("Reply should be delayed by the latency, was " + elapsed + "ms", elapsed >= 190); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
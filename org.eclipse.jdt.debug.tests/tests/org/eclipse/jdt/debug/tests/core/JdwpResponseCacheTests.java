@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.command;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.ints;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.reply;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.writeString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdi.internal.JdwpResponseCache;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+import org.eclipse.jdi.internal.spy.JdwpCapture;
+import org.eclipse.jdi.internal.spy.JdwpCaptureWriter;
+import org.eclipse.jdi.internal.spy.JdwpCommandPacket;
+import org.eclipse.jdi.internal.spy.JdwpReplayConnection;
+import org.eclipse.jdi.internal.spy.JdwpReplyPacket;
+
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.ThreadReference;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests serving repeated requests from the {@link JdwpResponseCache} of a
+ * {@link VirtualMachineImpl} connected to a replayed session.
+ */
+public class JdwpResponseCacheTests extends TestCase {
+
+	private static final byte SUSPEND_NONE = 0;
+	private static final byte CLASS_UNLOAD = 9;
+	private static final byte[] THREAD_ID = new byte[] { 0, 0, 0, 0, 0, 0, 0, 1 };
+
+	private VirtualMachineImpl fVM;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fVM != null) {
+			fVM.dispose();
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Connects to a session with one thread, in which the given replies are
+	 * recorded for the requests about that thread.
+	 *
+	 * @param requests
+	 *            pairs of command and reply data, or <code>null</code> reply
+	 *            data for a {@link JdwpReplyPacket#THREAD_NOT_SUSPENDED}
+	 *            error
+	 */
+	private ThreadReference connect(Object... requests) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			writer.record(command(1, JdwpCommandPacket.VM_ID_SIZES, new byte[0]), false, 0);
+			writer.record(reply(1, JdwpReplyPacket.NONE, ints(8, 8, 8, 8, 8)), true, 10);
+			// class unload request made by the client after the ID sizes
+			writer.record(command(2, JdwpCommandPacket.ER_SET, new byte[] { CLASS_UNLOAD, SUSPEND_NONE, 0, 0, 0, 0 }), false, 12);
+			writer.record(reply(2, JdwpReplyPacket.NONE, ints(1)), true, 15);
+			writer.record(command(3, JdwpCommandPacket.VM_ALL_THREADS, new byte[0]), false, 20);
+			writer.record(reply(3, JdwpReplyPacket.NONE, ints(1, 0, 1)), true, 30);
+			for (int i = 0; i < requests.length; i += 2) {
+				int id = 4 + i / 2;
+				byte[] data = (byte[]) requests[i + 1];
+				writer.record(command(id, ((Integer) requests[i]).intValue(), THREAD_ID), false, 40 + i * 10);
+				if (data == null) {
+					writer.record(reply(id, JdwpReplyPacket.THREAD_NOT_SUSPENDED, new byte[0]), true, 45 + i * 10);
+				} else {
+					writer.record(reply(id, JdwpReplyPacket.NONE, data), true, 45 + i * 10);
+				}
+			}
+		}
+		fVM = new VirtualMachineImpl(new JdwpReplayConnection(JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray())), 0, 0));
+		List<ThreadReference> threads = fVM.allThreads();
+		assertEquals("Wrong number of threads", 1, threads.size()); //$NON-NLS-1$
+		return threads.get(0);
+	}
+
+	private static byte[] string(String value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writeString(value, new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * A thread can be renamed while it runs, without ending the epoch, so its
+	 * name must be asked for every time.
+	 */
+	public void testThreadNameNotCached() throws Exception {
+		ThreadReference thread = connect(
+				JdwpCommandPacket.TR_NAME, string("main"), //$NON-NLS-1$
+				JdwpCommandPacket.TR_NAME, string("renamed")); //$NON-NLS-1$
+		assertEquals("Wrong name", "main", thread.name()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Name should not be cached", "renamed", thread.name()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong cache hit count", 0, fVM.responseCache().getHitCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * The frame count is served from the cache until the thread is resumed.
+	 */
+	public void testFrameCountCachedUntilResume() throws Exception {
+		ThreadReference thread = connect(
+				JdwpCommandPacket.TR_FRAME_COUNT, ints(3),
+				JdwpCommandPacket.TR_RESUME, new byte[0],
+				JdwpCommandPacket.TR_FRAME_COUNT, ints(5));
+		assertEquals("Wrong frame count", 3, thread.frameCount()); //$NON-NLS-1$
+		assertEquals("Wrong cached frame count", 3, thread.frameCount()); //$NON-NLS-1$
+		assertEquals("Wrong cache hit count", 1, fVM.responseCache().getHitCount()); //$NON-NLS-1$
+		long epoch = fVM.responseCache().getEpoch();
+		thread.resume();
+		assertTrue("Resume should end the epoch", fVM.responseCache().getEpoch() > epoch); //$NON-NLS-1$
+		assertEquals("Frame count should be asked for again", 5, thread.frameCount()); //$NON-NLS-1$
+		assertEquals("Wrong cache miss count", 2, fVM.responseCache().getMissCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Error replies are not cached.
+	 */
+	public void testErrorNotCached() throws Exception {
+		ThreadReference thread = connect(
+				JdwpCommandPacket.TR_FRAME_COUNT, null,
+				JdwpCommandPacket.TR_FRAME_COUNT, ints(2));
+		try {
+			thread.frameCount();
+			fail("Running thread should have no frames"); //$NON-NLS-1$
+		} catch (IncompatibleThreadStateException e) {
+			// expected
+		}
+		assertEquals("Error should not be cached", 2, thread.frameCount()); //$NON-NLS-1$
+		assertEquals("Wrong cache hit count", 0, fVM.responseCache().getHitCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * A cached reply is shared by the threads that ask for it, which must all
+	 * read its whole data at the same time, including the first time it is
+	 * read.
+	 */
+	public void testConcurrentReaders() throws Exception {
+		ThreadReference thread = connect(JdwpCommandPacket.TR_FRAME_COUNT, ints(3));
+		assertEquals("Wrong frame count", 3, thread.frameCount()); //$NON-NLS-1$
+		// the data of a received packet is kept in the bytes of the whole packet
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		reply(9, JdwpReplyPacket.NONE, ints(1, 2, 3, 4)).write(bytes);
+		byte[] expected = ints(1, 2, 3, 4);
+
+		int rounds = 2000;
+		AtomicReference<JdwpPacket> received = new AtomicReference<>();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] readers = new Thread[8];
+		// every round, all readers read a newly received packet
+		CyclicBarrier barrier = new CyclicBarrier(readers.length, () -> {
+			try {
+				received.set(JdwpPacket.build(bytes.toByteArray()));
+			} catch (IOException e) {
+				failure.compareAndSet(null, e);
+			}
+		});
+		for (int i = 0; i < readers.length; i++) {
+			final boolean copies = i % 2 == 0;
+			readers[i] = new Thread(() -> {
+				try {
+					for (int j = 0; j < rounds; j++) {
+						barrier.await();
+						JdwpPacket packet = received.get();
+						assertEquals("Wrong cached frame count", 3, thread.frameCount()); //$NON-NLS-1$
+						if (copies) {
+							assertTrue("Wrong data", Arrays.equals(expected, packet.data())); //$NON-NLS-1$
+						} else {
+							DataInputStream in = packet.dataInStream();
+							for (int k = 1; k <= 4; k++) {
+								assertEquals("Wrong data read", k, in.readInt()); //$NON-NLS-1$
+							}
+						}
+					}
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+					barrier.reset();
+				}
+			}, "JdwpResponseCacheTests"); //$NON-NLS-1$
+			readers[i].start();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		if (failure.get() != null) {
+			throw new AssertionError("Reader failed", failure.get()); //$NON-NLS-1$
+		}
+		assertEquals("Wrong cache hit count", readers.length * rounds, fVM.responseCache().getHitCount()); //$NON-NLS-1$
+	}
+}
@@ -19,9 +19,11 @@ import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.ui.DebugUITools;
 import org.eclipse.debug.ui.IDebugModelPresentation;
 import org.eclipse.debug.ui.IValueDetailListener;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.debug.tests.TestAgainException;
@@ -124,6 +126,78 @@ public class LocalVariableTests extends AbstractDebugTest implements IValueDetai
 		}
 	}
 
+	/**
+	 * The values of the locals of a frame are retrieved with one request, and
+	 * retrieved again after a step.
+	 */
+	public void testLocalValuesRetrievedTogether() throws Exception {
+		String typeName = "LocalVariablesTests";
+
+		ILineBreakpoint bp = createLineBreakpoint(48, typeName);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			IJavaDebugTarget target = (IJavaDebugTarget) frame.getDebugTarget();
+			IJavaVariable[] vars = frame.getLocalVariables();
+			assertEquals("Should be three visible locals", 3, vars.length);
+
+			target.resetCommandStatistics();
+			for (IJavaVariable var : vars) {
+				assertNotNull("Missing value of " + var.getName(), var.getValue());
+			}
+			assertEquals("Local values should be retrieved with one request", 1, getReplyCount(target, JdwpCommandPacket.SF_GET_VALUES));
+			assertEquals("Wrong value of 'i'", "0", findVariable(frame, "i").getValue().getValueString());
+			assertTrue("Wrong value of 'obj'", ((IJavaValue) findVariable(frame, "obj").getValue()).isNull());
+
+			stepOver(frame);
+			frame = (IJavaStackFrame)thread.getTopStackFrame();
+			target.resetCommandStatistics();
+			for (IJavaVariable var : frame.getLocalVariables()) {
+				assertNotNull("Missing value of " + var.getName(), var.getValue());
+			}
+			assertEquals("Local values should be retrieved again after a step", 1, getReplyCount(target, JdwpCommandPacket.SF_GET_VALUES));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * The value of a local read twice while the thread stays suspended is
+	 * retrieved once, until it is modified.
+	 */
+	public void testLocalValueReadTwice() throws Exception {
+		String typeName = "LocalVariablesTests";
+
+		ILineBreakpoint bp = createLineBreakpoint(48, typeName);
+
+		IJavaThread thread= null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			IJavaDebugTarget target = (IJavaDebugTarget) frame.getDebugTarget();
+			IJavaVariable i = findVariable(frame, "i");
+			assertNotNull("Could not find variable 'i'", i);
+
+			target.resetCommandStatistics();
+			assertEquals("Wrong value of 'i'", "0", i.getValue().getValueString());
+			assertEquals("Wrong value of 'i'", "0", i.getValue().getValueString());
+			assertEquals("Value read twice should be retrieved with one request", 1, getReplyCount(target, JdwpCommandPacket.SF_GET_VALUES));
+
+			i.setValue("3");
+			target.resetCommandStatistics();
+			assertEquals("Wrong modified value of 'i'", "3", i.getValue().getValueString());
+			assertEquals("Modified value should be retrieved again", 1, getReplyCount(target, JdwpCommandPacket.SF_GET_VALUES));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	public void testEvaluationAssignments() throws Exception {
 		String typeName = "LocalVariablesTests";
 
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdi.internal.MirrorCache;
+import org.eclipse.jdi.internal.MirrorCache.ReferenceStrength;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests {@link MirrorCache}.
+ */
+public class MirrorCacheTests extends TestCase {
+
+	/**
+	 * Values put in the cache must be found under their id until removed,
+	 * including after the tables have grown and entries have been moved back
+	 * by removals.
+	 */
+	public void testPutGetRemove() throws Exception {
+		MirrorCache<String> cache = new MirrorCache<>(ReferenceStrength.STRONG, 0);
+		int count = 10000;
+		for (long id = 0; id < count; id++) {
+			cache.put(id * 4096, Long.toString(id));
+		}
+		for (long id = 0; id < count; id++) {
+			assertEquals("Wrong value", Long.toString(id), cache.get(id * 4096)); //$NON-NLS-1$
+		}
+		for (long id = 0; id < count; id += 2) {
+			assertEquals("Wrong removed value", Long.toString(id), cache.remove(id * 4096)); //$NON-NLS-1$
+		}
+		for (long id = 0; id < count; id++) {
+			String expected = id % 2 == 0 ? null : Long.toString(id);
+			assertEquals("Wrong value after removal", expected, cache.get(id * 4096)); //$NON-NLS-1$
+		}
+		assertEquals("Wrong number of values", count / 2, cache.values().size()); //$NON-NLS-1$
+		assertNull("Unknown id should not be found", cache.get(-1)); //$NON-NLS-1$
+		assertNull("Unknown id should not be removed", cache.remove(-1)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Putting a value under an id that is already cached must replace the
+	 * value.
+	 */
+	public void testReplace() throws Exception {
+		MirrorCache<String> cache = new MirrorCache<>(ReferenceStrength.SOFT, 0);
+		cache.put(42, "a"); //$NON-NLS-1$
+		cache.put(42, "b"); //$NON-NLS-1$
+		assertEquals("Wrong value", "b", cache.get(42)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong number of values", 1, cache.values().size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * A bounded cache must not hold more values than its maximum size, and
+	 * must keep the values it holds under the right ids.
+	 */
+	public void testMaximumSize() throws Exception {
+		MirrorCache<Long> cache = new MirrorCache<>(ReferenceStrength.STRONG, 1024);
+		for (long id = 0; id < 100000; id++) {
+			cache.put(id, Long.valueOf(id));
+		}
+		Set<Long> values = new HashSet<>(cache.values());
+		assertTrue("Too many values: " + values.size(), values.size() <= 1024); //$NON-NLS-1$
+		for (Long value : values) {
+			assertEquals("Wrong value", value, cache.get(value.longValue())); //$NON-NLS-1$
+		}
+		assertEquals("Last value should be cached", Long.valueOf(99999), cache.get(99999)); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.connect.PacketReceiveManager;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+import com.sun.jdi.connect.spi.Connection;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests matching of reply packets to their requests in {@link PacketReceiveManager},
+ * using an in-memory connection instead of a target VM.
+ */
+public class PacketReceiveManagerTests extends TestCase {
+
+	/**
+	 * Connection that hands out the packets queued by the test.
+	 */
+	static class QueueConnection extends Connection {
+
+		private static final byte[] CLOSED = new byte[0];
+
+		final BlockingQueue<byte[]> fIncoming = new LinkedBlockingQueue<>();
+		private volatile boolean fOpen = true;
+
+		@Override
+		public byte[] readPacket() throws IOException {
+			byte[] packet;
+			try {
+				packet = fIncoming.take();
+			} catch (InterruptedException e) {
+				throw new ClosedConnectionException();
+			}
+			if (packet == CLOSED) {
+				throw new ClosedConnectionException();
+			}
+			return packet;
+		}
+
+		@Override
+		public void writePacket(byte[] pkt) throws IOException {
+		}
+
+		@Override
+		public void close() throws IOException {
+			fOpen = false;
+			fIncoming.offer(CLOSED);
+		}
+
+		@Override
+		public boolean isOpen() {
+			return fOpen;
+		}
+	}
+
+	private QueueConnection fConnection;
+	private PacketReceiveManager fManager;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fConnection = new QueueConnection();
+		fManager = new PacketReceiveManager(fConnection, null);
+		Thread thread = new Thread(fManager, "PacketReceiveManagerTests"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fManager.disconnectVM();
+		super.tearDown();
+	}
+
+	/**
+	 * Builds the bytes of an empty reply packet with the given id.
+	 */
+	static byte[] replyBytes(int id, short errorCode) {
+		byte[] bytes = new byte[11];
+		bytes[3] = 11;
+		bytes[4] = (byte) (id >>> 24);
+		bytes[5] = (byte) (id >>> 16);
+		bytes[6] = (byte) (id >>> 8);
+		bytes[7] = (byte) id;
+		bytes[8] = (byte) 0x80;
+		bytes[9] = (byte) (errorCode >>> 8);
+		bytes[10] = (byte) errorCode;
+		return bytes;
+	}
+
+	/**
+	 * Replies arriving out of order must each be handed to their own request.
+	 */
+	public void testOutOfOrderReplies() throws Exception {
+		for (int id = 1; id <= 100; id++) {
+			fManager.expectReply(id);
+		}
+		for (int id = 100; id > 0; id--) {
+			fConnection.fIncoming.add(replyBytes(id, (short) id));
+		}
+		for (int id = 1; id <= 100; id++) {
+			JdwpReplyPacket reply = fManager.getReply(id, 5000);
+			assertEquals("Wrong reply id", id, reply.getId()); //$NON-NLS-1$
+			assertEquals("Wrong error code", id, reply.errorCode()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A reply arriving after its request has started waiting must wake up
+	 * that request.
+	 */
+	public void testReplyAfterWait() throws Exception {
+		Thread sender = new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+			}
+			fConnection.fIncoming.add(replyBytes(7, JdwpReplyPacket.NONE));
+		});
+		sender.start();
+		JdwpReplyPacket reply = fManager.getReply(7, 5000);
+		assertEquals("Wrong reply id", 7, reply.getId()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Replies of pipelined requests must be reported as available without
+	 * being taken.
+	 */
+	public void testReplyAvailable() throws Exception {
+		fManager.expectReply(3);
+		assertFalse("Reply should not be available yet", fManager.isReplyAvailable(3)); //$NON-NLS-1$
+		fConnection.fIncoming.add(replyBytes(3, JdwpReplyPacket.NONE));
+		long end = System.currentTimeMillis() + 5000;
+		while (!fManager.isReplyAvailable(3) && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertTrue("Reply should be available", fManager.isReplyAvailable(3)); //$NON-NLS-1$
+		assertEquals("Wrong reply id", 3, fManager.getReply(3, 5000).getId()); //$NON-NLS-1$
+		assertFalse("Reply should have been taken", fManager.isReplyAvailable(3)); //$NON-NLS-1$
+	}
+
+	/**
+	 * A reply to a request that timed out must be discarded and must not be
+	 * handed to a later request.
+	 */
+	public void testTimedOutReplyDiscarded() throws Exception {
+		try {
+			fManager.getReply(42, 50);
+			fail("Request should have timed out"); //$NON-NLS-1$
+		} catch (TimeoutException e) {
+			// expected
+		}
+		fManager.expectReply(43);
+		fConnection.fIncoming.add(replyBytes(42, JdwpReplyPacket.NONE));
+		fConnection.fIncoming.add(replyBytes(43, JdwpReplyPacket.NONE));
+		assertEquals("Wrong reply id", 43, fManager.getReply(43, 5000).getId()); //$NON-NLS-1$
+		try {
+			fManager.getReply(42, 50);
+			fail("Late reply should have been discarded"); //$NON-NLS-1$
+		} catch (TimeoutException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * A reply nobody waits for, or has given up on, must not be kept.
+	 */
+	public void testUnexpectedReplyDiscarded() throws Exception {
+		fManager.expectReply(5);
+		fManager.cancelReply(5);
+		fConnection.fIncoming.add(replyBytes(5, JdwpReplyPacket.NONE));
+		fConnection.fIncoming.add(replyBytes(6, JdwpReplyPacket.NONE));
+		fManager.expectReply(7);
+		fConnection.fIncoming.add(replyBytes(7, JdwpReplyPacket.NONE));
+		assertEquals("Wrong reply id", 7, fManager.getReply(7, 5000).getId()); //$NON-NLS-1$
+		assertFalse("Cancelled reply should have been discarded", fManager.isReplyAvailable(5)); //$NON-NLS-1$
+		assertFalse("Unexpected reply should have been discarded", fManager.isReplyAvailable(6)); //$NON-NLS-1$
+	}
+
+	/**
+	 * A request starting to wait after the connection is closed must fail
+	 * right away.
+	 */
+	public void testDisconnectBeforeWait() throws Exception {
+		fManager.disconnectVM();
+		long start = System.currentTimeMillis();
+		try {
+			fManager.getReply(1, 30000);
+			fail("Request should have failed with a disconnect"); //$NON-NLS-1$
+		} catch (VMDisconnectedException e) {
+			// expected
+		}
+		assertTrue("Waiter was not released on disconnect", System.currentTimeMillis() - start < 10000); //$NON-NLS-1$
+	}
+
+	/**
+	 * Disconnecting must release a waiting request.
+	 */
+	public void testDisconnectWakesWaiter() throws Exception {
+		Thread closer = new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+			}
+			fManager.disconnectVM();
+		});
+		closer.start();
+		long start = System.currentTimeMillis();
+		try {
+			fManager.getReply(1, 30000);
+			fail("Request should have failed with a disconnect"); //$NON-NLS-1$
+		} catch (VMDisconnectedException e) {
+			// expected
+		}
+		assertTrue("Waiter was not released on disconnect", System.currentTimeMillis() - start < 10000); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.internal.connect.PacketSendManager;
+import org.eclipse.jdi.internal.connect.SocketTransportService;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+
+import com.sun.jdi.connect.spi.Connection;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests sending packets with {@link PacketSendManager}, without a target VM.
+ */
+public class PacketSendManagerTests extends TestCase {
+
+	private static final byte[] HANDSHAKE = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+
+	/**
+	 * Connection that records the packets written to it.
+	 */
+	static class RecordingConnection extends Connection {
+
+		final List<byte[]> fWritten = new ArrayList<>();
+		private volatile boolean fOpen = true;
+
+		@Override
+		public byte[] readPacket() throws IOException {
+			throw new IOException();
+		}
+
+		@Override
+		public synchronized void writePacket(byte[] pkt) throws IOException {
+			fWritten.add(pkt);
+			notifyAll();
+		}
+
+		synchronized void waitForPackets(int count) throws InterruptedException {
+			long end = System.currentTimeMillis() + 5000;
+			while (fWritten.size() < count && System.currentTimeMillis() < end) {
+				wait(100);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			fOpen = false;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return fOpen;
+		}
+	}
+
+	private PacketSendManager fManager;
+	private Thread fThread;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fManager != null) {
+			fManager.disconnectVM();
+		}
+		super.tearDown();
+	}
+
+	private void start(Connection connection) {
+		fManager = new PacketSendManager(connection);
+		fThread = new Thread(fManager, "PacketSendManagerTests"); //$NON-NLS-1$
+		fThread.setDaemon(true);
+		fThread.start();
+	}
+
+	private static List<JdwpCommandPacket> createPackets(int count) {
+		List<JdwpCommandPacket> packets = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			JdwpCommandPacket packet = new JdwpCommandPacket(JdwpCommandPacket.VM_VERSION);
+			packet.setData(new byte[i % 7]);
+			packets.add(packet);
+		}
+		return packets;
+	}
+
+	/**
+	 * Packets must be written in the order they are sent, one per write for
+	 * connections other than sockets.
+	 */
+	public void testPacketsInOrder() throws Exception {
+		RecordingConnection connection = new RecordingConnection();
+		start(connection);
+		List<JdwpCommandPacket> packets = createPackets(200);
+		for (JdwpCommandPacket packet : packets) {
+			fManager.sendPacket(packet);
+		}
+		connection.waitForPackets(packets.size());
+		synchronized (connection) {
+			assertEquals("Wrong number of packets written", packets.size(), connection.fWritten.size()); //$NON-NLS-1$
+			for (int i = 0; i < packets.size(); i++) {
+				JdwpPacket written = JdwpPacket.build(connection.fWritten.get(i));
+				assertEquals("Wrong packet id", packets.get(i).getId(), written.getId()); //$NON-NLS-1$
+				assertEquals("Wrong packet length", packets.get(i).getLength(), written.getLength()); //$NON-NLS-1$
+			}
+		}
+		assertEquals("Wrong packet count", packets.size(), fManager.getPacketCount()); //$NON-NLS-1$
+		assertEquals("Wrong flush count", packets.size(), fManager.getFlushCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Packets queued while the send thread is not running must be written to
+	 * a socket with one write, byte for byte.
+	 */
+	public void testCoalescedSocketWrite() throws Exception {
+		try (ServerSocket server = new ServerSocket(0)) {
+			// the VM side of the handshake, while attaching waits for it
+			FutureTask<Socket> accept = new FutureTask<>(() -> {
+				Socket socket = server.accept();
+				byte[] handshake = new byte[HANDSHAKE.length];
+				new DataInputStream(socket.getInputStream()).readFully(handshake);
+				socket.getOutputStream().write(HANDSHAKE);
+				return socket;
+			});
+			new Thread(accept).start();
+			Connection connection = new SocketTransportService().attach("localhost", server.getLocalPort(), 5000, 5000); //$NON-NLS-1$
+			try (Socket socket = accept.get(5, TimeUnit.SECONDS)) {
+				DataInputStream input = new DataInputStream(socket.getInputStream());
+				fManager = new PacketSendManager(connection);
+				List<JdwpCommandPacket> packets = createPackets(50);
+				for (JdwpCommandPacket packet : packets) {
+					fManager.sendPacket(packet);
+				}
+				fThread = new Thread(fManager, "PacketSendManagerTests"); //$NON-NLS-1$
+				fThread.setDaemon(true);
+				fThread.start();
+
+				socket.setSoTimeout(5000);
+				for (JdwpCommandPacket packet : packets) {
+					byte[] expected = packet.getPacketAsBytes();
+					byte[] actual = new byte[expected.length];
+					input.readFully(actual);
+					assertTrue("Wrong bytes for packet " + packet.getId(), Arrays.equals(expected, actual)); //$NON-NLS-1$
+				}
+				// the counts are updated once the write has returned
+				long end = System.currentTimeMillis() + 5000;
+				while (fManager.getPacketCount() < packets.size() && System.currentTimeMillis() < end) {
+					Thread.sleep(10);
+				}
+				assertEquals("Wrong packet count", packets.size(), fManager.getPacketCount()); //$NON-NLS-1$
+				assertEquals("Wrong flush count", 1, fManager.getFlushCount()); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Disconnecting must release the send thread parked on an empty queue.
+	 */
+	public void testDisconnectReleasesSendThread() throws Exception {
+		start(new RecordingConnection());
+		Thread.sleep(100);
+		fManager.disconnectVM();
+		fThread.join(5000);
+		assertFalse("Send thread should have stopped", fThread.isAlive()); //$NON-NLS-1$
+	}
+}
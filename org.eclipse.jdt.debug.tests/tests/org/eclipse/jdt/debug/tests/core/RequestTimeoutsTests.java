@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.command;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.ints;
+import static org.eclipse.jdt.debug.tests.core.JdwpReplayTests.reply;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.RequestTimeouts;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+import org.eclipse.jdi.internal.spy.JdwpCapture;
+import org.eclipse.jdi.internal.spy.JdwpCaptureWriter;
+import org.eclipse.jdi.internal.spy.JdwpReplayConnection;
+import org.eclipse.jdt.internal.debug.core.model.ITimeoutListener;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the per command set timeouts of {@link RequestTimeouts}.
+ */
+public class RequestTimeoutsTests extends TestCase {
+
+	private static final int REQUEST_TIMEOUT = 3000;
+	private static final long MS = 1000000;
+
+	public void testStaticTimeouts() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		assertEquals("Cheap command should use the request timeout", REQUEST_TIMEOUT, timeouts.getTimeout(JdwpCommandPacket.TR_NAME, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Heavy command should wait longer", REQUEST_TIMEOUT * RequestTimeouts.HEAVY_FACTOR, timeouts.getTimeout(JdwpCommandPacket.VM_ALL_CLASSES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Infinite timeout should be kept", Integer.MAX_VALUE, timeouts.getTimeout(JdwpCommandPacket.VM_ALL_CLASSES, Integer.MAX_VALUE)); //$NON-NLS-1$
+		assertEquals("Disabled timeout should be kept", -1, timeouts.getTimeout(JdwpCommandPacket.TR_NAME, -1)); //$NON-NLS-1$
+	}
+
+	public void testFastRepliesKeepTimeout() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		for (int i = 0; i < 100; i++) {
+			timeouts.recordLatency(JdwpCommandPacket.TR_NAME, 2 * MS);
+		}
+		assertEquals("Timeout should not shrink below the request timeout", REQUEST_TIMEOUT, timeouts.getTimeout(JdwpCommandPacket.TR_NAME, REQUEST_TIMEOUT)); //$NON-NLS-1$
+	}
+
+	public void testFastHeavyRepliesShortenTimeout() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		for (int i = 0; i < 100; i++) {
+			timeouts.recordLatency(JdwpCommandPacket.VM_ALL_CLASSES, 200 * MS);
+		}
+		assertEquals("Heavy command answered quickly should use the request timeout", REQUEST_TIMEOUT, timeouts.getTimeout(JdwpCommandPacket.VM_ALL_CLASSES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+	}
+
+	public void testSlowRepliesExtendTimeout() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		for (int i = 0; i < 100; i++) {
+			timeouts.recordLatency(JdwpCommandPacket.TR_FRAMES, (2500 + (i % 2) * 1000) * MS);
+		}
+		int timeout = timeouts.getTimeout(JdwpCommandPacket.TR_FRAMES, REQUEST_TIMEOUT);
+		assertTrue("Timeout should cover slow replies: " + timeout, timeout > 3500); //$NON-NLS-1$
+		assertTrue("Timeout should stay close to the latency: " + timeout, timeout < 10000); //$NON-NLS-1$
+		assertEquals("Other command sets should not be affected", REQUEST_TIMEOUT, timeouts.getTimeout(JdwpCommandPacket.VM_VERSION, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Heavy commands of the set should not be affected", REQUEST_TIMEOUT * RequestTimeouts.HEAVY_FACTOR, timeouts.getTimeout(JdwpCommandPacket.VM_ALL_CLASSES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+	}
+
+	public void testGrowthIsBounded() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		timeouts.recordLatency(JdwpCommandPacket.TR_FRAMES, 3600000 * MS);
+		assertEquals("Timeout growth should be bounded", REQUEST_TIMEOUT * RequestTimeouts.MAX_GROWTH, timeouts.getTimeout(JdwpCommandPacket.TR_FRAMES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+	}
+
+	public void testTimeoutsKeepEstimate() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		long sent = System.nanoTime();
+		timeouts.received();
+		for (int i = 0; i < 100; i++) {
+			timeouts.timedOut(JdwpCommandPacket.TR_FRAMES, sent);
+			timeouts.timedOut(JdwpCommandPacket.VM_ALL_CLASSES, sent);
+		}
+		assertFalse("Connection that received packets should be responsive", timeouts.isUnresponsive()); //$NON-NLS-1$
+		assertEquals("Cheap command should keep the request timeout", REQUEST_TIMEOUT, timeouts.getTimeout(JdwpCommandPacket.TR_FRAMES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Heavy command should keep its timeout", REQUEST_TIMEOUT * RequestTimeouts.HEAVY_FACTOR, timeouts.getTimeout(JdwpCommandPacket.VM_ALL_CLASSES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+	}
+
+	public void testUnresponsiveConnection() {
+		RequestTimeouts timeouts = new RequestTimeouts();
+		for (int i = 0; i < 100; i++) {
+			timeouts.recordLatency(JdwpCommandPacket.TR_FRAMES, 6000 * MS);
+		}
+		final int[] notified = new int[1];
+		ITimeoutListener listener = () -> notified[0]++;
+		timeouts.addTimeoutListener(listener);
+		timeouts.timedOut(JdwpCommandPacket.TR_FRAMES, System.nanoTime());
+		assertTrue("Connection silent since the request should be unresponsive", timeouts.isUnresponsive()); //$NON-NLS-1$
+		int fast = REQUEST_TIMEOUT / RequestTimeouts.UNRESPONSIVE_DIVISOR;
+		assertEquals("Slow command should fail fast", fast, timeouts.getTimeout(JdwpCommandPacket.TR_FRAMES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Cheap command should fail fast", fast, timeouts.getTimeout(JdwpCommandPacket.TR_NAME, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Heavy command should fail fast", fast, timeouts.getTimeout(JdwpCommandPacket.VM_ALL_CLASSES, REQUEST_TIMEOUT)); //$NON-NLS-1$
+		assertEquals("Listener should be notified of the timeout", 1, notified[0]); //$NON-NLS-1$
+
+		timeouts.received();
+		assertFalse("Received packet should make the connection responsive", timeouts.isUnresponsive()); //$NON-NLS-1$
+		assertTrue("Slow command should wait for its estimate again", timeouts.getTimeout(JdwpCommandPacket.TR_FRAMES, REQUEST_TIMEOUT) > REQUEST_TIMEOUT); //$NON-NLS-1$
+		assertEquals("Other command sets should use the request timeout again", REQUEST_TIMEOUT, timeouts.getTimeout(JdwpCommandPacket.VM_VERSION, REQUEST_TIMEOUT)); //$NON-NLS-1$
+
+		timeouts.removeTimeoutListener(listener);
+		timeouts.timedOut(JdwpCommandPacket.TR_FRAMES, System.nanoTime());
+		assertEquals("Removed listener should not be notified", 1, notified[0]); //$NON-NLS-1$
+	}
+
+	/**
+	 * Requests queued behind a request to a dead connection fail quickly
+	 * instead of each waiting for the request timeout.
+	 */
+	public void testDeadConnection() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JdwpCaptureWriter writer = new JdwpCaptureWriter(bytes)) {
+			writer.record(command(1, JdwpCommandPacket.VM_ID_SIZES, new byte[0]), false, 0);
+			writer.record(reply(1, JdwpReplyPacket.NONE, ints(8, 8, 8, 8, 8)), true, 0);
+			// class unload request of the event request manager
+			writer.record(command(2, JdwpCommandPacket.ER_SET, new byte[] { 9, 0, 0, 0, 0, 0 }), false, 0);
+			writer.record(reply(2, JdwpReplyPacket.NONE, ints(1)), true, 0);
+			// the VM does not answer from now on
+			writer.record(command(3, JdwpCommandPacket.VM_ALL_THREADS, new byte[0]), false, 0);
+		}
+		VirtualMachineImpl vm = new VirtualMachineImpl(new JdwpReplayConnection(JdwpCapture.read(new ByteArrayInputStream(bytes.toByteArray())), 0, 0));
+		try {
+			int requestTimeout = 2000;
+			vm.setRequestTimeout(requestTimeout);
+			final int[] notified = new int[1];
+			vm.requestTimeouts().addTimeoutListener(() -> notified[0]++);
+			long[] elapsed = new long[5];
+			for (int i = 0; i < elapsed.length; i++) {
+				long start = System.nanoTime();
+				try {
+					vm.allThreads();
+					fail("Dead connection should not answer"); //$NON-NLS-1$
+				} catch (TimeoutException e) {
+					// expected
+				}
+				elapsed[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			}
+			assertTrue("First request should wait for the request timeout, took " + elapsed[0] + "ms", elapsed[0] >= requestTimeout - 100); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int i = 1; i < elapsed.length; i++) {
+				assertTrue("Queued request should fail fast, took " + elapsed[i] + "ms", elapsed[i] < requestTimeout / 2); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			assertTrue("Connection should be unresponsive", vm.requestTimeouts().isUnresponsive()); //$NON-NLS-1$
+			assertEquals("Listener should be notified of each timeout", elapsed.length, notified[0]); //$NON-NLS-1$
+		} finally {
+			vm.dispose();
+		}
+	}
+}
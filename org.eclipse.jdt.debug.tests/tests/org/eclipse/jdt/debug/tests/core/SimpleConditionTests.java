@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.debug.core.model.SimpleCondition;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the recognition and evaluation of {@link SimpleCondition}s.
+ */
+public class SimpleConditionTests extends TestCase {
+
+	private final Map<String, Object> fOperands = new HashMap<>();
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fOperands.put("i", Long.valueOf(42)); //$NON-NLS-1$
+		fOperands.put("c", Long.valueOf('x')); //$NON-NLS-1$
+		fOperands.put("f", Float.valueOf(0.1f)); //$NON-NLS-1$
+		fOperands.put("d", Double.valueOf(Double.NaN)); //$NON-NLS-1$
+		fOperands.put("done", Boolean.FALSE); //$NON-NLS-1$
+		fOperands.put("name", null); //$NON-NLS-1$
+		fOperands.put("this.state", "RUNNING"); //$NON-NLS-1$ //$NON-NLS-2$
+		fOperands.put("boxed", Integer.valueOf(42)); //$NON-NLS-1$
+	}
+
+	private Boolean evaluate(String condition) {
+		SimpleCondition simpleCondition = SimpleCondition.parse(condition);
+		assertNotNull("Condition should be simple: " + condition, simpleCondition); //$NON-NLS-1$
+		return simpleCondition.evaluate(fOperands);
+	}
+
+	public void testNotSimple() {
+		String[] conditions = new String[] { "foo()", "s.length() > 0", "\"a\" == name", "i = 3", "i++ > 0", "i + 1 == 43", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+				"a.b == null", "Outer.this.x == 1", "-i < 0", "o instanceof String", "i == ", "i == 3;" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		for (String condition : conditions) {
+			assertNull("Condition should not be simple: " + condition, SimpleCondition.parse(condition)); //$NON-NLS-1$
+		}
+	}
+
+	public void testOperands() {
+		SimpleCondition condition = SimpleCondition.parse("i > 3 && (this.state != null || !done)"); //$NON-NLS-1$
+		assertNotNull("Condition should be simple", condition); //$NON-NLS-1$
+		assertEquals("Wrong operands", 3, condition.getOperands().size()); //$NON-NLS-1$
+		assertTrue("Missing local", condition.getOperands().contains("i")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Missing field", condition.getOperands().contains("this.state")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Missing boolean", condition.getOperands().contains("done")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testComparisons() {
+		assertEquals(Boolean.TRUE, evaluate("i == 42")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("i != 0x2B")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("i >= 42L && i <= 1_000")); //$NON-NLS-1$
+		assertEquals(Boolean.FALSE, evaluate("i < -2147483648 || i > 052")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("c == 'x'")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("f == 0.1f")); //$NON-NLS-1$
+		assertEquals(Boolean.FALSE, evaluate("f == 0.1")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("16777217 == 16777216f")); //$NON-NLS-1$
+		assertEquals(Boolean.FALSE, evaluate("d == d")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("d != d")); //$NON-NLS-1$
+	}
+
+	public void testBooleansAndReferences() {
+		assertEquals(Boolean.TRUE, evaluate("!done")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("done == false")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("name == null")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("this.state != null && this.state != name")); //$NON-NLS-1$
+		assertEquals(Boolean.TRUE, evaluate("done || (i == 42 && !done)")); //$NON-NLS-1$
+	}
+
+	public void testPostfix() {
+		assertEquals("v:i j:42 >= v:done ! &&", SimpleCondition.parse("i >= 42L && !done").getPostfix()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("v:c i:120 == v:name n == || z:1 ||", SimpleCondition.parse("c == 'x' || name == null || true").getPostfix()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("v:f f:" + Float.floatToIntBits(-0.5f) + " <", SimpleCondition.parse("f < -0.5f").getPostfix()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNull("Fields are not in guards", SimpleCondition.parse("this.state != null").getPostfix()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testFallback() {
+		assertNull("Non boolean condition should use the engine", evaluate("i")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("Unboxing should use the engine", evaluate("boxed == 42")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("Unknown operand should use the engine", evaluate("unknown == 42")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
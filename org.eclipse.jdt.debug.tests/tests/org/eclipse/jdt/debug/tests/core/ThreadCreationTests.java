@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.request.ThreadDeathRequest;
+
+/**
+ * Tests creating model threads for started threads whose properties cannot
+ * be retrieved, and for virtual threads that are only represented once
+ * needed.
+ */
+public class ThreadCreationTests extends AbstractDebugTest {
+
+	/**
+	 * Id of the threads created by these tests, which no thread of the VM has
+	 */
+	private static final long THREAD_ID = Long.MAX_VALUE - 1;
+
+	public ThreadCreationTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Creates a thread reference for a thread of the VM with the given id,
+	 * whose given method returns the given result, or fails with it if it is
+	 * an exception.
+	 */
+	private ThreadReference createThreadReference(final ThreadReference thread, final long id, final String method, final Object result) {
+		InvocationHandler handler = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+				if (m.getName().equals(method)) {
+					if (result instanceof RuntimeException) {
+						throw (RuntimeException) result;
+					}
+					return result;
+				}
+				if (m.getName().equals("uniqueID")) { //$NON-NLS-1$
+					return Long.valueOf(id);
+				}
+				if (m.getName().equals("equals")) { //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				}
+				if (m.getName().equals("hashCode")) { //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				}
+				try {
+					return m.invoke(thread, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+		};
+		return (ThreadReference) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ThreadReference.class }, handler);
+	}
+
+	/**
+	 * Creates a model thread in the given target the way a thread start
+	 * event does.
+	 */
+	private JDIThread createStartedThread(JDIDebugTarget target, ThreadReference reference) throws Exception {
+		Method method = JDIDebugTarget.class.getDeclaredMethod("createStartedThread", ThreadReference.class); //$NON-NLS-1$
+		method.setAccessible(true);
+		return (JDIThread) method.invoke(target, reference);
+	}
+
+	/**
+	 * A started thread that turns out to have been collected when its
+	 * properties are retrieved is removed from the target.
+	 */
+	public void testCollectedThread() throws Exception {
+		String typeName = "Breakpoints"; //$NON-NLS-1$
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName, false);
+			assertNotNull("Breakpoint not hit within timeout period", thread); //$NON-NLS-1$
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			ThreadReference reference = createThreadReference(((JDIThread) thread).getUnderlyingThread(), THREAD_ID, "referenceType", new ObjectCollectedException()); //$NON-NLS-1$
+			JDIThread created = createStartedThread(target, reference);
+			assertNotNull("Thread should be created", created); //$NON-NLS-1$
+			assertTrue("Thread should be added", Arrays.asList(target.getThreads()).contains(created)); //$NON-NLS-1$
+			assertFalse("Collected thread should not be a daemon thread", created.isDaemon()); //$NON-NLS-1$
+			assertTrue("Collected thread should be terminated", created.isTerminated()); //$NON-NLS-1$
+			assertFalse("Collected thread should be removed", Arrays.asList(target.getThreads()).contains(created)); //$NON-NLS-1$
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * A lookup that times out while the properties of a started thread are
+	 * retrieved does not keep the others from being retrieved, nor the
+	 * thread from being shown.
+	 */
+	public void testLookupTimeout() throws Exception {
+		String typeName = "Breakpoints"; //$NON-NLS-1$
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName, false);
+			assertNotNull("Breakpoint not hit within timeout period", thread); //$NON-NLS-1$
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			ThreadReference reference = createThreadReference(((JDIThread) thread).getUnderlyingThread(), THREAD_ID, "threadGroup", new TimeoutException()); //$NON-NLS-1$
+			JDIThread created = createStartedThread(target, reference);
+			assertNotNull("Thread should be created", created); //$NON-NLS-1$
+			assertFalse("Thread group is unknown, so should not be a system thread", created.isSystemThread()); //$NON-NLS-1$
+			assertEquals("Daemon field should still be read", thread.isDaemon(), created.isDaemon()); //$NON-NLS-1$
+			assertFalse("Thread should not be terminated", created.isTerminated()); //$NON-NLS-1$
+			assertTrue("Thread should still be shown", Arrays.asList(target.getThreads()).contains(created)); //$NON-NLS-1$
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Launches to a breakpoint with virtual threads only represented once
+	 * needed.
+	 */
+	private IJavaThread launchScalable(String typeName) throws Exception {
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(JDIDebugPlugin.getUniqueIdentifier());
+		node.putBoolean(JDIDebugModel.PREF_SCALABLE_VIRTUAL_THREADS, true);
+		try {
+			return launchToBreakpoint(typeName, false);
+		} finally {
+			node.remove(JDIDebugModel.PREF_SCALABLE_VIRTUAL_THREADS);
+		}
+	}
+
+	/**
+	 * @return the requests for thread death events of the given target
+	 */
+	private List<ThreadDeathRequest> getThreadDeathRequests(JDIDebugTarget target) {
+		return target.getVM().eventRequestManager().threadDeathRequests();
+	}
+
+	/**
+	 * A virtual thread reporting an event is only added to the target if the
+	 * event suspends it.
+	 */
+	public void testVirtualThreadAddedOnSuspend() throws Exception {
+		String typeName = "Breakpoints"; //$NON-NLS-1$
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchScalable(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread); //$NON-NLS-1$
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			assertTrue("Virtual threads should be represented once needed", target.isScalableVirtualThreads()); //$NON-NLS-1$
+			ThreadReference reference = createThreadReference(((JDIThread) thread).getUnderlyingThread(), THREAD_ID, "isVirtual", Boolean.TRUE); //$NON-NLS-1$
+
+			JDIThread resumed = target.findEventThread(reference);
+			assertNotNull("Virtual thread should be represented for the event", resumed); //$NON-NLS-1$
+			assertSame("Same thread should be used for the whole event set", resumed, target.findEventThread(reference)); //$NON-NLS-1$
+			assertFalse("Thread should not be added before it suspends", Arrays.asList(target.getThreads()).contains(resumed)); //$NON-NLS-1$
+			assertNull("Thread that does not suspend should not be added", target.completeEventThread(reference, false)); //$NON-NLS-1$
+			assertFalse("Thread that does not suspend should not be added", Arrays.asList(target.getThreads()).contains(resumed)); //$NON-NLS-1$
+
+			JDIThread suspended = target.findEventThread(reference);
+			assertNotSame("Dropped thread should not be reused", resumed, suspended); //$NON-NLS-1$
+			assertSame("Thread that suspends should be added", suspended, target.completeEventThread(reference, true)); //$NON-NLS-1$
+			assertTrue("Thread that suspends should be added", Arrays.asList(target.getThreads()).contains(suspended)); //$NON-NLS-1$
+			assertSame("Added thread should be found", suspended, target.findEventThread(reference)); //$NON-NLS-1$
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * Platform threads reporting an event are not represented again.
+	 */
+	public void testPlatformThreadNotAddedAtEvent() throws Exception {
+		String typeName = "Breakpoints"; //$NON-NLS-1$
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchScalable(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread); //$NON-NLS-1$
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			ThreadReference reference = createThreadReference(((JDIThread) thread).getUnderlyingThread(), THREAD_ID, "isVirtual", Boolean.FALSE); //$NON-NLS-1$
+			assertNull("Unknown platform thread should not be represented", target.findEventThread(reference)); //$NON-NLS-1$
+			assertSame("Known platform thread should be found", thread, target.findEventThread(((JDIThread) thread).getUnderlyingThread())); //$NON-NLS-1$
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	/**
+	 * The death of each represented virtual thread is reported by a request
+	 * of its own, which is deleted once the thread has terminated.
+	 */
+	public void testVirtualThreadDeathRequests() throws Exception {
+		String typeName = "Breakpoints"; //$NON-NLS-1$
+		createLineBreakpoint(55, typeName);
+
+		IJavaThread thread = null;
+		try {
+			thread = launchScalable(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread); //$NON-NLS-1$
+			JDIDebugTarget target = (JDIDebugTarget) thread.getDebugTarget();
+			List<ThreadDeathRequest> before = new ArrayList<>(getThreadDeathRequests(target));
+
+			Field field = JDIDebugTarget.class.getDeclaredField("fThreadDeathHandler"); //$NON-NLS-1$
+			field.setAccessible(true);
+			Object handler = field.get(target);
+			Method watch = handler.getClass().getDeclaredMethod("watchVirtualThread", JDIThread.class); //$NON-NLS-1$
+			watch.setAccessible(true);
+			Method unwatch = handler.getClass().getDeclaredMethod("unwatchVirtualThread", JDIThread.class); //$NON-NLS-1$
+			unwatch.setAccessible(true);
+
+			watch.invoke(handler, thread);
+			watch.invoke(handler, thread);
+			List<ThreadDeathRequest> watched = new ArrayList<>(getThreadDeathRequests(target));
+			assertEquals("Thread should have a single death request", before.size() + 1, watched.size()); //$NON-NLS-1$
+			watched.removeAll(before);
+			assertTrue("Death request of the thread should be enabled", watched.get(0).isEnabled()); //$NON-NLS-1$
+
+			unwatch.invoke(handler, thread);
+			assertEquals("Death request should be deleted", before, getThreadDeathRequests(target)); //$NON-NLS-1$
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+}
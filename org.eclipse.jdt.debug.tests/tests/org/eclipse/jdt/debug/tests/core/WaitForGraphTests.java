@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.debug.core.model.WaitForGraph;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests deadlock detection in {@link WaitForGraph}.
+ */
+public class WaitForGraphTests extends TestCase {
+
+	public void testNoDeadlock() {
+		WaitForGraph graph = new WaitForGraph(4);
+		graph.addEdge(0, 1);
+		graph.addEdge(1, 2);
+		graph.addEdge(3, 2);
+		assertEquals("Should be no deadlock", 0, graph.getDeadlocks().length); //$NON-NLS-1$
+		assertTrue("No thread should be blocked", Arrays.equals(new boolean[4], graph.getBlockedThreads())); //$NON-NLS-1$
+	}
+
+	public void testCycles() {
+		WaitForGraph graph = new WaitForGraph(7);
+		// 1 -> 2 -> 3 -> 1 and 5 -> 6 -> 5, 0 and 4 wait on the cycles
+		graph.addEdge(1, 2);
+		graph.addEdge(2, 3);
+		graph.addEdge(3, 1);
+		graph.addEdge(0, 1);
+		graph.addEdge(5, 6);
+		graph.addEdge(6, 5);
+		graph.addEdge(4, 0);
+		int[][] deadlocks = graph.getDeadlocks();
+		assertEquals("Wrong number of deadlocks", 2, deadlocks.length); //$NON-NLS-1$
+		assertTrue("Wrong first deadlock", Arrays.equals(new int[] { 1, 2, 3 }, deadlocks[0])); //$NON-NLS-1$
+		assertTrue("Wrong second deadlock", Arrays.equals(new int[] { 5, 6 }, deadlocks[1])); //$NON-NLS-1$
+		boolean[] blocked = graph.getBlockedThreads();
+		assertTrue("All threads should be blocked", Arrays.equals(new boolean[] { true, true, true, true, true, true, true }, blocked)); //$NON-NLS-1$
+	}
+
+	public void testSelfLoop() {
+		WaitForGraph graph = new WaitForGraph(2);
+		graph.addEdge(1, 1);
+		int[][] deadlocks = graph.getDeadlocks();
+		assertEquals("Wrong number of deadlocks", 1, deadlocks.length); //$NON-NLS-1$
+		assertTrue("Wrong deadlock", Arrays.equals(new int[] { 1 }, deadlocks[0])); //$NON-NLS-1$
+		assertFalse("Thread 0 should not be blocked", graph.getBlockedThreads()[0]); //$NON-NLS-1$
+	}
+
+	public void testLongChain() {
+		// a chain longer than the Java stack would allow with recursion
+		int size = 200000;
+		WaitForGraph graph = new WaitForGraph(size);
+		for (int i = 0; i < size - 1; i++) {
+			graph.addEdge(i, i + 1);
+		}
+		graph.addEdge(size - 1, size - 2);
+		int[][] deadlocks = graph.getDeadlocks();
+		assertEquals("Wrong number of deadlocks", 1, deadlocks.length); //$NON-NLS-1$
+		assertTrue("Wrong deadlock", Arrays.equals(new int[] { size - 2, size - 1 }, deadlocks[0])); //$NON-NLS-1$
+		boolean[] blocked = graph.getBlockedThreads();
+		for (int i = 0; i < size; i++) {
+			assertTrue("Thread should be blocked", blocked[i]); //$NON-NLS-1$
+		}
+	}
+}
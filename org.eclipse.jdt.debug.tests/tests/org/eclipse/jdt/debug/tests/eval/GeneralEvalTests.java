@@ -13,9 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.tests.eval;
 
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.model.IValue;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.eval.IEvaluationListener;
+import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.ASTEvaluationEngine;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache;
 
 /**
  * Tests that evaluations in non-generified source
@@ -469,6 +478,54 @@ public class GeneralEvalTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Expressions compiled before the source of the project changes are not
+	 * reused, and expressions with compilation errors are not kept.
+	 *
+	 * @throws Exception
+	 */
+	public void testEvaluateAfterSourceChange() throws Exception {
+		IJavaThread thread = null;
+		ICompilationUnit unit = null;
+		try {
+			String typename = "Breakpoints";
+			createLineBreakpoint(55, typename);
+			thread = launchToBreakpoint(typename);
+			assertNotNull("the program did not suspend", thread);
+
+			CompiledExpressionCache cache = CompiledExpressionCache.getDefault();
+			int size = cache.size();
+			IEvaluationResult result = evaluate("Math.mx(1, 2)", thread);
+			assertNotNull("The evaluation did not complete", result);
+			assertTrue("The snippet should not compile", result.hasErrors());
+			assertEquals("Expression with errors should not be cached", size, cache.size());
+
+			IValue value = doEval(thread, "Math.max(1, 2)");
+			assertEquals("Wrong result", "2", value.getValueString());
+
+			// a type of the package hides java.lang.Math, without code being replaced
+			IPackageFragment fragment = (IPackageFragment) getCompilationUnit(getProjectContext(), "src", "", typename + ".java").getParent();
+			unit = fragment.createCompilationUnit("Math.java", "public class Math { public static int max(int a, int b) { return -1; } }", true, null);
+			waitForBuild();
+			value = doEval(thread, "Math.max(1, 2)");
+			assertEquals("Expression should be compiled against the edited source", "-1", value.getValueString());
+
+			unit.delete(true, null);
+			unit = null;
+			waitForBuild();
+			value = doEval(thread, "Math.max(1, 2)");
+			assertEquals("Expression should be compiled against the restored source", "2", value.getValueString());
+		}
+		finally {
+			if (unit != null) {
+				unit.delete(true, null);
+				waitForBuild();
+			}
+			removeAllBreakpoints();
+			terminateAndRemove(thread);
+		}
+	}
+
 	/**
 	 * https://bugs.eclipse.org/bugs/show_bug.cgi?id=508105
 	 *
@@ -508,6 +565,55 @@ public class GeneralEvalTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * The receiver of an evaluation in the context of an object, rather than
+	 * a stack frame, is only referenced by the debugger, so it must not be
+	 * collected while the evaluation invokes methods.
+	 *
+	 * @throws Exception
+	 */
+	public void testObjectContextSurvivesGC() throws Exception {
+		IJavaThread thread = null;
+		try {
+			String typename = "bug401270";
+			createLineBreakpoint(25, typename);
+			thread = launchToBreakpoint(typename);
+			assertNotNull("the program did not suspend", thread);
+
+			IValue value = doEval(thread, "new StringBuffer(\"x\")");
+			assertTrue("The result of 'new StringBuffer(\"x\")' should be an object", value instanceof IJavaObject);
+			IJavaObject object = (IJavaObject) value;
+
+			class Listener implements IEvaluationListener {
+				IEvaluationResult fResult;
+				@Override
+				public void evaluationComplete(IEvaluationResult result) {
+					fResult = result;
+				}
+			}
+			Listener listener = new Listener();
+			// the receiver is pushed before the argument collects garbage
+			String snippet = "append(java.lang.management.ManagementFactory.getPlatformMBeanServer().invoke(new javax.management.ObjectName(\"java.lang:type=Memory\"), \"gc\", null, null)).toString()";
+			ASTEvaluationEngine engine = new ASTEvaluationEngine(getProjectContext(), (IJavaDebugTarget) thread.getDebugTarget());
+			try {
+				engine.evaluate(snippet, object, thread, listener, DebugEvent.EVALUATION_IMPLICIT, false);
+				long timeout = System.currentTimeMillis() + DEFAULT_TIMEOUT;
+				while (listener.fResult == null && System.currentTimeMillis() < timeout) {
+					Thread.sleep(100);
+				}
+			} finally {
+				engine.dispose();
+			}
+			assertNotNull("The evaluation did not complete", listener.fResult);
+			assertFalse("The receiver should not be collected during the evaluation", listener.fResult.hasErrors());
+			assertEquals("Wrong result", "xnull", listener.fResult.getValue().getValueString());
+		}
+		finally {
+			removeAllBreakpoints();
+			terminateAndRemove(thread);
+		}
+	}
+
 	/**
 	 * https://bugs.eclipse.org/bugs/show_bug.cgi?id=508105
 	 *
@@ -84,6 +84,7 @@ public class DebugUIMessages extends NLS {
 	public static String JavaDebugPreferencePage_20;
 
 	public static String JavaDebugPreferencePage_advancedSourcelookup;
+	public static String JavaDebugPreferencePage_targetConditions;
 	public static String JavaDebugPreferencePage_listenToThreadNameChanges;
 
 	public static String JavaDebugPreferencePage_only_include_exported_entries;
@@ -99,6 +99,7 @@ public class JavaDebugPreferencePage extends PreferencePage implements IWorkbenc
 	private Button fPerformHCRWithCompilationErrors;
 	private Button fShowStepResult;
 	private Button fAdvancedSourcelookup;
+	private Button fTargetConditions;
 
 	// Timeout preference widgets
 	private JavaDebugIntegerFieldEditor fTimeoutText;
@@ -201,6 +202,7 @@ public class JavaDebugPreferencePage extends PreferencePage implements IWorkbenc
 
 		SWTFactory.createVerticalSpacer(composite, 1);
 		fAdvancedSourcelookup = SWTFactory.createCheckButton(composite, DebugUIMessages.JavaDebugPreferencePage_advancedSourcelookup, null, false, 1);
+		fTargetConditions = SWTFactory.createCheckButton(composite, DebugUIMessages.JavaDebugPreferencePage_targetConditions, null, false, 1);
 
 		setValues();
 
@@ -243,6 +245,7 @@ public class JavaDebugPreferencePage extends PreferencePage implements IWorkbenc
 			prefs.putInt(JDIDebugModel.PREF_REQUEST_TIMEOUT, fTimeoutText.getIntValue());
 			prefs.putBoolean(JDIDebugModel.PREF_FILTER_BREAKPOINTS_FROM_UNRELATED_SOURCES, fFilterUnrelatedBreakpoints.getSelection());
 			prefs.putBoolean(JDIDebugPlugin.PREF_ENABLE_ADVANCED_SOURCELOOKUP, fAdvancedSourcelookup.getSelection());
+			prefs.putBoolean(JDIDebugPlugin.PREF_ENABLE_TARGET_CONDITIONS, fTargetConditions.getSelection());
 			try {
 				prefs.flush();
 			}
@@ -291,6 +294,7 @@ public class JavaDebugPreferencePage extends PreferencePage implements IWorkbenc
 			fTimeoutText.setStringValue(new Integer(prefs.getInt(JDIDebugModel.PREF_REQUEST_TIMEOUT, JDIDebugModel.DEF_REQUEST_TIMEOUT)).toString());
 			fFilterUnrelatedBreakpoints.setSelection(prefs.getBoolean(JDIDebugModel.PREF_FILTER_BREAKPOINTS_FROM_UNRELATED_SOURCES, true));
 			fAdvancedSourcelookup.setSelection(prefs.getBoolean(JDIDebugPlugin.PREF_ENABLE_ADVANCED_SOURCELOOKUP, true));
+			fTargetConditions.setSelection(prefs.getBoolean(JDIDebugPlugin.PREF_ENABLE_TARGET_CONDITIONS, false));
 		}
 		prefs = DefaultScope.INSTANCE.getNode(LaunchingPlugin.ID_PLUGIN);
 		if(prefs != null) {
@@ -332,6 +336,7 @@ public class JavaDebugPreferencePage extends PreferencePage implements IWorkbenc
 		fTimeoutText.setStringValue(new Integer(prefs.getInt(bundleId, JDIDebugModel.PREF_REQUEST_TIMEOUT, JDIDebugModel.DEF_REQUEST_TIMEOUT, null)).toString());
 		fFilterUnrelatedBreakpoints.setSelection(prefs.getBoolean(bundleId, JDIDebugModel.PREF_FILTER_BREAKPOINTS_FROM_UNRELATED_SOURCES, true, null));
 		fAdvancedSourcelookup.setSelection(prefs.getBoolean(bundleId, JDIDebugPlugin.PREF_ENABLE_ADVANCED_SOURCELOOKUP, true, null));
+		fTargetConditions.setSelection(prefs.getBoolean(bundleId, JDIDebugPlugin.PREF_ENABLE_TARGET_CONDITIONS, false, null));
 
 		bundleId = LaunchingPlugin.ID_PLUGIN;
 		fConnectionTimeoutText.setStringValue(new Integer(prefs.getInt(bundleId, JavaRuntime.PREF_CONNECT_TIMEOUT, JavaRuntime.DEF_CONNECT_TIMEOUT, null)).toString());
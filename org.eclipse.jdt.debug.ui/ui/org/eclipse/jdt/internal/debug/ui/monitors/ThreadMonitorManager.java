@@ -14,10 +14,13 @@
 package org.eclipse.jdt.internal.debug.ui.monitors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.debug.core.DebugEvent;
@@ -29,6 +32,7 @@ import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.ui.IJavaDebugUIConstants;
+import org.eclipse.jdt.internal.debug.core.model.WaitForGraph;
 import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPlugin;
 import org.eclipse.jdt.internal.debug.ui.JDIDebugUIPreferenceInitializer;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -236,51 +240,53 @@ public class ThreadMonitorManager implements IDebugEventSetListener, IPropertyCh
 		}
 	}
 
+	/**
+	 *  Runnable to be run asynchronously, to look for deadlocks in the
+	 *  wait-for graph of the known threads.
+	 */
 	class DetectDeadlock implements Runnable {
 		@Override
 		public void run() {
 			JavaMonitorThread[] threads= getJavaMonitorThreads();
 			JavaMonitor[] monitors= getJavaMonitors();
-			List<Object> inDeadlock= new ArrayList<>();
+			// owners of contended monitors may not be known yet, they are
+			// added to the graph as they are found
+			List<JavaMonitorThread> nodes= new ArrayList<>(Arrays.asList(threads));
+			Map<JavaMonitorThread, Integer> indices= new IdentityHashMap<>();
 			for (int i = 0; i < threads.length; i++) {
-				JavaMonitorThread thread= threads[i];
-				List<JavaMonitorThread> threadStack= new ArrayList<>();
-				List<JavaMonitor> monitorStack= new ArrayList<>();
-				while (thread != null) {
-					boolean isInDeadlock= false;
-					if (inDeadlock.contains(thread) || threadStack.contains(thread)) {
-						isInDeadlock= true;
-					} else {
-						JavaMonitor monitor = thread.getContendedMonitor0();
-						if (monitor == null) {
-							thread= null;
-						} else if (inDeadlock.contains(monitor)) {
-							isInDeadlock= true;
-						} else {
-							threadStack.add(thread);
-							monitorStack.add(monitor);
-							thread= monitor.getOwningThread0();
-						}
-					}
-					if (isInDeadlock) {
-						// is in a deadlock, set the elements of the back trace as 'in a deadlock'
-						for (Iterator<JavaMonitorThread> iter = threadStack.iterator(); iter.hasNext();) {
-							inDeadlock.add(iter.next());
-						}
-						for (Iterator<JavaMonitor> iter = monitorStack.iterator(); iter.hasNext();) {
-							inDeadlock.add(iter.next());
-						}
-						thread= null;
+				indices.put(threads[i], Integer.valueOf(i));
+			}
+			List<int[]> edges= new ArrayList<>();
+			for (int i = 0; i < nodes.size(); i++) {
+				JavaMonitor monitor= nodes.get(i).getContendedMonitor0();
+				JavaMonitorThread owner= monitor == null ? null : monitor.getOwningThread0();
+				if (owner != null) {
+					Integer index= indices.get(owner);
+					if (index == null) {
+						index= Integer.valueOf(nodes.size());
+						indices.put(owner, index);
+						nodes.add(owner);
 					}
+					edges.add(new int[] { i, index.intValue() });
+				}
+			}
+			WaitForGraph graph= new WaitForGraph(nodes.size());
+			for (int[] edge : edges) {
+				graph.addEdge(edge[0], edge[1]);
+			}
+			boolean[] blocked= graph.getBlockedThreads();
+			Set<JavaMonitor> monitorsInDeadlock= new HashSet<>();
+			for (int i = 0; i < nodes.size(); i++) {
+				if (blocked[i]) {
+					monitorsInDeadlock.add(nodes.get(i).getContendedMonitor0());
 				}
 			}
 			for (int i = 0; i < threads.length; i++) {
-				JavaMonitorThread thread= threads[i];
-				thread.setInDeadlock(inDeadlock.contains(thread));
+				threads[i].setInDeadlock(blocked[i]);
 			}
 			for (int i = 0; i < monitors.length; i++) {
 				JavaMonitor monitor= monitors[i];
-				monitor.setInDeadlock(inDeadlock.contains(monitor));
+				monitor.setInDeadlock(monitorsInDeadlock.contains(monitor));
 			}
 		}
 	}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -293,6 +294,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 
 		EvaluationSourceGenerator mapper = null;
 		CompilationUnit unit = null;
+		CompiledExpressionCache.Key key = null;
 		try {
 			List<IJavaVariable> localsVar = new ArrayList<>();
 			localsVar.addAll(Arrays.asList(context.getLocals()));
@@ -380,6 +382,12 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			// frame.getThis().getJavaType();
 			// }
 
+			key = new CompiledExpressionCache.Key(javaProject, snippet, receivingType.getSignature(),
+					Integer.valueOf(frame.getLineNumber()), Boolean.valueOf(frame.isStatic()), localTypesNames, localVariables);
+			ICompiledExpression expression = CompiledExpressionCache.getDefault().get(key);
+			if (expression != null) {
+				return expression;
+			}
 			unit = parseCompilationUnit(
 					mapper.getSource(receivingType, frame.getLineNumber(), javaProject,
 							frame.isStatic()).toCharArray(),
@@ -390,7 +398,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			return expression;
 		}
 
-		return createExpressionFromAST(snippet, mapper, unit);
+		return CompiledExpressionCache.getDefault().put(key, createExpressionFromAST(snippet, mapper, unit));
 	}
 
 	private CompilationUnit parseCompilationUnit(char[] source,
@@ -439,6 +447,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			IJavaArrayType arrayType) {
 		EvaluationSourceGenerator mapper = null;
 		CompilationUnit unit = null;
+		CompiledExpressionCache.Key key = null;
 		try {
 			IJavaProject javaProject = getJavaProject();
 			// replace all occurrences of 'this' with '_a_t'
@@ -478,6 +487,11 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			if (index >= 0) {
 				recTypeName = typeName.substring(0, index);
 			}
+			key = new CompiledExpressionCache.Key(javaProject, snippet, typeName, recTypeName);
+			ICompiledExpression expression = CompiledExpressionCache.getDefault().get(key);
+			if (expression != null) {
+				return expression;
+			}
 			IJavaType[] javaTypes = getDebugTarget().getJavaTypes(recTypeName);
 			if (javaTypes.length > 0) {
 				IJavaReferenceType recType = (IJavaReferenceType) javaTypes[0];
@@ -498,7 +512,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			return expression;
 		}
 
-		return createExpressionFromAST(snippet, mapper, unit);
+		return CompiledExpressionCache.getDefault().put(key, createExpressionFromAST(snippet, mapper, unit));
 	}
 
 	/*
@@ -549,11 +563,17 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 
 		EvaluationSourceGenerator mapper = null;
 		CompilationUnit unit = null;
+		CompiledExpressionCache.Key key = null;
 
 		mapper = new EvaluationSourceGenerator(new String[0], new String[0],
 				snippet, getJavaProject());
 
 		try {
+			key = new CompiledExpressionCache.Key(javaProject, snippet, type.getSignature(), new HashMap<>(compileOptions));
+			ICompiledExpression expression = CompiledExpressionCache.getDefault().get(key);
+			if (expression != null) {
+				return expression;
+			}
 			unit = parseCompilationUnit(
 					mapper.getSource(type, -1, javaProject, false).toCharArray(),
 					mapper.getCompilationUnitName(), javaProject, compileOptions);
@@ -562,7 +582,7 @@ public class ASTEvaluationEngine implements IAstEvaluationEngine {
 			expression.addError(e.getStatus().getMessage());
 			return expression;
 		}
-		return createExpressionFromAST(snippet, mapper, unit);
+		return CompiledExpressionCache.getDefault().put(key, createExpressionFromAST(snippet, mapper, unit));
 	}
 
 	/**
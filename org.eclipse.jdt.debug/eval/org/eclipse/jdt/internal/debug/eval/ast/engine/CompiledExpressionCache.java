@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.eval.ast.engine;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
+
+/**
+ * Expressions compiled by AST evaluation engines, shared by all threads,
+ * debug targets and launches. Compiled expressions do not depend on the
+ * Virtual Machine they are evaluated in, only on the source of the project
+ * and on the context they are compiled in.
+ * <p>
+ * The least recently used expressions are evicted when the cache is full. The
+ * cache is cleared when the classpath of a project changes, when a compilation
+ * unit or class file changes or when code is replaced in a debug target, since
+ * the source the expressions were compiled against has changed. Expressions
+ * with compilation errors are not cached, so that they are compiled again once
+ * the errors are fixed.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class CompiledExpressionCache implements IElementChangedListener, IJavaHotCodeReplaceListener {
+
+	/**
+	 * Maximum number of cached expressions
+	 */
+	public static final int MAX_SIZE = 256;
+
+	/**
+	 * Singleton
+	 */
+	private static CompiledExpressionCache fgInstance = null;
+
+	/**
+	 * Compiled expressions in access order
+	 */
+	private final Map<Key, ICompiledExpression> fExpressions = new LinkedHashMap<Key, ICompiledExpression>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, ICompiledExpression> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Context an expression is compiled in: the project, the snippet, the
+	 * compiler source and compliance levels of the project and the parts
+	 * describing the receiver, such as its type signature and whether the
+	 * context is static.
+	 */
+	public static final class Key {
+
+		private final Object[] fParts;
+
+		private final int fHashCode;
+
+		/**
+		 * Creates a key.
+		 *
+		 * @param project
+		 *            project the expression is compiled in
+		 * @param snippet
+		 *            the snippet
+		 * @param context
+		 *            parts describing the context, arrays are compared by
+		 *            content
+		 */
+		public Key(IJavaProject project, String snippet, Object... context) {
+			fParts = new Object[context.length + 4];
+			fParts[0] = project;
+			fParts[1] = snippet;
+			fParts[2] = project.getOption(JavaCore.COMPILER_SOURCE, true);
+			fParts[3] = project.getOption(JavaCore.COMPILER_COMPLIANCE, true);
+			System.arraycopy(context, 0, fParts, 4, context.length);
+			fHashCode = Arrays.deepHashCode(fParts);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && fHashCode == ((Key) obj).fHashCode && Arrays.deepEquals(fParts, ((Key) obj).fParts);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+	}
+
+	/**
+	 * Not to be instantiated
+	 */
+	private CompiledExpressionCache() {
+	}
+
+	/**
+	 * Returns the singleton cache.
+	 *
+	 * @return the singleton cache
+	 */
+	public static synchronized CompiledExpressionCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance = new CompiledExpressionCache();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Registers this cache for changes invalidating compiled expressions. This
+	 * method is called by the JDI debug model plug-in on startup.
+	 */
+	public void startup() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+		JDIDebugModel.addHotCodeReplaceListener(this);
+	}
+
+	/**
+	 * Unregisters this cache and clears it. This method is called by the JDI
+	 * debug model plug-in on shutdown.
+	 */
+	public void shutdown() {
+		JavaCore.removeElementChangedListener(this);
+		JDIDebugModel.removeHotCodeReplaceListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns the expression compiled in the given context.
+	 *
+	 * @param key
+	 *            the context
+	 * @return the compiled expression or <code>null</code> if none
+	 */
+	public synchronized ICompiledExpression get(Key key) {
+		return fExpressions.get(key);
+	}
+
+	/**
+	 * Caches the expression compiled in the given context, unless it has
+	 * compilation errors.
+	 *
+	 * @param key
+	 *            the context
+	 * @param expression
+	 *            the compiled expression
+	 * @return the given expression
+	 */
+	public synchronized ICompiledExpression put(Key key, ICompiledExpression expression) {
+		if (!expression.hasErrors()) {
+			fExpressions.put(key, expression);
+		}
+		return expression;
+	}
+
+	/**
+	 * Removes all compiled expressions.
+	 */
+	public synchronized void clear() {
+		fExpressions.clear();
+	}
+
+	/**
+	 * Returns the number of compiled expressions.
+	 *
+	 * @return the number of compiled expressions
+	 */
+	public synchronized int size() {
+		return fExpressions.size();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.core.IElementChangedListener#elementChanged(org.eclipse.jdt.core.ElementChangedEvent)
+	 */
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (isSourceChanged(event.getDelta())) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns whether the given delta or one of its children changes the
+	 * source expressions are compiled against: the classpath of a project,
+	 * the content of a compilation unit or of an archive, or a class file. A
+	 * project being opened, closed, added or removed counts as a change.
+	 */
+	private boolean isSourceChanged(IJavaElementDelta delta) {
+		if ((delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+				| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+			return true;
+		}
+		IJavaElement element = delta.getElement();
+		if (element instanceof IJavaProject && delta.getKind() != IJavaElementDelta.CHANGED) {
+			return true;
+		}
+		if (element instanceof ICompilationUnit) {
+			// working copies only change the source once they are saved
+			return delta.getKind() != IJavaElementDelta.CHANGED
+					|| (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0;
+		}
+		if (element instanceof IClassFile) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isSourceChanged(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener#hotCodeReplaceSucceeded(org.eclipse.jdt.debug.core.IJavaDebugTarget)
+	 */
+	@Override
+	public void hotCodeReplaceSucceeded(IJavaDebugTarget target) {
+		clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener#hotCodeReplaceFailed(org.eclipse.jdt.debug.core.IJavaDebugTarget, org.eclipse.debug.core.DebugException)
+	 */
+	@Override
+	public void hotCodeReplaceFailed(IJavaDebugTarget target, DebugException exception) {
+		// the source has changed even if the target still runs the old code
+		clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener#obsoleteMethods(org.eclipse.jdt.debug.core.IJavaDebugTarget)
+	 */
+	@Override
+	public void obsoleteMethods(IJavaDebugTarget target) {
+	}
+}
@@ -13,10 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.eval.ast.engine;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
@@ -29,12 +26,10 @@ import org.eclipse.jdt.debug.core.IJavaType;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
-import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.PinnedObjects;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
 
-import com.sun.jdi.VMDisconnectedException;
-
 public class Interpreter {
 	private Instruction[] fInstructions;
 	private int fInstructionCounter;
@@ -48,9 +43,9 @@ public class Interpreter {
 	private Map<String, IVariable> fInternalVariables;
 
 	/**
-	 * List of objects for which GC has been disabled
+	 * Objects for which GC has been disabled
 	 */
-	private List<IJavaObject> fPermStorage = null;
+	private PinnedObjects fPinnedObjects = null;
 
 	private boolean fStopped = false;
 
@@ -103,47 +98,41 @@ public class Interpreter {
 	public void push(Object object) {
 		fStack.push(object);
 		if (object instanceof IJavaObject) {
-			disableCollection((IJavaObject) object);
+			getPinnedObjects().pin((IJavaObject) object);
 		}
 	}
 
 	/**
-	 * Avoid garbage collecting interim results.
-	 *
-	 * @param value
-	 *            object to disable garbage collection for
+	 * Pushes the receiver of the evaluation, or one of its enclosing
+	 * instances, onto the stack. When evaluating in a suspended frame, the
+	 * frame keeps the object alive during the evaluation, so garbage
+	 * collection is not disabled for it. Other receivers, such as the object
+	 * of a {@link JavaObjectRuntimeContext}, are only referenced by the
+	 * debugger and are pinned like any interim object.
 	 */
-	private void disableCollection(IJavaObject value) {
-		if (fPermStorage == null) {
-			fPermStorage = new ArrayList<>(5);
+	public void pushFrameObject(IJavaObject object) {
+		if (fContext instanceof RuntimeContext) {
+			fStack.push(object);
+			getPinnedObjects().hold(object);
+		} else {
+			push(object);
 		}
-		try {
-			value.disableCollection();
-			fPermStorage.add(value);
-		} catch (CoreException e) {
-			JDIDebugPlugin.log(e);
+	}
+
+	private PinnedObjects getPinnedObjects() {
+		if (fPinnedObjects == null) {
+			fPinnedObjects = new PinnedObjects();
 		}
+		return fPinnedObjects;
 	}
 
 	/**
 	 * Re-enable garbage collection if interim results.
 	 */
 	private void releaseObjects() {
-		if (fPermStorage != null) {
-			Iterator<IJavaObject> iterator = fPermStorage.iterator();
-			while (iterator.hasNext()) {
-				IJavaObject object = iterator.next();
-				try {
-					object.enableCollection();
-				} catch (CoreException e) {
-					// don't worry about GC if the VM has terminated
-					if ((e.getStatus().getException() instanceof VMDisconnectedException)) {
-						break;
-					}
-					JDIDebugPlugin.log(e);
-				}
-			}
-			fPermStorage = null;
+		if (fPinnedObjects != null) {
+			fPinnedObjects.releaseAll();
+			fPinnedObjects = null;
 		}
 	}
 
@@ -27,8 +27,6 @@ public class ArrayAllocation extends ArrayInstruction {
 
 	private boolean fHasInitializer;
 
-	private IJavaArrayType[] fCachedArrayTypes;
-
 	/**
 	 * Constructor for ArrayAllocation.
 	 *
@@ -62,14 +60,14 @@ public class ArrayAllocation extends ArrayInstruction {
 
 			IJavaType type = (IJavaType) pop();
 
-			fCachedArrayTypes = new IJavaArrayType[fDimension + 1];
+			IJavaArrayType[] arrayTypes = new IJavaArrayType[fDimension + 1];
 
 			for (int i = fDimension, lim = fDimension - fExprDimension; i > lim; i--) {
-				fCachedArrayTypes[i] = (IJavaArrayType) type;
+				arrayTypes[i] = (IJavaArrayType) type;
 				type = ((IJavaArrayType) type).getComponentType();
 			}
 
-			IJavaArray array = createArray(fDimension, exprDimensions);
+			IJavaArray array = createArray(arrayTypes, fDimension, exprDimensions);
 
 			push(array);
 		}
@@ -78,10 +76,10 @@ public class ArrayAllocation extends ArrayInstruction {
 	/**
 	 * Create and populate an array.
 	 */
-	private IJavaArray createArray(int dimension, int[] exprDimensions)
+	private IJavaArray createArray(IJavaArrayType[] arrayTypes, int dimension, int[] exprDimensions)
 			throws CoreException {
 
-		IJavaArray array = fCachedArrayTypes[dimension]
+		IJavaArray array = arrayTypes[dimension]
 				.newInstance(exprDimensions[0]);
 
 		if (exprDimensions.length > 1) {
@@ -91,7 +89,7 @@ public class ArrayAllocation extends ArrayInstruction {
 			}
 
 			for (int i = 0; i < exprDimensions[0]; i++) {
-				array.setValue(i, createArray(dimension - 1, newExprDimension));
+				array.setValue(i, createArray(arrayTypes, dimension - 1, newExprDimension));
 			}
 
 		}
@@ -36,20 +36,29 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class Instruction {
 
-	private Interpreter fInterpreter;
+	/**
+	 * The interpreter executing instructions in the current thread. Compiled
+	 * expressions are shared, so the same instruction can be executed by
+	 * interpreters in different threads at the same time.
+	 */
+	private static final ThreadLocal<Interpreter> fgInterpreter = new ThreadLocal<>();
 
 	public abstract int getSize();
 
 	public void setInterpreter(Interpreter interpreter) {
-		fInterpreter = interpreter;
+		fgInterpreter.set(interpreter);
+	}
+
+	private Interpreter getInterpreter() {
+		return fgInterpreter.get();
 	}
 
 	public void setLastValue(IJavaValue value) {
-		fInterpreter.setLastValue(value);
+		getInterpreter().setLastValue(value);
 	}
 
 	public void stop() {
-		fInterpreter.stop();
+		getInterpreter().stop();
 	}
 
 	public static int getBinaryPromotionType(int left, int right) {
@@ -59,7 +68,7 @@ public abstract class Instruction {
 	public abstract void execute() throws CoreException;
 
 	protected IRuntimeContext getContext() {
-		return fInterpreter.getContext();
+		return getInterpreter().getContext();
 	}
 
 	protected IJavaDebugTarget getVM() {
@@ -72,7 +81,7 @@ public abstract class Instruction {
 	 * @see Interpreter#getInternalVariable(String)
 	 */
 	protected IVariable getInternalVariable(String name) {
-		return fInterpreter.getInternalVariable(name);
+		return getInterpreter().getInternalVariable(name);
 	}
 
 	/**
@@ -83,7 +92,7 @@ public abstract class Instruction {
 	 */
 	protected IVariable createInternalVariable(String name,
 			IJavaType referencType) {
-		return fInterpreter.createInternalVariable(name, referencType);
+		return getInterpreter().createInternalVariable(name, referencType);
 	}
 
 	/**
@@ -97,19 +106,23 @@ public abstract class Instruction {
 	}
 
 	protected void jump(int offset) {
-		fInterpreter.jump(offset);
+		getInterpreter().jump(offset);
 	}
 
 	protected void push(Object object) {
-		fInterpreter.push(object);
+		getInterpreter().push(object);
+	}
+
+	protected void pushFrameObject(IJavaObject object) {
+		getInterpreter().pushFrameObject(object);
 	}
 
 	protected Object pop() {
-		return fInterpreter.pop();
+		return getInterpreter().pop();
 	}
 
 	protected IJavaValue popValue() throws CoreException {
-		Object element = fInterpreter.pop();
+		Object element = getInterpreter().pop();
 		if (element instanceof IJavaVariable) {
 			return (IJavaValue) ((IJavaVariable) element).getValue();
 		}
@@ -117,7 +130,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(boolean value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(boolean value) {
@@ -125,7 +138,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(byte value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(byte value) {
@@ -133,7 +146,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(short value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(short value) {
@@ -141,7 +154,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(int value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(int value) {
@@ -149,7 +162,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(long value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(long value) {
@@ -157,7 +170,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(char value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(char value) {
@@ -165,7 +178,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(float value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(float value) {
@@ -173,7 +186,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(double value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(double value) {
@@ -181,7 +194,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(String value) {
-		fInterpreter.push(newValue(value));
+		getInterpreter().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(String value) {
@@ -189,7 +202,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNullValue() {
-		fInterpreter.push(nullValue());
+		getInterpreter().push(nullValue());
 	}
 
 	protected IJavaValue nullValue() {
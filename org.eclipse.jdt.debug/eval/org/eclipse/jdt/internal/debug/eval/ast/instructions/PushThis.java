@@ -53,7 +53,7 @@ public class PushThis extends SimpleInstruction {
 									null));
 				}
 			}
-			push(thisInstance);
+			pushFrameObject(thisInstance);
 		}
 	}
 
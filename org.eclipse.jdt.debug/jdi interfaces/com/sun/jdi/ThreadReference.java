@@ -44,4 +44,7 @@ public interface ThreadReference extends ObjectReference {
 	public ThreadGroupReference threadGroup();
 	public void forceEarlyReturn(Value arg1) throws InvalidTypeException, ClassNotLoadedException, IncompatibleThreadStateException;
 	public List<MonitorInfo> ownedMonitorsAndFrames() throws IncompatibleThreadStateException;
+	public default boolean isVirtual() {
+		throw new UnsupportedOperationException("Method not implemented"); //$NON-NLS-1$
+	}
 }
@@ -19,4 +19,7 @@ import com.sun.jdi.ThreadReference;
  */
 public interface ThreadStartRequest extends EventRequest {
 	public void addThreadFilter(ThreadReference arg1);
+	public default void addPlatformThreadsOnlyFilter() {
+		throw new UnsupportedOperationException("Method not implemented"); //$NON-NLS-1$
+	}
 }
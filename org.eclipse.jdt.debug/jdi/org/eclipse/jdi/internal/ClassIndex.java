@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.jdi.internal.request.ClassPrepareRequestImpl;
+
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.request.InvalidRequestStateException;
+
+/**
+ * Index of the types loaded in the Virtual Machine, sorted by name.
+ * <p>
+ * The index is built with a single <code>VirtualMachine.AllClasses</code>
+ * request the first time it is used, and is then kept up to date from class
+ * prepare and class unload events, so looking up loaded types by name, package
+ * or outer type does not require retrieving all loaded types again. The index
+ * is not locked while the loaded types are retrieved, so that the events
+ * recorded meanwhile do not stall the event dispatching thread.
+ * </p>
+ * <p>
+ * Types looked up by name with {@link #lookup(String)} are cached without
+ * building the index. A class prepare request filtered to the name is enabled
+ * on the first lookup, and the cached types stay valid until a type with the
+ * name is prepared or unloaded. At most {@link #MAX_WATCHED_NAMES} names are
+ * watched: the request of the least recently looked up name is deleted, and
+ * its types are no longer cached, when another name is looked up. All these
+ * requests are deleted once the index is built, as it records every prepared
+ * type.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class ClassIndex {
+
+	/**
+	 * Maximum number of names class prepare events are requested for
+	 */
+	public static final int MAX_WATCHED_NAMES = 256;
+
+	private final VirtualMachineImpl fVM;
+
+	/**
+	 * Loaded types by name. A name maps to several types when it is loaded by
+	 * several class loaders.
+	 */
+	private final TreeMap<String, List<ReferenceType>> fByName = new TreeMap<>();
+
+	/**
+	 * Whether class prepare events are being recorded
+	 */
+	private boolean fTracking = false;
+
+	/**
+	 * Whether the types loaded before tracking started have been retrieved
+	 */
+	private boolean fInitialized = false;
+
+	/**
+	 * Whether the types loaded before tracking started are being retrieved
+	 */
+	private boolean fInitializing = false;
+
+	/**
+	 * Names of the types unloaded while the loaded types are being retrieved,
+	 * or <code>null</code>
+	 */
+	private Set<String> fUnloadedNames;
+
+	/**
+	 * Types looked up by name, valid until a type with the name is prepared or
+	 * unloaded. A name maps to a pending lookup while its types are being
+	 * retrieved.
+	 */
+	private final Map<String, Object> fLookups = new HashMap<>();
+
+	/**
+	 * Requests for the class prepare events of the names looked up, in access
+	 * order. A name maps to <code>null</code> while its request is being
+	 * enabled.
+	 */
+	private final LinkedHashMap<String, ClassPrepareRequestImpl> fWatchRequests = new LinkedHashMap<>(16, 0.75f, true);
+
+	ClassIndex(VirtualMachineImpl vm) {
+		fVM = vm;
+	}
+
+	/**
+	 * @return Returns all loaded types (classes, interfaces, and array types).
+	 */
+	public List<ReferenceType> allClasses() {
+		initialize();
+		synchronized (this) {
+			List<ReferenceType> result = new ArrayList<>(fByName.size());
+			for (List<ReferenceType> types : fByName.values()) {
+				result.addAll(types);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the loaded types with the given fully qualified name.
+	 *
+	 * @param name
+	 *            the fully qualified name
+	 * @return Returns the loaded types with the given name.
+	 */
+	public List<ReferenceType> classesByName(String name) {
+		initialize();
+		synchronized (this) {
+			List<ReferenceType> types = fByName.get(name);
+			if (types == null) {
+				return Collections.emptyList();
+			}
+			return new ArrayList<>(types);
+		}
+	}
+
+	/**
+	 * Returns the loaded types with the given fully qualified name, without
+	 * retrieving all loaded types. Results are cached until a type with the
+	 * name is prepared or unloaded, array types are not cached as no events are
+	 * sent when they are created.
+	 *
+	 * @param name
+	 *            the fully qualified name
+	 * @return Returns the loaded types with the given name.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<ReferenceType> lookup(String name) {
+		if (name.endsWith("]")) { //$NON-NLS-1$
+			return fVM.classesByName(name);
+		}
+		Object pending = new Object();
+		boolean watch = false;
+		List<ClassPrepareRequestImpl> unwatched = new ArrayList<>(1);
+		synchronized (this) {
+			if (fInitialized) {
+				List<ReferenceType> types = fByName.get(name);
+				return types == null ? Collections.emptyList() : new ArrayList<>(types);
+			}
+			boolean watched = fWatchRequests.containsKey(name);
+			if (watched) {
+				// refreshes the access order of the name
+				fWatchRequests.get(name);
+			}
+			Object lookup = fLookups.get(name);
+			if (lookup instanceof List) {
+				return new ArrayList<>((List<ReferenceType>) lookup);
+			}
+			fLookups.put(name, pending);
+			if (!fTracking && !watched) {
+				watch = true;
+				fWatchRequests.put(name, null);
+				if (fWatchRequests.size() > MAX_WATCHED_NAMES) {
+					Iterator<Map.Entry<String, ClassPrepareRequestImpl>> iter = fWatchRequests.entrySet().iterator();
+					Map.Entry<String, ClassPrepareRequestImpl> eldest = iter.next();
+					iter.remove();
+					fLookups.remove(eldest.getKey());
+					unwatched.add(eldest.getValue());
+				}
+			}
+		}
+		// request outside of the lock, as events are recorded by the event
+		// dispatching thread. Prepare events arriving meanwhile drop the pending
+		// lookup, so that stale types are not cached.
+		if (watch) {
+			fVM.eventRequestManagerImpl().enableInternalClasUnloadEvent();
+			ClassPrepareRequestImpl request = fVM.eventRequestManagerImpl().enableInternalClassPrepareEvent(name);
+			synchronized (this) {
+				if (fWatchRequests.containsKey(name) && fWatchRequests.get(name) == null) {
+					fWatchRequests.put(name, request);
+				} else {
+					// evicted, or no longer needed since tracking started
+					unwatched.add(request);
+					fLookups.remove(name);
+				}
+			}
+		}
+		disable(unwatched);
+		List<ReferenceType> types = fVM.classesByName(name);
+		synchronized (this) {
+			if (fLookups.get(name) == pending) {
+				fLookups.put(name, new ArrayList<>(types));
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Disables the given class prepare requests, ignoring the requests still
+	 * being enabled.
+	 */
+	private void disable(List<ClassPrepareRequestImpl> requests) {
+		for (ClassPrepareRequestImpl request : requests) {
+			if (request != null) {
+				try {
+					request.disable();
+				} catch (InvalidRequestStateException exception) {
+					// The request has already been removed from the VM.
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of names class prepare events are requested for,
+	 * without building the index.
+	 *
+	 * @return the number of watched names
+	 */
+	public synchronized int watchedNamesCount() {
+		return fWatchRequests.size();
+	}
+
+	/**
+	 * Returns the loaded types whose fully qualified name starts with the given
+	 * prefix, e.g. a package name followed by a dot or the name of an outer
+	 * type followed by a dollar sign.
+	 *
+	 * @param prefix
+	 *            the prefix of the fully qualified names
+	 * @return Returns the loaded types whose name starts with the prefix.
+	 */
+	public List<ReferenceType> classesByNamePrefix(String prefix) {
+		initialize();
+		synchronized (this) {
+			List<ReferenceType> result = new ArrayList<>();
+			for (List<ReferenceType> types : fByName.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+				result.addAll(types);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Starts recording class prepare events and retrieves the types that are
+	 * already loaded, unless this has already been done. Requests are sent
+	 * without holding the lock of the index, other threads wait for the
+	 * retrieval to complete.
+	 */
+	private void initialize() {
+		boolean enable;
+		synchronized (this) {
+			boolean interrupted = false;
+			while (fInitializing) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			if (fInitialized) {
+				return;
+			}
+			fInitializing = true;
+			fUnloadedNames = new HashSet<>();
+			// record types prepared from now on before asking for the loaded
+			// ones, so that none is missed
+			enable = !fTracking;
+			fTracking = true;
+		}
+		boolean enabled = !enable;
+		try {
+			if (enable) {
+				fVM.eventRequestManagerImpl().enableInternalClasUnloadEvent();
+				fVM.eventRequestManagerImpl().enableInternalClassPrepareEvent();
+				enabled = true;
+			}
+			List<ReferenceType> loaded = fVM.allClasses();
+			List<ClassPrepareRequestImpl> unwatched;
+			synchronized (this) {
+				for (ReferenceType type : loaded) {
+					// types unloaded meanwhile must not be added back. Types
+					// prepared again since have been added by their events.
+					if (!fUnloadedNames.contains(type.name())) {
+						add(type);
+					}
+				}
+				fInitialized = true;
+				// every prepared type is recorded from now on
+				unwatched = new ArrayList<>(fWatchRequests.values());
+				fWatchRequests.clear();
+				fLookups.clear();
+			}
+			disable(unwatched);
+		} finally {
+			synchronized (this) {
+				if (!enabled) {
+					fTracking = false;
+				}
+				fInitializing = false;
+				fUnloadedNames = null;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Records a type that has been prepared.
+	 *
+	 * @param type
+	 *            the prepared type
+	 */
+	public synchronized void classPrepared(ReferenceTypeImpl type) {
+		fLookups.remove(type.name());
+		if (fTracking) {
+			add(type);
+		}
+	}
+
+	/**
+	 * Removes the unloaded type with the given signature. When several types
+	 * with that signature are known, only the ones that are no longer prepared
+	 * are removed.
+	 *
+	 * @param signature
+	 *            the JNI-style signature of the unloaded type
+	 */
+	public void classUnloaded(String signature) {
+		String name;
+		List<ReferenceType> candidates;
+		synchronized (this) {
+			name = TypeImpl.signatureToName(signature);
+			fLookups.remove(name);
+			if (!fTracking) {
+				return;
+			}
+			if (fUnloadedNames != null) {
+				fUnloadedNames.add(name);
+			}
+			List<ReferenceType> types = fByName.get(name);
+			if (types == null) {
+				return;
+			}
+			if (types.size() == 1) {
+				fByName.remove(name);
+				return;
+			}
+			candidates = new ArrayList<>(types);
+		}
+		// check outside of the lock, as this sends requests to the VM
+		List<ReferenceType> unloaded = new ArrayList<>();
+		for (ReferenceType type : candidates) {
+			boolean prepared = false;
+			try {
+				prepared = type.isPrepared();
+			} catch (ObjectCollectedException exception) {
+				// The type is unloaded. Fall through
+			}
+			if (!prepared) {
+				unloaded.add(type);
+			}
+		}
+		synchronized (this) {
+			for (ReferenceType type : unloaded) {
+				remove(name, type);
+			}
+		}
+	}
+
+	private void add(ReferenceType type) {
+		List<ReferenceType> types = fByName.computeIfAbsent(type.name(), name -> new ArrayList<>(1));
+		if (!types.contains(type)) {
+			types.add(type);
+		}
+	}
+
+	private void remove(String name, ReferenceType type) {
+		List<ReferenceType> types = fByName.get(name);
+		if (types != null) {
+			Iterator<ReferenceType> iter = types.iterator();
+			while (iter.hasNext()) {
+				if (iter.next().equals(type)) {
+					iter.remove();
+				}
+			}
+			if (types.isEmpty()) {
+				fByName.remove(name);
+			}
+		}
+	}
+}
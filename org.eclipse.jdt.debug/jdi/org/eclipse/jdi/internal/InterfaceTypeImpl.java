@@ -90,9 +90,9 @@ public class InterfaceTypeImpl extends ReferenceTypeImpl implements
 
 		// For all reference types that have this interface cached, this cache must be
 		// undone.
-		Iterator<Object> itr = virtualMachineImpl().allCachedRefTypes();
+		Iterator<ReferenceTypeImpl> itr = virtualMachineImpl().allCachedRefTypes();
 		while (itr.hasNext()) {
-			ReferenceTypeImpl refType = (ReferenceTypeImpl) itr.next();
+			ReferenceTypeImpl refType = itr.next();
 			if (refType.fInterfaces != null
 					&& refType.fInterfaces.contains(this)) {
 				refType.flushStoredJdwpResults();
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+
+/**
+ * Counters and latency histograms of the JDWP requests sent to a Virtual
+ * Machine, per command. Recording a request only increments a few counters,
+ * so metrics are always collected.
+ * <p>
+ * Latencies are kept in a log-linear histogram with 8 buckets per power of
+ * two microseconds, so percentiles are accurate to about 6%.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class JdwpCommandMetrics {
+
+	/**
+	 * Number of buckets per power of two
+	 */
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	/**
+	 * Metrics of one command.
+	 */
+	private static final class Counters {
+		final LongAdder fCount = new LongAdder();
+		final LongAdder fBytesSent = new LongAdder();
+		final LongAdder fBytesReceived = new LongAdder();
+		final LongAdder fTimeouts = new LongAdder();
+		final LongAdder fTotalTime = new LongAdder();
+		final AtomicLongArray fHistogram = new AtomicLongArray(BUCKETS);
+	}
+
+	/**
+	 * Metrics of one command at the time they were read.
+	 */
+	public static final class Snapshot {
+		private final int fCommand;
+		private final long fCount;
+		private final long fBytesSent;
+		private final long fBytesReceived;
+		private final long fTimeouts;
+		private final long fTotalTime;
+		private final long[] fHistogram;
+		private final long fRecorded;
+
+		Snapshot(int command, Counters counters) {
+			fCommand = command;
+			fCount = counters.fCount.sum();
+			fBytesSent = counters.fBytesSent.sum();
+			fBytesReceived = counters.fBytesReceived.sum();
+			fTimeouts = counters.fTimeouts.sum();
+			fTotalTime = counters.fTotalTime.sum();
+			fHistogram = new long[BUCKETS];
+			long recorded = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				fHistogram[i] = counters.fHistogram.get(i);
+				recorded += fHistogram[i];
+			}
+			fRecorded = recorded;
+		}
+
+		/**
+		 * @return Returns the command, the command set in the high byte, as
+		 *         in {@link JdwpCommandPacket#getCommand()}.
+		 */
+		public int getCommand() {
+			return fCommand;
+		}
+
+		/**
+		 * @return Returns the name of the command, e.g.
+		 *         <code>THREAD_REFERENCE - FRAMES</code>.
+		 */
+		public String getName() {
+			String name = JdwpCommandPacket.commandMap().get(Integer.valueOf(fCommand));
+			return name != null ? name : (fCommand >>> 8) + " - " + (fCommand & 0xff); //$NON-NLS-1$
+		}
+
+		/**
+		 * @return Returns the number of replies received.
+		 */
+		public long getCount() {
+			return fCount;
+		}
+
+		/**
+		 * @return Returns the number of bytes sent, including packet headers.
+		 */
+		public long getBytesSent() {
+			return fBytesSent;
+		}
+
+		/**
+		 * @return Returns the number of bytes received, including packet
+		 *         headers.
+		 */
+		public long getBytesReceived() {
+			return fBytesReceived;
+		}
+
+		/**
+		 * @return Returns the number of requests whose reply did not arrive in
+		 *         time.
+		 */
+		public long getTimeoutCount() {
+			return fTimeouts;
+		}
+
+		/**
+		 * @return Returns the sum of the latencies of the replies received, in
+		 *         microseconds.
+		 */
+		public long getTotalTime() {
+			return fTotalTime;
+		}
+
+		/**
+		 * Returns the latency below which the given fraction of the replies
+		 * were received.
+		 *
+		 * @param fraction
+		 *            between 0 and 1, e.g. 0.99 for the 99th percentile
+		 * @return Returns the latency in microseconds, 0 if no reply was
+		 *         received.
+		 */
+		public long getLatency(double fraction) {
+			if (fRecorded == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(fraction * fRecorded));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += fHistogram[i];
+				if (seen >= rank) {
+					return bucketValue(i);
+				}
+			}
+			return bucketValue(BUCKETS - 1);
+		}
+	}
+
+	private final Map<Integer, Counters> fCounters = new ConcurrentHashMap<>();
+
+	private Counters counters(int command) {
+		return fCounters.computeIfAbsent(Integer.valueOf(command), c -> new Counters());
+	}
+
+	/**
+	 * Records a reply to a request.
+	 *
+	 * @param command
+	 *            the command of the request
+	 * @param bytesSent
+	 *            length of the command packet
+	 * @param bytesReceived
+	 *            length of the reply packet
+	 * @param nanos
+	 *            time between sending the command and receiving the reply
+	 */
+	public void recordReply(int command, int bytesSent, int bytesReceived, long nanos) {
+		Counters counters = counters(command);
+		long micros = Math.max(0, nanos / 1000);
+		counters.fCount.increment();
+		counters.fBytesSent.add(bytesSent);
+		counters.fBytesReceived.add(bytesReceived);
+		counters.fTotalTime.add(micros);
+		counters.fHistogram.incrementAndGet(bucket(micros));
+	}
+
+	/**
+	 * Records a request whose reply did not arrive in time.
+	 *
+	 * @param command
+	 *            the command of the request
+	 * @param bytesSent
+	 *            length of the command packet
+	 */
+	public void recordTimeout(int command, int bytesSent) {
+		Counters counters = counters(command);
+		counters.fBytesSent.add(bytesSent);
+		counters.fTimeouts.increment();
+	}
+
+	/**
+	 * @return Returns the metrics of the commands sent so far, the commands
+	 *         with the highest total time first.
+	 */
+	public List<Snapshot> getSnapshots() {
+		List<Snapshot> snapshots = new ArrayList<>(fCounters.size());
+		fCounters.forEach((command, counters) -> snapshots.add(new Snapshot(command.intValue(), counters)));
+		Collections.sort(snapshots, (s1, s2) -> Long.compare(s2.getTotalTime(), s1.getTotalTime()));
+		return snapshots;
+	}
+
+	/**
+	 * Discards the metrics recorded so far.
+	 */
+	public void reset() {
+		fCounters.clear();
+	}
+
+	/**
+	 * Prints a table of the metrics of the commands sent so far, the commands
+	 * with the highest total time first. Times are in microseconds.
+	 */
+	public void dump(PrintWriter writer) {
+		writer.println(String.format("%-50s %10s %12s %12s %12s %10s %10s %8s", //$NON-NLS-1$
+				"Command", "Count", "Total", "Sent", "Received", "p50", "p99", "Timeouts")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		for (Snapshot snapshot : getSnapshots()) {
+			writer.println(String.format("%-50s %10d %12d %12d %12d %10d %10d %8d", //$NON-NLS-1$
+					snapshot.getName(), Long.valueOf(snapshot.getCount()), Long.valueOf(snapshot.getTotalTime()), Long.valueOf(snapshot.getBytesSent()), Long.valueOf(snapshot.getBytesReceived()), Long.valueOf(snapshot.getLatency(0.5)), Long.valueOf(snapshot.getLatency(0.99)), Long.valueOf(snapshot.getTimeoutCount())));
+		}
+		writer.flush();
+	}
+
+	/**
+	 * @return Returns the histogram bucket of the given value.
+	 */
+	static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return Returns the middle of the range of values of the given bucket.
+	 */
+	static long bucketValue(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = bucket % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		long lowest = (1L << exponent) + subBucket * width;
+		return lowest + width / 2;
+	}
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+
+/**
+ * Cache of the replies to JDWP requests whose result cannot change while the
+ * Virtual Machine is left alone, such as the name or the frames of a suspended
+ * thread.
+ * <p>
+ * Replies are tagged with a suspend epoch, which advances whenever the Virtual
+ * Machine sends an event set and whenever a request that can change the state
+ * of the Virtual Machine (resuming or suspending threads, invoking methods,
+ * modifying values, popping frames, redefining classes...) is sent. A cached
+ * reply is only handed out during the epoch it was received in.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class JdwpResponseCache {
+
+	/**
+	 * Maximum number of replies held during one epoch
+	 */
+	private static final int MAX_ENTRIES = 4096;
+
+	/**
+	 * A request, identified by its command and data.
+	 */
+	private static final class Key {
+
+		private final int fCommand;
+		private final byte[] fData;
+		private final int fHash;
+
+		Key(int command, byte[] data) {
+			fCommand = command;
+			fData = data == null ? new byte[0] : data;
+			fHash = command * 31 + Arrays.hashCode(fData);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Key) {
+				Key key = (Key) obj;
+				return fCommand == key.fCommand && Arrays.equals(fData, key.fData);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+	}
+
+	private final Map<Key, JdwpReplyPacket> fReplies = new HashMap<>();
+	private long fEpoch = 0;
+	private final AtomicLong fHits = new AtomicLong();
+	private final AtomicLong fMisses = new AtomicLong();
+
+	/**
+	 * Returns whether replies to the given command can be cached.
+	 *
+	 * @param command
+	 *            the JDWP command
+	 * @return whether replies to the command can be cached
+	 */
+	static boolean isCacheable(int command) {
+		switch (command) {
+		case JdwpCommandPacket.TR_FRAME_COUNT:
+		case JdwpCommandPacket.TR_FRAMES:
+		case JdwpCommandPacket.SF_THIS_OBJECT:
+		case JdwpCommandPacket.RT_SIGNATURE:
+		case JdwpCommandPacket.RT_SIGNATURE_WITH_GENERIC:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns whether the given command can change the state of the Virtual
+	 * Machine, ending the current epoch.
+	 *
+	 * @param command
+	 *            the JDWP command
+	 * @return whether the command ends the current epoch
+	 */
+	static boolean endsEpoch(int command) {
+		switch (command) {
+		case JdwpCommandPacket.VM_SUSPEND:
+		case JdwpCommandPacket.VM_RESUME:
+		case JdwpCommandPacket.VM_DISPOSE:
+		case JdwpCommandPacket.VM_EXIT:
+		case JdwpCommandPacket.VM_REDEFINE_CLASSES:
+		case JdwpCommandPacket.TR_SUSPEND:
+		case JdwpCommandPacket.TR_RESUME:
+		case JdwpCommandPacket.TR_STOP:
+		case JdwpCommandPacket.TR_INTERRUPT:
+		case JdwpCommandPacket.TR_FORCE_EARLY_RETURN:
+		case JdwpCommandPacket.SF_SET_VALUES:
+		case JdwpCommandPacket.SF_POP_FRAME:
+		case JdwpCommandPacket.OR_SET_VALUES:
+		case JdwpCommandPacket.OR_INVOKE_METHOD:
+		case JdwpCommandPacket.CT_SET_VALUES:
+		case JdwpCommandPacket.CT_INVOKE_METHOD:
+		case JdwpCommandPacket.CT_NEW_INSTANCE:
+		case JdwpCommandPacket.IT_INVOKE_METHOD:
+		case JdwpCommandPacket.AR_SET_VALUES:
+		case JdwpCommandPacket.HCR_CLASSES_HAVE_CHANGED:
+		case JdwpCommandPacket.HCR_DO_RETURN:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the reply received during the current epoch for the given
+	 * request, or <code>null</code> if there is none.
+	 *
+	 * @param command
+	 *            the JDWP command
+	 * @param data
+	 *            the command data, or <code>null</code>
+	 * @return the cached reply or <code>null</code>
+	 */
+	synchronized JdwpReplyPacket get(int command, byte[] data) {
+		JdwpReplyPacket reply = fReplies.get(new Key(command, data));
+		if (reply != null) {
+			fHits.incrementAndGet();
+		} else {
+			fMisses.incrementAndGet();
+		}
+		return reply;
+	}
+
+	/**
+	 * Caches the reply to the given request, unless the epoch has advanced
+	 * since the request was sent or the request failed.
+	 *
+	 * @param command
+	 *            the JDWP command
+	 * @param data
+	 *            the command data, or <code>null</code>
+	 * @param reply
+	 *            the reply
+	 * @param epoch
+	 *            the epoch the request was sent in
+	 */
+	synchronized void put(int command, byte[] data, JdwpReplyPacket reply, long epoch) {
+		if (epoch == fEpoch && reply.errorCode() == JdwpReplyPacket.NONE
+				&& fReplies.size() < MAX_ENTRIES) {
+			fReplies.put(new Key(command, data), reply);
+		}
+	}
+
+	/**
+	 * Ends the current epoch, discarding all cached replies.
+	 */
+	public synchronized void advanceEpoch() {
+		fEpoch++;
+		fReplies.clear();
+	}
+
+	/**
+	 * @return Returns the current epoch.
+	 */
+	public synchronized long getEpoch() {
+		return fEpoch;
+	}
+
+	/**
+	 * @return Returns the number of requests answered from the cache.
+	 */
+	public long getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * @return Returns the number of cacheable requests that had to be sent to
+	 *         the Virtual Machine.
+	 */
+	public long getMissCount() {
+		return fMisses.get();
+	}
+}
@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache of mirror objects keyed by their JDWP id.
+ * <p>
+ * Ids are kept as primitive <code>long</code>s in open addressing tables, so
+ * looking up a mirror does not allocate. The cache is split into independently
+ * locked stripes, so threads looking up different ids do not contend. Values
+ * can be held strongly, softly or weakly; entries whose value has been garbage
+ * collected are removed when their stripe is next modified. When a maximum
+ * size is given, an entry of a full stripe is evicted for each new entry.
+ * </p>
+ * <p>
+ * Note that evicting or collecting a mirror only loses the results stored in
+ * it: a new mirror is created the next time the id is read, and mirrors are
+ * compared by id.
+ * </p>
+ *
+ * @param <V>
+ *            type of the mirrors
+ * @since 3.15
+ */
+public class MirrorCache<V> {
+
+	/**
+	 * How the cached values are referenced.
+	 */
+	public enum ReferenceStrength {
+		/** Values are never garbage collected while cached. */
+		STRONG,
+		/** Values are garbage collected when memory runs low. */
+		SOFT,
+		/** Values are garbage collected once no longer used elsewhere. */
+		WEAK
+	}
+
+	private static final int STRIPES = 16;
+	private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+	/**
+	 * Soft reference that remembers the id it is cached under.
+	 */
+	private static final class SoftEntry<V> extends SoftReference<V> {
+		final long fKey;
+
+		SoftEntry(long key, V value, ReferenceQueue<V> queue) {
+			super(value, queue);
+			fKey = key;
+		}
+	}
+
+	/**
+	 * Weak reference that remembers the id it is cached under.
+	 */
+	private static final class WeakEntry<V> extends WeakReference<V> {
+		final long fKey;
+
+		WeakEntry(long key, V value, ReferenceQueue<V> queue) {
+			super(value, queue);
+			fKey = key;
+		}
+	}
+
+	/**
+	 * Linear probing table holding a part of the ids. Slots with a
+	 * <code>null</code> entry are free; removal shifts back the following
+	 * entries, so there are no tombstones.
+	 */
+	private static final class Stripe<V> {
+		private final ReferenceStrength fStrength;
+		private final int fMaxStripeSize;
+		private long[] fKeys = new long[INITIAL_STRIPE_CAPACITY];
+		private Object[] fEntries = new Object[INITIAL_STRIPE_CAPACITY];
+		private int fSize = 0;
+		private int fEvictionCursor = 0;
+		private final ReferenceQueue<V> fQueue = new ReferenceQueue<>();
+
+		Stripe(ReferenceStrength strength, int maxStripeSize) {
+			fStrength = strength;
+			fMaxStripeSize = maxStripeSize;
+		}
+
+		synchronized V get(long key, int hash) {
+			int mask = fKeys.length - 1;
+			for (int i = hash & mask;; i = (i + 1) & mask) {
+				Object entry = fEntries[i];
+				if (entry == null) {
+					return null;
+				}
+				if (fKeys[i] == key) {
+					return value(entry);
+				}
+			}
+		}
+
+		synchronized void put(long key, int hash, V value) {
+			expungeCollected();
+			int mask = fKeys.length - 1;
+			int i = hash & mask;
+			for (; fEntries[i] != null; i = (i + 1) & mask) {
+				if (fKeys[i] == key) {
+					fEntries[i] = entry(key, value);
+					return;
+				}
+			}
+			if (fMaxStripeSize > 0 && fSize >= fMaxStripeSize) {
+				evictOne();
+				put(key, hash, value);
+				return;
+			}
+			fKeys[i] = key;
+			fEntries[i] = entry(key, value);
+			fSize++;
+			if (fSize * 2 > fKeys.length) {
+				resize();
+			}
+		}
+
+		synchronized V remove(long key, int hash) {
+			expungeCollected();
+			int i = indexOf(key, hash);
+			if (i < 0) {
+				return null;
+			}
+			V value = value(fEntries[i]);
+			delete(i);
+			return value;
+		}
+
+		synchronized void collectValues(List<V> values) {
+			for (Object entry : fEntries) {
+				if (entry != null) {
+					V value = value(entry);
+					if (value != null) {
+						values.add(value);
+					}
+				}
+			}
+		}
+
+		private int indexOf(long key, int hash) {
+			int mask = fKeys.length - 1;
+			for (int i = hash & mask; fEntries[i] != null; i = (i + 1) & mask) {
+				if (fKeys[i] == key) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Frees the given slot, moving back the entries of the same probe
+		 * sequence that follow it.
+		 */
+		private void delete(int slot) {
+			int mask = fKeys.length - 1;
+			int free = slot;
+			fEntries[free] = null;
+			fSize--;
+			for (int i = (free + 1) & mask; fEntries[i] != null; i = (i + 1) & mask) {
+				int home = hash(fKeys[i]) & mask;
+				// move the entry if its home slot is not between the free slot
+				// and its current slot
+				if (((i - home) & mask) >= ((i - free) & mask)) {
+					fKeys[free] = fKeys[i];
+					fEntries[free] = fEntries[i];
+					fEntries[i] = null;
+					free = i;
+				}
+			}
+		}
+
+		private void evictOne() {
+			int mask = fKeys.length - 1;
+			int i = fEvictionCursor & mask;
+			while (fEntries[i] == null) {
+				i = (i + 1) & mask;
+			}
+			fEvictionCursor = i + 1;
+			delete(i);
+		}
+
+		private void resize() {
+			long[] keys = fKeys;
+			Object[] entries = fEntries;
+			fKeys = new long[keys.length * 2];
+			fEntries = new Object[entries.length * 2];
+			int mask = fKeys.length - 1;
+			for (int j = 0; j < keys.length; j++) {
+				if (entries[j] != null) {
+					int i = hash(keys[j]) & mask;
+					while (fEntries[i] != null) {
+						i = (i + 1) & mask;
+					}
+					fKeys[i] = keys[j];
+					fEntries[i] = entries[j];
+				}
+			}
+		}
+
+		/**
+		 * Removes the entries whose value has been garbage collected.
+		 */
+		private void expungeCollected() {
+			Reference<? extends V> ref;
+			while ((ref = fQueue.poll()) != null) {
+				long key = ref instanceof SoftEntry ? ((SoftEntry<?>) ref).fKey : ((WeakEntry<?>) ref).fKey;
+				int i = indexOf(key, hash(key));
+				if (i >= 0 && fEntries[i] == ref) {
+					delete(i);
+				}
+			}
+		}
+
+		private Object entry(long key, V value) {
+			switch (fStrength) {
+			case SOFT:
+				return new SoftEntry<>(key, value, fQueue);
+			case WEAK:
+				return new WeakEntry<>(key, value, fQueue);
+			default:
+				return value;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private V value(Object entry) {
+			if (entry instanceof Reference) {
+				return ((Reference<V>) entry).get();
+			}
+			return (V) entry;
+		}
+	}
+
+	private final Stripe<V>[] fStripes;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param strength
+	 *            how the cached values are referenced
+	 * @param maxSize
+	 *            maximum number of entries, or 0 for no maximum
+	 */
+	@SuppressWarnings("unchecked")
+	public MirrorCache(ReferenceStrength strength, int maxSize) {
+		int maxStripeSize = maxSize > 0 ? (maxSize + STRIPES - 1) / STRIPES : 0;
+		fStripes = (Stripe<V>[]) new Stripe<?>[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			fStripes[i] = new Stripe<>(strength, maxStripeSize);
+		}
+	}
+
+	private static int hash(long key) {
+		int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private Stripe<V> stripe(int hash) {
+		// the low bits select the slot within the stripe
+		return fStripes[(hash >>> 28) & (STRIPES - 1)];
+	}
+
+	/**
+	 * @return Returns the value cached under the given id, or <code>null</code>
+	 *         if there is none or it has been garbage collected.
+	 */
+	public V get(long key) {
+		int hash = hash(key);
+		return stripe(hash).get(key, hash);
+	}
+
+	/**
+	 * Caches the given value under the given id.
+	 */
+	public void put(long key, V value) {
+		int hash = hash(key);
+		stripe(hash).put(key, hash, value);
+	}
+
+	/**
+	 * Removes the value cached under the given id.
+	 *
+	 * @return Returns the value that was cached under the id, or
+	 *         <code>null</code> if there was none.
+	 */
+	public V remove(long key) {
+		int hash = hash(key);
+		return stripe(hash).remove(key, hash);
+	}
+
+	/**
+	 * @return Returns a snapshot of the values contained in this cache.
+	 */
+	public List<V> values() {
+		List<V> values = new ArrayList<>();
+		for (Stripe<V> stripe : fStripes) {
+			stripe.collectValues(values);
+		}
+		return values;
+	}
+}
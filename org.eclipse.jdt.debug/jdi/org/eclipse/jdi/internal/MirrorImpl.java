@@ -22,6 +22,8 @@ import java.util.Date;
 import java.util.Map;
 
 import org.eclipse.jdi.Bootstrap;
+import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.connect.PacketReceiveManager;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
@@ -184,23 +186,107 @@ public class MirrorImpl implements Mirror {
 	 * @return Returns reply data.
 	 */
 	public JdwpReplyPacket requestVM(int command, byte[] outData) {
+		if (!JdwpResponseCache.isCacheable(command)) {
+			JdwpCommandPacket commandPacket = sendRequestVM(command, outData);
+			long sent = System.nanoTime();
+			return receiveReplyVM(commandPacket, sent);
+		}
+		JdwpResponseCache cache = fVirtualMachineImpl.responseCache();
+		JdwpReplyPacket reply = cache.get(command, outData);
+		if (reply == null) {
+			long epoch = cache.getEpoch();
+			JdwpCommandPacket commandPacket = sendRequestVM(command, outData);
+			long sent = System.nanoTime();
+			reply = receiveReplyVM(commandPacket, sent);
+			cache.put(command, outData, reply, epoch);
+		}
+		return reply;
+	}
+
+	/**
+	 * Sends a VM request without waiting for its reply. The reply is read by
+	 * the given reader when {@link PendingReply#get()} is called, so any number
+	 * of requests can be in flight at the same time.
+	 *
+	 * @param command
+	 *            the JDWP command
+	 * @param outData
+	 *            the command data, or <code>null</code>
+	 * @param reader
+	 *            reads the result from the reply packet
+	 * @return Returns a handle on the pending reply.
+	 * @since 3.15
+	 */
+	public <T> PendingReply<T> requestVMAsync(int command, byte[] outData, PendingReply.ReplyReader<T> reader) {
+		JdwpCommandPacket commandPacket = sendRequestVM(command, outData);
+		long sent = System.nanoTime();
+		return new PendingReply<>(this, commandPacket, sent, reader);
+	}
+
+	/**
+	 * Sends a VM request without waiting for its reply.
+	 *
+	 * @see #requestVMAsync(int, byte[], PendingReply.ReplyReader)
+	 * @since 3.15
+	 */
+	public <T> PendingReply<T> requestVMAsync(int command, ByteArrayOutputStream outData, PendingReply.ReplyReader<T> reader) {
+		return requestVMAsync(command, outData.toByteArray(), reader);
+	}
+
+	/**
+	 * Sends a command packet to the VM.
+	 *
+	 * @return Returns the command packet that was sent.
+	 */
+	private JdwpCommandPacket sendRequestVM(int command, byte[] outData) {
 		JdwpCommandPacket commandPacket = new JdwpCommandPacket(command);
 		commandPacket.setData(outData);
-		long sent = System.currentTimeMillis();
-		fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
+		if (JdwpResponseCache.endsEpoch(command)) {
+			fVirtualMachineImpl.responseCache().advanceEpoch();
+		}
+		PacketReceiveManager receiveManager = fVirtualMachineImpl.packetReceiveManager();
+		receiveManager.expectReply(commandPacket.getId());
+		try {
+			fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
+		} catch (RuntimeException e) {
+			receiveManager.cancelReply(commandPacket.getId());
+			throw e;
+		}
 		fPendingJdwpRequest = true;
 		writeVerboseCommandPacketHeader(commandPacket);
+		return commandPacket;
+	}
 
-		JdwpReplyPacket reply = fVirtualMachineImpl.packetReceiveManager()
-				.getReply(commandPacket);
-		long recieved = System.currentTimeMillis();
+	/**
+	 * Waits for the reply to a command packet that has been sent to the VM.
+	 *
+	 * @param commandPacket
+	 *            the command packet that was sent
+	 * @param sent
+	 *            the time the command was sent at, as returned by
+	 *            {@link System#nanoTime()}
+	 * @return Returns reply data.
+	 */
+	JdwpReplyPacket receiveReplyVM(JdwpCommandPacket commandPacket, long sent) {
+		JdwpCommandMetrics metrics = fVirtualMachineImpl.commandMetrics();
+		JdwpReplyPacket reply;
+		try {
+			reply = fVirtualMachineImpl.packetReceiveManager().getReply(commandPacket, sent);
+		} catch (TimeoutException e) {
+			metrics.recordTimeout(commandPacket.getCommand(), commandPacket.getLength());
+			throw e;
+		}
+		long elapsed = System.nanoTime() - sent;
+		metrics.recordReply(commandPacket.getCommand(), commandPacket.getLength(), reply.getLength(), elapsed);
+		fVirtualMachineImpl.requestTimeouts().recordLatency(commandPacket.getCommand(), elapsed);
 		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
+			long elapsedMillis = elapsed / 1000000;
 			StringBuilder buf = new StringBuilder();
-			buf.append(JDIDebugOptions.FORMAT.format(new Date(sent)));
+			buf.append(JDIDebugOptions.FORMAT.format(new Date(System.currentTimeMillis() - elapsedMillis)));
 			buf.append(" JDI Request: "); //$NON-NLS-1$
 			buf.append(commandPacket.toString());
 			buf.append("\n\tResponse Time: "); //$NON-NLS-1$
-			buf.append(recieved - sent);
+			buf.append(elapsedMillis);
 			buf.append("ms"); //$NON-NLS-1$
 			buf.append(" length: "); //$NON-NLS-1$
 			buf.append(reply.getLength());
@@ -122,6 +122,50 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 		}
 	}
 
+	/**
+	 * Sends the request preventing garbage collection for this object without
+	 * waiting for the reply. The Virtual Machine handles requests in order, so
+	 * the object is protected before any request sent afterwards is handled.
+	 *
+	 * @return Returns a handle on the pending reply.
+	 * @see #disableCollection()
+	 * @since 3.15
+	 */
+	public PendingReply<Void> disableCollectionAsync() {
+		return requestCollectionAsync(JdwpCommandPacket.OR_DISABLE_COLLECTION);
+	}
+
+	/**
+	 * Sends the request permitting garbage collection for this object without
+	 * waiting for the reply, so the requests for many objects can be sent in
+	 * one batch.
+	 *
+	 * @return Returns a handle on the pending reply.
+	 * @see #enableCollection()
+	 * @since 3.15
+	 */
+	public PendingReply<Void> enableCollectionAsync() {
+		return requestCollectionAsync(JdwpCommandPacket.OR_ENABLE_COLLECTION);
+	}
+
+	private PendingReply<Void> requestCollectionAsync(int command) {
+		initJdwpRequest();
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData);
+			return requestVMAsync(command, outBytes, replyPacket -> {
+				defaultReplyErrorHandler(replyPacket.errorCode());
+				return null;
+			});
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * Inner class used to return monitor info.
 	 */
@@ -276,6 +320,20 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 		if (allFields.isEmpty()) {
 			return new HashMap<>();
 		}
+		return getValuesAsync(allFields).get();
+	}
+
+	/**
+	 * Sends the requests for the values of multiple instance and/or static
+	 * fields in this object without waiting for the replies.
+	 *
+	 * @param allFields
+	 *            the fields, must not be empty
+	 * @return Returns a handle on the pending values.
+	 * @see #getValues(List)
+	 * @since 3.15
+	 */
+	public PendingReply<Map<Field, Value>> getValuesAsync(List<? extends Field> allFields) {
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
@@ -287,7 +345,7 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 			 * fields ReferenceTypeImpl.getValues() must be used.
 			 */
 			List<Field> staticFields = new ArrayList<>();
-			List<FieldImpl> nonStaticFields = new ArrayList<>();
+			final List<FieldImpl> nonStaticFields = new ArrayList<>();
 
 			// Separate static and non-static fields.
 			int allFieldsSize = allFields.size();
@@ -300,21 +358,21 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 					nonStaticFields.add(field);
 			}
 
-			// First get values for the static fields.
-			Map<Field, Value> resultMap;
+			// First request values for the static fields.
+			final PendingReply<Map<Field, Value>> staticValues;
 			if (staticFields.isEmpty()) {
-				resultMap = new HashMap<>();
+				staticValues = null;
 			} else {
-				resultMap = referenceType().getValues(staticFields);
+				staticValues = ((ReferenceTypeImpl) referenceType()).getValuesAsync(staticFields);
 			}
 
 			// if no non-static fields are requested, return directly the
 			// result.
 			if (nonStaticFields.isEmpty()) {
-				return resultMap;
+				return staticValues;
 			}
-			// Then get the values for the non-static fields.
-			int nonStaticFieldsSize = nonStaticFields.size();
+			// Then request the values for the non-static fields.
+			final int nonStaticFieldsSize = nonStaticFields.size();
 			write(this, outData);
 			writeInt(nonStaticFieldsSize, "size", outData); //$NON-NLS-1$
 			for (int i = 0; i < nonStaticFieldsSize; i++) {
@@ -322,21 +380,39 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 				field.write(this, outData);
 			}
 
-			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.OR_GET_VALUES, outBytes);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			if (nrOfElements != nonStaticFieldsSize)
-				throw new InternalError(
-						JDIMessages.ObjectReferenceImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_1);
-
-			for (int i = 0; i < nrOfElements; i++) {
-				resultMap.put(nonStaticFields.get(i),
-						ValueImpl.readWithTag(this, replyData));
+			PendingReply<Map<Field, Value>> values;
+			try {
+				values = requestVMAsync(JdwpCommandPacket.OR_GET_VALUES, outBytes, replyPacket -> {
+					Map<Field, Value> resultMap;
+					if (staticValues == null) {
+						resultMap = new HashMap<>();
+					} else {
+						resultMap = staticValues.get();
+					}
+					defaultReplyErrorHandler(replyPacket.errorCode());
+
+					DataInputStream replyData = replyPacket.dataInStream();
+					int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+					if (nrOfElements != nonStaticFieldsSize)
+						throw new InternalError(
+								JDIMessages.ObjectReferenceImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_1);
+
+					for (int i = 0; i < nrOfElements; i++) {
+						resultMap.put(nonStaticFields.get(i),
+								ValueImpl.readWithTag(this, replyData));
+					}
+					return resultMap;
+				});
+			} catch (RuntimeException e) {
+				if (staticValues != null) {
+					staticValues.cancel();
+				}
+				throw e;
+			}
+			if (staticValues != null) {
+				values.setDependency(staticValues);
 			}
-			return resultMap;
+			return values;
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
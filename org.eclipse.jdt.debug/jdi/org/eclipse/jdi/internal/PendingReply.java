@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
+
+/**
+ * Handle on a JDWP request that has been sent to the Virtual Machine but whose
+ * reply has not necessarily been received yet.
+ * <p>
+ * Requests are sent as soon as they are created, so a client can issue many
+ * of them back-to-back and then collect the results with {@link #get()}. The
+ * replies are matched to their requests as they arrive, in whatever order the
+ * Virtual Machine answers them.
+ * </p>
+ * <p>
+ * {@link #get()} throws the same runtime exceptions as the equivalent
+ * synchronous request would. A pending reply that is abandoned without
+ * calling {@link #get()}, e.g. because an exception is thrown before the
+ * results are collected, must be cancelled with {@link #cancel()}, typically
+ * in a <code>finally</code> block.
+ * </p>
+ *
+ * @param <T>
+ *            type of the result read from the reply
+ * @see MirrorImpl#requestVMAsync(int, byte[], ReplyReader)
+ */
+public class PendingReply<T> {
+
+	/**
+	 * Reads the result of a request from its reply packet.
+	 *
+	 * @param <T>
+	 *            type of the result
+	 */
+	@FunctionalInterface
+	public interface ReplyReader<T> {
+		/**
+		 * Checks the error code of the given reply and reads its data.
+		 *
+		 * @param replyPacket
+		 *            reply received from the Virtual Machine
+		 * @return the result of the request
+		 * @throws IOException
+		 *             if the reply data is not valid
+		 */
+		T read(JdwpReplyPacket replyPacket) throws IOException;
+	}
+
+	private final MirrorImpl fMirror;
+	private final JdwpCommandPacket fCommandPacket;
+	private final long fSent;
+	private final ReplyReader<T> fReader;
+
+	private boolean fDone = false;
+	private T fResult;
+	private RuntimeException fFailure;
+
+	/**
+	 * Request whose reply is read by the reader of this one, or
+	 * <code>null</code>
+	 */
+	private PendingReply<?> fDependency;
+
+	PendingReply(MirrorImpl mirror, JdwpCommandPacket commandPacket, long sent, ReplyReader<T> reader) {
+		fMirror = mirror;
+		fCommandPacket = commandPacket;
+		fSent = sent;
+		fReader = reader;
+	}
+
+	/**
+	 * Sets a request whose reply is read by the reader of this one. The
+	 * dependency is cancelled if this reply fails before its reader runs, or is
+	 * cancelled.
+	 */
+	void setDependency(PendingReply<?> dependency) {
+		fDependency = dependency;
+	}
+
+	/**
+	 * @return Returns the id of the command packet that was sent.
+	 */
+	public int getId() {
+		return fCommandPacket.getId();
+	}
+
+	/**
+	 * @return Returns whether the reply has been received or the result has
+	 *         already been read. Does not block.
+	 */
+	public synchronized boolean isDone() {
+		return fDone || fMirror.virtualMachineImpl().packetReceiveManager().isReplyAvailable(getId());
+	}
+
+	/**
+	 * Waits for the reply, if needed, and returns the result read from it.
+	 * Subsequent calls return the same result or throw the same exception.
+	 *
+	 * @return Returns the result of the request.
+	 */
+	public synchronized T get() {
+		if (!fDone) {
+			try {
+				JdwpReplyPacket reply = fMirror.receiveReplyVM(fCommandPacket, fSent);
+				fResult = fReader.read(reply);
+			} catch (IOException e) {
+				try {
+					fMirror.defaultIOExceptionHandler(e);
+				} catch (RuntimeException e1) {
+					fFailure = e1;
+				}
+			} catch (RuntimeException e) {
+				fFailure = e;
+			} finally {
+				fDone = true;
+				if (fDependency != null) {
+					// does nothing if the reader has read it
+					fDependency.cancel();
+				}
+			}
+		}
+		if (fFailure != null) {
+			throw fFailure;
+		}
+		return fResult;
+	}
+
+	/**
+	 * Gives up on the reply if it has not been read yet, so that it is
+	 * discarded when it arrives. Subsequent calls to {@link #get()} throw a
+	 * {@link CancellationException}. Does nothing if the result has already
+	 * been read.
+	 */
+	public synchronized void cancel() {
+		if (!fDone) {
+			fDone = true;
+			fFailure = new CancellationException();
+			fMirror.virtualMachineImpl().packetReceiveManager().cancelReply(getId());
+			if (fDependency != null) {
+				fDependency.cancel();
+			}
+		}
+	}
+}
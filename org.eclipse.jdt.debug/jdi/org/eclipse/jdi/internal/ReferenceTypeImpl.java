@@ -40,7 +40,6 @@ import org.eclipse.osgi.util.NLS;
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ClassLoaderReference;
 import com.sun.jdi.ClassNotLoadedException;
-import com.sun.jdi.ClassNotPreparedException;
 import com.sun.jdi.ClassObjectReference;
 import com.sun.jdi.ClassType;
 import com.sun.jdi.Field;
@@ -364,11 +363,16 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	private List<Method> fVisibleMethods = null;
 	private List<Field> fAllFields = null;
 	private List<Field> fVisibleFields = null;
+	/** Indexes of the visible methods and fields, built on first lookup. */
+	private Map<String, List<Method>> fVisibleMethodsByName = null;
+	private Map<String, Method> fVisibleMethodsByNameAndSignature = null;
+	private Map<String, Field> fVisibleFieldsByName = null;
 	private List<InterfaceType> fAllInterfaces = null;
 	private Map<String, Map<String, List<Location>>> fStratumAllLineLocations = null;
 	private String fSourceName = null;
 	private int fModifierBits = -1;
 	private ClassLoaderReferenceImpl fClassLoader = null;
+	private boolean fClassLoaderKnown = false;
 	private ClassObjectReferenceImpl fClassObject = null;
 
 	private String fGenericSignature; // 1.5 addition
@@ -449,11 +453,15 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		fVisibleMethods = null;
 		fAllFields = null;
 		fVisibleFields = null;
+		fVisibleMethodsByName = null;
+		fVisibleMethodsByNameAndSignature = null;
+		fVisibleFieldsByName = null;
 		fAllInterfaces = null;
 		fStratumAllLineLocations = null;
 		fSourceName = null;
 		fModifierBits = -1;
 		fClassLoader = null;
+		fClassLoaderKnown = false;
 		fClassObject = null;
 		fGotClassFileVersion = false;
 		// java 1.5
@@ -804,7 +812,8 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public ClassLoaderReference classLoader() {
-		if (fClassLoader != null) {
+		if (fClassLoaderKnown) {
+			// null for the bootstrap class loader
 			return fClassLoader;
 		}
 
@@ -815,6 +824,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			defaultReplyErrorHandler(replyPacket.errorCode());
 			DataInputStream replyData = replyPacket.dataInStream();
 			fClassLoader = ClassLoaderReferenceImpl.read(this, replyData);
+			fClassLoaderKnown = true;
 			return fClassLoader;
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
@@ -908,14 +918,25 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public Field fieldByName(String name) {
-		Iterator<Field> iter = visibleFields().iterator();
-		while (iter.hasNext()) {
-			FieldImpl field = (FieldImpl) iter.next();
-			if (field.name().equals(name)) {
-				return field;
-			}
+		return visibleFieldsByName().get(name);
+	}
+
+	/**
+	 * @return Returns the visible fields by name. When several visible fields
+	 *         have the same name, the first one is kept.
+	 */
+	private Map<String, Field> visibleFieldsByName() {
+		Map<String, Field> fieldsByName = fVisibleFieldsByName;
+		if (fieldsByName != null) {
+			return fieldsByName;
 		}
-		return null;
+		List<Field> visibleFields = visibleFields();
+		fieldsByName = new HashMap<>(visibleFields.size() * 2);
+		for (Field field : visibleFields) {
+			fieldsByName.putIfAbsent(field.name(), field);
+		}
+		fVisibleFieldsByName = fieldsByName;
+		return fieldsByName;
 	}
 
 	/**
@@ -1016,12 +1037,26 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		if (fields.isEmpty()) {
 			return new HashMap<>();
 		}
+		return getValuesAsync(fields).get();
+	}
+
+	/**
+	 * Sends a request for the values of multiple static fields of this type
+	 * without waiting for the reply.
+	 *
+	 * @param fields
+	 *            the static fields, must not be empty
+	 * @return Returns a handle on the pending values.
+	 * @see #getValues(List)
+	 * @since 3.15
+	 */
+	public PendingReply<Map<Field, Value>> getValuesAsync(final List<? extends Field> fields) {
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
 			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
 			DataOutputStream outData = new DataOutputStream(outBytes);
-			int fieldsSize = fields.size();
+			final int fieldsSize = fields.size();
 			write(this, outData);
 			writeInt(fieldsSize, "size", outData); //$NON-NLS-1$
 			for (int i = 0; i < fieldsSize; i++) {
@@ -1030,22 +1065,22 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 				field.getFieldID().write(outData);
 			}
 
-			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.RT_GET_VALUES, outBytes);
-			defaultReplyErrorHandler(replyPacket.errorCode());
+			return requestVMAsync(JdwpCommandPacket.RT_GET_VALUES, outBytes, replyPacket -> {
+				defaultReplyErrorHandler(replyPacket.errorCode());
 
-			DataInputStream replyData = replyPacket.dataInStream();
-			HashMap<Field, Value> map = new HashMap<>();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			if (nrOfElements != fieldsSize) {
-				throw new InternalError(
-						JDIMessages.ReferenceTypeImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_3);
-			}
+				DataInputStream replyData = replyPacket.dataInStream();
+				HashMap<Field, Value> map = new HashMap<>();
+				int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+				if (nrOfElements != fieldsSize) {
+					throw new InternalError(
+							JDIMessages.ReferenceTypeImpl_Retrieved_a_different_number_of_values_from_the_VM_than_requested_3);
+				}
 
-			for (int i = 0; i < nrOfElements; i++) {
-				map.put(fields.get(i), ValueImpl.readWithTag(this, replyData));
-			}
-			return map;
+				for (int i = 0; i < nrOfElements; i++) {
+					map.put(fields.get(i), ValueImpl.readWithTag(this, replyData));
+				}
+				return map;
+			});
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -1172,15 +1207,11 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public List<Method> methodsByName(String name) {
-		List<Method> elements = new ArrayList<>();
-		Iterator<Method> iter = visibleMethods().iterator();
-		while (iter.hasNext()) {
-			Method method = iter.next();
-			if (method.name().equals(name)) {
-				elements.add(method);
-			}
+		List<Method> methods = visibleMethodsByName().get(name);
+		if (methods == null) {
+			return new ArrayList<>();
 		}
-		return elements;
+		return new ArrayList<>(methods);
 	}
 
 	/**
@@ -1189,17 +1220,50 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public List<Method> methodsByName(String name, String signature) {
-		List<Method> elements = new ArrayList<>();
-		Iterator<Method> iter = visibleMethods().iterator();
-		while (iter.hasNext()) {
-			MethodImpl method = (MethodImpl) iter.next();
-			if (method.name().equals(name) && method.signature().equals(signature)) {
-				elements.add(method);
-			}
+		List<Method> elements = new ArrayList<>(1);
+		// visible methods are unique by name and signature
+		Method method = visibleMethodsByNameAndSignature().get(name + signature);
+		if (method != null) {
+			elements.add(method);
 		}
 		return elements;
 	}
 
+	/**
+	 * @return Returns the visible methods by name, in the order of
+	 *         {@link #visibleMethods()}.
+	 */
+	private Map<String, List<Method>> visibleMethodsByName() {
+		Map<String, List<Method>> methodsByName = fVisibleMethodsByName;
+		if (methodsByName != null) {
+			return methodsByName;
+		}
+		List<Method> visibleMethods = visibleMethods();
+		methodsByName = new HashMap<>(visibleMethods.size() * 2);
+		for (Method method : visibleMethods) {
+			methodsByName.computeIfAbsent(method.name(), key -> new ArrayList<>(1)).add(method);
+		}
+		fVisibleMethodsByName = methodsByName;
+		return methodsByName;
+	}
+
+	/**
+	 * @return Returns the visible methods by name followed by signature.
+	 */
+	private Map<String, Method> visibleMethodsByNameAndSignature() {
+		Map<String, Method> methodsBySignature = fVisibleMethodsByNameAndSignature;
+		if (methodsBySignature != null) {
+			return methodsBySignature;
+		}
+		List<Method> visibleMethods = visibleMethods();
+		methodsBySignature = new HashMap<>(visibleMethods.size() * 2);
+		for (Method method : visibleMethods) {
+			methodsBySignature.putIfAbsent(method.name() + method.signature(), method);
+		}
+		fVisibleMethodsByNameAndSignature = methodsBySignature;
+		return methodsBySignature;
+	}
+
 	/**
 	 * @return Returns the fully qualified name of this type.
 	 */
@@ -1245,22 +1309,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		// Note that the VM gives an empty reply on RT_NESTED_TYPES, therefore
 		// we search for the
 		// nested types in the loaded types.
-		List<ReferenceType> result = new ArrayList<>();
-		Iterator<ReferenceType> itr = virtualMachineImpl().allRefTypes();
-		while (itr.hasNext()) {
-			try {
-				ReferenceTypeImpl refType = (ReferenceTypeImpl) itr.next();
-				String refName = refType.name();
-				if (refName.length() > name().length()
-						&& refName.startsWith(name())
-						&& refName.charAt(name().length()) == '$') {
-					result.add(refType);
-				}
-			} catch (ClassNotPreparedException e) {
-				continue;
-			}
-		}
-		return result;
+		return virtualMachineImpl().classIndex().classesByNamePrefix(name() + '$');
 	}
 
 	/**
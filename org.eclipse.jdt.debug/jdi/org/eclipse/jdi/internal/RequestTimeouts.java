@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdt.internal.debug.core.model.ITimeoutListener;
+
+/**
+ * Timeouts of the JDWP requests sent to a Virtual Machine, per command set.
+ * <p>
+ * The latency of the replies is tracked per command set, with heavy and cheap
+ * commands apart, as a smoothed mean and deviation, as TCP does for its
+ * retransmission timeout. A command waits for the mean plus
+ * {@link #DEVIATIONS} deviations, but no less than the request timeout of the
+ * Virtual Machine and no more than {@link #MAX_GROWTH} times as long. Until a
+ * reply has been received, cheap commands wait for the request timeout, and
+ * heavy commands, whose cost grows with the size of the target, such as
+ * retrieving all classes or instances, redefining classes or invoking methods,
+ * wait {@link #HEAVY_FACTOR} times as long. Timeouts do not change the
+ * estimates, only the replies do, including the ones arriving late.
+ * </p>
+ * <p>
+ * When a request times out and nothing has been received from the Virtual
+ * Machine since it was sent, the connection is considered unresponsive: until
+ * a packet is received again, every command waits at most the request timeout
+ * divided by {@link #UNRESPONSIVE_DIVISOR}, so that a dead connection fails
+ * the requests queued behind the first one quickly instead of each of them
+ * waiting for its own timeout. The timeout listeners are notified of every
+ * timeout.
+ * </p>
+ * <p>
+ * An infinite or disabled request timeout, as used while invoking methods,
+ * applies to all commands unchanged.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class RequestTimeouts {
+
+	/**
+	 * Factor applied to the request timeout for heavy commands without
+	 * observed latency
+	 */
+	public static final int HEAVY_FACTOR = 4;
+
+	/**
+	 * Maximum factor by which observed latencies can extend the request
+	 * timeout
+	 */
+	public static final int MAX_GROWTH = 10;
+
+	/**
+	 * Number of latency deviations allowed above the mean latency
+	 */
+	public static final int DEVIATIONS = 4;
+
+	/**
+	 * Divisor applied to the request timeout while the connection is
+	 * unresponsive
+	 */
+	public static final int UNRESPONSIVE_DIVISOR = 10;
+
+	/**
+	 * Number of latency estimates: heavy and cheap commands of each command
+	 * set are estimated separately
+	 */
+	private static final int ESTIMATES = 512;
+
+	/**
+	 * Smoothed latency and deviation per command set, in microseconds. A mean
+	 * of 0 means no reply has been received yet.
+	 */
+	private final long[] fMean = new long[ESTIMATES];
+	private final long[] fDeviation = new long[ESTIMATES];
+
+	/**
+	 * Time the last packet was received at, as returned by
+	 * {@link System#nanoTime()}
+	 */
+	private volatile long fLastReceived = System.nanoTime();
+
+	/**
+	 * Whether a request has timed out without any packet being received since
+	 * it was sent
+	 */
+	private volatile boolean fUnresponsive = false;
+
+	private final CopyOnWriteArrayList<ITimeoutListener> fListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @return Returns whether the cost of the given command grows with the
+	 *         size of the target.
+	 */
+	public static boolean isHeavy(int command) {
+		switch (command) {
+		case JdwpCommandPacket.VM_ALL_CLASSES:
+		case JdwpCommandPacket.VM_ALL_CLASSES_WITH_GENERIC:
+		case JdwpCommandPacket.VM_REDEFINE_CLASSES:
+		case JdwpCommandPacket.VM_INSTANCE_COUNTS:
+		case JdwpCommandPacket.RT_INSTANCES:
+		case JdwpCommandPacket.OR_REFERRING_OBJECTS:
+		case JdwpCommandPacket.CT_INVOKE_METHOD:
+		case JdwpCommandPacket.CT_NEW_INSTANCE:
+		case JdwpCommandPacket.IT_INVOKE_METHOD:
+		case JdwpCommandPacket.OR_INVOKE_METHOD:
+			return true;
+		default:
+			return (command >>> 8) == JdwpCommandPacket.CSET_HOT_CODE_REPLACEMENT;
+		}
+	}
+
+	private static int estimate(int command) {
+		return ((command >>> 8) & 0xff) << 1 | (isHeavy(command) ? 1 : 0);
+	}
+
+	/**
+	 * Returns the time to wait for the reply to the given command.
+	 *
+	 * @param command
+	 *            the command
+	 * @param requestTimeout
+	 *            the request timeout of the Virtual Machine, in milliseconds
+	 * @return Returns the timeout in milliseconds.
+	 */
+	public int getTimeout(int command, int requestTimeout) {
+		if (requestTimeout <= 0 || requestTimeout == Integer.MAX_VALUE) {
+			return requestTimeout;
+		}
+		int estimate = estimate(command);
+		long timeout;
+		synchronized (this) {
+			if (fMean[estimate] == 0) {
+				timeout = isHeavy(command) ? (long) requestTimeout * HEAVY_FACTOR : requestTimeout;
+			} else {
+				long adaptive = (fMean[estimate] + DEVIATIONS * fDeviation[estimate]) / 1000;
+				timeout = Math.max(requestTimeout, Math.min(adaptive, (long) requestTimeout * MAX_GROWTH));
+			}
+		}
+		if (fUnresponsive) {
+			timeout = Math.min(timeout, Math.max(1, requestTimeout / UNRESPONSIVE_DIVISOR));
+		}
+		return (int) Math.min(timeout, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Records the latency of a reply.
+	 *
+	 * @param command
+	 *            the command of the request
+	 * @param nanos
+	 *            time between sending the command and receiving the reply
+	 */
+	public void recordLatency(int command, long nanos) {
+		long micros = Math.max(1, nanos / 1000);
+		int estimate = estimate(command);
+		synchronized (this) {
+			long mean = fMean[estimate];
+			if (mean == 0) {
+				fMean[estimate] = micros;
+				fDeviation[estimate] = micros / 2;
+			} else {
+				fDeviation[estimate] += (Math.abs(mean - micros) - fDeviation[estimate]) / 4;
+				fMean[estimate] += (micros - mean) / 8;
+			}
+		}
+	}
+
+	/**
+	 * Records that a packet has been received from the Virtual Machine, which
+	 * makes the connection responsive again.
+	 */
+	public void received() {
+		fLastReceived = System.nanoTime();
+		if (fUnresponsive) {
+			fUnresponsive = false;
+		}
+	}
+
+	/**
+	 * Records that the reply to a request did not arrive in time and notifies
+	 * the timeout listeners. The connection is considered unresponsive if
+	 * nothing has been received since the request was sent.
+	 *
+	 * @param command
+	 *            the command of the request
+	 * @param sent
+	 *            the time the request was sent at, as returned by
+	 *            {@link System#nanoTime()}
+	 */
+	public void timedOut(int command, long sent) {
+		if (fLastReceived - sent < 0) {
+			fUnresponsive = true;
+		}
+		for (ITimeoutListener listener : fListeners) {
+			listener.timeout();
+		}
+	}
+
+	/**
+	 * @return Returns whether a request has timed out without any packet
+	 *         being received since it was sent.
+	 */
+	public boolean isUnresponsive() {
+		return fUnresponsive;
+	}
+
+	/**
+	 * Adds a listener notified whenever a request times out. Has no effect if
+	 * the listener is already registered.
+	 *
+	 * @param listener
+	 *            the listener
+	 */
+	public void addTimeoutListener(ITimeoutListener listener) {
+		fListeners.addIfAbsent(listener);
+	}
+
+	/**
+	 * Removes a listener notified whenever a request times out.
+	 *
+	 * @param listener
+	 *            the listener
+	 */
+	public void removeTimeoutListener(ITimeoutListener listener) {
+		fListeners.remove(listener);
+	}
+}
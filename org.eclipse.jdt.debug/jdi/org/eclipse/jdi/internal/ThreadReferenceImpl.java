@@ -77,6 +77,8 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 	 * The cached thread group. A thread's thread group cannot be changed.
 	 */
 	private ThreadGroupReferenceImpl fThreadGroup = null;
+	/** Whether this is a virtual thread, <code>null</code> if not known yet. */
+	private Boolean fIsVirtual = null;
 
 	/**
 	 * Creates new ThreadReferenceImpl.
@@ -143,6 +145,86 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * Sends the request for the monitor this thread is currently waiting for
+	 * without waiting for the reply. The result is <code>null</code> if the
+	 * thread is not waiting for a monitor, or if it is not suspended.
+	 *
+	 * @return Returns a handle on the pending monitor.
+	 * @see #currentContendedMonitor()
+	 * @since 3.15
+	 */
+	public PendingReply<ObjectReference> currentContendedMonitorAsync() {
+		if (!virtualMachine().canGetCurrentContendedMonitor()) {
+			throw new UnsupportedOperationException();
+		}
+		// Note that this information should not be cached.
+		initJdwpRequest();
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData);
+			return requestVMAsync(JdwpCommandPacket.TR_CURRENT_CONTENDED_MONITOR, outBytes, replyPacket -> {
+				switch (replyPacket.errorCode()) {
+				case JdwpReplyPacket.INVALID_THREAD:
+					throw new ObjectCollectedException();
+				case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
+					return null;
+				}
+				defaultReplyErrorHandler(replyPacket.errorCode());
+				return ObjectReferenceImpl.readObjectRefWithTag(this, replyPacket.dataInStream());
+			});
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
+	/**
+	 * Sends the request for the monitors owned by this thread without waiting
+	 * for the reply. The result is <code>null</code> if the thread is not
+	 * suspended.
+	 *
+	 * @return Returns a handle on the pending monitors.
+	 * @see #ownedMonitors()
+	 * @since 3.15
+	 */
+	public PendingReply<List<ObjectReference>> ownedMonitorsAsync() {
+		if (!virtualMachine().canGetOwnedMonitorInfo()) {
+			throw new UnsupportedOperationException();
+		}
+		// Note that this information should not be cached.
+		initJdwpRequest();
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData);
+			return requestVMAsync(JdwpCommandPacket.TR_OWNED_MONITORS, outBytes, replyPacket -> {
+				switch (replyPacket.errorCode()) {
+				case JdwpReplyPacket.INVALID_THREAD:
+					throw new ObjectCollectedException();
+				case JdwpReplyPacket.THREAD_NOT_SUSPENDED:
+					return null;
+				}
+				defaultReplyErrorHandler(replyPacket.errorCode());
+				DataInputStream replyData = replyPacket.dataInStream();
+				int nrOfMonitors = readInt("nr of monitors", replyData); //$NON-NLS-1$
+				List<ObjectReference> result = new ArrayList<>(nrOfMonitors);
+				for (int i = 0; i < nrOfMonitors; i++) {
+					result.add(ObjectReferenceImpl.readObjectRefWithTag(this, replyData));
+				}
+				return result;
+			});
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * @see com.sun.jdi.ThreadReference#forceEarlyReturn(com.sun.jdi.Value)
 	 * @since 3.3
@@ -373,6 +455,36 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * Sends the request for the name of this thread without waiting for the
+	 * reply, so that the names of several threads can be requested together.
+	 *
+	 * @return Returns a handle on the pending name.
+	 * @see #name()
+	 * @since 3.15
+	 */
+	public PendingReply<String> nameAsync() {
+		initJdwpRequest();
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData);
+			return requestVMAsync(JdwpCommandPacket.TR_NAME, outBytes, replyPacket -> {
+				switch (replyPacket.errorCode()) {
+				case JdwpReplyPacket.INVALID_THREAD:
+					throw new ObjectCollectedException();
+				}
+				defaultReplyErrorHandler(replyPacket.errorCode());
+				return readString("name", replyPacket.dataInStream()); //$NON-NLS-1$
+			});
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.ThreadReference#ownedMonitors()
 	 */
@@ -630,6 +742,38 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see com.sun.jdi.ThreadReference#isVirtual()
+	 */
+	@Override
+	public boolean isVirtual() {
+		if (fIsVirtual != null) {
+			return fIsVirtual.booleanValue();
+		}
+		if (!virtualMachineImpl().mayCreateVirtualThreads()) {
+			fIsVirtual = Boolean.FALSE;
+			return false;
+		}
+		initJdwpRequest();
+		try {
+			JdwpReplyPacket replyPacket = requestVM(
+					JdwpCommandPacket.TR_IS_VIRTUAL, this);
+			switch (replyPacket.errorCode()) {
+			case JdwpReplyPacket.INVALID_THREAD:
+				throw new ObjectCollectedException();
+			}
+			defaultReplyErrorHandler(replyPacket.errorCode());
+			DataInputStream replyData = replyPacket.dataInStream();
+			fIsVirtual = Boolean.valueOf(readBoolean("is virtual", replyData)); //$NON-NLS-1$
+			return fIsVirtual.booleanValue();
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return false;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * Simulate the execution of a return instruction instead of executing the
 	 * next byte code in a method.
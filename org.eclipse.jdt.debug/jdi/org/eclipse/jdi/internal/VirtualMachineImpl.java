@@ -91,13 +91,17 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	/** If a launching connector is used, we store the process. */
 	private Process fLaunchedProcess;
 
+	/** Maximum number of cached object mirrors */
+	private static final int MAX_CACHED_OBJECTS = 1 << 17;
+
 	/**
 	 * The following field contains cached Mirrors. Note that these are
 	 * optional: their only purpose is to speed up the debugger by being able to
-	 * use the stored results of JDWP calls.
+	 * use the stored results of JDWP calls. Reference types are never evicted,
+	 * as their stored results must be flushed on class redefinition.
 	 */
-	private ValueCache fCachedReftypes = new ValueCache();
-	private ValueCache fCachedObjects = new ValueCache();
+	private MirrorCache<ReferenceTypeImpl> fCachedReftypes = new MirrorCache<>(MirrorCache.ReferenceStrength.SOFT, 0);
+	private MirrorCache<ObjectReferenceImpl> fCachedObjects = new MirrorCache<>(MirrorCache.ReferenceStrength.SOFT, MAX_CACHED_OBJECTS);
 
 	/** The following are the stored results of JDWP calls. */
 	private String fVersionDescription = null; // Text information on the VM
@@ -161,6 +165,22 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	private String fDefaultStratum;
 	private PacketReceiveManager fPacketReceiveManager;
 	private PacketSendManager fPacketSendManager;
+	/**
+	 * Replies that are valid until the Virtual Machine changes state
+	 */
+	private final JdwpResponseCache fResponseCache = new JdwpResponseCache();
+	/**
+	 * Counters and latencies of the requests sent to the Virtual Machine
+	 */
+	private final JdwpCommandMetrics fCommandMetrics = new JdwpCommandMetrics();
+	/**
+	 * Timeouts of the requests sent to the Virtual Machine, per command set
+	 */
+	private final RequestTimeouts fRequestTimeouts = new RequestTimeouts();
+	/**
+	 * Index of the loaded types, built on first use
+	 */
+	private final ClassIndex fClassIndex = new ClassIndex(this);
 
 	/**
 	 * Creates a new Virtual Machine.
@@ -226,21 +246,21 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * @return Returns cached mirror object, or null if method is not in cache.
 	 */
 	public ReferenceTypeImpl getCachedMirror(JdwpReferenceTypeID ID) {
-		return (ReferenceTypeImpl) fCachedReftypes.get(ID);
+		return fCachedReftypes.get(ID.value());
 	}
 
 	/**
 	 * @return Returns cached mirror object, or null if method is not in cache.
 	 */
 	public ObjectReferenceImpl getCachedMirror(JdwpObjectID ID) {
-		return (ObjectReferenceImpl) fCachedObjects.get(ID);
+		return fCachedObjects.get(ID.value());
 	}
 
 	/**
 	 * Adds mirror object to cache.
 	 */
 	public void addCachedMirror(ReferenceTypeImpl mirror) {
-		fCachedReftypes.put(mirror.getRefTypeID(), mirror);
+		fCachedReftypes.put(mirror.getRefTypeID().value(), mirror);
 		// TBD: It is now yet possible to only ask for unload events for
 		// classes that we know of due to a limitation in the J9 VM.
 		// eventRequestManagerImpl().enableInternalClasUnloadEvent(mirror);
@@ -250,7 +270,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * Adds mirror object to cache.
 	 */
 	public void addCachedMirror(ObjectReferenceImpl mirror) {
-		fCachedObjects.put(mirror.getObjectID(), mirror);
+		fCachedObjects.put(mirror.getObjectID().value(), mirror);
 	}
 
 	/**
@@ -258,9 +278,9 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 */
 	public void flushStoredJdwpResults() {
 		// All known classes also become invalid.
-		Iterator<Object> iter = fCachedReftypes.values().iterator();
+		Iterator<ReferenceTypeImpl> iter = fCachedReftypes.values().iterator();
 		while (iter.hasNext()) {
-			ReferenceTypeImpl refType = (ReferenceTypeImpl) iter.next();
+			ReferenceTypeImpl refType = iter.next();
 			refType.flushStoredJdwpResults();
 		}
 
@@ -285,7 +305,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		if (refTypeList.size() == 1) {
 			ReferenceTypeImpl refType = (ReferenceTypeImpl) refTypeList.get(0);
 			refType.flushStoredJdwpResults();
-			fCachedReftypes.remove(refType.getRefTypeID());
+			fCachedReftypes.remove(refType.getRefTypeID().value());
 			return;
 		}
 
@@ -303,7 +323,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 			if (!prepared) {
 				refType.flushStoredJdwpResults();
 				iter.remove();
-				fCachedReftypes.remove(refType.getRefTypeID());
+				fCachedReftypes.remove(refType.getRefTypeID().value());
 			}
 		}
 	}
@@ -332,6 +352,40 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return fPacketReceiveManager;
 	}
 
+	/**
+	 * @return Returns the cache of the replies received during the current
+	 *         suspend epoch.
+	 * @since 3.15
+	 */
+	public final JdwpResponseCache responseCache() {
+		return fResponseCache;
+	}
+
+	/**
+	 * @return Returns the metrics of the requests sent to the Virtual Machine.
+	 * @since 3.15
+	 */
+	public final JdwpCommandMetrics commandMetrics() {
+		return fCommandMetrics;
+	}
+
+	/**
+	 * @return Returns the timeouts of the requests sent to the Virtual
+	 *         Machine.
+	 * @since 3.15
+	 */
+	public final RequestTimeouts requestTimeouts() {
+		return fRequestTimeouts;
+	}
+
+	/**
+	 * @return Returns the index of the types loaded in the Virtual Machine.
+	 * @since 3.15
+	 */
+	public final ClassIndex classIndex() {
+		return fClassIndex;
+	}
+
 	/*
 	 * @return Returns Manager for sending packets to the Virtual Machine.
 	 */
@@ -399,16 +453,17 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	}
 
 	/**
-	 * @return Returns an iterator over all loaded classes.
+	 * @return Returns an iterator over all loaded classes, as known by the
+	 *         class index.
 	 */
 	protected final Iterator<ReferenceType> allRefTypes() {
-		return allClasses().iterator();
+		return classIndex().allClasses().iterator();
 	}
 
 	/**
 	 * @return Returns an iterator over all cached classes.
 	 */
-	protected final Iterator<Object> allCachedRefTypes() {
+	protected final Iterator<ReferenceTypeImpl> allCachedRefTypes() {
 		return fCachedReftypes.values().iterator();
 	}
 
@@ -571,6 +626,17 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return isJdwpVersionGreaterOrEqual(1, 6);
 	}
 
+	/**
+	 * Returns whether the Virtual Machine may create virtual threads, which is
+	 * the case from JDWP version 19 on.
+	 *
+	 * @return whether the Virtual Machine may create virtual threads
+	 * @since 3.15
+	 */
+	public boolean mayCreateVirtualThreads() {
+		return isJdwpVersionGreaterOrEqual(19, 0);
+	}
+
 	/**
 	 * @return Returns true if this implementation supports the retrieval of the
 	 *         monitor information for an object.
@@ -645,6 +711,20 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 	 * @return Returns the loaded reference types that match a given signature.
 	 */
 	public List<ReferenceType> classesBySignature(String signature) {
+		return classesBySignatureAsync(signature).get();
+	}
+
+	/**
+	 * Sends a request for the loaded reference types that match a given
+	 * signature without waiting for the reply.
+	 *
+	 * @param signature
+	 *            the type signature
+	 * @return Returns a handle on the pending reference types.
+	 * @see #classesBySignature(String)
+	 * @since 3.15
+	 */
+	public PendingReply<List<ReferenceType>> classesBySignatureAsync(String signature) {
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
@@ -652,22 +732,22 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 			DataOutputStream outData = new DataOutputStream(outBytes);
 			writeString(signature, "signature", outData); //$NON-NLS-1$
 
-			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, outBytes);
-			defaultReplyErrorHandler(replyPacket.errorCode());
-			DataInputStream replyData = replyPacket.dataInStream();
-			int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
-			List<ReferenceType> elements = new ArrayList<>(nrOfElements);
-			for (int i = 0; i < nrOfElements; i++) {
-				ReferenceTypeImpl elt = ReferenceTypeImpl.readWithTypeTag(this,
-						replyData);
-				readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
-				if (elt == null) {
-					continue;
+			return requestVMAsync(JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, outBytes, replyPacket -> {
+				defaultReplyErrorHandler(replyPacket.errorCode());
+				DataInputStream replyData = replyPacket.dataInStream();
+				int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+				List<ReferenceType> elements = new ArrayList<>(nrOfElements);
+				for (int i = 0; i < nrOfElements; i++) {
+					ReferenceTypeImpl elt = ReferenceTypeImpl.readWithTypeTag(this,
+							replyData);
+					readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
+					if (elt == null) {
+						continue;
+					}
+					elements.add(elt);
 				}
-				elements.add(elt);
-			}
-			return elements;
+				return elements;
+			});
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -1271,7 +1351,7 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 				for (byte b : bytes) {
 					writeByte(b, "classByte", outData); //$NON-NLS-1$
 				}
-				fCachedReftypes.remove(type.getRefTypeID()); // flush local
+				fCachedReftypes.remove(type.getRefTypeID().value()); // flush local
 																// cache of
 																// redefined
 																// types
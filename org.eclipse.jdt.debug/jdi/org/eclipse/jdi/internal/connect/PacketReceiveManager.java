@@ -15,11 +15,12 @@ package org.eclipse.jdi.internal.connect;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.RequestTimeouts;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
@@ -46,14 +47,14 @@ public class PacketReceiveManager extends PacketManager {
 	/** List of Command packets received from Virtual Machine. */
 	private LinkedList<JdwpCommandPacket> fCommandPackets;
 
-	/** List of Reply packets received from Virtual Machine. */
-	private LinkedList<JdwpReplyPacket> fReplyPackets;
-
 	/**
-	 * List of Packets that have timed out already. Maintained so that responses
-	 * can be discarded if/when they are received.
+	 * Table of reply slots keyed by packet id. A slot is created when a
+	 * request is sent, see {@link #expectReply(int)}, or at the latest when
+	 * the requesting thread starts waiting, and is removed by the requesting
+	 * thread once it has taken the reply or given up on it. Replies without a
+	 * slot, e.g. replies to requests that have timed out, are discarded.
 	 */
-	private ArrayList<Integer> fTimedOutPackets;
+	private ConcurrentHashMap<Integer, ReplySlot> fReplySlots;
 
 	private VirtualMachineImpl fVM;
 
@@ -64,8 +65,7 @@ public class PacketReceiveManager extends PacketManager {
 		super(connection);
 		fVM = vmImpl;
 		fCommandPackets = new LinkedList<>();
-		fReplyPackets = new LinkedList<>();
-		fTimedOutPackets = new ArrayList<>();
+		fReplySlots = new ConcurrentHashMap<>();
 	}
 
 	@Override
@@ -74,8 +74,8 @@ public class PacketReceiveManager extends PacketManager {
 		synchronized (fCommandPackets) {
 			fCommandPackets.notifyAll();
 		}
-		synchronized (fReplyPackets) {
-			fReplyPackets.notifyAll();
+		for (ReplySlot slot : fReplySlots.values()) {
+			slot.wakeUp();
 		}
 	}
 
@@ -147,22 +147,44 @@ public class PacketReceiveManager extends PacketManager {
 		return packet;
 	}
 
+	/**
+	 * Registers a request whose reply is going to be waited for. Must be
+	 * called before the request is sent, so that a reply arriving before the
+	 * requesting thread starts waiting is kept.
+	 *
+	 * @param id
+	 *            the id of the command packet
+	 */
+	public void expectReply(int id) {
+		fReplySlots.putIfAbsent(Integer.valueOf(id), new ReplySlot());
+	}
+
+	/**
+	 * Gives up on the reply to the request with the given id. The reply is
+	 * discarded if it has arrived already or when it arrives.
+	 *
+	 * @param id
+	 *            the id of the command packet
+	 */
+	public void cancelReply(int id) {
+		fReplySlots.remove(Integer.valueOf(id));
+	}
+
 	/**
 	 * @return Returns a specified Reply Packet from the Virtual Machine.
 	 */
 	public JdwpReplyPacket getReply(int id, long timeToWait) {
+		Integer key = Integer.valueOf(id);
+		ReplySlot slot = fReplySlots.computeIfAbsent(key, k -> new ReplySlot());
 		JdwpReplyPacket packet = null;
 		long remainingTime = timeToWait;
-		synchronized (fReplyPackets) {
-			final long timeBeforeWait = System.currentTimeMillis();
+		final long timeBeforeWait = System.currentTimeMillis();
+		try {
 			// Wait until reply is available.
-			while (!VMIsDisconnected() && remainingTime > 0) {
-				packet = removeReplyPacket(id);
-				if (packet != null) {
-					break;
-				}
+			while (remainingTime > 0) {
 				try {
-					waitForPacketAvailable(remainingTime, fReplyPackets);
+					packet = slot.waitForPacket(remainingTime);
+					break;
 				}
 				// if the remote VM is interrupted DO NOT drop the connection -
 				// see bug 171075
@@ -178,11 +200,13 @@ public class PacketReceiveManager extends PacketManager {
 				long waitedTime = System.currentTimeMillis() - timeBeforeWait;
 				remainingTime = timeToWait - waitedTime;
 			}
+		} finally {
+			// a reply arriving from now on has no slot and is discarded
+			fReplySlots.remove(key);
 		}
 		if (packet == null) {
-			synchronized (fReplyPackets) {
-				packet = removeReplyPacket(id);
-			}
+			// the reply may have arrived after the wait timed out
+			packet = slot.getPacket();
 		}
 		// Check for an IO Exception.
 		if (VMIsDisconnected())
@@ -190,9 +214,6 @@ public class PacketReceiveManager extends PacketManager {
 					ConnectMessages.PacketReceiveManager_Got_IOException_from_Virtual_Machine_2);
 		// Check for a timeout.
 		if (packet == null) {
-			synchronized (fTimedOutPackets) {
-				fTimedOutPackets.add(new Integer(id));
-			}
 			throw new TimeoutException(NLS.bind(
 					ConnectMessages.PacketReceiveManager_0, new String[] { id
 							+ "" })); //$NON-NLS-1$
@@ -201,10 +222,34 @@ public class PacketReceiveManager extends PacketManager {
 	}
 
 	/**
-	 * @return Returns a specified Reply Packet from the Virtual Machine.
+	 * @return Returns whether the reply to the request with the given id has
+	 *         been received and not yet taken. Does not block.
+	 */
+	public boolean isReplyAvailable(int id) {
+		ReplySlot slot = fReplySlots.get(Integer.valueOf(id));
+		return slot != null && slot.getPacket() != null;
+	}
+
+	/**
+	 * @param commandPacket
+	 *            the command packet that was sent
+	 * @param sent
+	 *            the time the command was sent at, as returned by
+	 *            {@link System#nanoTime()}
+	 * @return Returns the Reply Packet to the given command from the Virtual
+	 *         Machine, waiting as long as the timeout of the command.
+	 * @see RequestTimeouts#getTimeout(int, int)
 	 */
-	public JdwpReplyPacket getReply(JdwpCommandPacket commandPacket) {
-		return getReply(commandPacket.getId(), fVM.getRequestTimeout());
+	public JdwpReplyPacket getReply(JdwpCommandPacket commandPacket, long sent) {
+		RequestTimeouts timeouts = fVM.requestTimeouts();
+		int command = commandPacket.getCommand();
+		int timeout = timeouts.getTimeout(command, fVM.getRequestTimeout());
+		try {
+			return getReply(commandPacket.getId(), timeout);
+		} catch (TimeoutException e) {
+			timeouts.timedOut(command, sent);
+			throw e;
+		}
 	}
 
 	/**
@@ -236,27 +281,13 @@ public class PacketReceiveManager extends PacketManager {
 		return null;
 	}
 
-	/**
-	 * @return Returns a specified reply packet from the reply packet list.
-	 */
-	private JdwpReplyPacket removeReplyPacket(int id) {
-		ListIterator<JdwpReplyPacket> iter = fReplyPackets.listIterator();
-		while (iter.hasNext()) {
-			JdwpReplyPacket packet = iter.next();
-			if (packet.getId() == id) {
-				iter.remove();
-				return packet;
-			}
-		}
-		return null;
-	}
-
 	/**
 	 * Add a command packet to the command packet list.
 	 */
 	private void addCommandPacket(JdwpCommandPacket packet) {
-		if (isTimedOut(packet)) {
-			return; // already timed out. No need to keep this one
+		if (fVM != null) {
+			// an event set means threads have changed state
+			fVM.responseCache().advanceEpoch();
 		}
 		synchronized (fCommandPackets) {
 			fCommandPackets.add(packet);
@@ -265,32 +296,13 @@ public class PacketReceiveManager extends PacketManager {
 	}
 
 	/**
-	 * Returns whether the request for the given packet has already timed out.
-	 *
-	 * @param packet
-	 *            response packet
-	 * @return whether the request for the given packet has already timed out
-	 */
-	private boolean isTimedOut(JdwpPacket packet) {
-		synchronized (fTimedOutPackets) {
-			if (fTimedOutPackets.isEmpty()) {
-				return false;
-			}
-			Integer id = new Integer(packet.getId());
-			return fTimedOutPackets.remove(id);
-		}
-	}
-
-	/**
-	 * Add a reply packet to the reply packet list.
+	 * Hands a reply packet to the slot of its request, waking up only the
+	 * thread waiting for that reply. Replies nobody waits for are discarded.
 	 */
 	private void addReplyPacket(JdwpReplyPacket packet) {
-		if (isTimedOut(packet)) {
-			return; // already timed out. No need to keep this one
-		}
-		synchronized (fReplyPackets) {
-			fReplyPackets.add(packet);
-			fReplyPackets.notifyAll();
+		ReplySlot slot = fReplySlots.get(Integer.valueOf(packet.getId()));
+		if (slot != null) {
+			slot.setPacket(packet);
 		}
 	}
 
@@ -301,6 +313,9 @@ public class PacketReceiveManager extends PacketManager {
 	private void readAvailablePacket() throws IOException {
 		// Read a packet from the Input Stream.
 		byte[] bytes = getConnection().readPacket();
+		if (fVM != null) {
+			fVM.requestTimeouts().received();
+		}
 		JdwpPacket packet = JdwpPacket.build(bytes);
 		// Add packet to command or reply queue.
 		if (packet instanceof JdwpCommandPacket)
@@ -308,4 +323,45 @@ public class PacketReceiveManager extends PacketManager {
 		else
 			addReplyPacket((JdwpReplyPacket) packet);
 	}
+
+	/**
+	 * Completion slot for a single outstanding request. The requesting thread
+	 * waits on its own slot, so the arrival of a reply only wakes up the thread
+	 * that is interested in it.
+	 */
+	private class ReplySlot {
+
+		private JdwpReplyPacket fPacket;
+
+		synchronized JdwpReplyPacket getPacket() {
+			return fPacket;
+		}
+
+		synchronized void setPacket(JdwpReplyPacket packet) {
+			fPacket = packet;
+			notifyAll();
+		}
+
+		/**
+		 * Waits until the reply has arrived, the connection is closed or the
+		 * given time has elapsed. The connection state is checked under the
+		 * lock of the slot, and {@link #wakeUp()} is called after the
+		 * connection is closed, so a disconnect cannot be missed.
+		 *
+		 * @return the reply, or <code>null</code> if it has not arrived
+		 */
+		synchronized JdwpReplyPacket waitForPacket(long timeToWait) throws InterruptedException {
+			long end = System.currentTimeMillis() + timeToWait;
+			long remainingTime = timeToWait;
+			while (fPacket == null && !VMIsDisconnected() && remainingTime > 0) {
+				wait(remainingTime);
+				remainingTime = end - System.currentTimeMillis();
+			}
+			return fPacket;
+		}
+
+		synchronized void wakeUp() {
+			notifyAll();
+		}
+	}
 }
@@ -15,7 +15,12 @@ package org.eclipse.jdi.internal.connect;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
 import org.eclipse.osgi.util.NLS;
@@ -29,30 +34,64 @@ import com.sun.jdi.connect.spi.Connection;
  *
  */
 public class PacketSendManager extends PacketManager {
-	/** List of packets to be sent to Virtual Machine */
-	private LinkedList<JdwpPacket> fOutgoingPackets;
+	/**
+	 * Size above which the write buffer is not kept between flushes, so that a
+	 * single huge packet (e.g. a class redefinition) does not stay pinned.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+	/** Queue of packets to be sent to Virtual Machine */
+	private ConcurrentLinkedQueue<JdwpPacket> fOutgoingPackets;
+
+	/** The thread running this manager, parked while there is nothing to send. */
+	private volatile Thread fSendThread;
+
+	/** Buffer the packets of one flush are written into, reused across flushes. */
+	private byte[] fWriteBuffer = new byte[8192];
+
+	/** Number of packets sent, and number of writes they were sent with. */
+	private final AtomicLong fPacketCount = new AtomicLong();
+	private final AtomicLong fFlushCount = new AtomicLong();
 
 	/**
 	 * Create a new thread that send packets to the Virtual Machine.
 	 */
 	public PacketSendManager(Connection connection) {
 		super(connection);
-		fOutgoingPackets = new LinkedList<>();
+		fOutgoingPackets = new ConcurrentLinkedQueue<>();
 	}
 
 	@Override
 	public void disconnectVM() {
 		super.disconnectVM();
-		synchronized (fOutgoingPackets) {
-			fOutgoingPackets.notifyAll();
+		Thread thread = fSendThread;
+		if (thread != null) {
+			LockSupport.unpark(thread);
 		}
 	}
 
+	/**
+	 * @return Returns the number of packets sent so far.
+	 */
+	public long getPacketCount() {
+		return fPacketCount.get();
+	}
+
+	/**
+	 * @return Returns the number of writes to the connection the packets have
+	 *         been sent with so far. Packets queued while the previous write
+	 *         was in progress are coalesced into one write.
+	 */
+	public long getFlushCount() {
+		return fFlushCount.get();
+	}
+
 	/**
 	 * Thread's run method.
 	 */
 	@Override
 	public void run() {
+		fSendThread = Thread.currentThread();
 		while (!VMIsDisconnected()) {
 			try {
 				sendAvailablePackets();
@@ -93,35 +132,59 @@ public class PacketSendManager extends PacketManager {
 			throw new VMDisconnectedException(message);
 		}
 
-		synchronized (fOutgoingPackets) {
-			// Add packet to list of packets to send.
-			fOutgoingPackets.add(packet);
-			// Notify PacketSendThread that data is available.
-			fOutgoingPackets.notifyAll();
+		// Add packet to queue of packets to send.
+		fOutgoingPackets.add(packet);
+		// Notify PacketSendThread that data is available.
+		Thread thread = fSendThread;
+		if (thread != null) {
+			LockSupport.unpark(thread);
 		}
 	}
 
 	/**
-	 * Send available packets to the Virtual Machine.
+	 * Send available packets to the Virtual Machine. All packets queued at
+	 * this point are written to the connection at once.
 	 */
 	private void sendAvailablePackets() throws InterruptedException,
 			IOException {
-		LinkedList<JdwpPacket> packetsToSend = new LinkedList<>();
-		synchronized (fOutgoingPackets) {
-			while (fOutgoingPackets.size() == 0) {
-				fOutgoingPackets.wait();
+		List<JdwpPacket> packetsToSend = new ArrayList<>();
+		JdwpPacket packet;
+		while ((packet = fOutgoingPackets.poll()) == null) {
+			if (VMIsDisconnected()) {
+				return;
+			}
+			LockSupport.park(this);
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
 			}
-			packetsToSend.addAll(fOutgoingPackets);
-			fOutgoingPackets.clear();
 		}
+		int length = 0;
+		do {
+			packetsToSend.add(packet);
+			length += packet.getLength();
+		} while ((packet = fOutgoingPackets.poll()) != null);
 
-		// Put available packets on Output Stream.
-		while (packetsToSend.size() > 0) {
-			// Note that only JdwpPackets are added to the list, so a
-			// ClassCastException can't occur.
-			JdwpPacket packet = packetsToSend.removeFirst();
-			byte[] bytes = packet.getPacketAsBytes();
-			getConnection().writePacket(bytes);
+		Connection connection = getConnection();
+		if (connection instanceof SocketConnection) {
+			// Put available packets on Output Stream in one write.
+			byte[] buffer = fWriteBuffer;
+			if (buffer.length < length) {
+				buffer = new byte[Math.max(length, buffer.length * 2)];
+			}
+			ByteBuffer bytes = ByteBuffer.wrap(buffer);
+			for (JdwpPacket toSend : packetsToSend) {
+				toSend.writeTo(bytes);
+			}
+			((SocketConnection) connection).writePackets(buffer, length);
+			fWriteBuffer = buffer.length > MAX_RETAINED_BUFFER_SIZE ? new byte[8192] : buffer;
+			fFlushCount.incrementAndGet();
+		} else {
+			// Put available packets on Output Stream.
+			for (JdwpPacket toSend : packetsToSend) {
+				connection.writePacket(toSend.getPacketAsBytes());
+				fFlushCount.incrementAndGet();
+			}
 		}
+		fPacketCount.addAndGet(packetsToSend.size());
 	}
 }
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdi.internal.connect;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -28,13 +29,18 @@ public class SocketConnection extends Connection {
 	// for attaching connector
 	private Socket fSocket;
 
-	private InputStream fInput;
+	/**
+	 * Stream packets are read from. Created once for the connection and
+	 * buffered, so that reading the length and the rest of a packet does not
+	 * each hit the socket.
+	 */
+	private DataInputStream fInput;
 
 	private OutputStream fOutput;
 
 	SocketConnection(Socket socket, InputStream in, OutputStream out) {
 		fSocket = socket;
-		fInput = in;
+		fInput = new DataInputStream(new BufferedInputStream(in));
 		fOutput = out;
 	}
 
@@ -74,7 +80,7 @@ public class SocketConnection extends Connection {
 			if (!isOpen()) {
 				throw new ClosedConnectionException();
 			}
-			stream = new DataInputStream(fInput);
+			stream = fInput;
 		}
 		synchronized (stream) {
 			int packetLength = 0;
@@ -88,6 +94,8 @@ public class SocketConnection extends Connection {
 				throw new IOException("JDWP Packet under 11 bytes"); //$NON-NLS-1$
 			}
 
+			// The packet is built on this array without copying, see
+			// JdwpPacket.build(byte[])
 			byte[] packet = new byte[packetLength];
 			packet[0] = (byte) ((packetLength >>> 24) & 0xFF);
 			packet[1] = (byte) ((packetLength >>> 16) & 0xFF);
@@ -144,6 +152,34 @@ public class SocketConnection extends Connection {
 		}
 	}
 
+	/**
+	 * Writes several complete JDWP packets with a single write to the socket.
+	 *
+	 * @param packets
+	 *            buffer holding the packets one after the other
+	 * @param length
+	 *            number of bytes of the buffer to write
+	 * @throws IOException
+	 *             if the connection is closed or the write fails
+	 */
+	public void writePackets(byte[] packets, int length) throws IOException {
+		if (length < 11 || length > packets.length) {
+			throw new IllegalArgumentException(
+					"Invalid JDWP Packets, must be at least 11 bytes. PacketSize:" + length); //$NON-NLS-1$
+		}
+		OutputStream stream = null;
+		synchronized (this) {
+			if (!isOpen()) {
+				throw new ClosedConnectionException();
+			}
+			stream = fOutput;
+		}
+
+		synchronized (stream) {
+			stream.write(packets, 0, length);
+		}
+	}
+
 	private int getPacketLength(byte[] packet) {
 		int len = 0;
 		if (packet.length >= 4) {
@@ -60,6 +60,9 @@ public class ClassPrepareEventImpl extends EventImpl implements
 				target, false, dataInStream);
 		target.readInt(
 				"class status", ReferenceTypeImpl.classStatusStrings(), dataInStream); //$NON-NLS-1$
+		if (event.fReferenceType != null) {
+			vmImpl.classIndex().classPrepared(event.fReferenceType);
+		}
 		return event;
 	}
 
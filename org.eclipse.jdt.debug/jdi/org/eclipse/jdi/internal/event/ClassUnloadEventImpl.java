@@ -55,6 +55,7 @@ public class ClassUnloadEventImpl extends EventImpl implements ClassUnloadEvent
 		// Remove the class from classes that are known by the application to be
 		// loaded in the VM.
 		vmImpl.removeKnownRefType(event.fSignature);
+		vmImpl.classIndex().classUnloaded(event.fSignature);
 		return event;
 	}
 
@@ -137,6 +137,7 @@ public class JdwpCommandPacket extends JdwpPacket {
 	public static final int TR_SUSPEND_COUNT = 12 + (CSET_THREAD_REFERENCE << 8);
 	public static final int TR_OWNED_MONITOR_STACK_DEPTH = 13 + (CSET_THREAD_REFERENCE << 8);
 	public static final int TR_FORCE_EARLY_RETURN = 14 + (CSET_THREAD_REFERENCE << 8);
+	public static final int TR_IS_VIRTUAL = 15 + (CSET_THREAD_REFERENCE << 8);
 
 	/** Commands ThreadGroupReference. */
 	public static final int TGR_NAME = 1 + (CSET_THREAD_GROUP_REFERENCE << 8);
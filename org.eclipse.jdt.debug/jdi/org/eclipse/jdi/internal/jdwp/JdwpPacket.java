@@ -18,6 +18,9 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * This class implements the corresponding Java Debug Wire Protocol (JDWP)
@@ -36,6 +39,13 @@ public abstract class JdwpPacket {
 	protected int fId = 0;
 	protected byte fFlags = 0;
 	protected byte[] fDataBuf = null;
+	/**
+	 * Offset and length of the data in {@link #fDataBuf}. A packet built from
+	 * received bytes shares the array of the whole packet instead of copying
+	 * its data out of it.
+	 */
+	protected int fDataOffset = 0;
+	protected int fDataLength = 0;
 
 	/**
 	 * Set Id.
@@ -76,13 +86,18 @@ public abstract class JdwpPacket {
 	 * @return Returns length of data in packet.
 	 */
 	public int getDataLength() {
-		return fDataBuf == null ? 0 : fDataBuf.length;
+		return fDataBuf == null ? 0 : fDataLength;
 	}
 
 	/**
-	 * @return Returns data of packet.
+	 * @return Returns data of packet. The data of a packet built from received
+	 *         bytes is copied out of them, without changing the packet, which
+	 *         may be read by several threads at the same time.
 	 */
 	public byte[] data() {
+		if (fDataBuf != null && (fDataOffset != 0 || fDataLength != fDataBuf.length)) {
+			return Arrays.copyOfRange(fDataBuf, fDataOffset, fDataOffset + fDataLength);
+		}
 		return fDataBuf;
 	}
 
@@ -92,17 +107,30 @@ public abstract class JdwpPacket {
 	 */
 	public DataInputStream dataInStream() {
 		if (fDataBuf != null) {
-			return new DataInputStream(new ByteArrayInputStream(fDataBuf));
+			return new DataInputStream(new ByteArrayInputStream(fDataBuf, fDataOffset, fDataLength));
 		}
 
 		return new DataInputStream(new ByteArrayInputStream(new byte[0]));
 	}
 
+	/**
+	 * @return Returns a read-only buffer on the data of the packet, in JDWP
+	 *         (big-endian) byte order. The data is not copied.
+	 */
+	public ByteBuffer dataBuffer() {
+		if (fDataBuf != null) {
+			return ByteBuffer.wrap(fDataBuf, fDataOffset, fDataLength).slice().asReadOnlyBuffer();
+		}
+		return ByteBuffer.allocate(0).asReadOnlyBuffer();
+	}
+
 	/**
 	 * Assigns data to packet.
 	 */
 	public void setData(byte[] data) {
 		fDataBuf = data;
+		fDataOffset = 0;
+		fDataLength = data == null ? 0 : data.length;
 	}
 
 	/**
@@ -153,43 +181,49 @@ public abstract class JdwpPacket {
 		int index = 9;
 		index += packet.readSpecificHeaderFields(bytes, 9);
 		if (packetLength - MIN_PACKET_LENGTH > 0) {
-			packet.fDataBuf = new byte[packetLength - MIN_PACKET_LENGTH];
-			System.arraycopy(bytes, index, packet.fDataBuf, 0,
-					packet.fDataBuf.length);
+			// The data stays in the array it was received in.
+			packet.fDataBuf = bytes;
+			packet.fDataOffset = index;
+			packet.fDataLength = packetLength - MIN_PACKET_LENGTH;
 		}
 
 		return packet;
 	}
 
 	public byte[] getPacketAsBytes() throws IOException {
-		int len = getLength();
-		byte[] bytes = new byte[len];
-
-		// convert len to bytes
-		bytes[0] = (byte) (len >>> 24);
-		bytes[1] = (byte) (len >>> 16);
-		bytes[2] = (byte) (len >>> 8);
-		bytes[3] = (byte) (len >>> 0);
-
-		// convert id to bytes
-		int id = getId();
-		bytes[4] = (byte) (id >>> 24);
-		bytes[5] = (byte) (id >>> 16);
-		bytes[6] = (byte) (id >>> 8);
-		bytes[7] = (byte) (id >>> 0);
+		byte[] bytes = new byte[getLength()];
+		writeTo(ByteBuffer.wrap(bytes));
+		return bytes;
+	}
 
-		// flags
-		bytes[8] = getFlags();
+	/**
+	 * Writes the whole packet, header and data, into the given buffer at its
+	 * current position and advances the position past the packet.
+	 *
+	 * @param buffer
+	 *            buffer with at least {@link #getLength()} bytes remaining
+	 */
+	public void writeTo(ByteBuffer buffer) throws IOException {
+		buffer.putInt(getLength());
+		buffer.putInt(getId());
+		buffer.put(getFlags());
 
 		// convert specific header fields
-		int index = 9;
-		index += writeSpecificHeaderFields(bytes, index);
+		int index;
+		if (buffer.hasArray()) {
+			index = writeSpecificHeaderFields(buffer.array(), buffer.arrayOffset() + buffer.position());
+			// cast keeps the Java 8 signature of position(int)
+			((Buffer) buffer).position(buffer.position() + index);
+		} else {
+			byte[] header = new byte[MIN_PACKET_LENGTH];
+			index = writeSpecificHeaderFields(header, 0);
+			buffer.put(header, 0, index);
+		}
 
-		if (index < len && fDataBuf != null) {
+		if (fDataBuf != null) {
 			// copy data
-			System.arraycopy(fDataBuf, 0, bytes, index, fDataBuf.length);
+			buffer.put(fDataBuf, fDataOffset, fDataLength);
 		}
-		return bytes;
 	}
 
 	/**
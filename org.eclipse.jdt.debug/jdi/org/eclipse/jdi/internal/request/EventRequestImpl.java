@@ -78,6 +78,7 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 	public static final byte MODIF_KIND_STEP = 10;
 	public static final byte MODIF_KIND_INSTANCE = 11;
 	public static final byte MODIF_KIND_SOURCE_NAME_FILTER = 12;
+	public static final byte MODIF_KIND_PLATFORM_THREADS_ONLY = 13;
 
 	/** Mapping of command codes to strings. */
 	private static HashMap<Integer, String> fStepSizeMap = null;
@@ -144,6 +145,12 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 	 * @since 3.3
 	 */
 	protected ArrayList<String> fSourceNameFilters = null;
+	/**
+	 * Whether events for virtual threads are filtered out
+	 *
+	 * @since 3.15
+	 */
+	protected boolean fPlatformThreadsOnly = false;
 
 	/**
 	 * Creates new EventRequest.
@@ -510,6 +517,20 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 		fSourceNameFilters.add(pattern);
 	}
 
+	/**
+	 * Restricts the events of a thread start or thread death request to
+	 * platform threads. Has no effect when the Virtual Machine cannot create
+	 * virtual threads.
+	 *
+	 * @since 3.15
+	 */
+	public void addPlatformThreadsOnlyFilter() {
+		checkDisabled();
+		if (((VirtualMachineImpl) virtualMachine()).mayCreateVirtualThreads()) {
+			fPlatformThreadsOnly = true;
+		}
+	}
+
 	/**
 	 * From here on JDWP functionality of EventRequest is implemented.
 	 */
@@ -602,6 +623,9 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 				count += fSourceNameFilters.size();
 			}
 		}
+		if (fPlatformThreadsOnly) {
+			count++;
+		}
 		return count;
 	}
 
@@ -713,6 +737,10 @@ public abstract class EventRequestImpl extends MirrorImpl implements
 				}
 			}
 		}
+		if (fPlatformThreadsOnly) {
+			writeByte(MODIF_KIND_PLATFORM_THREADS_ONLY,
+					"modifier", modifierKindMap(), outData); //$NON-NLS-1$
+		}
 	}
 
 	/**
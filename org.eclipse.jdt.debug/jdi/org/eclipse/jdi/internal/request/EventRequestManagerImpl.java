@@ -117,6 +117,11 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 	private EventRequestType<MonitorWaitedRequest> MONITOR_WAITED_TYPE= new EventRequestType<>();
 	private EventRequestType<MonitorWaitRequest> MONITOR_WAIT_TYPE= new EventRequestType<>();
 
+	/**
+	 * The internal class unload request, once enabled
+	 */
+	private ClassUnloadRequestImpl fInternalClassUnloadRequest;
+
 	/**
 	 * Creates new EventRequestManager.
 	 */
@@ -312,9 +317,10 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 
 	/**
 	 * Enables class prepare requests for all loaded classes.  This is
-	 * necessary for current versions of the KVM to function correctly.
-	 * This method is only called when the remote VM is determined to be
-	 * the KVM.
+	 * necessary for current versions of the KVM to function correctly,
+	 * and is used to keep the class index up to date.
+	 *
+	 * @see org.eclipse.jdi.internal.ClassIndex
 	 */
 	public void enableInternalClassPrepareEvent() {
 		// Note that these requests are not stored in the set of outstanding requests because
@@ -327,11 +333,35 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 		requestPrepare.enable();
 	}
 
+	/**
+	 * Enables class prepare requests for the classes with the given name, used
+	 * to keep the types looked up by name in the class index up to date.
+	 *
+	 * @param className
+	 *            the fully qualified name of the classes
+	 * @return the enabled request, to be disabled once it is no longer needed
+	 * @see org.eclipse.jdi.internal.ClassIndex#lookup(String)
+	 */
+	public ClassPrepareRequestImpl enableInternalClassPrepareEvent(String className) {
+		ClassPrepareRequestImpl requestPrepare = new ClassPrepareRequestImpl(virtualMachineImpl());
+		requestPrepare.setGeneratedInside();
+		requestPrepare.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+		requestPrepare.addClassFilter(className);
+		requestPrepare.enable();
+		return requestPrepare;
+	}
+
 	/**
 	 * Creates ClassUnloadRequest for maintaining class information for within JDI.
-	 * Needed to known when to flush the cache.
-	 */
-	public void enableInternalClasUnloadEvent(/* TBD: ReferenceTypeImpl refType*/) {
+	 * Needed to known when to flush the cache, and to keep the class index up to
+	 * date. The request is only created once.
+	 *
+	 * @see org.eclipse.jdi.internal.ClassIndex
+	 */
+	public synchronized void enableInternalClasUnloadEvent(/* TBD: ReferenceTypeImpl refType*/) {
+		if (fInternalClassUnloadRequest != null) {
+			return;
+		}
 		// Note that these requests are not stored in the set of outstanding requests because
 		// they must be invisible from outside.
 		ClassUnloadRequestImpl reqUnload = new ClassUnloadRequestImpl(virtualMachineImpl());
@@ -340,7 +370,14 @@ public class EventRequestManagerImpl extends MirrorImpl implements EventRequestM
 		// classes that we know of due to a limitation in the J9 VM.
 		// reqUnload.addClassFilter(refType);
 		reqUnload.setSuspendPolicy(EventRequest.SUSPEND_NONE);
-		reqUnload.enable();
+		// set first, as the first request sent to the VM enables it as well
+		fInternalClassUnloadRequest = reqUnload;
+		try {
+			reqUnload.enable();
+		} catch (RuntimeException e) {
+			fInternalClassUnloadRequest = null;
+			throw e;
+		}
 	}
 
 	/**
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.spy;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary capture of the JDWP packets exchanged during a debugging session, as
+ * written by {@link JdwpCaptureWriter}.
+ * <p>
+ * A capture starts with the bytes of {@link #MAGIC} followed by the format
+ * version. Each packet is then stored as a flag byte (bit 0 set for packets
+ * sent by the VM), the time elapsed since the previous packet in microseconds
+ * as a variable length number, and the packet bytes as they were on the wire.
+ * </p>
+ */
+public class JdwpCapture {
+
+	/**
+	 * Bytes every capture starts with.
+	 */
+	static final byte[] MAGIC = { 'J', 'D', 'W', 'P', 'C', 'A', 'P' };
+
+	/**
+	 * Version of the capture format.
+	 */
+	static final byte VERSION = 1;
+
+	/**
+	 * Flag of packets sent by the VM.
+	 */
+	static final int FLAG_FROM_VM = 0x01;
+
+	/**
+	 * One packet of a capture.
+	 */
+	public static class Entry {
+		private final boolean fFromVM;
+		private final long fTime;
+		private final byte[] fBytes;
+
+		Entry(boolean fromVM, long time, byte[] bytes) {
+			fFromVM = fromVM;
+			fTime = time;
+			fBytes = bytes;
+		}
+
+		/**
+		 * @return Returns whether the packet was sent by the VM.
+		 */
+		public boolean isFromVM() {
+			return fFromVM;
+		}
+
+		/**
+		 * @return Returns the time at which the packet was seen, in
+		 *         microseconds since the start of the capture.
+		 */
+		public long getTime() {
+			return fTime;
+		}
+
+		/**
+		 * @return Returns the bytes of the packet. Must not be modified.
+		 */
+		public byte[] getBytes() {
+			return fBytes;
+		}
+
+		/**
+		 * @return Returns the id of the packet.
+		 */
+		public int getId() {
+			return readInt(fBytes, 4);
+		}
+
+		/**
+		 * @return Returns whether the packet is a reply.
+		 */
+		public boolean isReply() {
+			return (fBytes[8] & JdwpPacket.FLAG_REPLY_PACKET) != 0;
+		}
+
+		/**
+		 * @return Returns the command of a command packet, the command set in
+		 *         the high byte, as in {@link JdwpCommandPacket#getCommand()}.
+		 */
+		public int getCommand() {
+			return ((fBytes[9] & 0xff) << 8) | (fBytes[10] & 0xff);
+		}
+	}
+
+	private final List<Entry> fEntries;
+
+	JdwpCapture(List<Entry> entries) {
+		fEntries = Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * @return Returns the packets of this capture, in the order they were
+	 *         seen.
+	 */
+	public List<Entry> getEntries() {
+		return fEntries;
+	}
+
+	/**
+	 * Reads a capture from a file.
+	 */
+	public static JdwpCapture read(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			return read(in);
+		}
+	}
+
+	/**
+	 * Reads a capture from a stream, up to its end.
+	 */
+	public static JdwpCapture read(InputStream inStream) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(inStream));
+		byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (magic[i] != MAGIC[i]) {
+				throw new IOException("Not a JDWP capture"); //$NON-NLS-1$
+			}
+		}
+		byte version = in.readByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported JDWP capture version " + version); //$NON-NLS-1$
+		}
+		List<Entry> entries = new ArrayList<>();
+		long time = 0;
+		while (true) {
+			int flags = in.read();
+			if (flags == -1) {
+				break;
+			}
+			time += readVarLong(in);
+			int length = in.readInt();
+			if (length < JdwpPacket.MIN_PACKET_LENGTH) {
+				throw new IOException("Invalid packet length " + length); //$NON-NLS-1$
+			}
+			byte[] bytes = new byte[length];
+			writeInt(bytes, 0, length);
+			in.readFully(bytes, 4, length - 4);
+			entries.add(new Entry((flags & FLAG_FROM_VM) != 0, time, bytes));
+		}
+		return new JdwpCapture(entries);
+	}
+
+	static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.read();
+			if (b == -1) {
+				throw new EOFException();
+			}
+			value |= (long) (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	static int readInt(byte[] bytes, int index) {
+		return ((bytes[index] & 0xff) << 24) | ((bytes[index + 1] & 0xff) << 16) | ((bytes[index + 2] & 0xff) << 8) | (bytes[index + 3] & 0xff);
+	}
+
+	static void writeInt(byte[] bytes, int index, int value) {
+		bytes[index] = (byte) (value >>> 24);
+		bytes[index + 1] = (byte) (value >>> 16);
+		bytes[index + 2] = (byte) (value >>> 8);
+		bytes[index + 3] = (byte) value;
+	}
+}
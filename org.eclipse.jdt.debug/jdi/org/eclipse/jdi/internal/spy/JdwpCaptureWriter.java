@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.spy;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the packets of a debugging session to a binary {@link JdwpCapture}.
+ * Packets of both directions can be recorded from different threads.
+ */
+public class JdwpCaptureWriter implements Closeable {
+
+	private final DataOutputStream fOut;
+	private final long fStart;
+	private long fLastTime;
+
+	/**
+	 * Creates a writer and writes the capture header to the given stream.
+	 */
+	public JdwpCaptureWriter(OutputStream out) throws IOException {
+		fOut = new DataOutputStream(new BufferedOutputStream(out));
+		fOut.write(JdwpCapture.MAGIC);
+		fOut.writeByte(JdwpCapture.VERSION);
+		fStart = System.nanoTime();
+	}
+
+	/**
+	 * Records a packet, seen now.
+	 *
+	 * @param packet
+	 *            the packet
+	 * @param fromVM
+	 *            whether the packet was sent by the VM
+	 */
+	public void record(JdwpPacket packet, boolean fromVM) throws IOException {
+		record(packet, fromVM, (System.nanoTime() - fStart) / 1000);
+	}
+
+	/**
+	 * Records a packet seen at the given time.
+	 *
+	 * @param packet
+	 *            the packet
+	 * @param fromVM
+	 *            whether the packet was sent by the VM
+	 * @param time
+	 *            time at which the packet was seen, in microseconds since the
+	 *            start of the capture
+	 */
+	public synchronized void record(JdwpPacket packet, boolean fromVM, long time) throws IOException {
+		// packets of the two directions may be recorded slightly out of order
+		long delta = Math.max(0, time - fLastTime);
+		fLastTime += delta;
+		fOut.writeByte(fromVM ? JdwpCapture.FLAG_FROM_VM : 0);
+		writeVarLong(delta);
+		packet.write(fOut);
+	}
+
+	private void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7fL) != 0) {
+			fOut.writeByte((int) (value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		fOut.writeByte((int) value);
+	}
+
+	/**
+	 * Writes the recorded packets to the underlying stream.
+	 */
+	public synchronized void flush() throws IOException {
+		fOut.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		fOut.close();
+	}
+}
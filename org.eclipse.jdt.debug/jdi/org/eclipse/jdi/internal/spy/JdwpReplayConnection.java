@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.spy;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdi.internal.spy.JdwpCapture.Entry;
+
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+import com.sun.jdi.connect.spi.Connection;
+
+/**
+ * Fake VM that serves a {@link JdwpCapture} to a debugger, e.g. to a
+ * <code>VirtualMachineImpl</code> created on this connection.
+ * <p>
+ * Each command sent by the debugger is matched to the first command of the
+ * capture with the same command and data that was not matched yet, and is
+ * answered with the recorded reply. Packet ids are rewritten to the ones of
+ * the debugger. When the commands of the capture are used up, the last reply
+ * recorded for the same command and data is sent again. Commands that never
+ * occur in the capture are answered with an {@link JdwpReplyPacket#INTERNAL}
+ * error.
+ * </p>
+ * <p>
+ * Events sent by the VM are replayed once the command that preceded them in
+ * the capture has been matched, typically a resume or a step request. Replies
+ * and events are delivered after the delay they had in the capture, scaled by
+ * a factor, plus an optional latency to simulate a slow connection.
+ * </p>
+ */
+public class JdwpReplayConnection extends Connection {
+
+	/**
+	 * Command and data of a command packet.
+	 */
+	private static class Key {
+		private final int fCommand;
+		private final byte[] fData;
+		private final int fHash;
+
+		Key(int command, byte[] packet) {
+			fCommand = command;
+			fData = Arrays.copyOfRange(packet, JdwpPacket.MIN_PACKET_LENGTH, packet.length);
+			fHash = 31 * command + Arrays.hashCode(fData);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return fCommand == other.fCommand && Arrays.equals(fData, other.fData);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+	}
+
+	/**
+	 * Packet to deliver to the debugger at a given time.
+	 */
+	private static class Delivery implements Delayed {
+		private static final AtomicLong fgSequence = new AtomicLong();
+
+		final byte[] fBytes;
+		final long fTime;
+		final long fSequence = fgSequence.getAndIncrement();
+
+		Delivery(byte[] bytes, long time) {
+			fBytes = bytes;
+			fTime = time;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(fTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed o) {
+			Delivery other = (Delivery) o;
+			int result = Long.compare(fTime, other.fTime);
+			return result != 0 ? result : Long.compare(fSequence, other.fSequence);
+		}
+	}
+
+	private static final byte[] CLOSED = new byte[0];
+
+	private final List<Entry> fEntries;
+	private final double fTimeScale;
+	private final long fLatency;
+
+	/**
+	 * Indices of the not yet matched commands of the capture, per command and
+	 * data.
+	 */
+	private final Map<Key, Deque<Integer>> fCommands = new HashMap<>();
+	/**
+	 * Index of the last matched command of the capture, per command and data.
+	 */
+	private final Map<Key, Integer> fLastMatched = new HashMap<>();
+	/**
+	 * Index of the reply of the capture, per id of recorded command.
+	 */
+	private final Map<Integer, Integer> fReplies = new HashMap<>();
+	/**
+	 * Indices of the events of the capture, and of the command each one
+	 * follows, -1 if none.
+	 */
+	private final List<int[]> fEvents = new ArrayList<>();
+	private int fNextEvent = 0;
+
+	private final DelayQueue<Delivery> fIncoming = new DelayQueue<>();
+	private volatile boolean fOpen = true;
+
+	private final AtomicInteger fMatchedCount = new AtomicInteger();
+	private final AtomicInteger fReusedCount = new AtomicInteger();
+	private final AtomicInteger fUnmatchedCount = new AtomicInteger();
+
+	/**
+	 * Creates a connection replaying the given capture with its original
+	 * timing.
+	 */
+	public JdwpReplayConnection(JdwpCapture capture) {
+		this(capture, 1.0, 0);
+	}
+
+	/**
+	 * Creates a connection replaying the given capture.
+	 *
+	 * @param capture
+	 *            the capture to replay
+	 * @param timeScale
+	 *            factor applied to the delays of the capture, 0 to deliver
+	 *            packets as soon as possible
+	 * @param latency
+	 *            delay added to every reply and event, in milliseconds
+	 */
+	public JdwpReplayConnection(JdwpCapture capture, double timeScale, long latency) {
+		if (timeScale < 0 || latency < 0) {
+			throw new IllegalArgumentException();
+		}
+		fEntries = capture.getEntries();
+		fTimeScale = timeScale;
+		fLatency = TimeUnit.MILLISECONDS.toNanos(latency);
+		int lastCommand = -1;
+		for (int i = 0; i < fEntries.size(); i++) {
+			Entry entry = fEntries.get(i);
+			if (entry.isFromVM()) {
+				if (entry.isReply()) {
+					fReplies.put(Integer.valueOf(entry.getId()), Integer.valueOf(i));
+				} else {
+					fEvents.add(new int[] { i, lastCommand });
+				}
+			} else if (!entry.isReply()) {
+				fCommands.computeIfAbsent(new Key(entry.getCommand(), entry.getBytes()), k -> new ArrayDeque<>()).add(Integer.valueOf(i));
+				lastCommand = i;
+			}
+		}
+		// events sent before any command, e.g. VM start
+		scheduleEvents(-1, System.nanoTime());
+	}
+
+	/**
+	 * @return Returns the number of commands answered with a reply of the
+	 *         capture used for the first time.
+	 */
+	public int getMatchedCount() {
+		return fMatchedCount.get();
+	}
+
+	/**
+	 * @return Returns the number of commands answered with a reply of the
+	 *         capture that had already been used.
+	 */
+	public int getReusedCount() {
+		return fReusedCount.get();
+	}
+
+	/**
+	 * @return Returns the number of commands not found in the capture.
+	 */
+	public int getUnmatchedCount() {
+		return fUnmatchedCount.get();
+	}
+
+	@Override
+	public byte[] readPacket() throws IOException {
+		if (!fOpen && fIncoming.isEmpty()) {
+			throw new ClosedConnectionException();
+		}
+		Delivery delivery;
+		try {
+			delivery = fIncoming.take();
+		} catch (InterruptedException e) {
+			throw new ClosedConnectionException();
+		}
+		if (delivery.fBytes == CLOSED) {
+			throw new ClosedConnectionException();
+		}
+		return delivery.fBytes;
+	}
+
+	@Override
+	public void writePacket(byte[] packet) throws IOException {
+		if (!fOpen) {
+			throw new ClosedConnectionException();
+		}
+		if ((packet[8] & JdwpPacket.FLAG_REPLY_PACKET) != 0) {
+			// replies of the debugger to commands of the VM are not expected
+			return;
+		}
+		long now = System.nanoTime();
+		int id = JdwpCapture.readInt(packet, 4);
+		int command = ((packet[9] & 0xff) << 8) | (packet[10] & 0xff);
+		Key key = new Key(command, packet);
+		Integer index;
+		boolean reused = false;
+		synchronized (this) {
+			Deque<Integer> candidates = fCommands.get(key);
+			index = candidates == null ? null : candidates.poll();
+			if (index != null) {
+				fLastMatched.put(key, index);
+				scheduleEvents(index.intValue(), now);
+			} else {
+				index = fLastMatched.get(key);
+				reused = true;
+			}
+		}
+		if (index == null) {
+			fUnmatchedCount.incrementAndGet();
+			byte[] reply = new byte[JdwpPacket.MIN_PACKET_LENGTH];
+			JdwpCapture.writeInt(reply, 0, reply.length);
+			JdwpCapture.writeInt(reply, 4, id);
+			reply[8] = JdwpPacket.FLAG_REPLY_PACKET;
+			reply[9] = (byte) (JdwpReplyPacket.INTERNAL >>> 8);
+			reply[10] = (byte) JdwpReplyPacket.INTERNAL;
+			fIncoming.add(new Delivery(reply, now + fLatency));
+			return;
+		}
+		if (reused) {
+			fReusedCount.incrementAndGet();
+		} else {
+			fMatchedCount.incrementAndGet();
+		}
+		Entry recordedCommand = fEntries.get(index.intValue());
+		Integer replyIndex = fReplies.get(Integer.valueOf(recordedCommand.getId()));
+		if (replyIndex == null) {
+			// the session ended before the reply, e.g. VM dispose or exit
+			return;
+		}
+		Entry recordedReply = fEntries.get(replyIndex.intValue());
+		byte[] reply = recordedReply.getBytes().clone();
+		JdwpCapture.writeInt(reply, 4, id);
+		fIncoming.add(new Delivery(reply, deliveryTime(now, recordedReply.getTime() - recordedCommand.getTime())));
+	}
+
+	/**
+	 * Schedules the events of the capture that follow the command at the
+	 * given index, or commands before it that were skipped.
+	 */
+	private void scheduleEvents(int commandIndex, long now) {
+		long commandTime = commandIndex < 0 ? 0 : fEntries.get(commandIndex).getTime();
+		while (fNextEvent < fEvents.size() && fEvents.get(fNextEvent)[1] <= commandIndex) {
+			Entry event = fEntries.get(fEvents.get(fNextEvent)[0]);
+			fIncoming.add(new Delivery(event.getBytes(), deliveryTime(now, event.getTime() - commandTime)));
+			fNextEvent++;
+		}
+	}
+
+	/**
+	 * @return Returns the time at which to deliver a packet that came the
+	 *         given number of microseconds after its trigger in the capture.
+	 */
+	private long deliveryTime(long now, long recordedDelay) {
+		return now + (long) (Math.max(0, recordedDelay) * 1000 * fTimeScale) + fLatency;
+	}
+
+	@Override
+	public void close() throws IOException {
+		fOpen = false;
+		fIncoming.add(new Delivery(CLOSED, System.nanoTime()));
+	}
+
+	@Override
+	public boolean isOpen() {
+		return fOpen;
+	}
+}
@@ -39,7 +39,9 @@ import com.ibm.icu.text.MessageFormat;
  * parameters are: 1) The port number to which the debugger application
  * connects; 2) The name of the host on which the VM or proxy waits for a JDWP
  * connection; 3) The port number on which the VM or proxy waits for a JDWP
- * connection; 4) The file where the trace is written to.
+ * connection; 4) The file where the trace is written to, '-' for the standard
+ * output; 5) The file where a binary {@link JdwpCapture} of the session is
+ * written to, which can be replayed with {@link JdwpReplayConnection}.
  *
  * Note that if this program is used for tracing JDWP activity of Leapfrog, the
  * 'debug remote program' option must be used, and the J9 proxy must first be
@@ -55,6 +57,12 @@ public class TcpipSpy extends Thread {
 
 	private static VerbosePacketStream out = new VerbosePacketStream(System.out);
 	private static Map<Integer, JdwpConversation> fPackets = new HashMap<>();
+	private static volatile JdwpCaptureWriter fgCapture;
+	/**
+	 * Number of directions still being spied on. The capture is closed once
+	 * both have ended.
+	 */
+	private static int fgRunning;
 
 	private static int fFieldIDSize;
 	private static int fMethodIDSize;
@@ -75,6 +83,7 @@ public class TcpipSpy extends Thread {
 		String serverHost = null;
 		int outPort = 0;
 		String outputFile = null;
+		String captureFile = null;
 		try {
 			inPort = Integer.parseInt(args[0]);
 			serverHost = args[1];
@@ -82,12 +91,15 @@ public class TcpipSpy extends Thread {
 			if (args.length > 3) {
 				outputFile = args[3];
 			}
+			if (args.length > 4) {
+				captureFile = args[4];
+			}
 		} catch (Exception e) {
-			out.println("usage: TcpipSpy <client port> <server host> <server port> [<output file>]"); //$NON-NLS-1$
+			out.println("usage: TcpipSpy <client port> <server host> <server port> [<output file> [<capture file>]]"); //$NON-NLS-1$
 			System.exit(-1);
 		}
 
-		if (outputFile != null) {
+		if (outputFile != null && !"-".equals(outputFile)) { //$NON-NLS-1$
 			File file = new File(outputFile);
 			out.println(MessageFormat
 					.format("Writing output to {0}", new Object[] { file.getAbsolutePath() })); //$NON-NLS-1$
@@ -99,11 +111,27 @@ public class TcpipSpy extends Thread {
 						.format("Could not open {0}.  Using stdout instead", new Object[] { file.getAbsolutePath() })); //$NON-NLS-1$
 			}
 		}
+		if (captureFile != null) {
+			File file = new File(captureFile);
+			out.println(MessageFormat
+					.format("Writing capture to {0}", new Object[] { file.getAbsolutePath() })); //$NON-NLS-1$
+			try {
+				fgCapture = new JdwpCaptureWriter(new FileOutputStream(file));
+				// the spy is usually ended by killing it
+				Runtime.getRuntime().addShutdownHook(new Thread(TcpipSpy::closeCapture));
+			} catch (IOException e) {
+				out.println(MessageFormat
+						.format("Could not open {0}.  No capture is written", new Object[] { file.getAbsolutePath() })); //$NON-NLS-1$
+			}
+		}
 		out.println();
 		try (ServerSocket serverSock = new ServerSocket(inPort);
 			Socket inSock = serverSock.accept();
 			Socket outSock = new Socket(InetAddress.getByName(serverHost),
 					outPort);){
+			synchronized (TcpipSpy.class) {
+				fgRunning = 2;
+			}
 			new TcpipSpy(false, inSock.getInputStream(),
 					outSock.getOutputStream()).start();
 			new TcpipSpy(true, outSock.getInputStream(),
@@ -135,6 +163,10 @@ public class TcpipSpy extends Thread {
 				if (!(fVMtoDebugger && (p.getFlags() & JdwpPacket.FLAG_REPLY_PACKET) == 0)) {
 					store(p);
 				}
+				JdwpCaptureWriter capture = fgCapture;
+				if (capture != null) {
+					capture.record(p, fVMtoDebugger);
+				}
 				out.print(p, fVMtoDebugger);
 				out.flush();
 				p.write(fDataOut);
@@ -151,11 +183,33 @@ public class TcpipSpy extends Thread {
 				fDataIn.close();
 				fDataOut.close();
 			} catch (IOException e) {
+			} finally {
+				synchronized (TcpipSpy.class) {
+					if (--fgRunning == 0) {
+						closeCapture();
+					}
+				}
 			}
 			out.flush();
 		}
 	}
 
+	/**
+	 * Closes the capture of the session, if any, so that all recorded
+	 * packets are written.
+	 */
+	private static synchronized void closeCapture() {
+		JdwpCaptureWriter capture = fgCapture;
+		fgCapture = null;
+		if (capture != null) {
+			try {
+				capture.close();
+			} catch (IOException e) {
+				out.println(e);
+			}
+		}
+	}
+
 	public static JdwpCommandPacket getCommand(int id) {
 		JdwpConversation conversation = fPackets
 				.get(new Integer(id));
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.core;
+
+/**
+ * Statistics of the requests of one JDWP command sent to a Java debug target,
+ * as returned by {@link IJavaDebugTarget#getCommandStatistics()}. Statistics
+ * are a snapshot taken when they were retrieved. Times are in microseconds and
+ * measured from sending a command to receiving its reply.
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ * @since 3.15
+ */
+public interface IJavaCommandStatistics {
+
+	/**
+	 * Returns the command set identifier of the command, as defined by JDWP.
+	 *
+	 * @return the command set identifier
+	 */
+	public int getCommandSet();
+
+	/**
+	 * Returns the command identifier of the command, as defined by JDWP.
+	 *
+	 * @return the command identifier
+	 */
+	public int getCommand();
+
+	/**
+	 * Returns a readable name of the command, for example
+	 * <code>THREAD_REFERENCE - FRAMES</code>.
+	 *
+	 * @return the name of the command
+	 */
+	public String getName();
+
+	/**
+	 * Returns the number of replies received for the command.
+	 *
+	 * @return the number of replies received
+	 */
+	public long getCount();
+
+	/**
+	 * Returns the number of bytes sent for the command, including packet
+	 * headers.
+	 *
+	 * @return the number of bytes sent
+	 */
+	public long getBytesSent();
+
+	/**
+	 * Returns the number of bytes received in replies to the command,
+	 * including packet headers.
+	 *
+	 * @return the number of bytes received
+	 */
+	public long getBytesReceived();
+
+	/**
+	 * Returns the number of requests of the command whose reply did not arrive
+	 * within the request timeout.
+	 *
+	 * @return the number of timeouts
+	 */
+	public long getTimeoutCount();
+
+	/**
+	 * Returns the sum of the latencies of the replies received, in
+	 * microseconds.
+	 *
+	 * @return the total time spent waiting for the command
+	 */
+	public long getTotalTime();
+
+	/**
+	 * Returns the latency below which the given fraction of the replies were
+	 * received, in microseconds. The value is accurate to a few percent.
+	 *
+	 * @param fraction
+	 *            between 0 and 1, for example 0.99 for the 99th percentile
+	 * @return the latency, or 0 if no reply was received
+	 */
+	public long getLatency(double fraction);
+}
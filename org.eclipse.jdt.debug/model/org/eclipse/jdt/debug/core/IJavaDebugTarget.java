@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.debug.core;
 
+import java.io.PrintWriter;
+
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.IStepFilters;
@@ -552,6 +554,56 @@ public interface IJavaDebugTarget extends IDebugTarget, IStepFilters {
 	public byte[] sendCommand(byte commandSet, byte commandId, byte[] data)
 			throws DebugException;
 
+	/**
+	 * Returns the deadlocks between the threads of this target. A deadlock is
+	 * a group of threads that are each blocked on a monitor owned by another
+	 * thread of the group. The monitor information of all threads is retrieved
+	 * in a single pass, so only suspended threads can be found in a deadlock.
+	 * Returns an empty array if this target does not support monitor
+	 * information.
+	 *
+	 * @return the threads of each deadlock, possibly empty
+	 * @exception DebugException
+	 *                if an error occurs retrieving the monitor information
+	 * @see #supportsMonitorInformation()
+	 * @since 3.15
+	 */
+	public IJavaThread[][] findDeadlocks() throws DebugException;
+
+	/**
+	 * Returns statistics of the JDWP commands sent to this target since it
+	 * was created or since statistics were last reset, the commands with the
+	 * highest total time first. Returns an empty array if this target is
+	 * disconnected or terminated.
+	 *
+	 * @return statistics of each command sent, possibly empty
+	 * @see #resetCommandStatistics()
+	 * @since 3.15
+	 */
+	public IJavaCommandStatistics[] getCommandStatistics();
+
+	/**
+	 * Discards the statistics of the JDWP commands sent to this target so far.
+	 * Has no effect if this target is disconnected or terminated.
+	 *
+	 * @see #getCommandStatistics()
+	 * @since 3.15
+	 */
+	public void resetCommandStatistics();
+
+	/**
+	 * Prints a table of the statistics of the JDWP commands sent to this
+	 * target to the given writer, one line per command with its count, total
+	 * time, bytes sent and received, median and 99th percentile latencies and
+	 * number of timeouts.
+	 *
+	 * @param writer
+	 *            the writer to print to
+	 * @see #getCommandStatistics()
+	 * @since 3.15
+	 */
+	public void dumpCommandStatistics(PrintWriter writer);
+
 	/**
 	 * Adds the given listener to this target for hot code replace
 	 * notifications. Has no effect if an identical listener is already
@@ -127,6 +127,31 @@ public class JDIDebugModel {
 	 */
 	public static final int DEF_SHOW_STEP_TIMEOUT = 7000;
 
+	/**
+	 * Preference key for the number of array entries retrieved from the target
+	 * with one request when the entries of an array are displayed.
+	 *
+	 * @since 3.15
+	 */
+	public static final String PREF_ARRAY_PAGE_SIZE = getPluginIdentifier() + ".PREF_ARRAY_PAGE_SIZE"; //$NON-NLS-1$
+
+	/**
+	 * The default value for {@link #PREF_ARRAY_PAGE_SIZE} when no preference is set.
+	 *
+	 * @since 3.15
+	 */
+	public static final int DEF_ARRAY_PAGE_SIZE = 100;
+
+	/**
+	 * Preference key for whether virtual threads are only represented in the
+	 * debug model once they are suspended at an event or explicitly asked for,
+	 * so that the cost of debugging does not grow with the number of virtual
+	 * threads. Platform threads are always represented.
+	 *
+	 * @since 3.15
+	 */
+	public static final String PREF_SCALABLE_VIRTUAL_THREADS = getPluginIdentifier() + ".PREF_SCALABLE_VIRTUAL_THREADS"; //$NON-NLS-1$
+
 	/**
 	 * The preference key for the behavior of exception breakpoint hits recurring for the same exception instance.
 	 *
@@ -47,6 +47,7 @@ import org.eclipse.jdt.internal.debug.core.breakpoints.BreakpointListenerManager
 import org.eclipse.jdt.internal.debug.core.hcr.JavaHotCodeReplaceManager;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+import org.eclipse.jdt.internal.debug.eval.ast.engine.CompiledExpressionCache;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.prefs.BackingStoreException;
 
@@ -118,6 +119,16 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 	public static final String PREF_ENABLE_ADVANCED_SOURCELOOKUP = JDIDebugPlugin
 			.getUniqueIdentifier() + ".enable_advanced_sourcelookup"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling if simple conditions of line breakpoints
+	 * are evaluated in launched Virtual Machines by guards woven into their
+	 * classes. Requires advanced sourcelookup.
+	 *
+	 * @since 3.15
+	 */
+	public static final String PREF_ENABLE_TARGET_CONDITIONS = JDIDebugPlugin
+			.getUniqueIdentifier() + ".enable_target_conditions"; //$NON-NLS-1$
+
 	/**
 	 * Extension point for java logical structures.
 	 *
@@ -319,6 +330,8 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 					}
 				});
 		JavaHotCodeReplaceManager.getDefault().startup();
+		CompiledExpressionCache.getDefault().startup();
+		TargetConditions.startup();
 		fBreakpointListeners = new ListenerList<>();
 		fJavaBreakpointManager = new BreakpointListenerManager();
 		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(getUniqueIdentifier());
@@ -359,6 +372,8 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 			if(node != null) {
 				node.removePreferenceChangeListener(this);
 			}
+			CompiledExpressionCache.getDefault().shutdown();
+			TargetConditions.shutdown();
 			JavaHotCodeReplaceManager.getDefault().shutdown();
 			ILaunchManager launchManager = DebugPlugin.getDefault()
 					.getLaunchManager();
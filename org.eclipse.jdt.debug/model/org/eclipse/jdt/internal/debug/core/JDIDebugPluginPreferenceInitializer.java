@@ -48,6 +48,9 @@ public class JDIDebugPluginPreferenceInitializer extends
 		node.putBoolean(JDIDebugModel.PREF_FILTER_BREAKPOINTS_FROM_UNRELATED_SOURCES, true);
 		node.putBoolean(JDIDebugModel.PREF_SHOW_STEP_RESULT, true);
 		node.putInt(JDIDebugModel.PREF_SHOW_STEP_TIMEOUT, JDIDebugModel.DEF_SHOW_STEP_TIMEOUT);
+		node.putInt(JDIDebugModel.PREF_ARRAY_PAGE_SIZE, JDIDebugModel.DEF_ARRAY_PAGE_SIZE);
+		node.putBoolean(JDIDebugModel.PREF_SCALABLE_VIRTUAL_THREADS, false);
 		node.putBoolean(JDIDebugPlugin.PREF_ENABLE_ADVANCED_SOURCELOOKUP, true);
+		node.putBoolean(JDIDebugPlugin.PREF_ENABLE_TARGET_CONDITIONS, false);
 	}
 }
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IBreakpointsListener;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
+
+/**
+ * Conditions of line breakpoints evaluated in launched Virtual Machines.
+ * <p>
+ * When enabled, the javaagent used for advanced sourcelookup weaves a guard in
+ * front of the lines of conditional breakpoints, so that the line, and the
+ * breakpoint, is only reached when the condition is true. Conditions comparing
+ * local variables and literals are supported, see
+ * {@link JavaLineBreakpoint#getTargetCondition()}. The guards are passed to
+ * the agent when the Virtual Machine is launched, one per line, as the type
+ * name, the line number and the condition in postfix form.
+ * </p>
+ * <p>
+ * A class with guarded lines gets two synthetic static fields per line: a
+ * constant holding the condition of the guard, named
+ * {@link #GUARD_FIELD_PREFIX} followed by the line number, and a flag turning
+ * the guard off, named {@link #GUARD_OFF_FIELD_PREFIX} followed by the line
+ * number. When a line breakpoint is installed in a class, the guard of its
+ * line is turned off unless all line breakpoints on the line have the
+ * condition of the guard.
+ * </p>
+ * <p>
+ * The conditions are indexed by type and line. The index is rebuilt after
+ * line breakpoints have been added or removed, or their type, line or
+ * condition has changed, but not after other changes such as their install
+ * count.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class TargetConditions implements IBreakpointsListener {
+
+	/**
+	 * Prefix of the constants holding the conditions of guards
+	 */
+	public static final String GUARD_FIELD_PREFIX = "jdt$guard$"; //$NON-NLS-1$
+
+	/**
+	 * Prefix of the flags turning guards off
+	 */
+	public static final String GUARD_OFF_FIELD_PREFIX = "jdt$guardOff$"; //$NON-NLS-1$
+
+	/**
+	 * Singleton
+	 */
+	private static final TargetConditions fgInstance = new TargetConditions();
+
+	/**
+	 * Conditions by type name and line number, or <code>null</code> if
+	 * breakpoints have changed since they were indexed
+	 */
+	private Map<String, Map<Integer, String>> fConditions = null;
+
+	/**
+	 * The type, line and condition of each indexed line breakpoint
+	 */
+	private final Map<IBreakpoint, String> fIndexed = new HashMap<>();
+
+	/**
+	 * Not to be instantiated
+	 */
+	private TargetConditions() {
+	}
+
+	/**
+	 * Registers the index of the conditions for breakpoint changes. This
+	 * method is called by the JDI debug model plug-in on startup.
+	 */
+	public static void startup() {
+		DebugPlugin.getDefault().getBreakpointManager().addBreakpointListener(fgInstance);
+	}
+
+	/**
+	 * Unregisters the index of the conditions and clears it. This method is
+	 * called by the JDI debug model plug-in on shutdown.
+	 */
+	public static void shutdown() {
+		DebugPlugin.getDefault().getBreakpointManager().removeBreakpointListener(fgInstance);
+		fgInstance.clear();
+	}
+
+	/**
+	 * @return Returns whether conditions are evaluated in launched Virtual
+	 *         Machines.
+	 */
+	public static boolean isEnabled() {
+		return Platform.getPreferencesService().getBoolean(JDIDebugPlugin.getUniqueIdentifier(), JDIDebugPlugin.PREF_ENABLE_TARGET_CONDITIONS, false, null);
+	}
+
+	/**
+	 * Returns the guards to weave into a Virtual Machine being launched, one
+	 * per line of text: the name of the type, the line number and the
+	 * condition in postfix form, separated by spaces.
+	 *
+	 * @return the guards, or <code>null</code> if there are none
+	 * @throws CoreException
+	 *             if the breakpoints cannot be accessed
+	 */
+	public static String getGuards() throws CoreException {
+		StringBuilder guards = new StringBuilder();
+		for (Entry<String, Map<Integer, String>> type : fgInstance.getConditions().entrySet()) {
+			for (Entry<Integer, String> line : type.getValue().entrySet()) {
+				if (line.getValue() != null) {
+					guards.append(type.getKey()).append(' ').append(line.getKey()).append(' ').append(line.getValue()).append('\n');
+				}
+			}
+		}
+		return guards.length() == 0 ? null : guards.toString();
+	}
+
+	/**
+	 * Returns the condition that all line breakpoints on the given line have.
+	 *
+	 * @param typeName
+	 *            the type of the line breakpoints
+	 * @param lineNumber
+	 *            the line of the line breakpoints
+	 * @return the condition in postfix form, or <code>null</code> if a line
+	 *         breakpoint on the line has no condition that can be evaluated by
+	 *         a guard or if the conditions differ
+	 * @throws CoreException
+	 *             if the breakpoints cannot be accessed
+	 */
+	public static String getCondition(String typeName, int lineNumber) throws CoreException {
+		Map<Integer, String> lines = fgInstance.getConditions().get(typeName);
+		return lines == null ? null : lines.get(Integer.valueOf(lineNumber));
+	}
+
+	/**
+	 * Returns the conditions of the line breakpoints by type name and line
+	 * number, indexing them if breakpoints have changed. Lines whose
+	 * breakpoints have different conditions, or conditions that cannot be
+	 * evaluated by a guard, are mapped to <code>null</code>.
+	 */
+	private synchronized Map<String, Map<Integer, String>> getConditions() throws CoreException {
+		if (fConditions != null) {
+			return fConditions;
+		}
+		Map<String, Map<Integer, String>> conditions = new LinkedHashMap<>();
+		fIndexed.clear();
+		for (IBreakpoint breakpoint : DebugPlugin.getDefault().getBreakpointManager().getBreakpoints(JDIDebugModel.getPluginIdentifier())) {
+			// disabled breakpoints count, they are enabled without being reinstalled
+			if (isLineBreakpoint(breakpoint)) {
+				JavaLineBreakpoint lineBreakpoint = (JavaLineBreakpoint) breakpoint;
+				Map<Integer, String> lines = conditions.get(lineBreakpoint.getTypeName());
+				if (lines == null) {
+					lines = new HashMap<>();
+					conditions.put(lineBreakpoint.getTypeName(), lines);
+				}
+				Integer line = Integer.valueOf(lineBreakpoint.getLineNumber());
+				String condition = lineBreakpoint.getTargetCondition();
+				fIndexed.put(breakpoint, describe(lineBreakpoint, condition));
+				if (lines.containsKey(line) && !Objects.equals(lines.get(line), condition)) {
+					condition = null;
+				}
+				lines.put(line, condition);
+			}
+		}
+		fConditions = conditions;
+		return conditions;
+	}
+
+	/**
+	 * Returns the type, line and given condition of the given line breakpoint,
+	 * as indexed.
+	 */
+	private static String describe(JavaLineBreakpoint breakpoint, String condition) throws CoreException {
+		return breakpoint.getTypeName() + ' ' + breakpoint.getLineNumber() + ' ' + condition;
+	}
+
+	/**
+	 * Returns whether the given breakpoint is a plain line breakpoint, rather
+	 * than a method entry, watchpoint or other kind of line breakpoint.
+	 */
+	private static boolean isLineBreakpoint(IBreakpoint breakpoint) throws CoreException {
+		return breakpoint instanceof JavaLineBreakpoint && breakpoint.getMarker() != null
+				&& JavaLineBreakpoint.getMarkerType().equals(breakpoint.getMarker().getType());
+	}
+
+	/**
+	 * Clears the index, so that it is rebuilt when next needed.
+	 */
+	private synchronized void clear() {
+		fConditions = null;
+		fIndexed.clear();
+	}
+
+	/**
+	 * Clears the index if one of the given breakpoints is a Java line
+	 * breakpoint.
+	 */
+	private void addedOrRemoved(IBreakpoint[] breakpoints) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (breakpoint instanceof JavaLineBreakpoint) {
+				clear();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Clears the index if the type, line or condition of one of the given
+	 * breakpoints differs from the indexed one.
+	 */
+	private synchronized void changed(IBreakpoint[] breakpoints) {
+		if (fConditions == null) {
+			return;
+		}
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (breakpoint instanceof JavaLineBreakpoint) {
+				try {
+					String current = null;
+					if (isLineBreakpoint(breakpoint)) {
+						JavaLineBreakpoint lineBreakpoint = (JavaLineBreakpoint) breakpoint;
+						current = describe(lineBreakpoint, lineBreakpoint.getTargetCondition());
+					}
+					if (!Objects.equals(fIndexed.get(breakpoint), current)) {
+						clear();
+						return;
+					}
+				} catch (CoreException e) {
+					clear();
+					return;
+				}
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.debug.core.IBreakpointsListener#breakpointsAdded(org.eclipse.debug.core.model.IBreakpoint[])
+	 */
+	@Override
+	public void breakpointsAdded(IBreakpoint[] breakpoints) {
+		addedOrRemoved(breakpoints);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.debug.core.IBreakpointsListener#breakpointsRemoved(org.eclipse.debug.core.model.IBreakpoint[], org.eclipse.core.resources.IMarkerDelta[])
+	 */
+	@Override
+	public void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+		addedOrRemoved(breakpoints);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.debug.core.IBreakpointsListener#breakpointsChanged(org.eclipse.debug.core.model.IBreakpoint[], org.eclipse.core.resources.IMarkerDelta[])
+	 */
+	@Override
+	public void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+		changed(breakpoints);
+	}
+}
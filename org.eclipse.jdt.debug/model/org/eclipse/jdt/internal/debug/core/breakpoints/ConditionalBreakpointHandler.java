@@ -38,8 +38,10 @@ import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIStackFrame;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
+import org.eclipse.jdt.internal.debug.core.model.SimpleCondition;
 
 import com.ibm.icu.text.MessageFormat;
 import com.sun.jdi.VMDisconnectedException;
@@ -239,6 +241,16 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 							getMessages(expression));
 					return SUSPEND;
 				}
+				if (frame instanceof JDIStackFrame && lineBreakpoint.isConditionSuspendOnTrue()) {
+					// simple conditions are evaluated without the engine
+					SimpleCondition simpleCondition = lineBreakpoint.getSimpleCondition(condition);
+					if (simpleCondition != null) {
+						Boolean value = simpleCondition.evaluate((JDIStackFrame) frame);
+						if (value != null) {
+							return value.booleanValue() ? SUSPEND : DONT_SUSPEND;
+						}
+					}
+				}
 				Object lock = listener.getLock();
 				synchronized (lock) {
 					engine.evaluateExpression(expression, frame, listener,
@@ -305,10 +305,8 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 					suspendVote);
 		}
 		ThreadReference threadRef = ((LocatableEvent) event).thread();
-		JDIThread thread = target.findThread(threadRef);
-		if (thread == null) {
-			thread = target.findThread(threadRef);
-		}
+		// a virtual thread may only be represented once an event suspends it
+		JDIThread thread = target.findEventThread(threadRef);
 		if (thread == null || thread.isIgnoringBreakpoints()) {
 			return true;
 		}
@@ -335,7 +333,7 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		if (threadRef == null) {
 			return;
 		}
-		JDIThread thread = target.findThread(threadRef);
+		JDIThread thread = target.completeEventThread(threadRef, suspend);
 		if (thread == null || thread.isIgnoringBreakpoints()) {
 			return;
 		}
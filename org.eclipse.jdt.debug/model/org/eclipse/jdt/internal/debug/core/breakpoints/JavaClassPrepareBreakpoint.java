@@ -216,7 +216,7 @@ public class JavaClassPrepareBreakpoint extends JavaBreakpoint implements
 			if (isEnabled()
 					&& event.referenceType().name().equals(getTypeName())) {
 				ThreadReference threadRef = event.thread();
-				JDIThread thread = target.findThread(threadRef);
+				JDIThread thread = target.findEventThread(threadRef);
 				if (thread == null || thread.isIgnoringBreakpoints()) {
 					return true;
 				}
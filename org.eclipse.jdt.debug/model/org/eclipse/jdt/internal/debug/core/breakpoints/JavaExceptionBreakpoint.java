@@ -134,6 +134,68 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	 */
 	protected String[] fExclusionClassFilters = null;
 
+	/**
+	 * Compiled forms of the current inclusion and exclusion class filters,
+	 * built the first time an exception is matched against them.
+	 */
+	private volatile ClassFilterMatcher fInclusionMatcher = null;
+	private volatile ClassFilterMatcher fExclusionMatcher = null;
+
+	/**
+	 * A set of class filters compiled into a single pattern. A filter matches
+	 * the type names it is a prefix of, where <code>*</code> stands for any
+	 * sequence of characters.
+	 */
+	private static final class ClassFilterMatcher {
+
+		/**
+		 * The filters this matcher was compiled from
+		 */
+		final String[] fFilters;
+
+		/**
+		 * Whether the filters include the default package
+		 */
+		private final boolean fMatchesDefaultPackage;
+
+		/**
+		 * Any of the other filters, or <code>null</code> if there are none
+		 */
+		private final Pattern fPattern;
+
+		ClassFilterMatcher(String[] filters) {
+			fFilters = filters;
+			boolean defaultPackage = false;
+			StringBuilder regex = new StringBuilder();
+			for (String filter : filters) {
+				if (filter.length() == 0) {
+					defaultPackage = true;
+					continue;
+				}
+				if (regex.length() > 0) {
+					regex.append('|');
+				}
+				regex.append("(?:"); //$NON-NLS-1$
+				int start = 0;
+				int star;
+				while ((star = filter.indexOf('*', start)) != -1) {
+					regex.append(Pattern.quote(filter.substring(start, star))).append(".*"); //$NON-NLS-1$
+					start = star + 1;
+				}
+				regex.append(Pattern.quote(filter.substring(start))).append(')');
+			}
+			fMatchesDefaultPackage = defaultPackage;
+			fPattern = regex.length() == 0 ? null : Pattern.compile(regex.toString());
+		}
+
+		boolean matches(String typeName, boolean defaultPackage) {
+			if (defaultPackage && fMatchesDefaultPackage) {
+				return true;
+			}
+			return fPattern != null && fPattern.matcher(typeName).lookingAt();
+		}
+	}
+
 	private ObjectReference fLastException;
 	private JDIDebugTarget fLastTarget;
 
@@ -432,12 +494,12 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 							boolean included = true;
 							String[] filters = jExceptionBreakpoint.getInclusionClassFilters();
 							if (filters.length > 0) {
-								included = matchesFilters(filters, typeName, defaultPackage);
+								included = jExceptionBreakpoint.matchesFilters(filters, typeName, defaultPackage);
 							}
 							boolean excluded = false;
 							filters = jExceptionBreakpoint.getExclusionClassFilters();
 							if (filters.length > 0) {
-								excluded = matchesFilters(filters, typeName, defaultPackage);
+								excluded = jExceptionBreakpoint.matchesFilters(filters, typeName, defaultPackage);
 							}
 							if (included && !excluded) {
 								return !suspend(thread, suspendVote);
@@ -511,7 +573,10 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	}
 
 	/**
-	 * Returns whether the given type is in the given filter set.
+	 * Returns whether the given type is in the given filter set, i.e. whether
+	 * one of the filters is a prefix of the type name, <code>*</code> standing
+	 * for any sequence of characters, or whether the type is in the default
+	 * package and the filters include the empty string.
 	 *
 	 * @param filters
 	 *            the filter set
@@ -523,20 +588,64 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	 */
 	protected boolean matchesFilters(String[] filters, String typeName,
 			boolean defaultPackage) {
-		for (String filter2 : filters) {
-			String filter = filter2;
-			if (defaultPackage && filter.length() == 0) {
-				return true;
-			}
+		return getClassFilterMatcher(filters).matches(typeName, defaultPackage);
+	}
 
-			filter = filter.replaceAll("\\.", "\\\\."); //$NON-NLS-1$//$NON-NLS-2$
-			filter = filter.replaceAll("\\*", "\\.\\*"); //$NON-NLS-1$//$NON-NLS-2$
-			Pattern pattern = Pattern.compile(filter);
-			if (pattern.matcher(typeName).find()) {
-				return true;
+	/**
+	 * Returns the compiled form of the given filters. The current inclusion and
+	 * exclusion class filters are only compiled once.
+	 *
+	 * @param filters
+	 *            the filter set
+	 * @return the compiled filters
+	 */
+	private ClassFilterMatcher getClassFilterMatcher(String[] filters) {
+		ClassFilterMatcher matcher = fInclusionMatcher;
+		if (matcher != null && matcher.fFilters == filters) {
+			return matcher;
+		}
+		matcher = fExclusionMatcher;
+		if (matcher != null && matcher.fFilters == filters) {
+			return matcher;
+		}
+		matcher = new ClassFilterMatcher(filters);
+		if (filters == fInclusionClassFilters) {
+			fInclusionMatcher = matcher;
+		} else if (filters == fExclusionClassFilters) {
+			fExclusionMatcher = matcher;
+		}
+		return matcher;
+	}
+
+	/**
+	 * Returns the class pattern of an exception request that matches the same
+	 * types in the VM as the given filter does in
+	 * {@link #matchesFilters(String[], String, boolean)}, or <code>null</code>
+	 * if a class pattern cannot express the filter. Class patterns of JDWP
+	 * match either exactly or with a single leading or trailing
+	 * <code>*</code>, so only filters without a <code>*</code> other than a
+	 * trailing one can be expressed, as the trailing form of the prefix they
+	 * stand for.
+	 *
+	 * @param filter
+	 *            the class filter
+	 * @return the class pattern for the filter, or <code>null</code>
+	 */
+	protected static String getVMClassFilter(String filter) {
+		int end = filter.length();
+		if (end > 0 && filter.charAt(end - 1) == '*') {
+			end--;
+		}
+		if (end == 0) {
+			return null;
+		}
+		for (int i = 0; i < end; i++) {
+			char c = filter.charAt(i);
+			if (c != '.' && !Character.isJavaIdentifierPart(c)) {
+				return null;
 			}
 		}
-		return false;
+		return filter.substring(0, end) + '*';
 	}
 
 	/**
@@ -607,13 +716,18 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 
 		ExceptionRequest request = (ExceptionRequest) eRequest;
 
-		if (iFilters.length == 1) {
-			if (eFilters.length == 0) {
-				request.addClassFilter(iFilters[0]);
-			}
-		} else if (eFilters.length == 1) {
-			if (iFilters.length == 0) {
-				request.addClassExclusionFilter(eFilters[0]);
+		// Class filters of a request must all be satisfied, so only a single
+		// inclusion filter can be handed to the VM, while every exclusion
+		// filter can. Filters the VM cannot express are matched when the
+		// exception is reported.
+		String vmFilter;
+		if (iFilters.length == 1 && (vmFilter = getVMClassFilter(iFilters[0])) != null) {
+			request.addClassFilter(vmFilter);
+		}
+		for (String filter : eFilters) {
+			vmFilter = getVMClassFilter(filter);
+			if (vmFilter != null) {
+				request.addClassExclusionFilter(vmFilter);
 			}
 		}
 
@@ -689,6 +803,7 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 
 	protected void setInclusionClassFilters(String[] filters) {
 		fInclusionClassFilters = filters;
+		fInclusionMatcher = null;
 	}
 
 	protected String[] getExclusionClassFilters() {
@@ -705,6 +820,7 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 
 	protected void setExclusionClassFilters(String[] filters) {
 		fExclusionClassFilters = filters;
+		fExclusionMatcher = null;
 	}
 
 	/**
@@ -44,21 +44,29 @@ import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.debug.eval.ICompiledExpression;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.debug.core.TargetConditions;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIStackFrame;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+import org.eclipse.jdt.internal.debug.core.model.SimpleCondition;
 
 import com.ibm.icu.text.MessageFormat;
 import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ClassNotLoadedException;
 import com.sun.jdi.ClassNotPreparedException;
+import com.sun.jdi.ClassType;
+import com.sun.jdi.Field;
 import com.sun.jdi.InterfaceType;
+import com.sun.jdi.InvalidTypeException;
 import com.sun.jdi.Location;
 import com.sun.jdi.Method;
 import com.sun.jdi.NativeMethodException;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StringReference;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.Value;
 import com.sun.jdi.event.Event;
 import com.sun.jdi.request.BreakpointRequest;
 import com.sun.jdi.request.EventRequest;
@@ -119,6 +127,13 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 	 */
 	private Map<IDebugTarget, IValue> fConditionValues = new HashMap<>();
 
+	/**
+	 * The last condition parsed as a simple condition, and the result of
+	 * parsing it, <code>null</code> if it is not simple
+	 */
+	private String fParsedCondition;
+	private SimpleCondition fSimpleCondition;
+
 	/**
 	 * Status code indicating that a request to create a breakpoint in a type
 	 * with no line number attributes has occurred.
@@ -312,9 +327,40 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 			requests[i] = createLineBreakpointRequest(location, target);
 			i++;
 		}
+		updateGuard(type, lineNumber);
 		return requests;
 	}
 
+	/**
+	 * Turns the guard woven into the given type for the given line on if all
+	 * line breakpoints on the line have the condition of the guard, and off
+	 * otherwise.
+	 *
+	 * @see TargetConditions
+	 */
+	private void updateGuard(ReferenceType type, int lineNumber) throws CoreException {
+		if (!(type instanceof ClassType)) {
+			return;
+		}
+		Field guard = type.fieldByName(TargetConditions.GUARD_FIELD_PREFIX + lineNumber);
+		Field off = type.fieldByName(TargetConditions.GUARD_OFF_FIELD_PREFIX + lineNumber);
+		if (guard == null || off == null || !type.equals(guard.declaringType()) || !type.equals(off.declaringType())) {
+			return;
+		}
+		try {
+			Value condition = type.getValue(guard);
+			boolean on = condition instanceof StringReference
+					&& ((StringReference) condition).value().equals(TargetConditions.getCondition(getTypeName(), lineNumber));
+			((ClassType) type).setValue(off, type.virtualMachine().mirrorOf(!on));
+		} catch (InvalidTypeException | ClassNotLoadedException e) {
+			JDIDebugPlugin.log(e);
+		} catch (RuntimeException e) {
+			if (!(e instanceof VMDisconnectedException)) {
+				JDIDebugPlugin.log(e);
+			}
+		}
+	}
+
 	/**
 	 * Filter out locations which shouldn't be used for breakpoint creation (like lambda methods)
 	 *
@@ -670,6 +716,44 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		fCompiledExpressions.put(thread, expression);
 	}
 
+	/**
+	 * Returns the condition as a simple condition that can be evaluated
+	 * without the evaluation engine, or <code>null</code> if it is not
+	 * simple.
+	 *
+	 * @param condition
+	 *            the condition of this breakpoint
+	 * @return simple condition or <code>null</code>
+	 */
+	protected synchronized SimpleCondition getSimpleCondition(String condition) {
+		if (!condition.equals(fParsedCondition)) {
+			fSimpleCondition = SimpleCondition.parse(condition);
+			fParsedCondition = condition;
+		}
+		return fSimpleCondition;
+	}
+
+	/**
+	 * Returns the condition of this breakpoint in the postfix form evaluated
+	 * by guards woven into launched Virtual Machines, or <code>null</code> if
+	 * a guard cannot evaluate it. Only enabled conditions that suspend when
+	 * true, compare local variables and literals and have no hit count can be
+	 * evaluated by guards.
+	 *
+	 * @return condition in postfix form or <code>null</code>
+	 * @throws CoreException
+	 *             if unable to access the property on this breakpoint's
+	 *             underlying marker
+	 * @see TargetConditions
+	 */
+	public String getTargetCondition() throws CoreException {
+		if (!hasCondition() || !isConditionSuspendOnTrue() || getHitCount() > 0) {
+			return null;
+		}
+		SimpleCondition condition = getSimpleCondition(getCondition());
+		return condition == null ? null : condition.getPostfix();
+	}
+
 	/**
 	 * Sets the current result value of the conditional expression evaluation
 	 * for this breakpoint in the given target, and returns the previous value
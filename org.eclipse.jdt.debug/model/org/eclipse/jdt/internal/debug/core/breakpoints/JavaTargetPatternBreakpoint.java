@@ -115,7 +115,7 @@ public class JavaTargetPatternBreakpoint extends JavaLineBreakpoint implements
 		// create breakpoint requests for each class currently loaded
 		VirtualMachine vm = target.getVM();
 		if (vm != null) {
-			List<ReferenceType> classes = vm.allClasses();
+			List<ReferenceType> classes = target.getLoadedClasses(referenceTypeName);
 			if (classes != null) {
 				String typeName = null;
 				for(ReferenceType type : classes) {
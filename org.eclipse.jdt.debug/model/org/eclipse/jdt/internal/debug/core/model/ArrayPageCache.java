@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Value;
+
+/**
+ * Cache of the entries of arrays in a debug target, retrieved a page at a
+ * time. Entries are retrieved with one <code>ArrayReference.GetValues</code>
+ * request per page rather than one per entry, and only the pages that are
+ * actually looked at are retrieved, so large arrays can be browsed without
+ * retrieving all of their entries.
+ * <p>
+ * The least recently used pages are evicted once the cache holds its maximum
+ * number of pages. When the pages of an array are accessed in sequence, the
+ * next page is retrieved with the same request. All pages are discarded as
+ * soon as a thread of the target has been resumed or suspended (see
+ * {@link JDIDebugTarget#getStateChangeCount()}).
+ * </p>
+ */
+class ArrayPageCache {
+
+	/**
+	 * Identifies a page of an array.
+	 */
+	private static final class PageKey {
+
+		private final long fArrayId;
+		private final int fPage;
+
+		PageKey(long arrayId, int page) {
+			fArrayId = arrayId;
+			fPage = page;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof PageKey) {
+				PageKey key = (PageKey) obj;
+				return fArrayId == key.fArrayId && fPage == key.fPage;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(fArrayId) * 31 + fPage;
+		}
+	}
+
+	private final JDIDebugTarget fTarget;
+	private final int fPageSize;
+
+	/**
+	 * Pages in least recently used order
+	 */
+	private final LinkedHashMap<PageKey, List<Value>> fPages;
+
+	/**
+	 * The last page retrieved for each array, used to detect sequential
+	 * access. Bounded like the pages.
+	 */
+	private final LinkedHashMap<Long, Integer> fLastPages;
+
+	private int fStateChangeCount;
+
+	/**
+	 * Constructs a cache for the arrays of the given target.
+	 *
+	 * @param target
+	 *            the debug target
+	 * @param pageSize
+	 *            number of entries per page
+	 * @param maxPages
+	 *            maximum number of pages held
+	 */
+	ArrayPageCache(JDIDebugTarget target, int pageSize, final int maxPages) {
+		fTarget = target;
+		fPageSize = Math.max(1, pageSize);
+		fPages = new LinkedHashMap<PageKey, List<Value>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<PageKey, List<Value>> eldest) {
+				return size() > maxPages;
+			}
+		};
+		fLastPages = new LinkedHashMap<Long, Integer>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+				return size() > maxPages;
+			}
+		};
+		fStateChangeCount = target.getStateChangeCount();
+	}
+
+	/**
+	 * @return the number of entries per page
+	 */
+	int getPageSize() {
+		return fPageSize;
+	}
+
+	/**
+	 * Returns the entry at the given index of the given array, retrieving the
+	 * page containing it if needed.
+	 *
+	 * @param array
+	 *            the array
+	 * @param index
+	 *            the index of the entry
+	 * @return the value of the entry
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is outside the array
+	 */
+	synchronized Value getValue(ArrayReference array, int index) {
+		discardIfStale();
+		int length = array.length();
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		long arrayId = array.uniqueID();
+		int page = index / fPageSize;
+		List<Value> values = fPages.get(new PageKey(arrayId, page));
+		if (values == null) {
+			Integer lastPage = fLastPages.get(arrayId);
+			boolean sequential = lastPage != null && lastPage.intValue() == page - 1;
+			int pages = sequential && !fPages.containsKey(new PageKey(arrayId, page + 1)) ? 2 : 1;
+			int first = page * fPageSize;
+			int count = Math.min(pages * fPageSize, length - first);
+			List<Value> retrieved = array.getValues(first, count);
+			for (int i = 0; i < count; i += fPageSize) {
+				fPages.put(new PageKey(arrayId, page + i / fPageSize),
+						retrieved.subList(i, Math.min(i + fPageSize, count)));
+			}
+			values = retrieved.subList(0, Math.min(fPageSize, count));
+		}
+		fLastPages.put(arrayId, page);
+		return values.get(index - page * fPageSize);
+	}
+
+	/**
+	 * Discards the pages of the given array, e.g. when one of its entries has
+	 * been modified.
+	 *
+	 * @param array
+	 *            the array
+	 */
+	synchronized void invalidate(ArrayReference array) {
+		long arrayId = array.uniqueID();
+		Iterator<PageKey> keys = fPages.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().fArrayId == arrayId) {
+				keys.remove();
+			}
+		}
+		fLastPages.remove(arrayId);
+	}
+
+	/**
+	 * Discards all pages.
+	 */
+	synchronized void clear() {
+		fPages.clear();
+		fLastPages.clear();
+	}
+
+	/**
+	 * Discards all pages if a thread of the target has been resumed or
+	 * suspended since they were retrieved.
+	 */
+	private void discardIfStale() {
+		int stateChangeCount = fTarget.getStateChangeCount();
+		if (stateChangeCount != fStateChangeCount) {
+			clear();
+			fStateChangeCount = stateChangeCount;
+		}
+	}
+}
@@ -87,7 +87,7 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 	protected Value retrieveValue() {
 		ArrayReference ar = getArrayReference();
 		if (ar != null) {
-			return ar.getValue(getIndex());
+			return getJavaDebugTarget().getArrayPageCache().getValue(ar, getIndex());
 		}
 		return null;
 	}
@@ -109,6 +109,7 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 					null);
 		}
 		try {
+			getJavaDebugTarget().getArrayPageCache().invalidate(ar);
 			ar.setValue(getIndex(), value);
 			fireChangeEvent(DebugEvent.CONTENT);
 		} catch (ClassNotLoadedException e) {
@@ -96,6 +96,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 	@Override
 	public void setValue(int index, IJavaValue value) throws DebugException {
 		try {
+			getJavaDebugTarget().getArrayPageCache().invalidate(getArrayReference());
 			getArrayReference().setValue(index,
 					((JDIValue) value).getUnderlyingValue());
 		} catch (IndexOutOfBoundsException e) {
@@ -145,7 +146,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 	 */
 	protected Value getUnderlyingValue(int index) throws DebugException {
 		try {
-			return getArrayReference().getValue(index);
+			return getJavaDebugTarget().getArrayPageCache().getValue(getArrayReference(), index);
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
 		} catch (RuntimeException e) {
@@ -269,6 +270,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 			for (IJavaValue value : values) {
 				list.add(((JDIValue) value).getUnderlyingValue());
 			}
+			getJavaDebugTarget().getArrayPageCache().invalidate(getArrayReference());
 			getArrayReference().setValues(offset, list, startOffset, length);
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import org.eclipse.jdi.internal.JdwpCommandMetrics;
+import org.eclipse.jdt.debug.core.IJavaCommandStatistics;
+
+/**
+ * Statistics of one JDWP command, backed by a snapshot of the metrics of the
+ * Virtual Machine.
+ */
+public class JDICommandStatistics implements IJavaCommandStatistics {
+
+	private final JdwpCommandMetrics.Snapshot fSnapshot;
+
+	public JDICommandStatistics(JdwpCommandMetrics.Snapshot snapshot) {
+		fSnapshot = snapshot;
+	}
+
+	@Override
+	public int getCommandSet() {
+		return fSnapshot.getCommand() >>> 8;
+	}
+
+	@Override
+	public int getCommand() {
+		return fSnapshot.getCommand() & 0xff;
+	}
+
+	@Override
+	public String getName() {
+		return fSnapshot.getName();
+	}
+
+	@Override
+	public long getCount() {
+		return fSnapshot.getCount();
+	}
+
+	@Override
+	public long getBytesSent() {
+		return fSnapshot.getBytesSent();
+	}
+
+	@Override
+	public long getBytesReceived() {
+		return fSnapshot.getBytesReceived();
+	}
+
+	@Override
+	public long getTimeoutCount() {
+		return fSnapshot.getTimeoutCount();
+	}
+
+	@Override
+	public long getTotalTime() {
+		return fSnapshot.getTotalTime();
+	}
+
+	@Override
+	public long getLatency(double fraction) {
+		return fSnapshot.getLatency(fraction);
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+}
@@ -51,6 +51,7 @@ public class JDIDebugModelMessages extends NLS {
 	public static String JDIDebugTarget_does_not_support_disconnect;
 	public static String JDIDebugTarget_does_not_support_storage_retrieval;
 	public static String JDIDebugTarget_does_not_support_termination;
+	public static String JDIDebugTarget_exception_detecting_deadlocks;
 	public static String JDIDebugTarget_exception_disconnecting;
 	public static String JDIDebugTarget_exception_resume;
 	public static String JDIDebugTarget_exception_retrieving_version_information;
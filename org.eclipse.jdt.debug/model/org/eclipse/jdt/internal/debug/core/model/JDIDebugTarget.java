@@ -16,17 +16,22 @@
 package org.eclipse.jdt.internal.debug.core.model;
 
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
@@ -63,6 +68,9 @@ import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.JdwpCommandMetrics;
+import org.eclipse.jdi.internal.PendingReply;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -79,6 +87,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaCommandStatistics;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
 import org.eclipse.jdt.debug.core.IJavaThread;
@@ -96,11 +105,10 @@ import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
 
 import com.ibm.icu.text.MessageFormat;
-import com.sun.jdi.ClassType;
+import com.sun.jdi.IncompatibleThreadStateException;
 import com.sun.jdi.InternalException;
-import com.sun.jdi.Location;
-import com.sun.jdi.Method;
 import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadGroupReference;
 import com.sun.jdi.ThreadReference;
@@ -109,7 +117,6 @@ import com.sun.jdi.Value;
 import com.sun.jdi.VirtualMachine;
 import com.sun.jdi.event.Event;
 import com.sun.jdi.event.EventSet;
-import com.sun.jdi.event.LocatableEvent;
 import com.sun.jdi.event.ThreadDeathEvent;
 import com.sun.jdi.event.ThreadStartEvent;
 import com.sun.jdi.event.VMDeathEvent;
@@ -118,6 +125,8 @@ import com.sun.jdi.event.VMStartEvent;
 import com.sun.jdi.request.ClassPrepareRequest;
 import com.sun.jdi.request.EventRequest;
 import com.sun.jdi.request.EventRequestManager;
+import com.sun.jdi.request.ThreadDeathRequest;
+import com.sun.jdi.request.ThreadStartRequest;
 
 /**
  * Debug target for JDI debug model.
@@ -127,13 +136,37 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		IDebugEventSetListener {
 
 	/**
-	 * Threads contained in this debug target. When a thread starts it is added
-	 * to the list. When a thread ends it is removed from the list.
+	 * Threads contained in this debug target by the unique id of their
+	 * underlying thread. When a thread starts it is added to the map. When a
+	 * thread ends it is removed from the map.
 	 *
-	 * TODO investigate making this a synchronized collection, to remove all this copying
-	 * @see #getThreadIterator()
+	 * @see #findThread(ThreadReference)
 	 */
-	private List<JDIThread> fThreads;
+	private final Map<Long, JDIThread> fThreads = new ConcurrentHashMap<>();
+
+	/**
+	 * Threads contained in this debug target in the order they were added,
+	 * used to build {@link #fThreadSnapshot}. Access is synchronized on this
+	 * map, which also serializes changes to {@link #fThreads}.
+	 */
+	private final Map<Long, JDIThread> fThreadOrder = new LinkedHashMap<>();
+
+	/**
+	 * Immutable list of the threads contained in this debug target, or
+	 * <code>null</code> when threads have been added or removed since it was
+	 * built.
+	 *
+	 * @see #getThreadSnapshot()
+	 */
+	private volatile List<JDIThread> fThreadSnapshot = Collections.emptyList();
+
+	/**
+	 * Threads whose properties have not been retrieved yet. They are retrieved
+	 * together the first time a property of any of them is read.
+	 *
+	 * @see #initializePendingThreads()
+	 */
+	private final Set<JDIThread> fPendingThreads = new LinkedHashSet<>();
 
 	/**
 	 * List of thread groups in this target.
@@ -213,6 +246,35 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private ThreadStartHandler fThreadStartHandler;
 
+	/**
+	 * The thread death event handler
+	 */
+	private ThreadDeathHandler fThreadDeathHandler;
+
+	/**
+	 * Whether virtual threads are only represented once they are suspended at
+	 * an event or explicitly asked for, rather than from their start.
+	 *
+	 * @see JDIDebugModel#PREF_SCALABLE_VIRTUAL_THREADS
+	 * @see #materializeThread(ThreadReference, boolean)
+	 */
+	private boolean fScalableVirtualThreads;
+
+	/**
+	 * Lock ensuring a virtual thread is only represented once
+	 */
+	private final Object fMaterializeLock = new Object();
+
+	/**
+	 * Model threads of the virtual threads reporting the events being
+	 * handled, which are not represented yet. They are only added to this
+	 * target if the events suspend them.
+	 *
+	 * @see #findEventThread(ThreadReference)
+	 * @see #completeEventThread(ThreadReference, boolean)
+	 */
+	private final Map<ThreadReference, JDIThread> fEventThreads = new ConcurrentHashMap<>();
+
 	/**
 	 * Handles changes in thread names, detected via a breakpoint in {@link java.lang.Thread#setName(String)}.
 	 */
@@ -238,6 +300,23 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private int fSuspendCount;
 
+	/**
+	 * Count of the number of times a thread in this target has been resumed or
+	 * suspended, including for implicit evaluations
+	 */
+	private final AtomicInteger fStateChangeCount = new AtomicInteger();
+
+	/**
+	 * Maximum number of array pages held by the array page cache
+	 */
+	private static final int MAX_ARRAY_PAGES = 64;
+
+	/**
+	 * Cache of the array entries retrieved from this target, created on
+	 * initialization
+	 */
+	private ArrayPageCache fArrayPageCache;
+
 	/**
 	 * Evaluation engine cache by Java project. Engines are disposed when this
 	 * target terminates.
@@ -367,7 +446,6 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		setName(name);
 		prepareBreakpointsSearchScope();
 		setBreakpoints(new ArrayList<>(5));
-		setThreadList(new ArrayList<>());
 		fGroups = new ArrayList<>(5);
 		setOutOfSynchTypes(new ArrayList<>(0));
 		setHCROccurred(false);
@@ -445,31 +523,112 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	/**
 	 * Returns an iterator over the collection of threads. The returned iterator
-	 * is made on a copy of the thread list so that it is thread safe. This
-	 * method should always be used instead of getThreadList().iterator()
+	 * is made on a snapshot of the threads so that it is thread safe. This
+	 * method should always be used to iterate the threads of this target.
 	 *
 	 * @return an iterator over the collection of threads
 	 */
 	private Iterator<JDIThread> getThreadIterator() {
-		List<JDIThread> threadList;
-		synchronized (fThreads) {
-			//TODO investigate making fThreads be a synchronized collection, to remove all this copying
-			threadList = new ArrayList<>(fThreads);
+		return getThreadSnapshot().iterator();
+	}
+
+	/**
+	 * Returns an immutable snapshot of the threads contained in this debug
+	 * target, in the order they were added. The snapshot is shared until
+	 * threads are added or removed.
+	 *
+	 * @return the threads contained in this target
+	 */
+	private List<JDIThread> getThreadSnapshot() {
+		List<JDIThread> snapshot = fThreadSnapshot;
+		if (snapshot != null) {
+			return snapshot;
+		}
+		synchronized (fThreadOrder) {
+			snapshot = fThreadSnapshot;
+			if (snapshot == null) {
+				snapshot = Collections.unmodifiableList(new ArrayList<>(fThreadOrder.values()));
+				fThreadSnapshot = snapshot;
+			}
+			return snapshot;
 		}
-		return threadList.iterator();
 	}
 
 	/**
-	 * Sets the list of threads contained in this debug target. Set to an empty
-	 * collection on creation. Threads are added and removed as they start and
-	 * end. On termination this collection is set to the immutable singleton
-	 * empty list.
+	 * Adds the given thread to the threads contained in this debug target.
 	 *
-	 * @param threads
-	 *            empty list
+	 * @param thread
+	 *            the thread to add
+	 */
+	private void addThread(JDIThread thread) {
+		Long id = Long.valueOf(thread.getUnderlyingThread().uniqueID());
+		synchronized (fThreadOrder) {
+			fThreadOrder.put(id, thread);
+			fThreads.put(id, thread);
+			fThreadSnapshot = null;
+		}
+	}
+
+	/**
+	 * Removes the given thread from the threads contained in this debug
+	 * target, unless it has already been replaced by another thread with the
+	 * same id.
+	 *
+	 * @param thread
+	 *            the thread to remove
+	 */
+	private void removeThread(JDIThread thread) {
+		Long id = Long.valueOf(thread.getUnderlyingThread().uniqueID());
+		synchronized (fThreadOrder) {
+			if (fThreads.remove(id, thread)) {
+				fThreadOrder.remove(id);
+				fThreadSnapshot = null;
+			}
+		}
+		synchronized (fPendingThreads) {
+			fPendingThreads.remove(thread);
+		}
+	}
+
+	/**
+	 * Retrieves the properties of all threads whose properties have not been
+	 * retrieved yet, sharing the results that are common to several of them.
 	 */
-	private void setThreadList(List<JDIThread> threads) {
-		fThreads = threads;
+	void initializePendingThreads() {
+		List<JDIThread> threads;
+		synchronized (fPendingThreads) {
+			if (fPendingThreads.isEmpty()) {
+				return;
+			}
+			threads = new ArrayList<>(fPendingThreads);
+			fPendingThreads.clear();
+		}
+		JDIThread.PropertyCache cache = new JDIThread.PropertyCache();
+		for (JDIThread thread : threads) {
+			initializeThread(thread, cache);
+		}
+	}
+
+	/**
+	 * Retrieves the properties of the given thread, unless that has already
+	 * been done. A thread that turns out to have been garbage collected is
+	 * removed from this target and terminated, as it would not have been
+	 * created had its properties been retrieved on creation.
+	 *
+	 * @param thread
+	 *            the thread whose properties to retrieve
+	 * @param cache
+	 *            results shared with the other threads initialized at the
+	 *            same time
+	 */
+	void initializeThread(JDIThread thread, JDIThread.PropertyCache cache) {
+		try {
+			thread.initializeProperties(cache);
+		} catch (ObjectCollectedException e) {
+			// the thread has already completed (exited) in the VM
+			removeThread(thread);
+			thread.terminated();
+		}
 	}
 
 	/**
@@ -547,6 +706,16 @@ public class JDIDebugTarget extends JDIDebugElement implements
 				JDIDebugModel.PREF_REQUEST_TIMEOUT,
 				JDIDebugModel.DEF_REQUEST_TIMEOUT,
 				null));
+		fArrayPageCache = new ArrayPageCache(this, Platform.getPreferencesService().getInt(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugModel.PREF_ARRAY_PAGE_SIZE,
+				JDIDebugModel.DEF_ARRAY_PAGE_SIZE,
+				null), MAX_ARRAY_PAGES);
+		fScalableVirtualThreads = Platform.getPreferencesService().getBoolean(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugModel.PREF_SCALABLE_VIRTUAL_THREADS,
+				false,
+				null);
 		initializeRequests();
 		initializeState();
 		initializeBreakpoints();
@@ -610,7 +779,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	protected void initializeRequests() {
 		setThreadStartHandler(new ThreadStartHandler());
 		setThreadNameChangeHandler(new ThreadNameChangeHandler());
-		new ThreadDeathHandler();
+		fThreadDeathHandler = new ThreadDeathHandler();
 	}
 
 	/**
@@ -641,15 +810,34 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return model thread
 	 */
 	protected JDIThread createThread(ThreadReference thread) {
-		JDIThread jdiThread = newThread(thread);
+		return addCreatedThread(newThread(thread));
+	}
+
+	/**
+	 * Creates, adds and returns a thread for the given underlying thread
+	 * reference, which is known to be running, such as a thread that has just
+	 * started. A creation event is fired for the thread. Returns
+	 * <code>null</code> if during the creation of the thread this target is
+	 * set to the disconnected state.
+	 *
+	 * @param thread
+	 *            underlying thread, which is running
+	 * @return model thread
+	 */
+	protected JDIThread createStartedThread(ThreadReference thread) {
+		return addCreatedThread(newStartedThread(thread));
+	}
+
+	private JDIThread addCreatedThread(JDIThread jdiThread) {
 		if (jdiThread == null) {
 			return null;
 		}
 		if (isDisconnected()) {
 			return null;
 		}
-		synchronized (fThreads) {
-			fThreads.add(jdiThread);
+		addThread(jdiThread);
+		synchronized (fPendingThreads) {
+			fPendingThreads.add(jdiThread);
 		}
 		jdiThread.fireCreationEvent();
 		return jdiThread;
@@ -673,25 +861,37 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return null;
 	}
 
+	/**
+	 * Factory method for creating threads that are known to be running.
+	 * Creates and returns a new running thread object for the underlying
+	 * thread reference, without communicating with the VM.
+	 *
+	 * @param reference
+	 *            thread reference of a running thread
+	 * @return JDI model thread
+	 */
+	protected JDIThread newStartedThread(ThreadReference reference) {
+		return new JDIThread(this, reference, true);
+	}
+
 	@Override
 	public IThread[] getThreads() {
-		synchronized (fThreads) {
-			IThread[] threads = new IThread[fThreads.size()];
-			int index = 0;
-			for (JDIThread thread : fThreads) {
-				if (!thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
+		List<JDIThread> snapshot = getThreadSnapshot();
+		IThread[] threads = new IThread[snapshot.size()];
+		int index = 0;
+		for (JDIThread thread : snapshot) {
+			if (!thread.isSystemThread()) {
+				threads[index] = thread;
+				++index;
 			}
-			for (JDIThread thread : fThreads) {
-				if (thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
+		}
+		for (JDIThread thread : snapshot) {
+			if (thread.isSystemThread()) {
+				threads[index] = thread;
+				++index;
 			}
-			return threads;
 		}
+		return threads;
 	}
 
 	@Override
@@ -912,6 +1112,35 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return fVirtualMachine;
 	}
 
+	/**
+	 * Returns the types loaded in the underlying virtual machine whose fully
+	 * qualified name starts with the given prefix. The types are looked up in
+	 * the class index of the virtual machine when available, rather than
+	 * retrieving all loaded types from it.
+	 *
+	 * @param namePrefix
+	 *            prefix of the fully qualified names, or an empty string for
+	 *            all loaded types
+	 * @return the loaded types whose name starts with the prefix, or an empty
+	 *         list if disconnected/terminated
+	 */
+	public List<ReferenceType> getLoadedClasses(String namePrefix) {
+		VirtualMachine vm = getVM();
+		if (vm instanceof VirtualMachineImpl) {
+			return ((VirtualMachineImpl) vm).classIndex().classesByNamePrefix(namePrefix);
+		}
+		if (vm == null) {
+			return Collections.emptyList();
+		}
+		List<ReferenceType> classes = new ArrayList<>();
+		for (ReferenceType type : vm.allClasses()) {
+			if (type.name().startsWith(namePrefix)) {
+				classes.add(type);
+			}
+		}
+		return classes;
+	}
+
 	/**
 	 * Sets the underlying VM associated with this debug target. Set on
 	 * creation.
@@ -1038,16 +1267,187 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return the associated model thread
 	 */
 	public JDIThread findThread(ThreadReference tr) {
-		Iterator<JDIThread> iter = getThreadIterator();
-		while (iter.hasNext()) {
-			JDIThread thread = iter.next();
-			if (thread.getUnderlyingThread().equals(tr)) {
-				return thread;
-			}
+		if (tr == null) {
+			return null;
+		}
+		JDIThread thread = fThreads.get(Long.valueOf(tr.uniqueID()));
+		// ids are only unique within a VM
+		if (thread != null && thread.getUnderlyingThread().equals(tr)) {
+			return thread;
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the model thread associated with the given underlying thread
+	 * reference. When virtual threads are only represented once needed, a
+	 * model thread is created for a virtual thread that is not represented
+	 * yet, such as a virtual thread reporting an event or a virtual thread
+	 * the user asked to see. Returns <code>null</code> if there is no such
+	 * thread.
+	 *
+	 * @param tr
+	 *            the underlying thread reference
+	 * @param atEvent
+	 *            whether the thread is reporting an event that is being
+	 *            handled, in which case it is represented as running until
+	 *            the event suspends it, rather than retrieving its state
+	 * @return the associated model thread
+	 */
+	public JDIThread materializeThread(ThreadReference tr, boolean atEvent) {
+		JDIThread thread = findThread(tr);
+		if (thread != null || !isUnrepresentedVirtualThread(tr)) {
+			return thread;
+		}
+		synchronized (fMaterializeLock) {
+			// the thread may be asked for by the event dispatcher and a user
+			// at the same time
+			thread = findThread(tr);
+			if (thread == null) {
+				thread = atEvent ? createStartedThread(tr) : createThread(tr);
+				watchVirtualThread(thread);
+			}
+		}
+		return thread;
+	}
+
+	/**
+	 * Returns the model thread associated with the given underlying thread
+	 * reference, which reports an event that is being handled. When virtual
+	 * threads are only represented once needed, a model thread is returned
+	 * for a virtual thread that is not represented yet, without adding it to
+	 * this target. It is only added if the event suspends it, once the event
+	 * set has been handled. Returns <code>null</code> if there is no such
+	 * thread.
+	 *
+	 * @param tr
+	 *            the underlying thread reference
+	 * @return the associated model thread
+	 * @see #completeEventThread(ThreadReference, boolean)
+	 */
+	public JDIThread findEventThread(ThreadReference tr) {
+		JDIThread thread = findThread(tr);
+		if (thread != null || tr == null || !fScalableVirtualThreads) {
+			return thread;
+		}
+		thread = fEventThreads.get(tr);
+		if (thread != null || !isUnrepresentedVirtualThread(tr)) {
+			return thread;
+		}
+		thread = new JDIThread(this, tr, true);
+		JDIThread previous = fEventThreads.putIfAbsent(tr, thread);
+		return previous != null ? previous : thread;
+	}
+
+	/**
+	 * Called once the event set reported by the given underlying thread has
+	 * been handled. The model thread of a virtual thread that was not
+	 * represented when the event was handled is added to this target if it
+	 * suspends, and dropped otherwise.
+	 *
+	 * @param tr
+	 *            the underlying thread reference
+	 * @param suspend
+	 *            whether the thread suspends
+	 * @return the associated model thread, or <code>null</code> if the thread
+	 *         is not represented
+	 * @see #findEventThread(ThreadReference)
+	 */
+	public JDIThread completeEventThread(ThreadReference tr, boolean suspend) {
+		JDIThread thread = findThread(tr);
+		if (thread != null || tr == null) {
+			return thread;
+		}
+		JDIThread eventThread = fEventThreads.remove(tr);
+		if (eventThread == null || !suspend) {
+			return null;
+		}
+		synchronized (fMaterializeLock) {
+			thread = findThread(tr);
+			if (thread == null) {
+				thread = addCreatedThread(eventThread);
+				watchVirtualThread(thread);
+			}
+		}
+		return thread;
+	}
+
+	/**
+	 * Returns whether the given thread is a virtual thread that is only
+	 * represented once needed, and is not represented yet.
+	 */
+	private boolean isUnrepresentedVirtualThread(ThreadReference tr) {
+		if (tr == null || !fScalableVirtualThreads) {
+			return false;
+		}
+		try {
+			return tr.isVirtual();
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Reports the death of the given newly represented virtual thread.
+	 */
+	private void watchVirtualThread(JDIThread thread) {
+		ThreadDeathHandler deathHandler = fThreadDeathHandler;
+		if (thread != null && deathHandler != null) {
+			deathHandler.watchVirtualThread(thread);
+		}
+	}
+
+	/**
+	 * Returns whether virtual threads are only represented in this target once
+	 * they are suspended at an event or explicitly asked for.
+	 *
+	 * @return whether virtual threads are represented on demand
+	 * @see #materializeThread(ThreadReference, boolean)
+	 */
+	public boolean isScalableVirtualThreads() {
+		return fScalableVirtualThreads;
+	}
+
+	/**
+	 * Returns the represented virtual threads of this target grouped by the
+	 * platform thread that carries them. Virtual threads that are not mounted
+	 * on a carrier thread are grouped under the <code>null</code> key.
+	 *
+	 * @return the virtual threads by carrier thread
+	 */
+	public Map<JDIThread, List<JDIThread>> getVirtualThreadsByCarrier() {
+		Map<JDIThread, List<JDIThread>> groups = new LinkedHashMap<>();
+		for (JDIThread thread : getThreadSnapshot()) {
+			if (thread.isVirtual()) {
+				groups.computeIfAbsent(thread.getCarrierThread(), carrier -> new ArrayList<>()).add(thread);
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Returns the represented virtual threads of this target grouped by their
+	 * status, one of the <code>ThreadReference.THREAD_STATUS_*</code>
+	 * constants.
+	 *
+	 * @return the virtual threads by status
+	 */
+	public Map<Integer, List<JDIThread>> getVirtualThreadsByStatus() {
+		Map<Integer, List<JDIThread>> groups = new TreeMap<>();
+		for (JDIThread thread : getThreadSnapshot()) {
+			if (thread.isVirtual()) {
+				int status;
+				try {
+					status = thread.getUnderlyingThread().status();
+				} catch (RuntimeException e) {
+					status = ThreadReference.THREAD_STATUS_UNKNOWN;
+				}
+				groups.computeIfAbsent(Integer.valueOf(status), key -> new ArrayList<>()).add(thread);
+			}
+		}
+		return groups;
+	}
+
 	@Override
 	public String getName() throws DebugException {
 		if (fName == null) {
@@ -1853,6 +2253,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		removeAllBreakpoints();
 		DebugPlugin.getDefault().getBreakpointManager().enableTriggerPoints(null, true);
 		fOutOfSynchTypes.clear();
+		getArrayPageCache().clear();
 		if (fEngines != null) {
 			Iterator<IAstEvaluationEngine> engines = fEngines.values().iterator();
 			while (engines.hasNext()) {
@@ -1864,6 +2265,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 		fVirtualMachine = null;
 		setThreadStartHandler(null);
+		fThreadDeathHandler = null;
 		setEventDispatcher(null);
 		setStepFilters(new String[0]);
 		fHCRListeners.clear();
@@ -1882,9 +2284,15 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			JDIThread child = itr.next();
 			child.terminated();
 		}
-		synchronized (fThreads) {
+		synchronized (fThreadOrder) {
+			fThreadOrder.clear();
 			fThreads.clear();
+			fThreadSnapshot = null;
 		}
+		synchronized (fPendingThreads) {
+			fPendingThreads.clear();
+		}
+		fEventThreads.clear();
 	}
 
 	/**
@@ -2040,7 +2448,13 @@ public class JDIDebugTarget extends JDIDebugElement implements
 						JDIDebugModelMessages.JDIDebugTarget_Unable_to_retrieve_types___VM_disconnected__4,
 						new VMDisconnectedException());
 			}
-			List<ReferenceType> classes = vm.classesByName(name);
+			List<ReferenceType> classes;
+			if (vm instanceof VirtualMachineImpl) {
+				// cached until a type with the name is prepared or unloaded
+				classes = ((VirtualMachineImpl) vm).classIndex().lookup(name);
+			} else {
+				classes = vm.classesByName(name);
+			}
 			if (classes.size() == 0) {
 				switch (name.charAt(0)) {
 				case 'b':
@@ -2235,7 +2649,11 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			EventRequestManager manager = getEventRequestManager();
 			if (manager != null) {
 				try {
-					EventRequest req = manager.createThreadStartRequest();
+					ThreadStartRequest req = manager.createThreadStartRequest();
+					if (fScalableVirtualThreads) {
+						// virtual threads are represented once needed
+						req.addPlatformThreadsOnlyFilter();
+					}
 					req.setSuspendPolicy(EventRequest.SUSPEND_NONE);
 					req.enable();
 					addJDIEventListener(this, req);
@@ -2250,8 +2668,6 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		 * Creates a model thread for the underlying JDI thread and adds it to
 		 * the collection of threads for this debug target. As a side effect of
 		 * creating the thread, a create event is fired for the model thread.
-		 * The event is ignored if the underlying thread is already marked as
-		 * collected.
 		 *
 		 * @param event
 		 *            a thread start event
@@ -2263,22 +2679,17 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		public boolean handleEvent(Event event, JDIDebugTarget target,
 				boolean suspendVote, EventSet eventSet) {
 			ThreadReference thread = ((ThreadStartEvent) event).thread();
-			try {
-				// https://bugs.eclipse.org/bugs/show_bug.cgi?id=443727
-				// the backing ThreadReference could be read in as null
-				if (thread == null || thread.isCollected()) {
-					return false;
-				}
-			} catch (VMDisconnectedException exception) {
-				return false;
-			} catch (ObjectCollectedException e) {
+			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=443727
+			// the backing ThreadReference could be read in as null
+			if (thread == null) {
 				return false;
-			} catch (TimeoutException e) {
-				// continue - attempt to create the thread
 			}
+			// Nothing is retrieved from the VM here, so that threads starting
+			// together are not held up. A thread that has already ended
+			// is removed when its death event is handled.
 			JDIThread jdiThread = findThread(thread);
 			if (jdiThread == null) {
-				jdiThread = createThread(thread);
+				jdiThread = createStartedThread(thread);
 				if (jdiThread == null) {
 					return false;
 				}
@@ -2320,9 +2731,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	class ThreadDeathHandler implements IJDIEventListener {
 
-		// terminated threads marked for removal from the fThreads list
+		// terminated threads marked for removal from the fThreads map
 		private Map<Event, JDIThread> toRemove = Collections.synchronizedMap(new HashMap<>());
 
+		// death requests of the represented virtual threads
+		private Map<JDIThread, EventRequest> fVirtualThreadRequests = new ConcurrentHashMap<>();
+
 		protected ThreadDeathHandler() {
 			createRequest();
 		}
@@ -2334,7 +2748,11 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			EventRequestManager manager = getEventRequestManager();
 			if (manager != null) {
 				try {
-					EventRequest req = manager.createThreadDeathRequest();
+					ThreadDeathRequest req = manager.createThreadDeathRequest();
+					if (fScalableVirtualThreads) {
+						// virtual threads are watched once represented
+						req.addPlatformThreadsOnlyFilter();
+					}
 					req.setSuspendPolicy(EventRequest.SUSPEND_NONE);
 					req.enable();
 					addJDIEventListener(this, req);
@@ -2344,6 +2762,58 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			}
 		}
 
+		/**
+		 * Creates and registers a request to listen to the death of the given
+		 * virtual thread, which is not reported by the request for platform
+		 * threads when virtual threads are only represented once needed.
+		 *
+		 * @param thread
+		 *            a represented virtual thread
+		 */
+		protected void watchVirtualThread(JDIThread thread) {
+			if (!fScalableVirtualThreads || fVirtualThreadRequests.containsKey(thread)) {
+				return;
+			}
+			EventRequestManager manager = getEventRequestManager();
+			if (manager != null) {
+				try {
+					ThreadDeathRequest req = manager.createThreadDeathRequest();
+					req.addThreadFilter(thread.getUnderlyingThread());
+					req.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+					req.enable();
+					addJDIEventListener(this, req);
+					fVirtualThreadRequests.put(thread, req);
+				} catch (RuntimeException e) {
+					logError(e);
+				}
+			}
+		}
+
+		/**
+		 * Deletes the request listening to the death of the given virtual
+		 * thread, if any.
+		 *
+		 * @param thread
+		 *            a virtual thread that has terminated
+		 */
+		private void unwatchVirtualThread(JDIThread thread) {
+			EventRequest request = fVirtualThreadRequests.remove(thread);
+			if (request == null) {
+				return;
+			}
+			removeJDIEventListener(this, request);
+			EventRequestManager manager = getEventRequestManager();
+			if (manager != null) {
+				try {
+					manager.deleteEventRequest(request);
+				} catch (VMDisconnectedException e) {
+					// ignore disconnect
+				} catch (RuntimeException e) {
+					logError(e);
+				}
+			}
+		}
+
 		/**
 		 * Locates the model thread associated with the underlying JDI thread that has terminated, and marks it for removal from the collection of
 		 * threads belonging to this debug target. A terminate event is fired for the model thread.
@@ -2383,179 +2853,175 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
 			JDIThread thread = toRemove.remove(event);
 			if (thread != null) {
-				synchronized (fThreads) {
-					fThreads.remove(thread);
-				}
+				removeThread(thread);
+				unwatchVirtualThread(thread);
 			}
 		}
 
 	}
 
 	/**
-	 * Triggers updates on a thread when {@link java.lang.Thread#setName(String)} is called on that thread, in the target JVM.
+	 * Triggers updates on threads whose name changed in the target JVM, for
+	 * instance by {@link java.lang.Thread#setName(String)}. Rather than
+	 * listening to every rename, the names of the running threads that were
+	 * recently displayed are periodically re-read and changes are notified in
+	 * a single event set, so that renaming threads causes no event traffic.
+	 * The names of all polled threads are requested before any reply is
+	 * waited for. Polling stops while no such thread exists, such as while
+	 * the VM is suspended, and resumes once the name of a thread is read.
 	 */
-	class ThreadNameChangeHandler implements IJDIEventListener {
+	class ThreadNameChangeHandler extends Job {
 
 		/**
 		 * Environment variable that can be passed down to Eclipse, to disable this listener.
 		 */
 		private static final String DISABLE_THREAD_NAME_CHANGE_LISTENER = "org.eclipse.jdt.internal.debug.core.model.ThreadNameChangeListener.disable"; //$NON-NLS-1$
-		private static final String TYPE_NAME = "java.lang.Thread"; //$NON-NLS-1$
-		private static final String METHOD_NAME = "setName"; //$NON-NLS-1$
-		private static final String METHOD_SIGNATURE = "(Ljava/lang/String;)V"; //$NON-NLS-1$
 
-		private EventRequest request;
-		private ThreadChangeNotifierJob notfierJob;
+		/**
+		 * Delay between two polls of the thread names, in milliseconds.
+		 */
+		private static final long POLL_INTERVAL = 500;
+
+		/**
+		 * Maximum number of displayed threads whose names are re-read per poll.
+		 */
+		private static final int MAX_POLLED_THREADS = 100;
+
+		/**
+		 * Time after which a thread whose name has not been read again is no
+		 * longer considered displayed, in milliseconds.
+		 */
+		private static final long DISPLAY_EXPIRY = 30000;
+
+		private volatile boolean fStopped;
+
+		/**
+		 * Whether no poll is scheduled, as there was no thread to poll
+		 */
+		private final AtomicBoolean fIdle = new AtomicBoolean(true);
 
 		ThreadNameChangeHandler() {
+			super(JDIDebugModelMessages.JDIDebugTarget_ThreadNameNotifier);
+			setSystem(true);
+			setPriority(Job.DECORATE);
 			String disableListenerSystemProperty = System.getProperty(DISABLE_THREAD_NAME_CHANGE_LISTENER);
-			boolean isDisabled = String.valueOf(Boolean.TRUE).equals(disableListenerSystemProperty);
-			if (!isDisabled) {
-				createRequest();
-				notfierJob = new ThreadChangeNotifierJob();
-			}
+			fStopped = String.valueOf(Boolean.TRUE).equals(disableListenerSystemProperty);
+		}
+
+		void deleteRequest() {
+			fStopped = true;
+			cancel();
 		}
 
 		/**
-		 * Creates a breakpoint request at {@link java.lang.Thread#setName(String)} that doesn't suspend the target JVM.
+		 * Schedules a poll, unless one is already scheduled. Called when the
+		 * name of a thread is read.
 		 */
-		void createRequest() {
-			EventRequestManager manager = getEventRequestManager();
-			if (manager != null) {
-				try {
-					Location location = locationOfSetNameMethod();
-					if (location != null) {
-						request = manager.createBreakpointRequest(location);
-						request.setSuspendPolicy(EventRequest.SUSPEND_NONE);
-						request.enable();
-						addJDIEventListener(this, request);
-					}
-				} catch (RuntimeException e) {
-					String errorMessage = "Failed to add thread name change listener to debug target " + JDIDebugTarget.this; //$NON-NLS-1$
-					IStatus errorStatus = new Status(IStatus.ERROR, JDIDebugPlugin.getUniqueIdentifier(), errorMessage, e);
-					logRequestStatus(errorStatus);
-				}
+		void wake() {
+			if (!fStopped && fIdle.compareAndSet(true, false)) {
+				schedule(POLL_INTERVAL);
 			}
 		}
 
-		private Location locationOfSetNameMethod() {
-			List<ReferenceType> types = jdiClassesByName(TYPE_NAME);
-			boolean foundThreadType = false;
-			for (ReferenceType type : types) {
-				if (type instanceof ClassType) {
-					foundThreadType = true;
-					Method method = ((ClassType) type).concreteMethodByName(METHOD_NAME, METHOD_SIGNATURE);
-					if (method != null && !method.isNative()) {
-						Location location = method.location();
-						if (location != null && location.codeIndex() != -1) {
-							return location;
-						}
-						logRequestWarning("Unable to find location of java.lang.Thread.setName() in debuggee JVM, for type " + type); //$NON-NLS-1$
-					} else {
-						logRequestWarning("Unable to find java.lang.Thread.setName() method in debuggee JVM, for type " + type); //$NON-NLS-1$
-					}
+		/**
+		 * Returns the running threads whose name was read within the last
+		 * {@link #DISPLAY_EXPIRY} milliseconds, most recent first, at most
+		 * {@link #MAX_POLLED_THREADS}.
+		 *
+		 * @return the displayed threads
+		 */
+		private List<JDIThread> getDisplayedThreads() {
+			List<JDIThread> displayed = new ArrayList<>();
+			if (JDIDebugTarget.this.isSuspended()) {
+				// names do not change while the VM is suspended
+				return displayed;
+			}
+			long expired = System.currentTimeMillis() - DISPLAY_EXPIRY;
+			for (JDIThread thread : getThreadSnapshot()) {
+				if (thread.getNameReadTime() > expired && !thread.isTerminated() && !thread.isSuspended()) {
+					displayed.add(thread);
 				}
 			}
-			if (!foundThreadType) {
-				logRequestWarning("Unable to find type java.lang.Thread.setName() in debuggee JVM"); //$NON-NLS-1$
-			}
-			return null;
-		}
-
-		void deleteRequest() {
-			if (request != null) {
-				removeJDIEventListener(this, request);
-			}
-			if (notfierJob != null) {
-				notfierJob.stop();
+			if (displayed.size() > MAX_POLLED_THREADS) {
+				displayed.sort((t1, t2) -> Long.compare(t2.getNameReadTime(), t1.getNameReadTime()));
+				return displayed.subList(0, MAX_POLLED_THREADS);
 			}
+			return displayed;
 		}
 
 		@Override
-		public boolean handleEvent(Event event, JDIDebugTarget target, boolean suspend, EventSet eventSet) {
-			ThreadReference ref = ((LocatableEvent) event).thread();
-			JDIThread thread = findThread(ref);
-			if (thread == null) {
-				thread = target.findThread(ref);
+		protected IStatus run(IProgressMonitor monitor) {
+			List<JDIThread> threads = getDisplayedThreads();
+			// send all requests before waiting for any reply
+			List<PendingReply<String>> replies = new ArrayList<>(threads.size());
+			for (JDIThread thread : threads) {
+				replies.add(thread.requestPolledName());
 			}
-			if (thread != null) {
-				// trigger updates on the thread
-				notfierJob.notifyAboutChange(thread);
+			List<DebugEvent> events = new ArrayList<>();
+			try {
+				for (int i = 0; i < threads.size(); i++) {
+					if (monitor.isCanceled() || fStopped) {
+						return Status.CANCEL_STATUS;
+					}
+					JDIThread thread = threads.get(i);
+					PendingReply<String> reply = replies.get(i);
+					replies.set(i, null);
+					if (reply == null ? thread.pollNameChange() : thread.pollNameChange(reply)) {
+						events.add(new DebugEvent(thread, DebugEvent.CHANGE, DebugEvent.STATE));
+					}
+				}
+			} finally {
+				for (PendingReply<String> reply : replies) {
+					if (reply != null) {
+						reply.cancel();
+					}
+				}
 			}
-			// we never suspend the thread
-			return true;
-		}
-
-		@Override
-		public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
-			// nothing to do here, we do work in handleEvent
-		}
-
-		private void logRequestWarning(String warningMessage) {
-			IStatus warningStatus = new Status(IStatus.WARNING, JDIDebugPlugin.getUniqueIdentifier(), warningMessage);
-			logRequestStatus(warningStatus);
-		}
-
-		private void logRequestStatus(IStatus status) {
-			if (isAvailable()) {
-				JDIDebugPlugin.log(status);
+			if (!events.isEmpty()) {
+				DebugPlugin.getDefault().fireDebugEventSet(events.toArray(new DebugEvent[events.size()]));
 			}
-		}
-	}
-
-	/**
-	 * Job to throttle thread name change events notification.
-	 */
-	class ThreadChangeNotifierJob extends Job {
-
-		private final LinkedHashSet<JDIThread> queue;
-
-		public ThreadChangeNotifierJob() {
-			super(JDIDebugModelMessages.JDIDebugTarget_ThreadNameNotifier);
-			setSystem(true);
-			setPriority(Job.DECORATE);
-			queue = new LinkedHashSet<>();
-		}
-
-		public void notifyAboutChange(JDIThread thread) {
-			synchronized (queue) {
-				if (queue.add(thread)) {
-					// if there are too many threads changing names, they may slow down debugger
-					int delay = Math.min(1000, 300 * queue.size());
-					schedule(delay);
+			if (fStopped) {
+				return Status.OK_STATUS;
+			}
+			if (!threads.isEmpty()) {
+				schedule(POLL_INTERVAL);
+			} else {
+				fIdle.set(true);
+				// a name may have been read since the threads were collected
+				if (!getDisplayedThreads().isEmpty()) {
+					wake();
 				}
 			}
+			return Status.OK_STATUS;
 		}
 
-		void stop() {
-			synchronized (queue) {
-				queue.clear();
-			}
-			cancel();
+		@Override
+		public boolean shouldRun() {
+			return !fStopped && isAvailable();
 		}
 
 		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			DebugEvent[] events;
-			synchronized (queue) {
-				events = queue.stream().map(t -> new DebugEvent(t, DebugEvent.CHANGE, DebugEvent.STATE)).toArray(DebugEvent[]::new);
-				queue.clear();
-			}
-			if (monitor.isCanceled()) {
-				return Status.CANCEL_STATUS;
-			}
-			// Dispatch known events
-			DebugPlugin.getDefault().fireDebugEventSet(events);
-			return Status.OK_STATUS;
+		public boolean shouldSchedule() {
+			return !fStopped && isAvailable();
 		}
 
-
 		@Override
 		public boolean belongsTo(Object family) {
 			return family == JDIDebugTarget.this;
 		}
 	}
 
+	/**
+	 * Called when the name of a thread of this target is read, so that the
+	 * names of displayed threads are polled for changes.
+	 */
+	void threadNameRead() {
+		ThreadNameChangeHandler handler = fThreadNameChangeHandler;
+		if (handler != null) {
+			handler.wake();
+		}
+	}
+
 	class CleanUpJob extends Job {
 
 		/**
@@ -2784,7 +3250,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public boolean hasThreads() {
-		return fThreads.size() > 0;
+		return !fThreads.isEmpty();
 	}
 
 	@Override
@@ -2825,6 +3291,33 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Returns the number of times a thread in this target has been resumed or
+	 * suspended, for any reason. Values retrieved from the target while this
+	 * count does not change can only have been changed by the debugger.
+	 *
+	 * @return the number of thread state changes in this target
+	 */
+	protected int getStateChangeCount() {
+		return fStateChangeCount.get();
+	}
+
+	/**
+	 * Increments the number of thread state changes in this target.
+	 */
+	protected void incrementStateChangeCount() {
+		fStateChangeCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns the cache of the array entries retrieved from this target.
+	 *
+	 * @return the array page cache
+	 */
+	ArrayPageCache getArrayPageCache() {
+		return fArrayPageCache;
+	}
+
 	/**
 	 * Returns an evaluation engine for the given project, creating one if
 	 * necessary.
@@ -2859,6 +3352,88 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return false;
 	}
 
+	@Override
+	public IJavaThread[][] findDeadlocks() throws DebugException {
+		if (!supportsMonitorInformation()) {
+			return new IJavaThread[0][];
+		}
+		List<JDIThread> threads = getThreadSnapshot();
+		int size = threads.size();
+		ObjectReference[] contended = new ObjectReference[size];
+		Map<ObjectReference, Integer> owners = new HashMap<>();
+		List<PendingReply<ObjectReference>> pendingContended = new ArrayList<>(size);
+		List<PendingReply<List<ObjectReference>>> pendingOwned = new ArrayList<>(size);
+		try {
+			// send the requests for all threads before reading any reply
+			for (JDIThread thread : threads) {
+				ThreadReference reference = thread.getUnderlyingThread();
+				if (reference instanceof ThreadReferenceImpl) {
+					ThreadReferenceImpl referenceImpl = (ThreadReferenceImpl) reference;
+					pendingContended.add(referenceImpl.currentContendedMonitorAsync());
+					pendingOwned.add(referenceImpl.ownedMonitorsAsync());
+				} else {
+					pendingContended.add(null);
+					pendingOwned.add(null);
+				}
+			}
+			for (int i = 0; i < size; i++) {
+				List<ObjectReference> owned;
+				try {
+					if (pendingContended.get(i) == null) {
+						ThreadReference reference = threads.get(i).getUnderlyingThread();
+						contended[i] = reference.currentContendedMonitor();
+						owned = reference.ownedMonitors();
+					} else {
+						contended[i] = pendingContended.get(i).get();
+						owned = pendingOwned.get(i).get();
+					}
+				} catch (IncompatibleThreadStateException | ObjectCollectedException e) {
+					// the thread is running or gone, it can't be part of a deadlock
+					continue;
+				}
+				if (owned != null) {
+					for (ObjectReference monitor : owned) {
+						owners.put(monitor, Integer.valueOf(i));
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			targetRequestFailed(MessageFormat.format(JDIDebugModelMessages.JDIDebugTarget_exception_detecting_deadlocks, e.toString()), e);
+			return null;
+		} finally {
+			// discard the replies that were not read, so they don't pile up
+			// in the receive manager when detection fails part way
+			for (PendingReply<ObjectReference> pending : pendingContended) {
+				if (pending != null) {
+					pending.cancel();
+				}
+			}
+			for (PendingReply<List<ObjectReference>> pending : pendingOwned) {
+				if (pending != null) {
+					pending.cancel();
+				}
+			}
+		}
+		WaitForGraph graph = new WaitForGraph(size);
+		for (int i = 0; i < size; i++) {
+			if (contended[i] != null) {
+				Integer owner = owners.get(contended[i]);
+				if (owner != null) {
+					graph.addEdge(i, owner.intValue());
+				}
+			}
+		}
+		int[][] deadlocks = graph.getDeadlocks();
+		IJavaThread[][] result = new IJavaThread[deadlocks.length][];
+		for (int i = 0; i < deadlocks.length; i++) {
+			result[i] = new IJavaThread[deadlocks[i].length];
+			for (int j = 0; j < deadlocks[i].length; j++) {
+				result[i][j] = threads.get(deadlocks[i][j]);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Sets whether or not this debug target is currently performing a hot code
 	 * replace.
@@ -2997,6 +3572,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public IJavaThreadGroup[] getRootThreadGroups() throws DebugException {
+		initializePendingThreads();
 		try {
 			VirtualMachine vm = getVM();
 			if (vm == null) {
@@ -3022,6 +3598,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public IJavaThreadGroup[] getAllThreadGroups() throws DebugException {
+		initializePendingThreads();
 		synchronized (fGroups) {
 			return fGroups
 					.toArray(new IJavaThreadGroup[fGroups.size()]);
@@ -3238,6 +3815,50 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return null;
 	}
 
+	@Override
+	public IJavaCommandStatistics[] getCommandStatistics() {
+		JdwpCommandMetrics metrics = getCommandMetrics();
+		if (metrics == null) {
+			return new IJavaCommandStatistics[0];
+		}
+		List<JdwpCommandMetrics.Snapshot> snapshots = metrics.getSnapshots();
+		IJavaCommandStatistics[] statistics = new IJavaCommandStatistics[snapshots.size()];
+		for (int i = 0; i < statistics.length; i++) {
+			statistics[i] = new JDICommandStatistics(snapshots.get(i));
+		}
+		return statistics;
+	}
+
+	@Override
+	public void resetCommandStatistics() {
+		JdwpCommandMetrics metrics = getCommandMetrics();
+		if (metrics != null) {
+			metrics.reset();
+		}
+	}
+
+	@Override
+	public void dumpCommandStatistics(PrintWriter writer) {
+		JdwpCommandMetrics metrics = getCommandMetrics();
+		if (metrics != null) {
+			metrics.dump(writer);
+		}
+	}
+
+	/**
+	 * Returns the metrics of the requests sent to the underlying VM, or
+	 * <code>null</code> if disconnected.
+	 *
+	 * @return the metrics of the underlying VM or <code>null</code>
+	 */
+	private JdwpCommandMetrics getCommandMetrics() {
+		VirtualMachine vm = getVM();
+		if (vm instanceof VirtualMachineImpl) {
+			return ((VirtualMachineImpl) vm).commandMetrics();
+		}
+		return null;
+	}
+
 	@Override
 	public void addHotCodeReplaceListener(IJavaHotCodeReplaceListener listener) {
 		fHCRListeners.add(listener);
@@ -62,12 +62,29 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 	 */
 	private IJavaValue fLogicalParent;
 
+	/**
+	 * Values shared with the sibling fields of this field, or <code>null</code>
+	 * if the value of this field is retrieved on its own.
+	 */
+	private SharedVariableValues<Field> fSharedValues;
+
 	/**
 	 * Constructs a field for the given field.
 	 */
 	public JDIFieldVariable(JDIDebugTarget target, Field field,
 			ObjectReference objectRef, IJavaValue logicalParent) {
+		this(target, field, objectRef, logicalParent, null);
+	}
+
+	/**
+	 * Constructs a field for the given field, whose value is retrieved
+	 * together with the values of its siblings.
+	 */
+	JDIFieldVariable(JDIDebugTarget target, Field field,
+			ObjectReference objectRef, IJavaValue logicalParent,
+			SharedVariableValues<Field> sharedValues) {
 		super(target);
+		fSharedValues = sharedValues;
 		fField = field;
 		if (!field.isStatic()) {
 			fObject = objectRef;
@@ -81,16 +98,36 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 	 */
 	public JDIFieldVariable(JDIDebugTarget target, Field field,
 			ReferenceType refType) {
+		this(target, field, refType, null);
+	}
+
+	/**
+	 * Constructs a field to wrap the given field, whose value is retrieved
+	 * together with the values of its siblings.
+	 */
+	JDIFieldVariable(JDIDebugTarget target, Field field,
+			ReferenceType refType, SharedVariableValues<Field> sharedValues) {
 		super(target);
 		fField = field;
 		fType = refType;
+		fSharedValues = sharedValues;
 	}
 
 	/**
 	 * Returns this variable's current <code>Value</code>.
 	 */
 	@Override
-	protected Value retrieveValue() {
+	protected Value retrieveValue() throws DebugException {
+		if (fSharedValues != null) {
+			return fSharedValues.getValue(getField(), this::retrieveOwnValue);
+		}
+		return retrieveOwnValue();
+	}
+
+	/**
+	 * Returns this variable's current <code>Value</code>, retrieved on its own.
+	 */
+	private Value retrieveOwnValue() {
 		if (getField().isStatic()) {
 			return (getField().declaringType().getValue(getField()));
 		}
@@ -126,6 +163,9 @@ public class JDIFieldVariable extends JDIModificationVariable implements
 
 	@Override
 	protected void setJDIValue(Value value) throws DebugException {
+		if (fSharedValues != null) {
+			fSharedValues.invalidate();
+		}
 		try {
 			if (isStatic()) {
 				ReferenceType declaringType = getField().declaringType();
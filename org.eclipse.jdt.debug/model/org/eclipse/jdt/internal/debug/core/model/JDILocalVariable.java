@@ -57,8 +57,8 @@ public class JDILocalVariable extends JDIModificationVariable {
 	protected Value retrieveValue() throws DebugException {
 		synchronized (fStackFrame.getThread()) {
 			if (getStackFrame().isSuspended()) {
-				return getStackFrame().getUnderlyingStackFrame().getValue(
-						fLocal);
+				return getStackFrame().getLocalValues().getValue(fLocal,
+						() -> getStackFrame().getUnderlyingStackFrame().getValue(fLocal));
 			}
 		}
 		// bug 6518
@@ -90,6 +90,7 @@ public class JDILocalVariable extends JDIModificationVariable {
 	protected void setJDIValue(Value value) throws DebugException {
 		try {
 			synchronized (getStackFrame().getThread()) {
+				getStackFrame().getLocalValues().invalidate();
 				getStackFrame().getUnderlyingStackFrame().setValue(getLocal(),
 						value);
 			}
@@ -104,6 +104,12 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 	 */
 	private List<IJavaVariable> fVariables;
 
+	/**
+	 * Values of the visible local variables, retrieved together. Created
+	 * lazily on first access.
+	 */
+	private SharedVariableValues<LocalVariable> fLocalValues;
+
 	/**
 	 * The underlying Object associated with this stack frame. Cached lazily on
 	 * first access.
@@ -343,15 +349,21 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 						return Collections.EMPTY_LIST;
 					}
 					if (allFields != null) {
+						List<Field> staticFields = new ArrayList<>();
 						Iterator<Field> fields = allFields.iterator();
 						while (fields.hasNext()) {
 							Field field = fields.next();
 							if (field.isStatic()) {
-								fVariables.add(new JDIFieldVariable(
-										(JDIDebugTarget) getDebugTarget(),
-										field, declaringType));
+								staticFields.add(field);
 							}
 						}
+						SharedVariableValues<Field> values = new SharedVariableValues<>(
+								getJavaDebugTarget(), () -> declaringType.getValues(staticFields));
+						for (Field field : staticFields) {
+							fVariables.add(new JDIFieldVariable(
+									(JDIDebugTarget) getDebugTarget(),
+									field, declaringType, values));
+						}
 						Collections.sort(fVariables,
 								new Comparator<IJavaVariable>() {
 									@Override
@@ -404,6 +416,38 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 		}
 	}
 
+	/**
+	 * Returns the values of the visible local variables of this frame, which
+	 * are retrieved together with one request. Must be called while holding
+	 * the lock on this frame's thread.
+	 *
+	 * @return the values of the visible local variables
+	 */
+	SharedVariableValues<LocalVariable> getLocalValues() {
+		if (fLocalValues == null) {
+			fLocalValues = new SharedVariableValues<>(getJavaDebugTarget(), () -> {
+				List<LocalVariable> locals = new ArrayList<>();
+				if (fVariables != null) {
+					for (IJavaVariable variable : fVariables) {
+						if (variable instanceof JDILocalVariable) {
+							locals.add(((JDILocalVariable) variable).getLocal());
+						}
+					}
+				}
+				if (locals.isEmpty()) {
+					return Collections.emptyMap();
+				}
+				try {
+					return getUnderlyingStackFrame().getValues(locals);
+				} catch (DebugException e) {
+					// retrieve each value on its own, reporting its own failure
+					return Collections.emptyMap();
+				}
+			});
+		}
+		return fLocalValues;
+	}
+
 	private void setLambdaVariableNames(IJavaValue value, ObjectReference underlyingThisObject) {
 		try {
 			IType type = JavaDebugUtils.resolveType(value.getJavaType());
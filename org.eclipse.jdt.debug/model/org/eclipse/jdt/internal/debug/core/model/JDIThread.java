@@ -18,8 +18,10 @@ package org.eclipse.jdt.internal.debug.core.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -43,6 +45,8 @@ import org.eclipse.debug.core.model.IStepFilter;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.ITerminate;
 import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdi.internal.PendingReply;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.debug.core.IEvaluationRunnable;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
@@ -136,6 +140,15 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 * Cache of previous name, used in case thread is garbage collected.
 	 */
 	private String fPreviousName;
+	/**
+	 * Name of this thread as last seen by the thread name poll of the debug
+	 * target, or <code>null</code> if the name was never displayed.
+	 */
+	private volatile String fPolledName;
+	/**
+	 * Time at which the name of this thread was last retrieved, or 0 if never.
+	 */
+	private volatile long fNameReadTime;
 	/**
 	 * Collection of stack frames
 	 */
@@ -179,6 +192,39 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	private boolean fIsDaemon = false;
 
+	/**
+	 * Whether it has been determined if this is a system or daemon thread, and
+	 * its thread group has been added to the debug target. These properties
+	 * are retrieved the first time one of them is read.
+	 *
+	 * @see #initializeProperties(PropertyCache)
+	 */
+	private volatile boolean fPropertiesInitialized = false;
+
+	/**
+	 * Lock for the retrieval of the properties of this thread
+	 */
+	private final Object fPropertiesLock = new Object();
+
+	/**
+	 * Results shared between the threads whose properties are retrieved
+	 * together, as threads that start together usually have the same type and
+	 * thread group.
+	 */
+	static final class PropertyCache {
+
+		/**
+		 * Whether a thread group only contains system threads, by thread group
+		 */
+		final Map<ThreadGroupReference, Boolean> fSystemGroups = new HashMap<>();
+
+		/**
+		 * The daemon field of a thread type, by type. The value is
+		 * <code>null</code> for types without a daemon field.
+		 */
+		final Map<ReferenceType, Field> fDaemonFields = new HashMap<>();
+	}
+
 	/**
 	 * The collection of breakpoints that caused the last suspend, or an empty
 	 * collection if the thread is not suspended or was not suspended by any
@@ -333,14 +379,35 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		initialize();
 	}
 
+	/**
+	 * Creates a new thread on the underlying thread reference in the given
+	 * debug target, whose state is already known, such as a thread that has
+	 * just started. Nothing is retrieved from the VM.
+	 *
+	 * @param target
+	 *            the debug target in which this thread is contained
+	 * @param thread
+	 *            the underlying thread on the VM
+	 * @param running
+	 *            whether the underlying thread is running
+	 */
+	JDIThread(JDIDebugTarget target, ThreadReference thread, boolean running) {
+		super(target);
+		setUnderlyingThread(thread);
+		fStackFrames = new ArrayList<>();
+		setTerminated(false);
+		setRunning(running);
+	}
+
 	/**
 	 * Thread initialization:
 	 * <ul>
-	 * <li>Determines if this thread is a system thread</li>
 	 * <li>Sets terminated state to <code>false</code></li>
 	 * <li>Determines suspended state from underlying thread</li>
 	 * <li>Sets this threads stack frames to an empty collection</li>
 	 * </ul>
+	 * Whether this is a system or daemon thread is determined the first time
+	 * it is asked for.
 	 *
 	 * @exception ObjectCollectedException
 	 *                if the thread has been garbage collected and cannot be
@@ -348,46 +415,6 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	protected void initialize() throws ObjectCollectedException {
 		fStackFrames = new ArrayList<>();
-		// system thread
-		try {
-			determineIfSystemThread();
-		} catch (DebugException e) {
-			Throwable underlyingException = e.getStatus().getException();
-			if (underlyingException instanceof VMDisconnectedException) {
-				// Threads may be created by the VM at shutdown
-				// as finalizers. The VM may be disconnected by
-				// the time we hear about the thread creation.
-				disconnected();
-				return;
-			}
-			if (underlyingException instanceof ObjectCollectedException) {
-				throw (ObjectCollectedException) underlyingException;
-			}
-			logError(e);
-		}
-
-		try {
-			determineIfDaemonThread();
-		} catch (DebugException e) {
-			Throwable underlyingException = e.getStatus().getException();
-			if (underlyingException instanceof VMDisconnectedException) {
-				// Threads may be created by the VM at shutdown
-				// as finalizers. The VM may be disconnected by
-				// the time we hear about the thread creation.
-				disconnected();
-				return;
-			}
-			logError(e);
-		}
-
-		try {
-			ThreadGroupReference group = getUnderlyingThreadGroup();
-			// might already be terminated
-			if (group != null) {
-				getJavaDebugTarget().addThreadGroup(group);
-			}
-		} catch (DebugException e1) {
-		}
 
 		// state
 		setTerminated(false);
@@ -418,12 +445,89 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 			disconnected();
 			return;
 		} catch (ObjectCollectedException e) {
-			throw e;
-		} catch (RuntimeException e) {
-			logError(e);
 		}
 	}
 
+	/**
+	 * Retrieves the properties of this thread if that has not been done yet.
+	 * The properties of the other threads whose properties have not been
+	 * retrieved yet are retrieved as well.
+	 */
+	private void ensurePropertiesInitialized() {
+		if (!fPropertiesInitialized) {
+			// retrieve the properties of the threads that started along with
+			// this one as well
+			getJavaDebugTarget().initializePendingThreads();
+			getJavaDebugTarget().initializeThread(this, new PropertyCache());
+		}
+	}
+
+	/**
+	 * Determines whether this is a system or daemon thread and adds its thread
+	 * group to the debug target, unless that has already been done.
+	 *
+	 * @param cache
+	 *            results shared with the other threads initialized at the
+	 *            same time
+	 */
+	void initializeProperties(PropertyCache cache) throws ObjectCollectedException {
+		synchronized (fPropertiesLock) {
+			if (fPropertiesInitialized) {
+				return;
+			}
+			try {
+				try {
+					determineIfSystemThread(cache);
+				} catch (DebugException e) {
+					handlePropertyFailure(e);
+				}
+				try {
+					determineIfDaemonThread(cache);
+				} catch (DebugException e) {
+					handlePropertyFailure(e);
+				}
+				try {
+					ThreadGroupReference group = getUnderlyingThreadGroup();
+					// might already be terminated
+					if (group != null) {
+						getJavaDebugTarget().addThreadGroup(group);
+					}
+				} catch (DebugException e) {
+					handlePropertyFailure(e);
+				}
+			} catch (VMDisconnectedException e) {
+				// ignore disconnect
+			} catch (ObjectCollectedException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				logError(e);
+			} finally {
+				fPropertiesInitialized = true;
+			}
+		}
+	}
+
+	/**
+	 * Logs the failure to retrieve a property of this thread, unless the VM
+	 * has been disconnected.
+	 *
+	 * @exception ObjectCollectedException
+	 *                if the thread has been garbage collected
+	 */
+	private void handlePropertyFailure(DebugException e) throws ObjectCollectedException {
+		Throwable underlyingException = e.getStatus().getException();
+		if (underlyingException instanceof VMDisconnectedException) {
+			// Threads may be created by the VM at shutdown
+			// as finalizers. The VM may be disconnected by
+			// the time we hear about the thread creation.
+			return;
+		}
+		if (underlyingException instanceof ObjectCollectedException) {
+			throw (ObjectCollectedException) underlyingException;
+		}
+		logError(e);
+	}
+
 	/**
 	 * Adds the given breakpoint to the list of breakpoints this thread is
 	 * suspended at
@@ -552,17 +656,36 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *                </ul>
 	 */
 	protected void determineIfSystemThread() throws DebugException {
+		determineIfSystemThread(new PropertyCache());
+	}
+
+	private void determineIfSystemThread(PropertyCache cache) throws DebugException {
 		fIsSystemThread = false;
-		ThreadGroupReference tgr = getUnderlyingThreadGroup();
-		fIsSystemThread = tgr != null;
+		ThreadGroupReference group = getUnderlyingThreadGroup();
+		if (group == null) {
+			return;
+		}
+		Boolean systemGroup = cache.fSystemGroups.get(group);
+		if (systemGroup == null) {
+			systemGroup = Boolean.valueOf(isSystemThreadGroup(group));
+			cache.fSystemGroups.put(group, systemGroup);
+		}
+		fIsSystemThread = systemGroup.booleanValue();
+	}
+
+	/**
+	 * Returns whether the given thread group is not the main thread group or
+	 * one of its descendants.
+	 */
+	private boolean isSystemThreadGroup(ThreadGroupReference group) throws DebugException {
+		ThreadGroupReference tgr = group;
 		while (tgr != null) {
 			String tgn = null;
 			try {
 				tgn = tgr.name();
 				tgr = tgr.parent();
 			} catch (UnsupportedOperationException e) {
-				fIsSystemThread = false;
-				break;
+				return false;
 			} catch (RuntimeException e) {
 				targetRequestFailed(
 						MessageFormat.format(
@@ -570,13 +693,13 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 								e.toString()), e);
 				// execution will not reach this line, as
 				// #targetRequestFailed will throw an exception
-				return;
+				return false;
 			}
 			if (tgn != null && tgn.equals(MAIN_THREAD_GROUP)) {
-				fIsSystemThread = false;
-				break;
+				return false;
 			}
 		}
+		return true;
 	}
 
 	/**
@@ -586,25 +709,40 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *             on failure
 	 */
 	protected void determineIfDaemonThread() throws DebugException {
+		try {
+			determineIfDaemonThread(new PropertyCache());
+		} catch (ObjectCollectedException oce) {/*
+												 * do nothing thread does not
+												 * exist
+												 */
+		}
+	}
+
+	private void determineIfDaemonThread(PropertyCache cache) throws DebugException, ObjectCollectedException {
 		fIsDaemon = false;
 		try {
 			ReferenceType referenceType = getUnderlyingThread().referenceType();
-			Field field = referenceType.fieldByName("daemon"); //$NON-NLS-1$
-			if (field == null) {
-				field = referenceType.fieldByName("isDaemon"); //$NON-NLS-1$
+			Field field;
+			if (cache.fDaemonFields.containsKey(referenceType)) {
+				field = cache.fDaemonFields.get(referenceType);
+			} else {
+				field = referenceType.fieldByName("daemon"); //$NON-NLS-1$
+				if (field == null) {
+					field = referenceType.fieldByName("isDaemon"); //$NON-NLS-1$
+				}
+				if (field != null && !field.signature().equals(Signature.SIG_BOOLEAN)) {
+					field = null;
+				}
+				cache.fDaemonFields.put(referenceType, field);
 			}
 			if (field != null) {
-				if (field.signature().equals(Signature.SIG_BOOLEAN)) {
-					Value value = getUnderlyingThread().getValue(field);
-					if (value instanceof BooleanValue) {
-						fIsDaemon = ((BooleanValue) value).booleanValue();
-					}
+				Value value = getUnderlyingThread().getValue(field);
+				if (value instanceof BooleanValue) {
+					fIsDaemon = ((BooleanValue) value).booleanValue();
 				}
 			}
-		} catch (ObjectCollectedException oce) {/*
-												 * do nothing thread does not
-												 * exist
-												 */
+		} catch (ObjectCollectedException oce) {
+			throw oce;
 		} catch (RuntimeException e) {
 			targetRequestFailed(JDIDebugModelMessages.JDIThread_47, e);
 		}
@@ -1329,6 +1467,11 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	public String getName() throws DebugException {
 		try {
 			fPreviousName = fThread.name();
+			fNameReadTime = System.currentTimeMillis();
+			if (fPolledName == null) {
+				fPolledName = fPreviousName;
+			}
+			getJavaDebugTarget().threadNameRead();
 		} catch (RuntimeException e) {
 			// Don't bother reporting the exception when retrieving the name
 			// (bug 30785 & bug 33276)
@@ -1350,6 +1493,81 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		return fPreviousName;
 	}
 
+	/**
+	 * Returns the time at which the name of this thread was last retrieved, or
+	 * 0 if the name was never retrieved.
+	 *
+	 * @return time of the last retrieval of the name of this thread
+	 */
+	long getNameReadTime() {
+		return fNameReadTime;
+	}
+
+	/**
+	 * Re-reads the name of this thread from the target and returns whether it
+	 * changed since the last poll, or since it was first retrieved.
+	 *
+	 * @return whether the name of this thread changed
+	 */
+	boolean pollNameChange() {
+		if (fPolledName == null) {
+			return false;
+		}
+		try {
+			return polledNameChanged(fThread.name());
+		} catch (RuntimeException e) {
+			// the thread died or the target went away, nothing to report
+			return false;
+		}
+	}
+
+	/**
+	 * Sends the request for the name of this thread to the target for a poll,
+	 * without waiting for the reply. Returns <code>null</code> if the name of
+	 * this thread is not polled, or cannot be requested without waiting.
+	 *
+	 * @return a handle on the pending name, or <code>null</code>
+	 * @see #pollNameChange(PendingReply)
+	 */
+	PendingReply<String> requestPolledName() {
+		if (fPolledName == null || !(fThread instanceof ThreadReferenceImpl)) {
+			return null;
+		}
+		try {
+			return ((ThreadReferenceImpl) fThread).nameAsync();
+		} catch (RuntimeException e) {
+			// the thread died or the target went away, nothing to report
+			return null;
+		}
+	}
+
+	/**
+	 * Waits for the name of this thread requested for a poll, and returns
+	 * whether it changed since the last poll, or since it was first retrieved.
+	 *
+	 * @param reply
+	 *            the pending name
+	 * @return whether the name of this thread changed
+	 * @see #requestPolledName()
+	 */
+	boolean pollNameChange(PendingReply<String> reply) {
+		try {
+			return polledNameChanged(reply.get());
+		} catch (RuntimeException e) {
+			// the thread died or the target went away, nothing to report
+			return false;
+		}
+	}
+
+	private boolean polledNameChanged(String name) {
+		String previous = fPolledName;
+		if (name == null || previous == null || name.equals(previous)) {
+			return false;
+		}
+		fPolledName = name;
+		return true;
+	}
+
 	/**
 	 * Returns the priority from the underlying {@link ReferenceType}, failing
 	 * that the backing {@link Value} for the underlying {@link ThreadReference}
@@ -1617,9 +1835,44 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	@Override
 	public boolean isSystemThread() {
+		ensurePropertiesInitialized();
 		return fIsSystemThread;
 	}
 
+	/**
+	 * Returns whether this is a virtual thread.
+	 *
+	 * @return whether this is a virtual thread
+	 */
+	public boolean isVirtual() {
+		try {
+			return fThread.isVirtual();
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the platform thread this virtual thread is mounted on, or
+	 * <code>null</code> if it is not mounted or not a virtual thread.
+	 *
+	 * @return the carrier thread or <code>null</code>
+	 */
+	public JDIThread getCarrierThread() {
+		try {
+			Field field = fThread.referenceType().fieldByName("carrierThread"); //$NON-NLS-1$
+			if (field != null) {
+				Value value = fThread.getValue(field);
+				if (value instanceof ThreadReference) {
+					return getJavaDebugTarget().findThread((ThreadReference) value);
+				}
+			}
+		} catch (RuntimeException e) {
+			// not mounted as far as we can tell
+		}
+		return null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -1627,6 +1880,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	@Override
 	public boolean isDaemon() throws DebugException {
+		ensurePropertiesInitialized();
 		return fIsDaemon;
 	}
 
@@ -1773,6 +2027,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	protected void setRunning(boolean running) {
 		fRunning = running;
+		getJavaDebugTarget().incrementStateChangeCount();
 		if (running) {
 			fCurrentBreakpoints.clear();
 		}
@@ -3696,6 +3951,7 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	@Override
 	public IJavaThreadGroup getThreadGroup() throws DebugException {
+		ensurePropertiesInitialized();
 		ThreadGroupReference group = getUnderlyingThreadGroup();
 		if (group != null) {
 			return getJavaDebugTarget().findThreadGroup(group);
@@ -276,12 +276,15 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 					// #targetRequestFailed will thrown an exception
 					return null;
 				}
+				List<Field> allFields = fields;
+				SharedVariableValues<Field> values = new SharedVariableValues<>(
+						getJavaDebugTarget(), () -> object.getValues(allFields));
 				Iterator<Field> list = fields.iterator();
 				while (list.hasNext()) {
 					Field field = list.next();
 					fVariables.add(new JDIFieldVariable(
 							(JDIDebugTarget) getDebugTarget(), field, object,
-							fLogicalParent));
+							fLogicalParent, values));
 				}
 				Collections.sort(fVariables, new Comparator<IJavaVariable>() {
 					@Override
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdi.internal.ObjectReferenceImpl;
+import org.eclipse.jdi.internal.PendingReply;
+import org.eclipse.jdt.debug.core.IJavaObject;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.VMDisconnectedException;
+
+/**
+ * Objects whose garbage collection is disabled while an evaluation runs.
+ * <p>
+ * Each object is pinned once, however often it is pinned. Objects held by the
+ * suspended frame, such as its receiver, are never pinned. Pin requests are
+ * sent without waiting for their replies: the Virtual Machine handles
+ * requests in order, so an object is protected before any later request of
+ * the evaluation is handled. On release, the replies of the pins are checked
+ * and the requests re-enabling garbage collection are all sent before any
+ * reply is awaited, so releasing costs a single round trip.
+ * </p>
+ */
+public class PinnedObjects {
+
+	/**
+	 * Pinned objects, and the pending reply of their pin request or
+	 * <code>null</code> if it was pinned synchronously
+	 */
+	private final Map<IJavaObject, PendingReply<Void>> fPins = new LinkedHashMap<>();
+
+	/**
+	 * Objects held by the suspended frame
+	 */
+	private final Set<IJavaObject> fHeld = new HashSet<>();
+
+	/**
+	 * Records that the given object is held by the suspended frame for the
+	 * whole evaluation, so it does not need to be pinned.
+	 *
+	 * @param object
+	 *            object held by the frame
+	 */
+	public void hold(IJavaObject object) {
+		fHeld.add(object);
+	}
+
+	/**
+	 * Disables garbage collection for the given object until
+	 * {@link #releaseAll()} is called, unless it is already pinned or held by
+	 * the suspended frame.
+	 *
+	 * @param object
+	 *            object to pin
+	 */
+	public void pin(IJavaObject object) {
+		if (object.isNull() || fHeld.contains(object) || fPins.containsKey(object)) {
+			return;
+		}
+		if (object instanceof JDIObjectValue) {
+			JDIObjectValue value = (JDIObjectValue) object;
+			JDIDebugTarget target = value.getJavaDebugTarget();
+			if (!target.supportsSelectiveGarbageCollection()) {
+				return;
+			}
+			ObjectReference reference = value.getUnderlyingObject();
+			if (reference instanceof ObjectReferenceImpl) {
+				try {
+					fPins.put(object, ((ObjectReferenceImpl) reference).disableCollectionAsync());
+				} catch (VMDisconnectedException e) {
+					// the evaluation fails on its next request
+				} catch (RuntimeException e) {
+					JDIDebugPlugin.log(e);
+				}
+				return;
+			}
+		}
+		try {
+			object.disableCollection();
+			fPins.put(object, null);
+		} catch (CoreException e) {
+			JDIDebugPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Re-enables garbage collection for all pinned objects. Replies that are
+	 * not read because the release fails are discarded.
+	 */
+	public void releaseAll() {
+		if (fPins.isEmpty()) {
+			return;
+		}
+		List<PendingReply<Void>> releases = new ArrayList<>(fPins.size());
+		try {
+			for (Entry<IJavaObject, PendingReply<Void>> entry : fPins.entrySet()) {
+				IJavaObject object = entry.getKey();
+				PendingReply<Void> pin = entry.getValue();
+				if (pin == null) {
+					try {
+						object.enableCollection();
+					} catch (CoreException e) {
+						if (e.getStatus().getException() instanceof VMDisconnectedException) {
+							return;
+						}
+						JDIDebugPlugin.log(e);
+					}
+				} else if (isPinned(object, pin)) {
+					ObjectReferenceImpl reference = (ObjectReferenceImpl) ((JDIObjectValue) object).getUnderlyingObject();
+					releases.add(reference.enableCollectionAsync());
+				}
+			}
+			for (PendingReply<Void> release : releases) {
+				try {
+					release.get();
+				} catch (ObjectCollectedException e) {
+					// nothing to release
+				}
+			}
+		} catch (VMDisconnectedException e) {
+			// don't worry about GC if the VM has terminated
+		} catch (RuntimeException e) {
+			JDIDebugPlugin.log(e);
+		} finally {
+			for (PendingReply<Void> pin : fPins.values()) {
+				if (pin != null) {
+					pin.cancel();
+				}
+			}
+			for (PendingReply<Void> release : releases) {
+				release.cancel();
+			}
+			fPins.clear();
+		}
+	}
+
+	/**
+	 * Returns whether the pin request of the given object succeeded.
+	 */
+	private boolean isPinned(IJavaObject object, PendingReply<Void> pin) {
+		try {
+			pin.get();
+			return true;
+		} catch (UnsupportedOperationException e) {
+			// The VM does not support enable/disable GC - update target
+			// capabilities and ignore (bug 246577)
+			((JDIObjectValue) object).getJavaDebugTarget().setSupportsSelectiveGarbageCollection(false);
+		} catch (ObjectCollectedException e) {
+			// collected before it could be pinned
+		}
+		return false;
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.debug.core.DebugException;
+
+import com.sun.jdi.Value;
+
+/**
+ * Values of the sibling variables of an object or a stack frame. The values of
+ * all siblings are retrieved with a single request (e.g.
+ * <code>ObjectReference.GetValues</code> or <code>StackFrame.GetValues</code>)
+ * the first time one of them is asked for, and are then handed out to each
+ * variable.
+ * <p>
+ * The retrieved values are handed out as long as no thread of the target has
+ * been resumed or suspended since they were retrieved (see
+ * {@link JDIDebugTarget#getStateChangeCount()}), and until they are
+ * {@link #invalidate() invalidated}. The values of all siblings are then
+ * retrieved again, so a refresh of the siblings costs one request instead of
+ * one per variable.
+ * </p>
+ *
+ * @param <K>
+ *            the kind of JDI variable the values are keyed by
+ */
+class SharedVariableValues<K> {
+
+	/**
+	 * Retrieves the current value of a single variable.
+	 */
+	@FunctionalInterface
+	interface ValueRetriever {
+		Value retrieve() throws DebugException;
+	}
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Retrieves the current values of all siblings with one request
+	 */
+	private final Supplier<Map<K, Value>> fRetriever;
+
+	private Map<K, Value> fValues;
+	private int fStateChangeCount;
+
+	SharedVariableValues(JDIDebugTarget target, Supplier<Map<K, Value>> retriever) {
+		fTarget = target;
+		fRetriever = retriever;
+	}
+
+	/**
+	 * Returns the value of the given variable, retrieving the values of all
+	 * siblings if needed.
+	 *
+	 * @param variable
+	 *            the variable
+	 * @param single
+	 *            retrieves only the value of the given variable, used when it is
+	 *            not (or no longer) one of the siblings
+	 * @return the value of the variable
+	 * @throws DebugException
+	 *             if the value of the variable could not be retrieved on its
+	 *             own
+	 */
+	synchronized Value getValue(K variable, ValueRetriever single) throws DebugException {
+		if (fValues == null || fStateChangeCount != fTarget.getStateChangeCount()) {
+			int stateChangeCount = fTarget.getStateChangeCount();
+			fValues = null;
+			try {
+				fValues = fRetriever.get();
+			} catch (RuntimeException e) {
+				// retrieve each value on its own, reporting its own failure
+				fValues = Collections.emptyMap();
+			}
+			fStateChangeCount = stateChangeCount;
+		}
+		if (fValues.containsKey(variable)) {
+			return fValues.get(variable);
+		}
+		return single.retrieve();
+	}
+
+	/**
+	 * Discards the retrieved values, e.g. when one of them has been modified.
+	 */
+	synchronized void invalidate() {
+		fValues = null;
+	}
+}
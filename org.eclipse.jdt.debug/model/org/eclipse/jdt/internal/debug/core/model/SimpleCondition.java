@@ -0,0 +1,584 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.BooleanLiteral;
+import org.eclipse.jdt.core.dom.CharacterLiteral;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ParenthesizedExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.ThisExpression;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.DoubleValue;
+import com.sun.jdi.Field;
+import com.sun.jdi.FloatValue;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.PrimitiveValue;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.Value;
+
+/**
+ * A breakpoint condition simple enough to be evaluated without the AST
+ * evaluation engine.
+ * <p>
+ * Simple conditions only read local variables, fields of <code>this</code>
+ * and static fields of the declaring type, and combine them with literals,
+ * comparisons and the <code>!</code>, <code>&amp;&amp;</code> and
+ * <code>||</code> operators. They have no side effects, so all the values
+ * they read are retrieved up front: the local variables with a single
+ * <code>StackFrame.GetValues</code> request and the fields with one request
+ * per object. Anything else, such as method calls, strings, arithmetic or
+ * boxed values, is left to the evaluation engine.
+ * </p>
+ * <p>
+ * A simple condition assumes it compiles in the context of the frame, that
+ * is the compiled expression of the condition has no errors.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class SimpleCondition {
+
+	/**
+	 * Prefix of the operand keys of fields qualified by <code>this</code>
+	 */
+	public static final String THIS_PREFIX = "this."; //$NON-NLS-1$
+
+	/**
+	 * Thrown when a condition cannot be evaluated by this class
+	 */
+	private static class NotSimpleException extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private static final NotSimpleException NOT_SIMPLE = new NotSimpleException();
+
+	private final Expression fExpression;
+
+	/**
+	 * Keys of the operands read by the condition: names of local variables
+	 * or fields, and names of fields prefixed by {@link #THIS_PREFIX}
+	 */
+	private final Set<String> fOperands;
+
+	private SimpleCondition(Expression expression, Set<String> operands) {
+		fExpression = expression;
+		fOperands = operands;
+	}
+
+	/**
+	 * Returns the given condition as a simple condition, or <code>null</code>
+	 * if it is not simple.
+	 *
+	 * @param condition
+	 *            the condition of a breakpoint
+	 * @return simple condition or <code>null</code>
+	 */
+	public static SimpleCondition parse(String condition) {
+		ASTParser parser = ASTParser.newParser(AST.JLS11);
+		parser.setKind(ASTParser.K_EXPRESSION);
+		// the condition compiles in its project, accept the literals of any level
+		Map<String, String> options = JavaCore.getOptions();
+		JavaCore.setComplianceOptions(JavaCore.VERSION_11, options);
+		parser.setCompilerOptions(options);
+		parser.setSource(condition.toCharArray());
+		ASTNode node = parser.createAST(null);
+		if (!(node instanceof Expression) || (node.getFlags() & (ASTNode.MALFORMED | ASTNode.RECOVERED)) != 0) {
+			return null;
+		}
+		Set<String> operands = new LinkedHashSet<>();
+		if (!isSimple((Expression) node, operands)) {
+			return null;
+		}
+		return new SimpleCondition((Expression) node, operands);
+	}
+
+	private static boolean isSimple(Expression expression, Set<String> operands) {
+		switch (expression.getNodeType()) {
+			case ASTNode.BOOLEAN_LITERAL:
+			case ASTNode.CHARACTER_LITERAL:
+			case ASTNode.NULL_LITERAL:
+				return true;
+			case ASTNode.NUMBER_LITERAL:
+				return number(((NumberLiteral) expression).getToken()) != null;
+			case ASTNode.SIMPLE_NAME:
+				operands.add(((SimpleName) expression).getIdentifier());
+				return true;
+			case ASTNode.FIELD_ACCESS:
+				FieldAccess access = (FieldAccess) expression;
+				if (access.getExpression() instanceof ThisExpression && ((ThisExpression) access.getExpression()).getQualifier() == null) {
+					operands.add(THIS_PREFIX + access.getName().getIdentifier());
+					return true;
+				}
+				return false;
+			case ASTNode.PARENTHESIZED_EXPRESSION:
+				return isSimple(((ParenthesizedExpression) expression).getExpression(), operands);
+			case ASTNode.PREFIX_EXPRESSION:
+				PrefixExpression prefix = (PrefixExpression) expression;
+				if (prefix.getOperator() == PrefixExpression.Operator.NOT) {
+					return isSimple(prefix.getOperand(), operands);
+				}
+				// negative literals only, negating a variable may overflow
+				return prefix.getOperator() == PrefixExpression.Operator.MINUS && prefix.getOperand() instanceof NumberLiteral
+						&& number('-' + ((NumberLiteral) prefix.getOperand()).getToken()) != null;
+			case ASTNode.INFIX_EXPRESSION:
+				InfixExpression infix = (InfixExpression) expression;
+				InfixExpression.Operator operator = infix.getOperator();
+				if (operator != InfixExpression.Operator.CONDITIONAL_AND && operator != InfixExpression.Operator.CONDITIONAL_OR
+						&& !isComparison(operator)) {
+					return false;
+				}
+				if (!isSimple(infix.getLeftOperand(), operands) || !isSimple(infix.getRightOperand(), operands)) {
+					return false;
+				}
+				for (Object extended : infix.extendedOperands()) {
+					if (!isSimple((Expression) extended, operands)) {
+						return false;
+					}
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isComparison(InfixExpression.Operator operator) {
+		return operator == InfixExpression.Operator.EQUALS || operator == InfixExpression.Operator.NOT_EQUALS
+				|| operator == InfixExpression.Operator.LESS || operator == InfixExpression.Operator.LESS_EQUALS
+				|| operator == InfixExpression.Operator.GREATER || operator == InfixExpression.Operator.GREATER_EQUALS;
+	}
+
+	/**
+	 * Returns the value of a number literal as a <code>Long</code>,
+	 * <code>Float</code> or <code>Double</code>, or <code>null</code> if it
+	 * is not a valid literal.
+	 */
+	private static Object number(String token) {
+		String literal = token.replace("_", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		boolean negative = literal.startsWith("-"); //$NON-NLS-1$
+		String digits = negative ? literal.substring(1) : literal;
+		String lower = digits.toLowerCase();
+		boolean hex = lower.startsWith("0x"); //$NON-NLS-1$
+		try {
+			if (!hex && (lower.endsWith("f") || lower.endsWith("d") || lower.indexOf('.') >= 0 || lower.indexOf('e') >= 0) //$NON-NLS-1$ //$NON-NLS-2$
+					|| hex && lower.indexOf('p') >= 0) {
+				if (lower.endsWith("f")) { //$NON-NLS-1$
+					return Float.valueOf(Float.parseFloat(literal));
+				}
+				return Double.valueOf(Double.parseDouble(literal));
+			}
+			boolean isLong = lower.endsWith("l"); //$NON-NLS-1$
+			if (isLong) {
+				lower = lower.substring(0, lower.length() - 1);
+			}
+			long value;
+			if (hex) {
+				value = Long.parseUnsignedLong(lower.substring(2), 16);
+			} else if (lower.startsWith("0b")) { //$NON-NLS-1$
+				value = Long.parseUnsignedLong(lower.substring(2), 2);
+			} else if (lower.length() > 1 && lower.startsWith("0")) { //$NON-NLS-1$
+				value = Long.parseUnsignedLong(lower.substring(1), 8);
+			} else {
+				// decimal literals are signed, and only valid within range
+				value = Long.parseLong(negative ? '-' + lower : lower);
+				if (!isLong && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+					return null;
+				}
+				return Long.valueOf(value);
+			}
+			if (!isLong && (value & 0xFFFFFFFF00000000L) != 0) {
+				return null;
+			}
+			if (negative) {
+				value = -value;
+			}
+			return Long.valueOf(isLong ? value : (int) value);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the keys of the operands the condition reads: names of local
+	 * variables or fields, and names of fields qualified by <code>this</code>
+	 * prefixed by {@link #THIS_PREFIX}.
+	 *
+	 * @return keys of the operands
+	 */
+	public Set<String> getOperands() {
+		return Collections.unmodifiableSet(fOperands);
+	}
+
+	/**
+	 * Returns the condition in the postfix form evaluated by the guards woven
+	 * into launched Virtual Machines, or <code>null</code> if the condition
+	 * reads fields qualified by <code>this</code>.
+	 * <p>
+	 * Tokens are separated by spaces. Operands are <code>v:</code> followed by
+	 * a name, <code>n</code> for <code>null</code>, and <code>z:</code>,
+	 * <code>i:</code>, <code>j:</code>, <code>f:</code> or <code>d:</code>
+	 * followed by a boolean (<code>0</code> or <code>1</code>), int, long,
+	 * float or double literal. Float and double literals are given as the bits
+	 * of their value. Operators are Java operators following their operands.
+	 * </p>
+	 *
+	 * @return the condition in postfix form or <code>null</code>
+	 */
+	public String getPostfix() {
+		StringBuilder postfix = new StringBuilder();
+		if (!postfix(fExpression, postfix)) {
+			return null;
+		}
+		return postfix.substring(1);
+	}
+
+	private static boolean postfix(Expression expression, StringBuilder postfix) {
+		switch (expression.getNodeType()) {
+			case ASTNode.BOOLEAN_LITERAL:
+				postfix.append(" z:").append(((BooleanLiteral) expression).booleanValue() ? 1 : 0); //$NON-NLS-1$
+				return true;
+			case ASTNode.CHARACTER_LITERAL:
+				postfix.append(" i:").append((int) ((CharacterLiteral) expression).charValue()); //$NON-NLS-1$
+				return true;
+			case ASTNode.NULL_LITERAL:
+				postfix.append(" n"); //$NON-NLS-1$
+				return true;
+			case ASTNode.NUMBER_LITERAL:
+				postfixNumber(((NumberLiteral) expression).getToken(), postfix);
+				return true;
+			case ASTNode.SIMPLE_NAME:
+				postfix.append(" v:").append(((SimpleName) expression).getIdentifier()); //$NON-NLS-1$
+				return true;
+			case ASTNode.PARENTHESIZED_EXPRESSION:
+				return postfix(((ParenthesizedExpression) expression).getExpression(), postfix);
+			case ASTNode.PREFIX_EXPRESSION:
+				PrefixExpression prefix = (PrefixExpression) expression;
+				if (prefix.getOperator() == PrefixExpression.Operator.MINUS) {
+					postfixNumber('-' + ((NumberLiteral) prefix.getOperand()).getToken(), postfix);
+					return true;
+				}
+				if (!postfix(prefix.getOperand(), postfix)) {
+					return false;
+				}
+				postfix.append(' ').append(prefix.getOperator());
+				return true;
+			case ASTNode.INFIX_EXPRESSION:
+				InfixExpression infix = (InfixExpression) expression;
+				if (!postfix(infix.getLeftOperand(), postfix) || !postfix(infix.getRightOperand(), postfix)) {
+					return false;
+				}
+				postfix.append(' ').append(infix.getOperator());
+				for (Object extended : infix.extendedOperands()) {
+					if (!postfix((Expression) extended, postfix)) {
+						return false;
+					}
+					postfix.append(' ').append(infix.getOperator());
+				}
+				return true;
+			default:
+				// fields qualified by this
+				return false;
+		}
+	}
+
+	private static void postfixNumber(String token, StringBuilder postfix) {
+		Object value = number(token);
+		if (value instanceof Float) {
+			postfix.append(" f:").append(Float.floatToIntBits(((Float) value).floatValue())); //$NON-NLS-1$
+		} else if (value instanceof Double) {
+			postfix.append(" d:").append(Double.doubleToLongBits(((Double) value).doubleValue())); //$NON-NLS-1$
+		} else if (token.endsWith("l") || token.endsWith("L")) { //$NON-NLS-1$ //$NON-NLS-2$
+			postfix.append(" j:").append(value); //$NON-NLS-1$
+		} else {
+			postfix.append(" i:").append(value); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Evaluates the condition in the given frame.
+	 *
+	 * @param frame
+	 *            the frame in which the condition compiles
+	 * @return the value of the condition, or <code>null</code> if it must be
+	 *         evaluated by the evaluation engine
+	 */
+	public Boolean evaluate(JDIStackFrame frame) {
+		try {
+			StackFrame stackFrame = frame.getUnderlyingStackFrame();
+			Location location = stackFrame.location();
+			Method method = location.method();
+			if (method.isSynthetic() || method.name().startsWith("lambda$")) { //$NON-NLS-1$
+				// captured variables are resolved by the engine
+				return null;
+			}
+			Map<String, Object> operands = new HashMap<>(fOperands.size() * 2);
+			List<LocalVariable> locals = new ArrayList<>(fOperands.size());
+			for (LocalVariable local : stackFrame.visibleVariables()) {
+				if (fOperands.contains(local.name())) {
+					locals.add(local);
+				}
+			}
+			if (!locals.isEmpty()) {
+				for (Map.Entry<LocalVariable, Value> entry : stackFrame.getValues(locals).entrySet()) {
+					operands.put(entry.getKey().name(), operand(entry.getValue()));
+				}
+			}
+			List<String> instanceKeys = new ArrayList<>();
+			List<Field> instanceFields = new ArrayList<>();
+			List<String> staticKeys = new ArrayList<>();
+			List<Field> staticFields = new ArrayList<>();
+			ReferenceType type = location.declaringType();
+			for (String key : fOperands) {
+				if (operands.containsKey(key)) {
+					continue;
+				}
+				String name = key.startsWith(THIS_PREFIX) ? key.substring(THIS_PREFIX.length()) : key;
+				Field field = type.fieldByName(name);
+				if (field == null) {
+					// a field of an enclosing type, or a type name
+					return null;
+				}
+				if (field.isStatic()) {
+					staticKeys.add(key);
+					staticFields.add(field);
+				} else {
+					instanceKeys.add(key);
+					instanceFields.add(field);
+				}
+			}
+			if (!instanceFields.isEmpty()) {
+				ObjectReference thisObject = frame.getUnderlyingThisObject();
+				if (thisObject == null) {
+					return null;
+				}
+				Map<Field, Value> values = thisObject.getValues(instanceFields);
+				for (int i = 0; i < instanceKeys.size(); i++) {
+					operands.put(instanceKeys.get(i), operand(values.get(instanceFields.get(i))));
+				}
+			}
+			if (!staticFields.isEmpty()) {
+				Map<Field, Value> values = type.getValues(staticFields);
+				for (int i = 0; i < staticKeys.size(); i++) {
+					operands.put(staticKeys.get(i), operand(values.get(staticFields.get(i))));
+				}
+			}
+			return evaluate(operands);
+		} catch (DebugException e) {
+			return null;
+		} catch (AbsentInformationException e) {
+			return null;
+		} catch (RuntimeException e) {
+			// let the engine report the failure
+			return null;
+		}
+	}
+
+	/**
+	 * Evaluates the condition with the given operands.
+	 *
+	 * @param operands
+	 *            values of the operands by key, see {@link #getOperands()}:
+	 *            <code>Boolean</code>, <code>Long</code> for integral and
+	 *            character values, <code>Float</code>, <code>Double</code>,
+	 *            or any other object compared by identity, such as an
+	 *            <code>ObjectReference</code>, with <code>null</code> for
+	 *            <code>null</code> references
+	 * @return the value of the condition, or <code>null</code> if it must be
+	 *         evaluated by the evaluation engine
+	 */
+	public Boolean evaluate(Map<String, Object> operands) {
+		try {
+			Object value = value(fExpression, operands);
+			if (value instanceof Boolean) {
+				return (Boolean) value;
+			}
+		} catch (NotSimpleException e) {
+			// evaluated by the engine
+		}
+		return null;
+	}
+
+	private static Object operand(Value value) {
+		if (value instanceof BooleanValue) {
+			return Boolean.valueOf(((BooleanValue) value).value());
+		}
+		if (value instanceof FloatValue) {
+			return Float.valueOf(((FloatValue) value).value());
+		}
+		if (value instanceof DoubleValue) {
+			return Double.valueOf(((DoubleValue) value).value());
+		}
+		if (value instanceof PrimitiveValue) {
+			return Long.valueOf(((PrimitiveValue) value).longValue());
+		}
+		return value;
+	}
+
+	private static Object value(Expression expression, Map<String, Object> operands) throws NotSimpleException {
+		switch (expression.getNodeType()) {
+			case ASTNode.BOOLEAN_LITERAL:
+				return Boolean.valueOf(((BooleanLiteral) expression).booleanValue());
+			case ASTNode.CHARACTER_LITERAL:
+				return Long.valueOf(((CharacterLiteral) expression).charValue());
+			case ASTNode.NULL_LITERAL:
+				return null;
+			case ASTNode.NUMBER_LITERAL:
+				return number(((NumberLiteral) expression).getToken());
+			case ASTNode.SIMPLE_NAME:
+				return operand(((SimpleName) expression).getIdentifier(), operands);
+			case ASTNode.FIELD_ACCESS:
+				return operand(THIS_PREFIX + ((FieldAccess) expression).getName().getIdentifier(), operands);
+			case ASTNode.PARENTHESIZED_EXPRESSION:
+				return value(((ParenthesizedExpression) expression).getExpression(), operands);
+			case ASTNode.PREFIX_EXPRESSION:
+				PrefixExpression prefix = (PrefixExpression) expression;
+				if (prefix.getOperator() == PrefixExpression.Operator.MINUS) {
+					return number('-' + ((NumberLiteral) prefix.getOperand()).getToken());
+				}
+				return Boolean.valueOf(!bool(value(prefix.getOperand(), operands)));
+			case ASTNode.INFIX_EXPRESSION:
+				return infix((InfixExpression) expression, operands);
+			default:
+				throw NOT_SIMPLE;
+		}
+	}
+
+	private static Object operand(String key, Map<String, Object> operands) throws NotSimpleException {
+		if (!operands.containsKey(key)) {
+			throw NOT_SIMPLE;
+		}
+		return operands.get(key);
+	}
+
+	private static boolean bool(Object value) throws NotSimpleException {
+		if (value instanceof Boolean) {
+			return ((Boolean) value).booleanValue();
+		}
+		throw NOT_SIMPLE;
+	}
+
+	private static Object infix(InfixExpression infix, Map<String, Object> operands) throws NotSimpleException {
+		InfixExpression.Operator operator = infix.getOperator();
+		List<Expression> expressions = new ArrayList<>(2 + infix.extendedOperands().size());
+		expressions.add(infix.getLeftOperand());
+		expressions.add(infix.getRightOperand());
+		for (Object extended : infix.extendedOperands()) {
+			expressions.add((Expression) extended);
+		}
+		if (operator == InfixExpression.Operator.CONDITIONAL_AND || operator == InfixExpression.Operator.CONDITIONAL_OR) {
+			boolean or = operator == InfixExpression.Operator.CONDITIONAL_OR;
+			for (Expression operand : expressions) {
+				if (bool(value(operand, operands)) == or) {
+					return Boolean.valueOf(or);
+				}
+			}
+			return Boolean.valueOf(!or);
+		}
+		// comparisons are left associative, and only == and != can be chained
+		Object left = value(expressions.get(0), operands);
+		for (int i = 1; i < expressions.size(); i++) {
+			left = Boolean.valueOf(compare(operator, left, value(expressions.get(i), operands)));
+		}
+		return left;
+	}
+
+	private static boolean compare(InfixExpression.Operator operator, Object left, Object right) throws NotSimpleException {
+		if (isNumber(left) && isNumber(right)) {
+			if (left instanceof Long && right instanceof Long) {
+				long l = ((Long) left).longValue();
+				long r = ((Long) right).longValue();
+				return compare(operator, Long.compare(l, r), l == r);
+			}
+			// binary numeric promotion: float unless one side is a double
+			boolean toFloat = !(left instanceof Double || right instanceof Double);
+			double l = toDouble(left, toFloat);
+			double r = toDouble(right, toFloat);
+			if (Double.isNaN(l) || Double.isNaN(r)) {
+				return operator == InfixExpression.Operator.NOT_EQUALS;
+			}
+			return compare(operator, l < r ? -1 : l > r ? 1 : 0, l == r);
+		}
+		if (operator != InfixExpression.Operator.EQUALS && operator != InfixExpression.Operator.NOT_EQUALS) {
+			throw NOT_SIMPLE;
+		}
+		boolean equal;
+		if (left instanceof Boolean && right instanceof Boolean) {
+			equal = left.equals(right);
+		} else if (!isPrimitive(left) && !isPrimitive(right)) {
+			equal = left == null ? right == null : left.equals(right);
+		} else {
+			// comparing a boxed value with a primitive unboxes it
+			throw NOT_SIMPLE;
+		}
+		return equal == (operator == InfixExpression.Operator.EQUALS);
+	}
+
+	private static boolean compare(InfixExpression.Operator operator, int comparison, boolean equal) {
+		if (operator == InfixExpression.Operator.EQUALS) {
+			return equal;
+		}
+		if (operator == InfixExpression.Operator.NOT_EQUALS) {
+			return !equal;
+		}
+		if (operator == InfixExpression.Operator.LESS) {
+			return comparison < 0;
+		}
+		if (operator == InfixExpression.Operator.LESS_EQUALS) {
+			return comparison <= 0;
+		}
+		if (operator == InfixExpression.Operator.GREATER) {
+			return comparison > 0;
+		}
+		return comparison >= 0;
+	}
+
+	private static double toDouble(Object number, boolean toFloat) {
+		if (number instanceof Long) {
+			long value = ((Long) number).longValue();
+			return toFloat ? (float) value : (double) value;
+		}
+		return ((Number) number).doubleValue();
+	}
+
+	private static boolean isNumber(Object value) {
+		return value instanceof Long || value instanceof Float || value instanceof Double;
+	}
+
+	private static boolean isPrimitive(Object value) {
+		return value instanceof Boolean || isNumber(value);
+	}
+}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wait-for graph between threads, used to detect deadlocks.
+ * <p>
+ * Threads are numbered from <code>0</code> to <code>size - 1</code>. An edge
+ * from a waiter to a holder means that the waiter is blocked on a monitor
+ * owned by the holder. Deadlocks are the strongly connected components of the
+ * graph that contain a cycle, found with Tarjan's algorithm in time linear in
+ * the number of threads and edges. The graph holds no reference to the
+ * threads, so it can be built from a live target as well as from a thread
+ * dump.
+ * </p>
+ */
+public class WaitForGraph {
+
+	/**
+	 * Number of nodes in the graph.
+	 */
+	private final int fSize;
+
+	/**
+	 * Source and target node of each edge, in insertion order.
+	 */
+	private int[] fFrom = new int[16];
+	private int[] fTo = new int[16];
+	private int fEdgeCount = 0;
+
+	/**
+	 * Cached results, reset when an edge is added.
+	 */
+	private int[][] fDeadlocks;
+	private boolean[] fBlocked;
+
+	/**
+	 * Constructs an empty wait-for graph.
+	 *
+	 * @param size
+	 *            the number of threads in the graph
+	 */
+	public WaitForGraph(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException();
+		}
+		fSize = size;
+	}
+
+	/**
+	 * @return Returns the number of threads in this graph.
+	 */
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * Records that a thread waits for another one.
+	 *
+	 * @param waiter
+	 *            the index of the blocked thread
+	 * @param holder
+	 *            the index of the thread owning the monitor the waiter is
+	 *            blocked on
+	 */
+	public void addEdge(int waiter, int holder) {
+		if (waiter < 0 || waiter >= fSize || holder < 0 || holder >= fSize) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (fEdgeCount == fFrom.length) {
+			fFrom = Arrays.copyOf(fFrom, fEdgeCount * 2);
+			fTo = Arrays.copyOf(fTo, fEdgeCount * 2);
+		}
+		fFrom[fEdgeCount] = waiter;
+		fTo[fEdgeCount] = holder;
+		fEdgeCount++;
+		fDeadlocks = null;
+		fBlocked = null;
+	}
+
+	/**
+	 * Returns the deadlocks in this graph. Each deadlock is a group of threads
+	 * that all wait, directly or transitively, for each other. The indices in
+	 * a group are sorted, and groups are ordered by their smallest index.
+	 *
+	 * @return the deadlocks, possibly empty
+	 */
+	public int[][] getDeadlocks() {
+		if (fDeadlocks == null) {
+			fDeadlocks = computeDeadlocks();
+		}
+		return fDeadlocks;
+	}
+
+	/**
+	 * Returns which threads are in a deadlock, or wait directly or
+	 * transitively for a thread in a deadlock, and so will never run again.
+	 *
+	 * @return for each thread, whether it is blocked by a deadlock
+	 */
+	public boolean[] getBlockedThreads() {
+		if (fBlocked == null) {
+			fBlocked = computeBlocked();
+		}
+		return fBlocked;
+	}
+
+	/**
+	 * Returns the adjacency of the graph in compressed form: the successors of
+	 * node <code>n</code> are at indices <code>[start[n], start[n + 1])</code>
+	 * of the returned array.
+	 *
+	 * @param start
+	 *            array of <code>size + 1</code> entries to fill with the offset
+	 *            of the successors of each node
+	 * @param reverse
+	 *            whether to return the predecessors rather than the successors
+	 * @return the successors (or predecessors) of all nodes
+	 */
+	private int[] adjacency(int[] start, boolean reverse) {
+		int[] from = reverse ? fTo : fFrom;
+		int[] to = reverse ? fFrom : fTo;
+		for (int i = 0; i < fEdgeCount; i++) {
+			start[from[i] + 1]++;
+		}
+		for (int i = 0; i < fSize; i++) {
+			start[i + 1] += start[i];
+		}
+		int[] next = Arrays.copyOf(start, fSize);
+		int[] adjacent = new int[fEdgeCount];
+		for (int i = 0; i < fEdgeCount; i++) {
+			adjacent[next[from[i]]++] = to[i];
+		}
+		return adjacent;
+	}
+
+	/**
+	 * Iterative form of Tarjan's strongly connected components algorithm, so
+	 * that long wait chains don't overflow the Java stack.
+	 */
+	private int[][] computeDeadlocks() {
+		int[] start = new int[fSize + 1];
+		int[] successors = adjacency(start, false);
+		boolean[] selfLoop = new boolean[fSize];
+		for (int i = 0; i < fEdgeCount; i++) {
+			if (fFrom[i] == fTo[i]) {
+				selfLoop[fFrom[i]] = true;
+			}
+		}
+
+		int[] index = new int[fSize];
+		Arrays.fill(index, -1);
+		int[] low = new int[fSize];
+		boolean[] onStack = new boolean[fSize];
+		int[] stack = new int[fSize];
+		int stackSize = 0;
+		int[] callNodes = new int[fSize];
+		int[] callEdges = new int[fSize];
+		int callSize = 0;
+		int counter = 0;
+		List<int[]> deadlocks = new ArrayList<>();
+
+		for (int root = 0; root < fSize; root++) {
+			if (index[root] != -1) {
+				continue;
+			}
+			index[root] = low[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			callNodes[callSize] = root;
+			callEdges[callSize] = start[root];
+			callSize++;
+			while (callSize > 0) {
+				int node = callNodes[callSize - 1];
+				if (callEdges[callSize - 1] < start[node + 1]) {
+					int successor = successors[callEdges[callSize - 1]++];
+					if (index[successor] == -1) {
+						index[successor] = low[successor] = counter++;
+						stack[stackSize++] = successor;
+						onStack[successor] = true;
+						callNodes[callSize] = successor;
+						callEdges[callSize] = start[successor];
+						callSize++;
+					} else if (onStack[successor]) {
+						low[node] = Math.min(low[node], index[successor]);
+					}
+					continue;
+				}
+				callSize--;
+				if (callSize > 0) {
+					int caller = callNodes[callSize - 1];
+					low[caller] = Math.min(low[caller], low[node]);
+				}
+				if (low[node] == index[node]) {
+					int first = stackSize;
+					do {
+						first--;
+						onStack[stack[first]] = false;
+					} while (stack[first] != node);
+					int[] component = Arrays.copyOfRange(stack, first, stackSize);
+					stackSize = first;
+					if (component.length > 1 || selfLoop[node]) {
+						Arrays.sort(component);
+						deadlocks.add(component);
+					}
+				}
+			}
+		}
+		deadlocks.sort((c1, c2) -> Integer.compare(c1[0], c2[0]));
+		return deadlocks.toArray(new int[deadlocks.size()][]);
+	}
+
+	/**
+	 * Marks the threads in a deadlock, then walks the graph backwards from
+	 * them to mark the threads waiting for them.
+	 */
+	private boolean[] computeBlocked() {
+		boolean[] blocked = new boolean[fSize];
+		int[] queue = new int[fSize];
+		int tail = 0;
+		for (int[] deadlock : getDeadlocks()) {
+			for (int node : deadlock) {
+				blocked[node] = true;
+				queue[tail++] = node;
+			}
+		}
+		if (tail == 0) {
+			return blocked;
+		}
+		int[] start = new int[fSize + 1];
+		int[] predecessors = adjacency(start, true);
+		for (int head = 0; head < tail; head++) {
+			int node = queue[head];
+			for (int i = start[node]; i < start[node + 1]; i++) {
+				int waiter = predecessors[i];
+				if (!blocked[waiter]) {
+					blocked[waiter] = true;
+					queue[tail++] = waiter;
+				}
+			}
+		}
+		return blocked;
+	}
+}
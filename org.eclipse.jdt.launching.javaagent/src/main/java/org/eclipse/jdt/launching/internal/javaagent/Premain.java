@@ -23,13 +23,26 @@ import java.net.URL;
 import java.security.CodeSource;
 import java.security.ProtectionDomain;
 
+import java.util.Arrays;
+
 import org.eclipse.jdt.launching.internal.weaving.ClassfileTransformer;
+import org.eclipse.jdt.launching.internal.weaving.ConditionGuards;
 
 public class Premain {
+	/** option naming the file with the guards of conditional breakpoints, must be the last option as the file name may contain commas */
+	private static final String GUARDS_OPTION = "guards="; //$NON-NLS-1$
+
 	private static final ClassfileTransformer transformer = new ClassfileTransformer();
 
 	public static void premain(final String agentArgs, final Instrumentation inst) {
-		final boolean debuglog = "debuglog".equals(agentArgs); //$NON-NLS-1$
+		String options = agentArgs != null ? agentArgs : ""; //$NON-NLS-1$
+		String guardsFile = null;
+		int guardsIndex = options.indexOf(GUARDS_OPTION);
+		if (guardsIndex >= 0) {
+			guardsFile = options.substring(guardsIndex + GUARDS_OPTION.length());
+			options = options.substring(0, guardsIndex);
+		}
+		final boolean debuglog = Arrays.asList(options.split(",")).contains("debuglog"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// disable instrumentation if Object.class class format is not supported
 		short major = readJavaLangObjectMajor(debuglog);
@@ -41,6 +54,8 @@ public class Premain {
 			return;
 		}
 
+		final ConditionGuards guards = readGuards(guardsFile, debuglog);
+
 		inst.addTransformer(new ClassFileTransformer() {
 			@Override
 			public byte[] transform(ClassLoader loader, final String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
@@ -65,7 +80,22 @@ public class Premain {
 
 					final String location = locationUrl.toExternalForm();
 
-					return transformer.transform(classfileBuffer, location);
+					final byte[] transformed = transformer.transform(classfileBuffer, location);
+					if (guards != null) {
+						try {
+							byte[] guarded = guards.transform(transformed, className);
+							if (guarded != null) {
+								return guarded;
+							}
+						}
+						catch (Exception e) {
+							System.err.printf("Could not guard conditional breakpoints in class %s: %s.\n", className, e.getMessage()); //$NON-NLS-1$
+							if (debuglog) {
+								e.printStackTrace(System.err);
+							}
+						}
+					}
+					return transformed;
 				}
 				catch (Exception e) {
 					System.err.printf("Could not instrument class %s: %s.\n", className, e.getMessage()); //$NON-NLS-1$
@@ -82,6 +112,24 @@ public class Premain {
 		}
 	}
 
+	private static ConditionGuards readGuards(String guardsFile, boolean debuglog) {
+		if (guardsFile == null || guardsFile.length() == 0) {
+			return null;
+		}
+		try {
+			ConditionGuards guards = ConditionGuards.read(guardsFile);
+			guards.setDebuglog(debuglog);
+			return guards;
+		}
+		catch (IOException e) {
+			System.err.printf("Could not read guards of conditional breakpoints from %s: %s.\n", guardsFile, e.getMessage()); //$NON-NLS-1$
+			if (debuglog) {
+				e.printStackTrace(System.err);
+			}
+			return null;
+		}
+	}
+
 	private static short readJavaLangObjectMajor(boolean debuglog) {
 		// https://docs.oracle.com/javase/specs/jvms/se10/html/jvms-4.html
 		// We need class major_version, i.e. the u2 field starting at offset 6
@@ -28,7 +28,7 @@ public class ClassfileTransformer {
 	public static final int MAX_CLASS_MAJOR = Opcodes.V14;
 
 	/** supported ASM API version, must match {@link #MAX_CLASS_MAJOR} above */
-	private static final int ASM_API = Opcodes.ASM7;
+	static final int ASM_API = Opcodes.ASM7;
 
 	public byte[] transform(byte[] classfileBuffer, final String location) {
 
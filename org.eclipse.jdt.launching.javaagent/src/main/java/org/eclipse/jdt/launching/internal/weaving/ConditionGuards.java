@@ -0,0 +1,921 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.launching.internal.weaving;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.AnalyzerAdapter;
+
+/**
+ * Guards woven in front of the lines of conditional breakpoints, so that a
+ * breakpoint is only reached when its condition is true.
+ * <p>
+ * Guards are read from a file with one guard per line: the name of the type of
+ * the breakpoint, the line number and the condition in postfix form, separated
+ * by spaces. Conditions compare local variables and literals, see
+ * <code>SimpleCondition#getPostfix()</code> in <code>org.eclipse.jdt.debug</code>.
+ * A guarded line starts with
+ *
+ * <pre>
+ * if (jdt$guardOff$LINE || condition) {
+ *     nop // first instruction of the line, where the breakpoint is installed
+ * }
+ * ... // rest of the line
+ * </pre>
+ *
+ * The code evaluating the condition belongs to the previous line, so the first
+ * line of a method is not guarded. The class
+ * gets a constant <code>jdt$guard$LINE</code> holding the condition, and a
+ * flag <code>jdt$guardOff$LINE</code> set by the debugger when the breakpoints
+ * of the line do not all have the condition. A line is left unchanged when a
+ * local variable of the condition is not in scope or has a type the condition
+ * does not support, such as a boxed type. Lines left unchanged are reported
+ * when debug logging is enabled.
+ * </p>
+ */
+public class ConditionGuards {
+
+	public static final String GUARD_FIELD_PREFIX = "jdt$guard$"; //$NON-NLS-1$
+
+	public static final String GUARD_OFF_FIELD_PREFIX = "jdt$guardOff$"; //$NON-NLS-1$
+
+	/** comparison operators, in the order of their opcodes, the negation of operator i is i ^ 1 */
+	private static final String[] COMPARISONS = { "==", "!=", "<", ">=", ">", "<=" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+	private static final int VARIABLE = 0;
+	private static final int LITERAL = 1;
+	private static final int NOT = 2;
+	private static final int AND = 3;
+	private static final int OR = 4;
+	private static final int COMPARE = 5;
+
+	/**
+	 * Node of a condition. The type of literals and variables is one of the
+	 * descriptors <code>Z</code>, <code>I</code>, <code>J</code>, <code>F</code>,
+	 * <code>D</code>, or <code>A</code> for references and <code>N</code> for
+	 * <code>null</code>.
+	 */
+	private static final class Node {
+		final int kind;
+		final String name;
+		final char type;
+		final Object value;
+		final int comparison;
+		final Node left;
+		final Node right;
+
+		Node(int kind, String name, char type, Object value, int comparison, Node left, Node right) {
+			this.kind = kind;
+			this.name = name;
+			this.type = type;
+			this.value = value;
+			this.comparison = comparison;
+			this.left = left;
+			this.right = right;
+		}
+
+		boolean isLeaf() {
+			return kind == VARIABLE || kind == LITERAL;
+		}
+	}
+
+	/**
+	 * Local variable of a method, live from instruction start to instruction end
+	 */
+	private static final class Local {
+		final String name;
+		final char type;
+		final int index;
+		final int start;
+		final int end;
+
+		Local(String name, char type, int index, int start, int end) {
+			this.name = name;
+			this.type = type;
+			this.index = index;
+			this.start = start;
+			this.end = end;
+		}
+	}
+
+	/** conditions by internal class name and line */
+	private final Map<String, Map<Integer, Node>> conditions = new HashMap<String, Map<Integer, Node>>();
+
+	/** postfix conditions by internal class name and line */
+	private final Map<String, Map<Integer, String>> postfixes = new HashMap<String, Map<Integer, String>>();
+
+	/** whether guarded lines left unchanged are reported */
+	private boolean debuglog;
+
+	/**
+	 * Reads guards from the given file.
+	 */
+	public static ConditionGuards read(String file) throws IOException {
+		ConditionGuards guards = new ConditionGuards();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8")); //$NON-NLS-1$
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] tokens = line.trim().split(" ", 3); //$NON-NLS-1$
+				if (tokens.length == 3) {
+					try {
+						guards.add(tokens[0].replace('.', '/'), Integer.parseInt(tokens[1]), tokens[2]);
+					}
+					catch (NumberFormatException e) {
+						// ignore the guard
+					}
+				}
+			}
+		}
+		finally {
+			reader.close();
+		}
+		return guards;
+	}
+
+	/**
+	 * Adds a guard, ignored if the condition is not valid.
+	 *
+	 * @param className
+	 *            internal name of the type of the breakpoint, guards apply to its nested types too
+	 * @param line
+	 *            line number of the breakpoint
+	 * @param postfix
+	 *            condition in postfix form
+	 */
+	public void add(String className, int line, String postfix) {
+		Node condition = parse(postfix);
+		if (condition == null) {
+			return;
+		}
+		Map<Integer, Node> classConditions = conditions.get(className);
+		if (classConditions == null) {
+			classConditions = new HashMap<Integer, Node>();
+			conditions.put(className, classConditions);
+			postfixes.put(className, new HashMap<Integer, String>());
+		}
+		classConditions.put(Integer.valueOf(line), condition);
+		postfixes.get(className).put(Integer.valueOf(line), postfix);
+	}
+
+	/**
+	 * Sets whether guarded lines that cannot be guarded, and classes whose
+	 * format is not supported, are reported to the standard error stream.
+	 */
+	public void setDebuglog(boolean debuglog) {
+		this.debuglog = debuglog;
+	}
+
+	private static Node parse(String postfix) {
+		LinkedList<Node> stack = new LinkedList<Node>();
+		try {
+			for (String token : postfix.split(" ")) { //$NON-NLS-1$
+				int comparison = indexOf(token);
+				if (comparison >= 0) {
+					Node right = stack.removeLast();
+					stack.add(new Node(COMPARE, null, 'Z', null, comparison, stack.removeLast(), right));
+				} else if ("&&".equals(token) || "||".equals(token)) { //$NON-NLS-1$ //$NON-NLS-2$
+					Node right = stack.removeLast();
+					stack.add(new Node("&&".equals(token) ? AND : OR, null, 'Z', null, -1, stack.removeLast(), right)); //$NON-NLS-1$
+				} else if ("!".equals(token)) { //$NON-NLS-1$
+					stack.add(new Node(NOT, null, 'Z', null, -1, stack.removeLast(), null));
+				} else if ("n".equals(token)) { //$NON-NLS-1$
+					stack.add(new Node(LITERAL, null, 'N', null, -1, null, null));
+				} else if (token.length() > 2 && token.charAt(1) == ':') {
+					String value = token.substring(2);
+					switch (token.charAt(0)) {
+						case 'v':
+							stack.add(new Node(VARIABLE, value, '?', null, -1, null, null));
+							break;
+						case 'z':
+							stack.add(new Node(LITERAL, null, 'Z', Integer.valueOf(Integer.parseInt(value) != 0 ? 1 : 0), -1, null, null));
+							break;
+						case 'i':
+							stack.add(new Node(LITERAL, null, 'I', Integer.valueOf(Integer.parseInt(value)), -1, null, null));
+							break;
+						case 'j':
+							stack.add(new Node(LITERAL, null, 'J', Long.valueOf(Long.parseLong(value)), -1, null, null));
+							break;
+						case 'f':
+							stack.add(new Node(LITERAL, null, 'F', Float.valueOf(Float.intBitsToFloat(Integer.parseInt(value))), -1, null, null));
+							break;
+						case 'd':
+							stack.add(new Node(LITERAL, null, 'D', Double.valueOf(Double.longBitsToDouble(Long.parseLong(value))), -1, null, null));
+							break;
+						default:
+							return null;
+					}
+				} else {
+					return null;
+				}
+			}
+		}
+		catch (RuntimeException e) {
+			// missing operand or invalid literal
+			return null;
+		}
+		return stack.size() == 1 ? stack.getFirst() : null;
+	}
+
+	private static int indexOf(String comparison) {
+		for (int i = 0; i < COMPARISONS.length; i++) {
+			if (COMPARISONS[i].equals(comparison)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the guards of the given class by line, including the guards of
+	 * its enclosing classes, or <code>null</code> if there are none.
+	 */
+	private Map<Integer, Node> getConditions(String className) {
+		String name = className;
+		while (true) {
+			Map<Integer, Node> classConditions = conditions.get(name);
+			if (classConditions != null) {
+				return classConditions;
+			}
+			int nested = name.lastIndexOf('$');
+			if (nested < 0) {
+				return null;
+			}
+			name = name.substring(0, nested);
+		}
+	}
+
+	private String getPostfix(String className, int line) {
+		String name = className;
+		while (!postfixes.containsKey(name)) {
+			name = name.substring(0, name.lastIndexOf('$'));
+		}
+		return postfixes.get(name).get(Integer.valueOf(line));
+	}
+
+	/**
+	 * Weaves the guards of the given class.
+	 *
+	 * @param classfileBuffer
+	 *            the class file
+	 * @param className
+	 *            internal name of the class
+	 * @return the class file with guards, or <code>null</code> if the class has no guarded lines
+	 */
+	public byte[] transform(byte[] classfileBuffer, String className) {
+		Map<Integer, Node> classConditions = getConditions(className);
+		if (classConditions == null) {
+			return null;
+		}
+		ClassReader reader = new ClassReader(classfileBuffer);
+		// frames are needed to branch, see MAX_CLASS_MAJOR
+		int major = reader.readUnsignedShort(6);
+		if (major < Opcodes.V1_6 || major > ClassfileTransformer.MAX_CLASS_MAJOR || (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0) {
+			if (debuglog) {
+				System.err.printf("Could not guard conditional breakpoints in class %s: class format not supported.\n", className); //$NON-NLS-1$
+			}
+			return null;
+		}
+
+		// first pass: local variables of the methods with guarded lines
+		LocalsCollector collector = new LocalsCollector(classConditions.keySet());
+		reader.accept(collector, ClassReader.EXPAND_FRAMES);
+		if (collector.methods.isEmpty()) {
+			return null;
+		}
+		Map<Integer, Node> lines = new HashMap<Integer, Node>(classConditions);
+		for (Integer line : classConditions.keySet()) {
+			if (collector.fields.contains(GUARD_FIELD_PREFIX + line) || collector.fields.contains(GUARD_OFF_FIELD_PREFIX + line)) {
+				lines.remove(line);
+			}
+		}
+
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		GuardWeaver weaver = new GuardWeaver(writer, lines, collector.methods);
+		reader.accept(weaver, ClassReader.EXPAND_FRAMES);
+		if (debuglog) {
+			for (Integer line : collector.guardedLines) {
+				if (lines.containsKey(line) && !weaver.woven.contains(line)) {
+					System.err.printf("Could not guard conditional breakpoint at line %d of class %s.\n", line, className); //$NON-NLS-1$
+				}
+			}
+		}
+		return weaver.woven.isEmpty() ? null : writer.toByteArray();
+	}
+
+	/**
+	 * Counts the instructions visited. Instructions are counted the same way by
+	 * both passes, so they identify the same positions.
+	 */
+	private static class InstructionCounter extends MethodVisitor {
+		int instructions;
+
+		InstructionCounter(MethodVisitor mv) {
+			super(ClassfileTransformer.ASM_API, mv);
+		}
+
+		/**
+		 * Called before each instruction is visited.
+		 */
+		void beforeInstruction() {
+			instructions++;
+		}
+
+		@Override
+		public void visitInsn(int opcode) {
+			beforeInstruction();
+			super.visitInsn(opcode);
+		}
+
+		@Override
+		public void visitIntInsn(int opcode, int operand) {
+			beforeInstruction();
+			super.visitIntInsn(opcode, operand);
+		}
+
+		@Override
+		public void visitVarInsn(int opcode, int var) {
+			beforeInstruction();
+			super.visitVarInsn(opcode, var);
+		}
+
+		@Override
+		public void visitTypeInsn(int opcode, String type) {
+			beforeInstruction();
+			super.visitTypeInsn(opcode, type);
+		}
+
+		@Override
+		public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+			beforeInstruction();
+			super.visitFieldInsn(opcode, owner, name, descriptor);
+		}
+
+		@Override
+		public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+			beforeInstruction();
+			super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+		}
+
+		@Override
+		public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+			beforeInstruction();
+			super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+		}
+
+		@Override
+		public void visitJumpInsn(int opcode, Label label) {
+			beforeInstruction();
+			super.visitJumpInsn(opcode, label);
+		}
+
+		@Override
+		public void visitLdcInsn(Object value) {
+			beforeInstruction();
+			super.visitLdcInsn(value);
+		}
+
+		@Override
+		public void visitIincInsn(int var, int increment) {
+			beforeInstruction();
+			super.visitIincInsn(var, increment);
+		}
+
+		@Override
+		public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+			beforeInstruction();
+			super.visitTableSwitchInsn(min, max, dflt, labels);
+		}
+
+		@Override
+		public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+			beforeInstruction();
+			super.visitLookupSwitchInsn(dflt, keys, labels);
+		}
+
+		@Override
+		public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+			beforeInstruction();
+			super.visitMultiANewArrayInsn(descriptor, numDimensions);
+		}
+	}
+
+	/**
+	 * Collects the fields of a class and the local variables of its methods
+	 * with guarded lines.
+	 */
+	private static class LocalsCollector extends ClassVisitor {
+		final Set<Integer> lines;
+		final Set<Integer> guardedLines = new HashSet<Integer>();
+		final Set<String> fields = new HashSet<String>();
+		final Map<String, List<Local>> methods = new HashMap<String, List<Local>>();
+
+		LocalsCollector(Set<Integer> lines) {
+			super(ClassfileTransformer.ASM_API);
+			this.lines = lines;
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+			fields.add(name);
+			return null;
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, final String name, final String descriptor, String signature, String[] exceptions) {
+			return new InstructionCounter(null) {
+				final Map<Label, Integer> positions = new HashMap<Label, Integer>();
+				final List<Local> locals = new ArrayList<Local>();
+				boolean guarded;
+
+				@Override
+				public void visitLabel(Label label) {
+					positions.put(label, Integer.valueOf(instructions));
+				}
+
+				@Override
+				public void visitLineNumber(int line, Label start) {
+					if (lines.contains(Integer.valueOf(line))) {
+						guardedLines.add(Integer.valueOf(line));
+						guarded = true;
+					}
+				}
+
+				@Override
+				public void visitLocalVariable(String localName, String localDescriptor, String localSignature, Label start, Label end, int index) {
+					Integer from = positions.get(start);
+					Integer to = positions.get(end);
+					if (from != null && to != null) {
+						locals.add(new Local(localName, type(localDescriptor), index, from.intValue(), to.intValue()));
+					}
+				}
+
+				@Override
+				public void visitEnd() {
+					if (guarded) {
+						methods.put(name + descriptor, locals);
+					}
+				}
+			};
+		}
+	}
+
+	/**
+	 * Returns the type of a local variable with the given descriptor.
+	 */
+	static char type(String descriptor) {
+		switch (descriptor.charAt(0)) {
+			case 'Z':
+			case 'J':
+			case 'F':
+			case 'D':
+				return descriptor.charAt(0);
+			case 'B':
+			case 'C':
+			case 'S':
+			case 'I':
+				return 'I';
+			default:
+				return 'A';
+		}
+	}
+
+	/**
+	 * Weaves the guards into the methods with guarded lines and adds the fields of the guards.
+	 */
+	private class GuardWeaver extends ClassVisitor {
+		final Map<Integer, Node> lines;
+		final Map<String, List<Local>> methods;
+		final Set<Integer> woven = new HashSet<Integer>();
+		String owner;
+
+		GuardWeaver(ClassVisitor cv, Map<Integer, Node> lines, Map<String, List<Local>> methods) {
+			super(ClassfileTransformer.ASM_API, cv);
+			this.lines = lines;
+			this.methods = methods;
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			owner = name;
+			super.visit(version, access, name, signature, superName, interfaces);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+			MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+			List<Local> locals = methods.get(name + descriptor);
+			if (mv == null || locals == null) {
+				return mv;
+			}
+			AnalyzerAdapter analyzer = new AnalyzerAdapter(ClassfileTransformer.ASM_API, owner, access, name, descriptor, mv) {
+				// the constructor with an API version is protected
+			};
+			return new GuardMethodVisitor(this, analyzer, locals);
+		}
+
+		@Override
+		public void visitEnd() {
+			for (Integer line : woven) {
+				FieldVisitor fv = super.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL
+						| Opcodes.ACC_SYNTHETIC, GUARD_FIELD_PREFIX + line, "Ljava/lang/String;", null, getPostfix(owner, line.intValue())); //$NON-NLS-1$
+				if (fv != null) {
+					fv.visitEnd();
+				}
+				fv = super.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE
+						| Opcodes.ACC_SYNTHETIC, GUARD_OFF_FIELD_PREFIX + line, "Z", null, null); //$NON-NLS-1$
+				if (fv != null) {
+					fv.visitEnd();
+				}
+			}
+			super.visitEnd();
+		}
+	}
+
+	/**
+	 * Weaves guards in front of the guarded lines of a method. Guarded line
+	 * numbers are held back until the first instruction of the line, after
+	 * any frame of the line has been visited.
+	 */
+	private static class GuardMethodVisitor extends InstructionCounter {
+		final GuardWeaver weaver;
+		final AnalyzerAdapter analyzer;
+		final List<Local> locals;
+		int pendingLine = -1;
+		Label pendingStart;
+		Object[] frame;
+		boolean framed;
+		boolean lined;
+
+		GuardMethodVisitor(GuardWeaver weaver, AnalyzerAdapter analyzer, List<Local> locals) {
+			super(analyzer);
+			this.weaver = weaver;
+			this.analyzer = analyzer;
+			this.locals = locals;
+		}
+
+		@Override
+		public void visitLineNumber(int line, Label start) {
+			flush(false);
+			if (weaver.lines.containsKey(Integer.valueOf(line))) {
+				pendingLine = line;
+				pendingStart = start;
+			} else {
+				super.visitLineNumber(line, start);
+				lined = true;
+			}
+		}
+
+		@Override
+		void beforeInstruction() {
+			flush(true);
+			super.beforeInstruction();
+		}
+
+		@Override
+		public void visitMaxs(int maxStack, int maxLocals) {
+			flush(false);
+			super.visitMaxs(maxStack, maxLocals);
+		}
+
+		private void flush(boolean weave) {
+			if (pendingLine < 0) {
+				return;
+			}
+			int line = pendingLine;
+			pendingLine = -1;
+			if (weave && weave(line)) {
+				weaver.woven.add(Integer.valueOf(line));
+			} else {
+				super.visitLineNumber(line, pendingStart);
+			}
+			lined = true;
+		}
+
+		/**
+		 * Weaves the guard of the given line before the current instruction.
+		 *
+		 * @return whether the guard was woven
+		 */
+		private boolean weave(int line) {
+			Node condition = weaver.lines.get(Integer.valueOf(line));
+			// the guard belongs to the previous line, a breakpoint is installed at each part of a line
+			if (!lined || analyzer.locals == null || analyzer.stack == null || !analyzer.stack.isEmpty()) {
+				return false;
+			}
+			frame = frame(analyzer.locals);
+			if (frame == null) {
+				return false;
+			}
+			Map<String, Local> scope = new HashMap<String, Local>();
+			for (Local local : locals) {
+				if (local.start <= instructions && instructions < local.end) {
+					scope.put(local.name, local);
+				}
+			}
+			if (!check(condition, scope)) {
+				return false;
+			}
+
+			Label hit = new Label();
+			Label body = new Label();
+			analyzer.visitFieldInsn(Opcodes.GETSTATIC, weaver.owner, GUARD_OFF_FIELD_PREFIX + line, "Z"); //$NON-NLS-1$
+			jump(Opcodes.IFNE, hit);
+			jump(condition, scope, false, body);
+			mark(hit);
+			analyzer.visitLineNumber(line, hit);
+			insn(Opcodes.NOP);
+			mark(body);
+			return true;
+		}
+
+		/**
+		 * Returns the given locals of the analyzer as the locals of a frame, or
+		 * <code>null</code> if a local is not initialized.
+		 */
+		private static Object[] frame(List<Object> analyzerLocals) {
+			List<Object> frameLocals = new ArrayList<Object>(analyzerLocals.size());
+			for (int i = 0; i < analyzerLocals.size(); i++) {
+				Object type = analyzerLocals.get(i);
+				if (type instanceof Label || type == Opcodes.UNINITIALIZED_THIS) {
+					return null;
+				}
+				frameLocals.add(type);
+				if (type == Opcodes.LONG || type == Opcodes.DOUBLE) {
+					// the analyzer has a TOP for the second slot, frames don't
+					i++;
+				}
+			}
+			return frameLocals.toArray();
+		}
+
+		/**
+		 * Returns whether the given condition can be woven with the given
+		 * local variables in scope.
+		 */
+		private boolean check(Node node, Map<String, Local> scope) {
+			switch (node.kind) {
+				case NOT:
+					return isBoolean(node.left, scope) && check(node.left, scope);
+				case AND:
+				case OR:
+					return isBoolean(node.left, scope) && check(node.left, scope) && isBoolean(node.right, scope) && check(node.right, scope);
+				case COMPARE:
+					// boolean results of nested comparisons would need more frames
+					if (!node.left.isLeaf() || !node.right.isLeaf()) {
+						return false;
+					}
+					char type = promote(type(node.left, scope), type(node.right, scope));
+					return type != 0 && (node.comparison <= 1 || (type != 'Z' && type != 'A'));
+				default:
+					return isBoolean(node, scope);
+			}
+		}
+
+		private boolean isBoolean(Node node, Map<String, Local> scope) {
+			return !node.isLeaf() || type(node, scope) == 'Z';
+		}
+
+		/**
+		 * Returns the type of a leaf, or 0 if it is a local variable out of
+		 * scope or whose type does not match the frame.
+		 */
+		private char type(Node node, Map<String, Local> scope) {
+			if (node.kind == LITERAL) {
+				return node.type;
+			}
+			Local local = scope.get(node.name);
+			if (local == null || local.index >= analyzer.locals.size()) {
+				return 0;
+			}
+			Object frameType = analyzer.locals.get(local.index);
+			switch (local.type) {
+				case 'Z':
+				case 'I':
+					return frameType == Opcodes.INTEGER ? local.type : 0;
+				case 'J':
+					return frameType == Opcodes.LONG ? 'J' : 0;
+				case 'F':
+					return frameType == Opcodes.FLOAT ? 'F' : 0;
+				case 'D':
+					return frameType == Opcodes.DOUBLE ? 'D' : 0;
+				default:
+					return frameType instanceof String || frameType == Opcodes.NULL ? 'A' : 0;
+			}
+		}
+
+		/**
+		 * Returns the type both operands of a comparison are converted to, or 0 if they cannot be compared.
+		 */
+		private static char promote(char left, char right) {
+			if (left == 0 || right == 0) {
+				return 0;
+			}
+			if (left == 'Z' || right == 'Z') {
+				return left == right ? 'Z' : 0;
+			}
+			boolean leftReference = left == 'A' || left == 'N';
+			boolean rightReference = right == 'A' || right == 'N';
+			if (leftReference || rightReference) {
+				// comparing a boxed value with a primitive unboxes it
+				return leftReference && rightReference ? 'A' : 0;
+			}
+			if (left == 'D' || right == 'D') {
+				return 'D';
+			}
+			if (left == 'F' || right == 'F') {
+				return 'F';
+			}
+			if (left == 'J' || right == 'J') {
+				return 'J';
+			}
+			return 'I';
+		}
+
+		/**
+		 * Emits code jumping to the given label if the condition is the given
+		 * value, and falling through otherwise.
+		 */
+		private void jump(Node node, Map<String, Local> scope, boolean when, Label target) {
+			switch (node.kind) {
+				case NOT:
+					jump(node.left, scope, !when, target);
+					break;
+				case AND:
+				case OR:
+					// jump if the left operand decides, otherwise the right operand decides
+					if ((node.kind == OR) == when) {
+						jump(node.left, scope, when, target);
+						jump(node.right, scope, when, target);
+					} else {
+						Label next = new Label();
+						jump(node.left, scope, !when, next);
+						jump(node.right, scope, when, target);
+						mark(next);
+					}
+					break;
+				case COMPARE:
+					compare(node, scope, when, target);
+					break;
+				default:
+					load(node, scope, 'Z');
+					jump(when ? Opcodes.IFNE : Opcodes.IFEQ, target);
+					break;
+			}
+		}
+
+		private void compare(Node node, Map<String, Local> scope, boolean when, Label target) {
+			char type = promote(type(node.left, scope), type(node.right, scope));
+			int comparison = when ? node.comparison : node.comparison ^ 1;
+			load(node.left, scope, type);
+			load(node.right, scope, type);
+			switch (type) {
+				case 'J':
+					insn(Opcodes.LCMP);
+					jump(Opcodes.IFEQ + comparison, target);
+					break;
+				case 'F':
+				case 'D':
+					// comparisons with NaN are false: NaN compares greater for < and <=, and less for > and >=
+					boolean greater = node.comparison == 2 || node.comparison == 5;
+					if (type == 'F') {
+						insn(greater ? Opcodes.FCMPG : Opcodes.FCMPL);
+					} else {
+						insn(greater ? Opcodes.DCMPG : Opcodes.DCMPL);
+					}
+					jump(Opcodes.IFEQ + comparison, target);
+					break;
+				case 'A':
+					jump(Opcodes.IF_ACMPEQ + comparison, target);
+					break;
+				default:
+					jump(Opcodes.IF_ICMPEQ + comparison, target);
+					break;
+			}
+		}
+
+		/**
+		 * Loads a leaf converted to the given type.
+		 */
+		private void load(Node node, Map<String, Local> scope, char type) {
+			if (node.kind == LITERAL) {
+				if (node.type == 'N') {
+					insn(Opcodes.ACONST_NULL);
+					return;
+				}
+				Number value = (Number) node.value;
+				switch (type) {
+					case 'J':
+						ldc(Long.valueOf(value.longValue()));
+						break;
+					case 'F':
+						ldc(Float.valueOf(value.floatValue()));
+						break;
+					case 'D':
+						ldc(Double.valueOf(value.doubleValue()));
+						break;
+					default:
+						ldc(Integer.valueOf(value.intValue()));
+						break;
+				}
+				return;
+			}
+			Local local = scope.get(node.name);
+			switch (local.type) {
+				case 'J':
+					var(Opcodes.LLOAD, local.index);
+					if (type == 'F') {
+						insn(Opcodes.L2F);
+					} else if (type == 'D') {
+						insn(Opcodes.L2D);
+					}
+					break;
+				case 'F':
+					var(Opcodes.FLOAD, local.index);
+					if (type == 'D') {
+						insn(Opcodes.F2D);
+					}
+					break;
+				case 'D':
+					var(Opcodes.DLOAD, local.index);
+					break;
+				case 'A':
+					var(Opcodes.ALOAD, local.index);
+					break;
+				default:
+					var(Opcodes.ILOAD, local.index);
+					if (type == 'J') {
+						insn(Opcodes.I2L);
+					} else if (type == 'F') {
+						insn(Opcodes.I2F);
+					} else if (type == 'D') {
+						insn(Opcodes.I2D);
+					}
+					break;
+			}
+		}
+
+		/**
+		 * Visits a label with the frame of the guarded line, unless a frame
+		 * was visited at the same position.
+		 */
+		private void mark(Label label) {
+			analyzer.visitLabel(label);
+			if (!framed) {
+				analyzer.visitFrame(Opcodes.F_NEW, frame.length, frame, 0, new Object[0]);
+				framed = true;
+			}
+		}
+
+		// guard instructions bypass the instruction counter
+
+		private void insn(int opcode) {
+			framed = false;
+			analyzer.visitInsn(opcode);
+		}
+
+		private void var(int opcode, int index) {
+			framed = false;
+			analyzer.visitVarInsn(opcode, index);
+		}
+
+		private void ldc(Object value) {
+			framed = false;
+			analyzer.visitLdcInsn(value);
+		}
+
+		private void jump(int opcode, Label target) {
+			framed = false;
+			analyzer.visitJumpInsn(opcode, target);
+		}
+	}
+}
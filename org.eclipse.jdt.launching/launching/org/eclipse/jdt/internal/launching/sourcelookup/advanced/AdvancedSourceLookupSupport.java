@@ -13,6 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.launching.sourcelookup.advanced;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -31,6 +37,7 @@ import org.eclipse.debug.core.Launch;
 import org.eclipse.debug.core.model.IPersistableSourceLocator;
 import org.eclipse.debug.core.sourcelookup.IPersistableSourceLocator2;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.TargetConditions;
 import org.eclipse.jdt.internal.launching.LaunchingPlugin;
 
 public class AdvancedSourceLookupSupport {
@@ -41,6 +48,9 @@ public class AdvancedSourceLookupSupport {
 	// TODO consider moving to LaunchingPlugin
 	public static final String ID_workspaceProjectDescribers = LaunchingPlugin.ID_PLUGIN + ".workspaceProjectDescribers"; //$NON-NLS-1$
 
+	/** Directory of the state location the guards of conditional breakpoints are written to */
+	private static final String GUARDS_DIRECTORY = "guards"; //$NON-NLS-1$
+
 	private static BackgroundProcessingJob backgroundJob;
 
 	private static volatile WorkspaceProjectSourceContainers workspaceProjects;
@@ -118,7 +128,74 @@ public class AdvancedSourceLookupSupport {
 	}
 
 	public static String getJavaagentString() {
-		return "-javaagent:\"" + getJavaagentLocation() + "\""; //$NON-NLS-1$ //$NON-NLS-2$
+		return getJavaagentString(null);
+	}
+
+	/**
+	 * Returns the javaagent VM argument for a launch of the given configuration.
+	 *
+	 * @param configuration
+	 *            the launch configuration, or <code>null</code> if unknown
+	 */
+	public static String getJavaagentString(ILaunchConfiguration configuration) {
+		return "-javaagent:\"" + getJavaagentLocation() + getJavaagentOptions(configuration) + "\""; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the options of the javaagent. When conditions of breakpoints are evaluated in launched VMs, the guards of the conditional breakpoints
+	 * are written to a file passed to the javaagent. All launches of a configuration reuse the same file, which the javaagent reads when the VM
+	 * starts.
+	 *
+	 * @see TargetConditions
+	 */
+	private static String getJavaagentOptions(ILaunchConfiguration configuration) {
+		if (!TargetConditions.isEnabled()) {
+			return ""; //$NON-NLS-1$
+		}
+		try {
+			String guards = TargetConditions.getGuards();
+			if (guards == null) {
+				return ""; //$NON-NLS-1$
+			}
+			File file = getGuardsFile(configuration);
+			writeGuards(file, guards.getBytes(StandardCharsets.UTF_8));
+			// must be the last option
+			return "=guards=" + file.getAbsolutePath(); //$NON-NLS-1$
+		}
+		catch (CoreException | IOException e) {
+			LaunchingPlugin.log(e);
+		}
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the file the guards are written to for launches of the given configuration, in the state location of the launching plug-in.
+	 */
+	private static File getGuardsFile(ILaunchConfiguration configuration) throws IOException {
+		File directory = LaunchingPlugin.getDefault().getStateLocation().append(GUARDS_DIRECTORY).toFile();
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create " + directory); //$NON-NLS-1$
+		}
+		String name = configuration == null ? "default" : configuration.getName().replaceAll("[^\\w.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return new File(directory, name + ".txt"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the given guards to the given file unless it already contains them. The file is replaced at once, as a VM of another launch may be
+	 * starting and reading it.
+	 */
+	private static void writeGuards(File file, byte[] guards) throws IOException {
+		if (file.isFile() && Arrays.equals(Files.readAllBytes(file.toPath()), guards)) {
+			return;
+		}
+		File temp = File.createTempFile("guards", ".tmp", file.getParentFile()); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.write(temp.toPath(), guards);
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temp.toPath());
+		}
 	}
 
 	public static String getJavaagentLocation() {